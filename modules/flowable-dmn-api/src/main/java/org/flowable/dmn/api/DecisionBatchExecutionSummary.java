@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated audit of a decision batch execution, see {@link ExecuteDecisionBatchBuilder}.
+ */
+public class DecisionBatchExecutionSummary {
+
+    protected String decisionDefinitionId;
+    protected long rowCount;
+    protected long failedRowCount;
+    protected long auditedRowCount;
+    protected Map<Integer, Long> ruleMatchCounts = new TreeMap<>();
+
+    public DecisionBatchExecutionSummary(String decisionDefinitionId) {
+        this.decisionDefinitionId = decisionDefinitionId;
+    }
+
+    public void addRowResult(DecisionBatchRowResult rowResult) {
+        rowCount++;
+        if (rowResult.isFailed()) {
+            failedRowCount++;
+        }
+        if (rowResult.getAuditContainer() != null) {
+            auditedRowCount++;
+        }
+        if (rowResult.getMatchedRuleNumbers() != null) {
+            for (Integer ruleNumber : rowResult.getMatchedRuleNumbers()) {
+                Long ruleMatchCount = ruleMatchCounts.get(ruleNumber);
+                ruleMatchCounts.put(ruleNumber, ruleMatchCount != null ? ruleMatchCount + 1 : 1L);
+            }
+        }
+    }
+
+    public String getDecisionDefinitionId() {
+        return decisionDefinitionId;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getFailedRowCount() {
+        return failedRowCount;
+    }
+
+    public long getAuditedRowCount() {
+        return auditedRowCount;
+    }
+
+    /**
+     * @return per rule number, the number of rows for which the rule matched
+     */
+    public Map<Integer, Long> getRuleMatchCounts() {
+        return ruleMatchCounts;
+    }
+}
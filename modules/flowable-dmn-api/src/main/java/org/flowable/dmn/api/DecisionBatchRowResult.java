@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of executing a decision for one row of a decision batch execution.
+ */
+public class DecisionBatchRowResult {
+
+    protected long rowIndex;
+    protected Map<String, Object> inputVariables;
+    protected List<Map<String, Object>> decisionResult;
+    protected List<Integer> matchedRuleNumbers;
+    protected boolean failed;
+    protected String exceptionMessage;
+    protected DecisionExecutionAuditContainer auditContainer;
+
+    public DecisionBatchRowResult(long rowIndex, Map<String, Object> inputVariables) {
+        this.rowIndex = rowIndex;
+        this.inputVariables = inputVariables;
+    }
+
+    /**
+     * @return the index (starting at 0) of the row in the input of the batch
+     */
+    public long getRowIndex() {
+        return rowIndex;
+    }
+
+    public Map<String, Object> getInputVariables() {
+        return inputVariables;
+    }
+
+    public List<Map<String, Object>> getDecisionResult() {
+        return decisionResult;
+    }
+
+    public void setDecisionResult(List<Map<String, Object>> decisionResult) {
+        this.decisionResult = decisionResult;
+    }
+
+    /**
+     * @return the numbers of the rules of which the outputs have been evaluated
+     */
+    public List<Integer> getMatchedRuleNumbers() {
+        return matchedRuleNumbers;
+    }
+
+    public void setMatchedRuleNumbers(List<Integer> matchedRuleNumbers) {
+        this.matchedRuleNumbers = matchedRuleNumbers;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    public void setExceptionMessage(String exceptionMessage) {
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    /**
+     * @return the audit trail of this row, or null when the row wasn't sampled
+     */
+    public DecisionExecutionAuditContainer getAuditContainer() {
+        return auditContainer;
+    }
+
+    public void setAuditContainer(DecisionExecutionAuditContainer auditContainer) {
+        this.auditContainer = auditContainer;
+    }
+}
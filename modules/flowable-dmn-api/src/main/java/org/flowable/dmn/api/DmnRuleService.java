@@ -33,6 +33,13 @@ public interface DmnRuleService {
      */
     ExecuteDecisionBuilder createExecuteDecisionBuilder();
 
+    /**
+     * Create a builder to execute a decision for many rows of input variables.
+     *
+     * @return the {@link ExecuteDecisionBatchBuilder} build
+     */
+    ExecuteDecisionBatchBuilder createExecuteDecisionBatchBuilder();
+
     /**
      * Execute a decision identified by it's key.
      *
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.api;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Helper for executing one decision for many rows of input variables.
+ * 
+ * An instance can be obtained through {@link org.flowable.dmn.api.DmnRuleService#createExecuteDecisionBatchBuilder()}.
+ * 
+ * The decision is resolved once for the whole batch. The rows are read from the given iterator in chunks, 
+ * each chunk is evaluated (in parallel when an executor service is available) and its results are passed to the
+ * {@link DecisionBatchResultHandler} in row order before the next chunk is read, so the full result is never kept in memory.
+ * 
+ * decisionKey and inputVariables should be set before calling {@link #execute(DecisionBatchResultHandler)}.
+ */
+public interface ExecuteDecisionBatchBuilder {
+
+    /**
+     * Set the key of the decision
+     **/
+    ExecuteDecisionBatchBuilder decisionKey(String decisionKey);
+
+    /**
+     * Set the parent deployment id
+     */
+    ExecuteDecisionBatchBuilder parentDeploymentId(String parentDeploymentId);
+
+    /**
+     * Set the tenant id
+     **/
+    ExecuteDecisionBatchBuilder tenantId(String tenantId);
+
+    /**
+     * Sets the rows of input variables. Each map is evaluated as one execution of the decision. 
+     * The iterator is only read from the calling thread.
+     */
+    ExecuteDecisionBatchBuilder inputVariables(Iterator<Map<String, Object>> inputVariables);
+
+    /**
+     * Sets the rows of input variables, see {@link #inputVariables(Iterator)}.
+     */
+    ExecuteDecisionBatchBuilder inputVariables(Iterable<Map<String, Object>> inputVariables);
+
+    /**
+     * Sets the number of rows that are read and evaluated together. 
+     * This bounds the number of rows and results in memory. Default is 1000.
+     */
+    ExecuteDecisionBatchBuilder chunkSize(int chunkSize);
+
+    /**
+     * Sets the executor service used to evaluate the rows of a chunk in parallel.
+     * When not set, the decision batch executor service of the DMN engine configuration is used,
+     * or the rows are evaluated on the calling thread when there is none.
+     */
+    ExecuteDecisionBatchBuilder executorService(ExecutorService executorService);
+
+    /**
+     * Sets the number of parts a chunk is split in to be evaluated in parallel. 
+     * Default is the number of available processors.
+     */
+    ExecuteDecisionBatchBuilder parallelism(int parallelism);
+
+    /**
+     * Sets which rows keep their audit trail: 0 means none (only the aggregated {@link DecisionBatchExecutionSummary}), 
+     * 1 means every row and n means every n-th row. The audit trail of a sampled row is passed to the result handler 
+     * and stored as historic decision execution when history is enabled. Default is 0.
+     */
+    ExecuteDecisionBatchBuilder auditSampleRate(int auditSampleRate);
+
+    /**
+     * Executes the decision for all rows, passing the result of every row to the given handler.
+     * 
+     * @return the aggregated audit of the batch
+     */
+    DecisionBatchExecutionSummary execute(DecisionBatchResultHandler resultHandler);
+
+}
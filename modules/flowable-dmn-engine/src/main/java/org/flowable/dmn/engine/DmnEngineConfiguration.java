@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.sql.DataSource;
 
@@ -61,6 +62,7 @@ import org.flowable.dmn.engine.impl.hitpolicy.HitPolicyUnique;
 import org.flowable.dmn.engine.impl.parser.DmnParseFactory;
 import org.flowable.dmn.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.dmn.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.dmn.engine.impl.persistence.deploy.Deployer;
 import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentCache;
@@ -88,6 +90,7 @@ import org.flowable.engine.common.api.delegate.FlowableFunctionDelegate;
 import org.flowable.engine.common.impl.cfg.BeansConfigurationHelper;
 import org.flowable.engine.common.impl.cfg.standalone.StandaloneMybatisTransactionContextFactory;
 import org.flowable.engine.common.impl.db.DbSqlSessionFactory;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
 import org.flowable.engine.common.impl.interceptor.CommandContextFactory;
 import org.flowable.engine.common.impl.interceptor.CommandContextInterceptor;
 import org.flowable.engine.common.impl.interceptor.CommandInterceptor;
@@ -159,11 +162,42 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
     
     protected boolean historyEnabled;
 
+    /**
+     * If true, the default cache is a {@link ConcurrentDeploymentCache} (lock-free reads, approximate LRU eviction and hit/miss/eviction counters)
+     * instead of a {@link DefaultDeploymentCache}.
+     */
+    protected boolean enableConcurrentDeploymentCache;
+
+    /**
+     * If true, the input and output entries of a decision table are parsed into expressions once, when the decision table is cached,
+     * instead of on every execution. Simple comparisons of an input with a literal value are evaluated without going through the expression language.
+     */
+    protected boolean decisionTableCompilationEnabled = true;
+
+    /**
+     * If true (and decision table compilation is enabled), the input entries of a compiled decision table are indexed per column,
+     * so the input entries of large decision tables are looked up instead of being evaluated one by one.
+     */
+    protected boolean decisionTableIndexEnabled = true;
+
+    /**
+     * If true, the default expression manager compiles parsed expressions into generated bytecode classes, instead of evaluating them
+     * by walking the expression tree. Function and method calls are still evaluated by the tree.
+     */
+    protected boolean expressionCompilationEnabled;
+
     protected int decisionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
     
     protected ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * Executor service used to evaluate the rows of a decision batch execution in parallel, when none is set on the
+     * {@link org.flowable.dmn.api.ExecuteDecisionBatchBuilder}. Not managed (shut down) by the engine.
+     * When null, the rows are evaluated on the thread that executes the batch.
+     */
+    protected ExecutorService decisionBatchExecutorService;
+
     // HIT POLICIES
     protected Map<String, AbstractHitPolicy> hitPolicyBehaviors;
     protected Map<String, AbstractHitPolicy> customHitPolicyBehaviors;
@@ -269,6 +303,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
 
     protected void initService(Object service) {
         if (service instanceof ServiceImpl) {
+            ((ServiceImpl) service).setEngineConfig(this);
             ((ServiceImpl) service).setCommandExecutor(commandExecutor);
         }
     }
@@ -456,6 +491,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
         }
 
         expressionManager.setFunctionDelegates(flowableFunctionDelegates);
+
+        if (expressionCompilationEnabled && expressionManager instanceof DefaultExpressionManager) {
+            DefaultExpressionManager defaultExpressionManager = (DefaultExpressionManager) expressionManager;
+            if (defaultExpressionManager.getExpressionCompiler() == null) {
+                defaultExpressionManager.setExpressionCompiler(new ExpressionCompiler());
+            }
+        }
     }
 
     // deployers
@@ -479,7 +521,9 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
 
         // Decision cache
         if (decisionCache == null) {
-            if (decisionCacheLimit <= 0) {
+            if (enableConcurrentDeploymentCache) {
+                decisionCache = decisionCacheLimit <= 0 ? new ConcurrentDeploymentCache<DecisionTableCacheEntry>() : new ConcurrentDeploymentCache<DecisionTableCacheEntry>(decisionCacheLimit);
+            } else if (decisionCacheLimit <= 0) {
                 decisionCache = new DefaultDeploymentCache<>();
             } else {
                 decisionCache = new DefaultDeploymentCache<>(decisionCacheLimit);
@@ -797,6 +841,51 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public boolean isEnableConcurrentDeploymentCache() {
+        return enableConcurrentDeploymentCache;
+    }
+
+    public DmnEngineConfiguration setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+        this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+        return this;
+    }
+
+    public boolean isDecisionTableCompilationEnabled() {
+        return decisionTableCompilationEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableCompilationEnabled(boolean decisionTableCompilationEnabled) {
+        this.decisionTableCompilationEnabled = decisionTableCompilationEnabled;
+        return this;
+    }
+
+    public boolean isExpressionCompilationEnabled() {
+        return expressionCompilationEnabled;
+    }
+
+    public DmnEngineConfiguration setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+        this.expressionCompilationEnabled = expressionCompilationEnabled;
+        return this;
+    }
+
+    public boolean isDecisionTableIndexEnabled() {
+        return decisionTableIndexEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableIndexEnabled(boolean decisionTableIndexEnabled) {
+        this.decisionTableIndexEnabled = decisionTableIndexEnabled;
+        return this;
+    }
+
+    public ExecutorService getDecisionBatchExecutorService() {
+        return decisionBatchExecutorService;
+    }
+
+    public DmnEngineConfiguration setDecisionBatchExecutorService(ExecutorService decisionBatchExecutorService) {
+        this.decisionBatchExecutorService = decisionBatchExecutorService;
+        return this;
+    }
+
     public int getDecisionCacheLimit() {
         return decisionCacheLimit;
     }
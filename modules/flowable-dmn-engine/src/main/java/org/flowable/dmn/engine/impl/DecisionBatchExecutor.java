@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.flowable.dmn.api.DecisionBatchExecutionSummary;
+import org.flowable.dmn.api.DecisionBatchResultHandler;
+import org.flowable.dmn.api.DecisionBatchRowResult;
+import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionBatchChunkCmd;
+import org.flowable.dmn.engine.impl.cmd.ResolveDecisionTableCmd;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a decision for all rows of an {@link ExecuteDecisionBatchBuilderImpl}.
+ * 
+ * The decision is resolved once. Rows are read in chunks on the calling thread, every chunk is split in parts
+ * that are each executed in their own command (in parallel on the executor service, when there is one)
+ * and the results of the chunk are passed to the result handler in row order before the next chunk is read.
+ */
+public class DecisionBatchExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DecisionBatchExecutor.class);
+
+    protected CommandExecutor commandExecutor;
+    protected ExecuteDecisionBatchBuilderImpl decisionBatchBuilder;
+    protected ExecutorService executorService;
+    protected DecisionBatchResultHandler resultHandler;
+
+    public DecisionBatchExecutor(CommandExecutor commandExecutor, ExecuteDecisionBatchBuilderImpl decisionBatchBuilder, 
+            ExecutorService executorService, DecisionBatchResultHandler resultHandler) {
+        
+        this.commandExecutor = commandExecutor;
+        this.decisionBatchBuilder = decisionBatchBuilder;
+        this.executorService = executorService;
+        this.resultHandler = resultHandler;
+    }
+
+    public DecisionBatchExecutionSummary execute() {
+        if (decisionBatchBuilder.getInputVariables() == null) {
+            throw new FlowableIllegalArgumentException("inputVariables is null");
+        }
+        if (resultHandler == null) {
+            throw new FlowableIllegalArgumentException("resultHandler is null");
+        }
+
+        DecisionTableCacheEntry decisionTableCacheEntry = commandExecutor.execute(new ResolveDecisionTableCmd(decisionBatchBuilder));
+        String decisionDefinitionId = decisionTableCacheEntry.getDecisionTableEntity().getId();
+        DecisionBatchExecutionSummary summary = new DecisionBatchExecutionSummary(decisionDefinitionId);
+
+        Iterator<Map<String, Object>> inputVariables = decisionBatchBuilder.getInputVariables();
+        long rowIndex = 0;
+        while (inputVariables.hasNext()) {
+            List<DecisionBatchRowResult> chunk = new ArrayList<>(decisionBatchBuilder.getChunkSize());
+            while (inputVariables.hasNext() && chunk.size() < decisionBatchBuilder.getChunkSize()) {
+                chunk.add(new DecisionBatchRowResult(rowIndex++, inputVariables.next()));
+            }
+
+            executeChunk(decisionTableCacheEntry, chunk);
+
+            for (DecisionBatchRowResult rowResult : chunk) {
+                summary.addRowResult(rowResult);
+                resultHandler.handleResult(rowResult);
+            }
+        }
+
+        LOGGER.debug("Executed decision {} for {} rows, {} failed", decisionDefinitionId, summary.getRowCount(), summary.getFailedRowCount());
+        return summary;
+    }
+
+    protected void executeChunk(DecisionTableCacheEntry decisionTableCacheEntry, List<DecisionBatchRowResult> chunk) {
+        int parallelism = Math.min(decisionBatchBuilder.getParallelism(), chunk.size());
+        if (executorService == null || parallelism <= 1) {
+            commandExecutor.execute(createChunkCmd(decisionTableCacheEntry, chunk));
+            return;
+        }
+
+        int partSize = (chunk.size() + parallelism - 1) / parallelism;
+        List<Future<Void>> futures = new ArrayList<>(parallelism);
+        for (int start = 0; start < chunk.size(); start += partSize) {
+            final ExecuteDecisionBatchChunkCmd chunkCmd = createChunkCmd(decisionTableCacheEntry, chunk.subList(start, Math.min(start + partSize, chunk.size())));
+            futures.add(executorService.submit(new Callable<Void>() {
+
+                @Override
+                public Void call() throws Exception {
+                    return commandExecutor.execute(chunkCmd);
+                }
+            }));
+        }
+
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new FlowableException("Interrupted while executing decision batch", e);
+
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlowableException("Error while executing decision batch", e.getCause());
+        }
+    }
+
+    protected ExecuteDecisionBatchChunkCmd createChunkCmd(DecisionTableCacheEntry decisionTableCacheEntry, List<DecisionBatchRowResult> rowResults) {
+        return new ExecuteDecisionBatchChunkCmd(decisionTableCacheEntry.getDecision(), decisionTableCacheEntry.getDecisionTableEntity().getId(),
+                decisionTableCacheEntry.getDecisionTableEntity().getDeploymentId(), decisionBatchBuilder.getTenantId(), 
+                decisionBatchBuilder.getAuditSampleRate(), rowResults);
+    }
+
+    protected void cancel(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
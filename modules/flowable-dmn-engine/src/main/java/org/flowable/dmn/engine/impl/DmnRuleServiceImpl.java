@@ -14,9 +14,13 @@ package org.flowable.dmn.engine.impl;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
+import org.flowable.dmn.api.DecisionBatchExecutionSummary;
+import org.flowable.dmn.api.DecisionBatchResultHandler;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.api.ExecuteDecisionBatchBuilder;
 import org.flowable.dmn.api.ExecuteDecisionBuilder;
 import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionCmd;
 import org.flowable.dmn.engine.impl.cmd.ExecuteDecisionSingleResultCmd;
@@ -31,6 +35,11 @@ public class DmnRuleServiceImpl extends ServiceImpl implements DmnRuleService {
     public ExecuteDecisionBuilder createExecuteDecisionBuilder() {
         return new ExecuteDecisionBuilderImpl(this);
     }
+
+    @Override
+    public ExecuteDecisionBatchBuilder createExecuteDecisionBatchBuilder() {
+        return new ExecuteDecisionBatchBuilderImpl(this);
+    }
     
     @Override
     @Deprecated
@@ -115,4 +124,12 @@ public class DmnRuleServiceImpl extends ServiceImpl implements DmnRuleService {
     public DecisionExecutionAuditContainer executeDecisionWithAuditTrail(ExecuteDecisionBuilderImpl executeDecisionBuilder) {
         return commandExecutor.execute(new ExecuteDecisionWithAuditTrailCmd(executeDecisionBuilder));
     }
+
+    public DecisionBatchExecutionSummary executeDecisionBatch(ExecuteDecisionBatchBuilderImpl executeDecisionBatchBuilder, DecisionBatchResultHandler resultHandler) {
+        ExecutorService executorService = executeDecisionBatchBuilder.getExecutorService();
+        if (executorService == null && engineConfig != null) {
+            executorService = engineConfig.getDecisionBatchExecutorService();
+        }
+        return new DecisionBatchExecutor(commandExecutor, executeDecisionBatchBuilder, executorService, resultHandler).execute();
+    }
 }
\ No newline at end of file
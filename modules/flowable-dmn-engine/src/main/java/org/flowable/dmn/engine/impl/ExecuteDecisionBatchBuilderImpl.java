@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.flowable.dmn.api.DecisionBatchExecutionSummary;
+import org.flowable.dmn.api.DecisionBatchResultHandler;
+import org.flowable.dmn.api.ExecuteDecisionBatchBuilder;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+
+public class ExecuteDecisionBatchBuilderImpl implements ExecuteDecisionBatchBuilder {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    protected DmnRuleServiceImpl ruleService;
+
+    protected String decisionKey;
+    protected String parentDeploymentId;
+    protected String tenantId;
+    protected Iterator<Map<String, Object>> inputVariables;
+    protected int chunkSize = DEFAULT_CHUNK_SIZE;
+    protected ExecutorService executorService;
+    protected int parallelism = Runtime.getRuntime().availableProcessors();
+    protected int auditSampleRate;
+
+    public ExecuteDecisionBatchBuilderImpl(DmnRuleServiceImpl ruleService) {
+        this.ruleService = ruleService;
+    }
+
+    public ExecuteDecisionBatchBuilder decisionKey(String decisionKey) {
+        this.decisionKey = decisionKey;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder parentDeploymentId(String parentDeploymentId) {
+        this.parentDeploymentId = parentDeploymentId;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder tenantId(String tenantId) {
+        this.tenantId = tenantId;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder inputVariables(Iterator<Map<String, Object>> inputVariables) {
+        this.inputVariables = inputVariables;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder inputVariables(Iterable<Map<String, Object>> inputVariables) {
+        if (inputVariables == null) {
+            throw new FlowableIllegalArgumentException("inputVariables is null");
+        }
+        this.inputVariables = inputVariables.iterator();
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new FlowableIllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder executorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new FlowableIllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ExecuteDecisionBatchBuilder auditSampleRate(int auditSampleRate) {
+        if (auditSampleRate < 0) {
+            throw new FlowableIllegalArgumentException("auditSampleRate cannot be negative");
+        }
+        this.auditSampleRate = auditSampleRate;
+        return this;
+    }
+
+    public DecisionBatchExecutionSummary execute(DecisionBatchResultHandler resultHandler) {
+        return ruleService.executeDecisionBatch(this, resultHandler);
+    }
+
+    public String getDecisionKey() {
+        return decisionKey;
+    }
+
+    public String getParentDeploymentId() {
+        return parentDeploymentId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Iterator<Map<String, Object>> getInputVariables() {
+        return inputVariables;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getAuditSampleRate() {
+        return auditSampleRate;
+    }
+
+}
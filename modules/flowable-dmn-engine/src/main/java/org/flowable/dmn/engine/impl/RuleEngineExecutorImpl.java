@@ -20,6 +20,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.engine.impl.el.CompiledDecisionTable;
+import org.flowable.dmn.engine.impl.el.CompiledInputEntry;
+import org.flowable.dmn.engine.impl.el.CompiledOutputEntry;
+import org.flowable.dmn.engine.impl.el.DecisionTableIndexMatches;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
 import org.flowable.dmn.engine.impl.el.ELExecutionContextBuilder;
 import org.flowable.dmn.engine.impl.el.ELExpressionExecutor;
@@ -30,6 +34,7 @@ import org.flowable.dmn.engine.impl.hitpolicy.ComposeDecisionResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ComposeRuleResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ContinueEvaluatingBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.EvaluateRuleValidityBehavior;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntityManager;
 import org.flowable.dmn.engine.impl.util.CommandContextUtil;
@@ -85,6 +90,11 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
 
         // create execution context and audit trail
         ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables());
+        CompiledDecisionTable compiledDecisionTable = getCompiledDecisionTable(decision, currentDecisionTable, executeDecisionInfo);
+        executionContext.setCompiledDecisionTable(compiledDecisionTable);
+        if (compiledDecisionTable != null && compiledDecisionTable.getIndex() != null) {
+            executionContext.setDecisionTableIndexMatches(compiledDecisionTable.getIndex().match(executionContext.getStackVariables()));
+        }
 
         try {
             sanityCheckDecisionTable(currentDecisionTable);
@@ -102,7 +112,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             executionContext.getAuditContainer().stopAudit();
             
             DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
-            if (dmnEngineConfiguration.isHistoryEnabled()) {
+            if (dmnEngineConfiguration.isHistoryEnabled() && executeDecisionInfo.isHistoryEnabled()) {
                 HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = dmnEngineConfiguration.getHistoricDecisionExecutionEntityManager();
                 HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
                 decisionExecutionEntity.setDecisionDefinitionId(executeDecisionInfo.getDecisionDefinitionId());
@@ -252,7 +262,38 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         return conditionResult;
     }
 
+    protected CompiledDecisionTable getCompiledDecisionTable(Decision decision, DecisionTable decisionTable, ExecuteDecisionInfo executeDecisionInfo) {
+        if (executeDecisionInfo.getDecisionDefinitionId() == null) {
+            return null;
+        }
+
+        DecisionTableCacheEntry cacheEntry = CommandContextUtil.getDmnEngineConfiguration().getDecisionCache().get(executeDecisionInfo.getDecisionDefinitionId());
+        if (cacheEntry == null || cacheEntry.getDecision() != decision || cacheEntry.getCompiledDecisionTable() == null) {
+            return null;
+        }
+
+        // only valid for the decision table instance it was compiled from
+        CompiledDecisionTable compiledDecisionTable = cacheEntry.getCompiledDecisionTable();
+        return compiledDecisionTable.getDecisionTable() == decisionTable ? compiledDecisionTable : null;
+    }
+
     protected Boolean executeInputExpressionEvaluation(RuleInputClauseContainer ruleContainer, ELExecutionContext executionContext) {
+        DecisionTableIndexMatches indexMatches = executionContext.getDecisionTableIndexMatches();
+        if (indexMatches != null) {
+            Boolean indexResult = indexMatches.getInputEntryResult(ruleContainer.getInputEntry());
+            if (indexResult != null) {
+                return indexResult;
+            }
+        }
+
+        CompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        if (compiledDecisionTable != null) {
+            CompiledInputEntry compiledInputEntry = compiledDecisionTable.getInputEntry(ruleContainer.getInputEntry());
+            if (compiledInputEntry != null) {
+                return compiledInputEntry.evaluate(executionContext);
+            }
+        }
+
         return ELExpressionExecutor.executeInputExpression(ruleContainer.getInputClause(), ruleContainer.getInputEntry(), expressionManager, executionContext);
     }
 
@@ -277,7 +318,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         if (StringUtils.isNotEmpty(outputEntryExpression.getText())) {
             Object executionVariable = null;
             try {
-                Object resultValue = ELExpressionExecutor.executeOutputExpression(ruleClauseContainer.getOutputClause(), outputEntryExpression, expressionManager, executionContext);
+                Object resultValue = executeOutputExpressionEvaluation(ruleClauseContainer, executionContext);
                 executionVariable = ExecutionVariableFactory.getExecutionVariable(outputVariableType, resultValue);
 
                 // create result
@@ -322,6 +363,18 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         LOGGER.debug("End evaluation conclusion {} of valid rule {}", ruleClauseContainer.getOutputClause().getOutputNumber(), ruleNumber);
     }
 
+    protected Object executeOutputExpressionEvaluation(RuleOutputClauseContainer ruleClauseContainer, ELExecutionContext executionContext) {
+        CompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        if (compiledDecisionTable != null) {
+            CompiledOutputEntry compiledOutputEntry = compiledDecisionTable.getOutputEntry(ruleClauseContainer.getOutputEntry());
+            if (compiledOutputEntry != null) {
+                return compiledOutputEntry.evaluate(executionContext);
+            }
+        }
+
+        return ELExpressionExecutor.executeOutputExpression(ruleClauseContainer.getOutputClause(), ruleClauseContainer.getOutputEntry(), expressionManager, executionContext);
+    }
+
     protected String getExceptionMessage(Exception exception) {
         String exceptionMessage;
         if (exception.getCause() != null && exception.getCause().getMessage() != null) {
@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionBatchRowResult;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.RuleExecutionAuditContainer;
+import org.flowable.dmn.engine.RuleEngineExecutor;
+import org.flowable.dmn.engine.impl.ExecuteDecisionInfo;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
+import org.flowable.dmn.model.Decision;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+
+/**
+ * Executes an already resolved decision for a part of the rows of a decision batch execution, 
+ * filling in the given row results.
+ */
+public class ExecuteDecisionBatchChunkCmd implements Command<Void> {
+
+    protected Decision decision;
+    protected String decisionDefinitionId;
+    protected String deploymentId;
+    protected String tenantId;
+    protected int auditSampleRate;
+    protected List<DecisionBatchRowResult> rowResults;
+
+    public ExecuteDecisionBatchChunkCmd(Decision decision, String decisionDefinitionId, String deploymentId, String tenantId, 
+            int auditSampleRate, List<DecisionBatchRowResult> rowResults) {
+        
+        this.decision = decision;
+        this.decisionDefinitionId = decisionDefinitionId;
+        this.deploymentId = deploymentId;
+        this.tenantId = tenantId;
+        this.auditSampleRate = auditSampleRate;
+        this.rowResults = rowResults;
+    }
+
+    public Void execute(CommandContext commandContext) {
+        RuleEngineExecutor ruleEngineExecutor = CommandContextUtil.getDmnEngineConfiguration().getRuleEngineExecutor();
+        for (DecisionBatchRowResult rowResult : rowResults) {
+            boolean sampled = auditSampleRate > 0 && rowResult.getRowIndex() % auditSampleRate == 0;
+
+            ExecuteDecisionInfo executeDecisionInfo = new ExecuteDecisionInfo();
+            executeDecisionInfo.setDecisionKey(decision.getId());
+            executeDecisionInfo.setDecisionDefinitionId(decisionDefinitionId);
+            executeDecisionInfo.setDeploymentId(deploymentId);
+            executeDecisionInfo.setTenantId(tenantId);
+            executeDecisionInfo.setHistoryEnabled(sampled);
+
+            // the input variables of the row are changed when the execution context is created
+            Map<String, Object> variables = new HashMap<>();
+            if (rowResult.getInputVariables() != null) {
+                variables.putAll(rowResult.getInputVariables());
+            }
+            executeDecisionInfo.setVariables(variables);
+
+            DecisionExecutionAuditContainer auditContainer = ruleEngineExecutor.execute(decision, executeDecisionInfo);
+            rowResult.setDecisionResult(auditContainer.getDecisionResult());
+            rowResult.setFailed(auditContainer.isFailed() != null && auditContainer.isFailed());
+            rowResult.setExceptionMessage(auditContainer.getExceptionMessage());
+            rowResult.setMatchedRuleNumbers(getMatchedRuleNumbers(auditContainer));
+            if (sampled) {
+                rowResult.setAuditContainer(auditContainer);
+            }
+        }
+        return null;
+    }
+
+    protected List<Integer> getMatchedRuleNumbers(DecisionExecutionAuditContainer auditContainer) {
+        List<Integer> matchedRuleNumbers = new ArrayList<>();
+        if (auditContainer.getRuleExecutions() != null) {
+            for (RuleExecutionAuditContainer ruleExecution : auditContainer.getRuleExecutions().values()) {
+                // only the rules that matched have their conclusions evaluated
+                if (!ruleExecution.getConclusionResults().isEmpty()) {
+                    matchedRuleNumbers.add(ruleExecution.getRuleNumber());
+                }
+            }
+        }
+        Collections.sort(matchedRuleNumbers);
+        return matchedRuleNumbers;
+    }
+
+}
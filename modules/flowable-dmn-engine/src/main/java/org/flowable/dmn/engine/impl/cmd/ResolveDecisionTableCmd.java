@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.cmd;
+
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.ExecuteDecisionBatchBuilderImpl;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+
+/**
+ * Resolves the decision table to execute, in the same way as the decision execution commands do.
+ */
+public class ResolveDecisionTableCmd extends AbstractExecuteDecisionCmd implements Command<DecisionTableCacheEntry> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResolveDecisionTableCmd(ExecuteDecisionBatchBuilderImpl decisionBatchBuilder) {
+        super(decisionBatchBuilder.getDecisionKey(), null);
+        executeDecisionInfo.setParentDeploymentId(decisionBatchBuilder.getParentDeploymentId());
+        executeDecisionInfo.setTenantId(decisionBatchBuilder.getTenantId());
+    }
+
+    public DecisionTableCacheEntry execute(CommandContext commandContext) {
+        if (getDecisionKey() == null) {
+            throw new FlowableIllegalArgumentException("decisionKey is null");
+        }
+
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+        DmnDecisionTable decisionTable = resolveDecisionTable(dmnEngineConfiguration.getDeploymentManager());
+        return dmnEngineConfiguration.getDeploymentManager().resolveDecisionTable(decisionTable);
+    }
+
+}
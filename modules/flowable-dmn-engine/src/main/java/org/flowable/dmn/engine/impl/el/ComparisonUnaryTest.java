@@ -0,0 +1,222 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A unary test of the form '&lt;operator&gt; &lt;literal&gt;' (eg. '&gt;= 10', '== "gold"' or a plain literal which means equality)
+ * that can be evaluated directly in Java, without going through the expression language.
+ * 
+ * The comparison follows the EL coercion rules for the value types it supports (simple integer and floating point numbers, strings and booleans).
+ * For any other value type, {@link #test(Object)} returns null and the EL expression must be used instead.
+ */
+public class ComparisonUnaryTest {
+
+    protected static final Pattern OPERATOR_PATTERN = Pattern.compile("^(==|!=|<=|>=|<|>)\\s*(.+)$");
+    protected static final Pattern INTEGER_PATTERN = Pattern.compile("^-?\\d+$");
+    protected static final Pattern DECIMAL_PATTERN = Pattern.compile("^-?\\d+\\.\\d+$");
+    protected static final Pattern STRING_PATTERN = Pattern.compile("^(\"([^\"\\\\]*)\"|'([^'\\\\]*)')$");
+    protected static final Pattern IDENTIFIER_PATTERN = Pattern.compile("^[a-zA-Z_$][a-zA-Z0-9_$]*$");
+
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null", "empty", "div", "mod", "instanceof"));
+
+    public enum Operator {
+        EQ, NE, LT, LE, GT, GE
+    }
+
+    protected Operator operator;
+    protected Object literal;
+
+    public ComparisonUnaryTest(Operator operator, Object literal) {
+        this.operator = operator;
+        this.literal = literal;
+    }
+
+    /**
+     * Parses the text of an input entry in the same way as {@link ELConditionExpressionPreParser}. 
+     * Returns null when the input entry is not a simple comparison with a literal.
+     */
+    public static ComparisonUnaryTest parse(String inputEntryText, String inputVariable, String inputVariableType) {
+        if (StringUtils.isEmpty(inputEntryText) || !isSimpleIdentifier(inputVariable)) {
+            return null;
+        }
+
+        if (inputEntryText.contains("fn_") || inputEntryText.startsWith("#{") || inputEntryText.startsWith("${")) {
+            return null;
+        }
+
+        if (!"date".equals(inputVariableType) && !"number".equals(inputVariableType) && inputEntryText.startsWith(".")) {
+            return null;
+        }
+
+        String segment = ELConditionExpressionPreParser.parseSegmentWithOperator(inputEntryText).trim();
+        Matcher matcher = OPERATOR_PATTERN.matcher(segment);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        Object literal = parseLiteral(matcher.group(2).trim());
+        if (literal == null) {
+            return null;
+        }
+
+        Operator operator = parseOperator(matcher.group(1));
+        if (literal instanceof Boolean && operator != Operator.EQ && operator != Operator.NE) {
+            return null;
+        }
+        return new ComparisonUnaryTest(operator, literal);
+    }
+
+    public static boolean isSimpleIdentifier(String expression) {
+        return expression != null && IDENTIFIER_PATTERN.matcher(expression).matches() && !RESERVED_WORDS.contains(expression);
+    }
+
+    protected static Operator parseOperator(String operator) {
+        switch (operator) {
+        case "==":
+            return Operator.EQ;
+        case "!=":
+            return Operator.NE;
+        case "<":
+            return Operator.LT;
+        case "<=":
+            return Operator.LE;
+        case ">":
+            return Operator.GT;
+        default:
+            return Operator.GE;
+        }
+    }
+
+    protected static Object parseLiteral(String text) {
+        if (INTEGER_PATTERN.matcher(text).matches()) {
+            try {
+                return Long.valueOf(text);
+            } catch (NumberFormatException e) {
+                return null; // would be a BigInteger in EL
+            }
+        }
+
+        if (DECIMAL_PATTERN.matcher(text).matches()) {
+            return Double.valueOf(text);
+        }
+
+        Matcher stringMatcher = STRING_PATTERN.matcher(text);
+        if (stringMatcher.matches()) {
+            return stringMatcher.group(2) != null ? stringMatcher.group(2) : stringMatcher.group(3);
+        }
+
+        if ("true".equals(text)) {
+            return Boolean.TRUE;
+        } else if ("false".equals(text)) {
+            return Boolean.FALSE;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the result of the test, or null if the value has a type that needs the EL coercion rules.
+     */
+    public Boolean test(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (literal instanceof Number) {
+            if (!isSimpleNumber(value)) {
+                return null;
+            }
+            if (literal instanceof Double || value instanceof Double || value instanceof Float) {
+                return compareDoubles(((Number) value).doubleValue(), ((Number) literal).doubleValue());
+            }
+            return compare(Long.compare(((Number) value).longValue(), ((Number) literal).longValue()));
+
+        } else if (literal instanceof String) {
+            if (!(value instanceof String)) {
+                return null;
+            }
+            if (operator == Operator.EQ) {
+                return value.equals(literal);
+            } else if (operator == Operator.NE) {
+                return !value.equals(literal);
+            }
+            return compare(((String) value).compareTo((String) literal));
+
+        } else if (literal instanceof Boolean) {
+            if (!(value instanceof Boolean)) {
+                return null;
+            }
+            return operator == Operator.EQ ? value.equals(literal) : !value.equals(literal);
+        }
+
+        return null;
+    }
+
+    protected boolean isSimpleNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Short || value instanceof Byte || value instanceof Float;
+    }
+
+    protected boolean compareDoubles(double value, double literalValue) {
+        // Same as EL: equality uses Double.equals, the other operators are derived from < and > 
+        switch (operator) {
+        case EQ:
+            return Double.valueOf(value).equals(Double.valueOf(literalValue));
+        case NE:
+            return !Double.valueOf(value).equals(Double.valueOf(literalValue));
+        case LT:
+            return value < literalValue;
+        case LE:
+            return !(value > literalValue);
+        case GT:
+            return value > literalValue;
+        default:
+            return !(value < literalValue);
+        }
+    }
+
+    protected boolean compare(int comparison) {
+        switch (operator) {
+        case EQ:
+            return comparison == 0;
+        case NE:
+            return comparison != 0;
+        case LT:
+            return comparison < 0;
+        case LE:
+            return comparison <= 0;
+        case GT:
+            return comparison > 0;
+        default:
+            return comparison >= 0;
+        }
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getLiteral() {
+        return literal;
+    }
+
+}
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.LiteralExpression;
+import org.flowable.dmn.model.OutputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.RuleOutputClauseContainer;
+import org.flowable.dmn.model.UnaryTests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The input and output entries of a {@link DecisionTable}, pre-parsed into reusable {@link Expression} instances.
+ * 
+ * Compilation happens once, when the decision table is put in the deployment cache. Entries are looked up by identity of the model element,
+ * so a compiled decision table is only valid for the exact {@link DecisionTable} instance it was created from.
+ * Entries that can't be compiled (eg. because the expression has a syntax error) are left out: 
+ * these are evaluated as before, so they fail in exactly the same way at execution time.
+ */
+public class CompiledDecisionTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledDecisionTable.class);
+
+    protected DecisionTable decisionTable;
+    protected Map<UnaryTests, CompiledInputEntry> inputEntries = new IdentityHashMap<>();
+    protected Map<LiteralExpression, CompiledOutputEntry> outputEntries = new IdentityHashMap<>();
+    protected DecisionTableIndex index;
+
+    public CompiledDecisionTable(DecisionTable decisionTable) {
+        this.decisionTable = decisionTable;
+    }
+
+    public static CompiledDecisionTable compile(DecisionTable decisionTable, ExpressionManager expressionManager) {
+        return compile(decisionTable, expressionManager, false);
+    }
+
+    /**
+     * @param createIndex whether a {@link DecisionTableIndex} should be created for the columns that can be indexed
+     */
+    public static CompiledDecisionTable compile(DecisionTable decisionTable, ExpressionManager expressionManager, boolean createIndex) {
+        CompiledDecisionTable compiledDecisionTable = new CompiledDecisionTable(decisionTable);
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+                compiledDecisionTable.compileInputEntry(inputContainer.getInputClause(), inputContainer.getInputEntry(), expressionManager);
+            }
+            for (RuleOutputClauseContainer outputContainer : rule.getOutputEntries()) {
+                compiledDecisionTable.compileOutputEntry(outputContainer.getOutputClause(), outputContainer.getOutputEntry(), expressionManager);
+            }
+        }
+
+        if (createIndex) {
+            compiledDecisionTable.index = DecisionTableIndex.create(decisionTable, compiledDecisionTable);
+        }
+
+        LOGGER.debug("Compiled decision table {}: {} input entries, {} output entries, {} indexed columns", decisionTable.getId(), 
+                compiledDecisionTable.inputEntries.size(), compiledDecisionTable.outputEntries.size(),
+                compiledDecisionTable.index != null ? compiledDecisionTable.index.getColumnIndexes().size() : 0);
+        return compiledDecisionTable;
+    }
+
+    protected void compileInputEntry(InputClause inputClause, UnaryTests inputEntry, ExpressionManager expressionManager) {
+        if (inputClause == null || inputClause.getInputExpression() == null || inputEntry == null 
+                || StringUtils.isEmpty(inputClause.getInputExpression().getText()) || StringUtils.isEmpty(inputEntry.getText()) || "-".equals(inputEntry.getText())) {
+            return;
+        }
+
+        String inputVariable = inputClause.getInputExpression().getText();
+        String inputVariableType = inputClause.getInputExpression().getTypeRef();
+        try {
+            String parsedExpression = ELConditionExpressionPreParser.parse(inputEntry.getText(), inputVariable, inputVariableType);
+            Expression expression = expressionManager.createExpression(parsedExpression);
+            ComparisonUnaryTest comparisonUnaryTest = ComparisonUnaryTest.parse(inputEntry.getText(), inputVariable, inputVariableType);
+            inputEntries.put(inputEntry, new CompiledInputEntry(inputVariable, parsedExpression, expression, comparisonUnaryTest));
+
+        } catch (Exception e) {
+            LOGGER.debug("Input entry {} could not be compiled, it will be evaluated when executing", inputEntry.getId(), e);
+        }
+    }
+
+    protected void compileOutputEntry(OutputClause outputClause, LiteralExpression outputEntry, ExpressionManager expressionManager) {
+        if (outputClause == null || outputEntry == null || StringUtils.isEmpty(outputEntry.getText())) {
+            return;
+        }
+
+        try {
+            String parsedExpression = ELOutputExpressionPreParser.parse(outputEntry.getText());
+            Expression expression = expressionManager.createExpression(parsedExpression);
+            outputEntries.put(outputEntry, new CompiledOutputEntry(outputEntry.getText(), expression));
+
+        } catch (Exception e) {
+            LOGGER.debug("Output entry {} could not be compiled, it will be evaluated when executing", outputEntry.getId(), e);
+        }
+    }
+
+    public CompiledInputEntry getInputEntry(UnaryTests inputEntry) {
+        return inputEntries.get(inputEntry);
+    }
+
+    public CompiledOutputEntry getOutputEntry(LiteralExpression outputEntry) {
+        return outputEntries.get(outputEntry);
+    }
+
+    public DecisionTableIndex getIndex() {
+        return index;
+    }
+
+    public DecisionTable getDecisionTable() {
+        return decisionTable;
+    }
+
+}
@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.Map;
+
+import org.flowable.dmn.engine.FlowableDmnExpressionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input entry of a decision table rule of which the expression has been pre-parsed and created when the decision table was deployed.
+ * Evaluating it gives the same result as {@link ELExpressionExecutor#executeInputExpression}.
+ */
+public class CompiledInputEntry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledInputEntry.class);
+
+    protected String inputVariable;
+    protected String parsedExpression;
+    protected RuleExpressionCondition condition;
+    protected ComparisonUnaryTest comparisonUnaryTest;
+
+    public CompiledInputEntry(String inputVariable, String parsedExpression, Expression expression, ComparisonUnaryTest comparisonUnaryTest) {
+        this.inputVariable = inputVariable;
+        this.parsedExpression = parsedExpression;
+        this.condition = new RuleExpressionCondition(expression);
+        this.comparisonUnaryTest = comparisonUnaryTest;
+    }
+
+    public Boolean evaluate(ELExecutionContext executionContext) {
+        Map<String, Object> variables = executionContext.getStackVariables();
+
+        // Fast path: no expression evaluation needed for simple comparisons with a literal
+        if (comparisonUnaryTest != null && variables != null && variables.containsKey(inputVariable)) {
+            Boolean result = comparisonUnaryTest.test(variables.get(inputVariable));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        try {
+            return condition.evaluate(variables);
+        } catch (Exception ex) {
+            LOGGER.warn("Error while executing input entry: {}", parsedExpression, ex);
+            throw new FlowableDmnExpressionException("error while executing input entry", parsedExpression, ex);
+        }
+    }
+
+    public String getInputVariable() {
+        return inputVariable;
+    }
+
+    public String getParsedExpression() {
+        return parsedExpression;
+    }
+
+    public ComparisonUnaryTest getComparisonUnaryTest() {
+        return comparisonUnaryTest;
+    }
+
+}
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import org.flowable.dmn.engine.FlowableDmnExpressionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Output entry of a decision table rule of which the expression has been pre-parsed and created when the decision table was deployed.
+ * Evaluating it gives the same result as {@link ELExpressionExecutor#executeOutputExpression}.
+ */
+public class CompiledOutputEntry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledOutputEntry.class);
+
+    protected String outputEntryText;
+    protected RuleExpressionOutput output;
+
+    public CompiledOutputEntry(String outputEntryText, Expression expression) {
+        this.outputEntryText = outputEntryText;
+        this.output = new RuleExpressionOutput(expression);
+    }
+
+    public Object evaluate(ELExecutionContext executionContext) {
+        try {
+            return output.getValue(executionContext.getStackVariables());
+        } catch (Exception ex) {
+            LOGGER.warn("Error while executing output entry: {}", outputEntryText, ex);
+            throw new FlowableDmnExpressionException("error while executing output entry", outputEntryText, ex);
+        }
+    }
+
+    public String getOutputEntryText() {
+        return outputEntryText;
+    }
+
+}
@@ -0,0 +1,151 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.UnaryTests;
+
+/**
+ * Per input clause (column) indexes of a decision table, see {@link InputColumnIndex}.
+ * 
+ * Before the rules are evaluated, {@link #match(Map)} looks up the input values in the column indexes, 
+ * which gives per column the set of rules of which the input entry is true. 
+ * The rules are still walked in order, so the hit policy behavior and the audit trail stay exactly the same,
+ * but input entries of indexed columns are answered from these sets instead of being evaluated.
+ * This intersects the candidate sets of the columns rule by rule: a rule that isn't in the set of an indexed column 
+ * is rejected as soon as that column is reached, without evaluating any expression.
+ */
+public class DecisionTableIndex {
+
+    protected List<InputColumnIndex> columnIndexes = new ArrayList<>();
+    protected Map<UnaryTests, IndexedInputEntry> indexedInputEntries = new IdentityHashMap<>();
+
+    /**
+     * Creates the index for the given decision table, or returns null if none of its columns can be indexed.
+     */
+    public static DecisionTableIndex create(DecisionTable decisionTable, CompiledDecisionTable compiledDecisionTable) {
+        // group the input entries per column, keeping the rule order
+        Map<InputClause, Map<Integer, UnaryTests>> columns = new LinkedHashMap<>();
+        List<DecisionRule> rules = decisionTable.getRules();
+        for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+            for (RuleInputClauseContainer inputContainer : rules.get(ruleIndex).getInputEntries()) {
+                if (inputContainer.getInputClause() == null || inputContainer.getInputEntry() == null) {
+                    continue;
+                }
+                Map<Integer, UnaryTests> columnEntries = columns.get(inputContainer.getInputClause());
+                if (columnEntries == null) {
+                    columnEntries = new LinkedHashMap<>();
+                    columns.put(inputContainer.getInputClause(), columnEntries);
+                }
+                columnEntries.put(ruleIndex, inputContainer.getInputEntry());
+            }
+        }
+
+        DecisionTableIndex decisionTableIndex = new DecisionTableIndex();
+        for (Map<Integer, UnaryTests> columnEntries : columns.values()) {
+            decisionTableIndex.addColumn(columnEntries, compiledDecisionTable, rules.size());
+        }
+
+        return decisionTableIndex.columnIndexes.isEmpty() ? null : decisionTableIndex;
+    }
+
+    protected void addColumn(Map<Integer, UnaryTests> columnEntries, CompiledDecisionTable compiledDecisionTable, int nrOfRules) {
+        String inputVariable = null;
+        Map<Integer, ComparisonUnaryTest> comparisons = new LinkedHashMap<>();
+        for (Map.Entry<Integer, UnaryTests> columnEntry : columnEntries.entrySet()) {
+            String inputEntryText = columnEntry.getValue().getText();
+            if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText)) {
+                // dash entries are always true and are never evaluated
+                continue;
+            }
+
+            CompiledInputEntry compiledInputEntry = compiledDecisionTable.getInputEntry(columnEntry.getValue());
+            if (compiledInputEntry == null || compiledInputEntry.getComparisonUnaryTest() == null) {
+                return;
+            }
+            inputVariable = compiledInputEntry.getInputVariable();
+            comparisons.put(columnEntry.getKey(), compiledInputEntry.getComparisonUnaryTest());
+        }
+
+        if (comparisons.isEmpty()) {
+            return;
+        }
+
+        InputColumnIndex columnIndex = InputColumnIndex.create(inputVariable, comparisons, nrOfRules);
+        if (columnIndex == null) {
+            return;
+        }
+
+        int column = columnIndexes.size();
+        columnIndexes.add(columnIndex);
+        for (Map.Entry<Integer, UnaryTests> columnEntry : columnEntries.entrySet()) {
+            if (comparisons.containsKey(columnEntry.getKey())) {
+                indexedInputEntries.put(columnEntry.getValue(), new IndexedInputEntry(column, columnEntry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Looks up the given input variables in the column indexes.
+     */
+    public DecisionTableIndexMatches match(Map<String, Object> variables) {
+        BitSet[] columnMatches = new BitSet[columnIndexes.size()];
+        if (variables != null) {
+            for (int column = 0; column < columnIndexes.size(); column++) {
+                InputColumnIndex columnIndex = columnIndexes.get(column);
+                if (variables.containsKey(columnIndex.getInputVariable())) {
+                    columnMatches[column] = columnIndex.match(variables.get(columnIndex.getInputVariable()));
+                }
+            }
+        }
+        return new DecisionTableIndexMatches(this, columnMatches);
+    }
+
+    public List<InputColumnIndex> getColumnIndexes() {
+        return columnIndexes;
+    }
+
+    public IndexedInputEntry getIndexedInputEntry(UnaryTests inputEntry) {
+        return indexedInputEntries.get(inputEntry);
+    }
+
+    public static class IndexedInputEntry {
+
+        protected int column;
+        protected int ruleIndex;
+
+        public IndexedInputEntry(int column, int ruleIndex) {
+            this.column = column;
+            this.ruleIndex = ruleIndex;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public int getRuleIndex() {
+            return ruleIndex;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.BitSet;
+
+import org.flowable.dmn.engine.impl.el.DecisionTableIndex.IndexedInputEntry;
+import org.flowable.dmn.model.UnaryTests;
+
+/**
+ * Result of looking up the input variables of one execution in a {@link DecisionTableIndex}.
+ */
+public class DecisionTableIndexMatches {
+
+    protected DecisionTableIndex decisionTableIndex;
+    protected BitSet[] columnMatches;
+
+    public DecisionTableIndexMatches(DecisionTableIndex decisionTableIndex, BitSet[] columnMatches) {
+        this.decisionTableIndex = decisionTableIndex;
+        this.columnMatches = columnMatches;
+    }
+
+    /**
+     * @return the result of the given input entry, or null if it isn't indexed or the input value couldn't be looked up
+     *         and the input entry needs to be evaluated.
+     */
+    public Boolean getInputEntryResult(UnaryTests inputEntry) {
+        IndexedInputEntry indexedInputEntry = decisionTableIndex.getIndexedInputEntry(inputEntry);
+        if (indexedInputEntry == null) {
+            return null;
+        }
+
+        BitSet matches = columnMatches[indexedInputEntry.getColumn()];
+        if (matches == null) {
+            return null;
+        }
+        return matches.get(indexedInputEntry.getRuleIndex());
+    }
+}
@@ -21,6 +21,7 @@ import org.flowable.engine.common.impl.el.FlowableElContext;
 import org.flowable.engine.common.impl.el.JsonNodeELResolver;
 import org.flowable.engine.common.impl.el.ParsingElContext;
 import org.flowable.engine.common.impl.el.ReadOnlyMapELResolver;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
 import org.flowable.engine.common.impl.javax.el.ArrayELResolver;
 import org.flowable.engine.common.impl.javax.el.BeanELResolver;
 import org.flowable.engine.common.impl.javax.el.CompositeELResolver;
@@ -55,6 +56,8 @@ public class DefaultExpressionManager implements ExpressionManager {
     protected ELContext parsingElContext;
     protected Map<Object, Object> beans;
 
+    protected ExpressionCompiler expressionCompiler;
+
     public DefaultExpressionManager() {
         this(null);
     }
@@ -70,10 +73,21 @@ public class DefaultExpressionManager implements ExpressionManager {
             this.parsingElContext = new ParsingElContext(functionDelegates);
         }
 
-        ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression.trim(), Object.class);
+        ValueExpression valueExpression = createValueExpression(expression.trim());
         return new JuelExpression(this, valueExpression, expression);
     }
 
+    /**
+     * Parses the expression. When an {@link ExpressionCompiler} is set, the parsed tree is compiled into bytecode.
+     */
+    protected ValueExpression createValueExpression(String expression) {
+        ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+        if (expressionCompiler != null) {
+            valueExpression = expressionCompiler.compile(valueExpression);
+        }
+        return valueExpression;
+    }
+
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
     }
@@ -120,4 +134,12 @@ public class DefaultExpressionManager implements ExpressionManager {
     public void setFunctionDelegates(List<FlowableFunctionDelegate> functionDelegates) {
         this.functionDelegates = functionDelegates;
     }
+
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
 }
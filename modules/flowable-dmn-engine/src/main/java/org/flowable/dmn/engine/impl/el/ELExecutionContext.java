@@ -31,6 +31,8 @@ public class ELExecutionContext {
     protected DecisionExecutionAuditContainer auditContainer;
     protected Map<String, List<Object>> outputValues = new HashMap<>();
     protected BuiltinAggregator aggregator;
+    protected CompiledDecisionTable compiledDecisionTable;
+    protected DecisionTableIndexMatches decisionTableIndexMatches;
 
     public void checkExecutionContext(String variableId) {
 
@@ -89,4 +91,20 @@ public class ELExecutionContext {
     public void setAggregator(BuiltinAggregator aggregator) {
         this.aggregator = aggregator;
     }
+
+    public CompiledDecisionTable getCompiledDecisionTable() {
+        return compiledDecisionTable;
+    }
+
+    public void setCompiledDecisionTable(CompiledDecisionTable compiledDecisionTable) {
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
+
+    public DecisionTableIndexMatches getDecisionTableIndexMatches() {
+        return decisionTableIndexMatches;
+    }
+
+    public void setDecisionTableIndexMatches(DecisionTableIndexMatches decisionTableIndexMatches) {
+        this.decisionTableIndexMatches = decisionTableIndexMatches;
+    }
 }
@@ -0,0 +1,318 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.el;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the input entries of one input clause (column) of a decision table.
+ * 
+ * Equality tests are put in hash indexes, the other comparisons in arrays sorted on their literal,
+ * so that the rules of which the input entry is true for a given value are found with hash lookups and binary searches 
+ * instead of evaluating every input entry. A column is only indexed when all of its (non dash) input entries are
+ * {@link ComparisonUnaryTest}s with literals of the same type.
+ * 
+ * {@link #match(Object)} gives exactly the same results as {@link ComparisonUnaryTest#test(Object)} and returns null
+ * for the same value types, in which case the input entries have to be evaluated one by one.
+ */
+public class InputColumnIndex {
+
+    // numbers up to this magnitude are compared the same way as doubles and as longs
+    protected static final long MAX_EXACT_DOUBLE_LONG = 1L << 53;
+
+    protected static final Comparator<Object> NUMBER_COMPARATOR = new Comparator<Object>() {
+
+        @Override
+        public int compare(Object o1, Object o2) {
+            // primitive comparison: -0.0 and 0.0 are equal, as with the < and > operators
+            double d1 = (Double) o1;
+            double d2 = (Double) o2;
+            return d1 < d2 ? -1 : (d1 > d2 ? 1 : 0);
+        }
+    };
+
+    protected static final Comparator<Object> STRING_COMPARATOR = new Comparator<Object>() {
+
+        @Override
+        public int compare(Object o1, Object o2) {
+            return ((String) o1).compareTo((String) o2);
+        }
+    };
+
+    public enum LiteralType {
+        NUMBER, STRING, BOOLEAN
+    }
+
+    protected String inputVariable;
+    protected LiteralType literalType;
+    protected int nrOfRules;
+
+    protected Map<Object, BitSet> equalTo = new HashMap<>();
+    protected BitSet notEqualToAll = new BitSet();
+    protected Map<Object, BitSet> notEqualTo = new HashMap<>();
+    protected SortedEntries lessThan;
+    protected SortedEntries lessThanOrEqual;
+    protected SortedEntries greaterThan;
+    protected SortedEntries greaterThanOrEqual;
+
+    public InputColumnIndex(String inputVariable, LiteralType literalType, int nrOfRules) {
+        this.inputVariable = inputVariable;
+        this.literalType = literalType;
+        this.nrOfRules = nrOfRules;
+    }
+
+    /**
+     * Creates the index for the given comparisons of one column, the key of the map being the rule index.
+     * Returns null when the comparisons can't be indexed.
+     */
+    public static InputColumnIndex create(String inputVariable, Map<Integer, ComparisonUnaryTest> comparisons, int nrOfRules) {
+        LiteralType literalType = null;
+        for (ComparisonUnaryTest comparison : comparisons.values()) {
+            LiteralType comparisonLiteralType = getLiteralType(comparison.getLiteral());
+            if (comparisonLiteralType == null || (literalType != null && literalType != comparisonLiteralType)) {
+                return null;
+            }
+            literalType = comparisonLiteralType;
+        }
+
+        if (literalType == null) {
+            return null;
+        }
+
+        InputColumnIndex index = new InputColumnIndex(inputVariable, literalType, nrOfRules);
+        List<SortedEntry> lessThanEntries = new ArrayList<>();
+        List<SortedEntry> lessThanOrEqualEntries = new ArrayList<>();
+        List<SortedEntry> greaterThanEntries = new ArrayList<>();
+        List<SortedEntry> greaterThanOrEqualEntries = new ArrayList<>();
+
+        for (Map.Entry<Integer, ComparisonUnaryTest> comparisonEntry : comparisons.entrySet()) {
+            int ruleIndex = comparisonEntry.getKey();
+            ComparisonUnaryTest comparison = comparisonEntry.getValue();
+            Object key = index.toKey(comparison.getLiteral());
+
+            switch (comparison.getOperator()) {
+            case EQ:
+                getOrCreate(index.equalTo, key).set(ruleIndex);
+                break;
+            case NE:
+                index.notEqualToAll.set(ruleIndex);
+                getOrCreate(index.notEqualTo, key).set(ruleIndex);
+                break;
+            case LT:
+                lessThanEntries.add(new SortedEntry(key, ruleIndex));
+                break;
+            case LE:
+                lessThanOrEqualEntries.add(new SortedEntry(key, ruleIndex));
+                break;
+            case GT:
+                greaterThanEntries.add(new SortedEntry(key, ruleIndex));
+                break;
+            default:
+                greaterThanOrEqualEntries.add(new SortedEntry(key, ruleIndex));
+            }
+        }
+
+        Comparator<Object> comparator = index.getComparator();
+        index.lessThan = SortedEntries.create(lessThanEntries, comparator);
+        index.lessThanOrEqual = SortedEntries.create(lessThanOrEqualEntries, comparator);
+        index.greaterThan = SortedEntries.create(greaterThanEntries, comparator);
+        index.greaterThanOrEqual = SortedEntries.create(greaterThanOrEqualEntries, comparator);
+        return index;
+    }
+
+    protected static LiteralType getLiteralType(Object literal) {
+        if (literal instanceof Long) {
+            long longLiteral = (Long) literal;
+            return Math.abs(longLiteral) <= MAX_EXACT_DOUBLE_LONG ? LiteralType.NUMBER : null;
+        } else if (literal instanceof Double) {
+            return LiteralType.NUMBER;
+        } else if (literal instanceof String) {
+            return LiteralType.STRING;
+        } else if (literal instanceof Boolean) {
+            return LiteralType.BOOLEAN;
+        }
+        return null;
+    }
+
+    protected static BitSet getOrCreate(Map<Object, BitSet> bitSets, Object key) {
+        BitSet bitSet = bitSets.get(key);
+        if (bitSet == null) {
+            bitSet = new BitSet();
+            bitSets.put(key, bitSet);
+        }
+        return bitSet;
+    }
+
+    /**
+     * @return the rules (by index) of which the input entry in this column is true for the given value, 
+     *         or null if the value has a type that needs the EL coercion rules.
+     */
+    public BitSet match(Object value) {
+        Object key = toValueKey(value);
+        if (key == null) {
+            return null;
+        }
+
+        BitSet matches = new BitSet(nrOfRules);
+        BitSet equalToMatches = equalTo.get(key);
+        if (equalToMatches != null) {
+            matches.or(equalToMatches);
+        }
+
+        if (!notEqualToAll.isEmpty()) {
+            BitSet notEqualToMatches = (BitSet) notEqualToAll.clone();
+            BitSet equalLiterals = notEqualTo.get(key);
+            if (equalLiterals != null) {
+                notEqualToMatches.andNot(equalLiterals);
+            }
+            matches.or(notEqualToMatches);
+        }
+
+        // value < literal, value <= literal, value > literal and value >= literal
+        lessThan.setWhereLiteralGreaterThan(key, false, matches);
+        lessThanOrEqual.setWhereLiteralGreaterThan(key, true, matches);
+        greaterThan.setWhereLiteralLessThan(key, false, matches);
+        greaterThanOrEqual.setWhereLiteralLessThan(key, true, matches);
+
+        return matches;
+    }
+
+    protected Object toKey(Object literal) {
+        if (literalType == LiteralType.NUMBER) {
+            return ((Number) literal).doubleValue();
+        }
+        return literal;
+    }
+
+    protected Object toValueKey(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        switch (literalType) {
+        case NUMBER:
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).doubleValue();
+            } else if (value instanceof Long) {
+                long longValue = (Long) value;
+                return Math.abs(longValue) <= MAX_EXACT_DOUBLE_LONG ? Double.valueOf(longValue) : null;
+            } else if (value instanceof Double || value instanceof Float) {
+                double doubleValue = ((Number) value).doubleValue();
+                return Double.isNaN(doubleValue) ? null : Double.valueOf(doubleValue);
+            }
+            return null;
+
+        case STRING:
+            return value instanceof String ? value : null;
+
+        default:
+            return value instanceof Boolean ? value : null;
+        }
+    }
+
+    protected Comparator<Object> getComparator() {
+        return literalType == LiteralType.NUMBER ? NUMBER_COMPARATOR : STRING_COMPARATOR;
+    }
+
+    public String getInputVariable() {
+        return inputVariable;
+    }
+
+    public LiteralType getLiteralType() {
+        return literalType;
+    }
+
+    protected static class SortedEntry {
+
+        protected Object literal;
+        protected int ruleIndex;
+
+        public SortedEntry(Object literal, int ruleIndex) {
+            this.literal = literal;
+            this.ruleIndex = ruleIndex;
+        }
+    }
+
+    /**
+     * Literals sorted in ascending order together with the index of the rule they belong to.
+     */
+    protected static class SortedEntries {
+
+        protected Object[] literals;
+        protected int[] ruleIndexes;
+        protected Comparator<Object> comparator;
+
+        public static SortedEntries create(List<SortedEntry> entries, final Comparator<Object> comparator) {
+            Collections.sort(entries, new Comparator<SortedEntry>() {
+
+                @Override
+                public int compare(SortedEntry e1, SortedEntry e2) {
+                    return comparator.compare(e1.literal, e2.literal);
+                }
+            });
+
+            SortedEntries sortedEntries = new SortedEntries();
+            sortedEntries.comparator = comparator;
+            sortedEntries.literals = new Object[entries.size()];
+            sortedEntries.ruleIndexes = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                sortedEntries.literals[i] = entries.get(i).literal;
+                sortedEntries.ruleIndexes[i] = entries.get(i).ruleIndex;
+            }
+            return sortedEntries;
+        }
+
+        /**
+         * Sets the rules of which the literal is greater than (or equal to) the value.
+         */
+        public void setWhereLiteralGreaterThan(Object value, boolean orEqual, BitSet matches) {
+            for (int i = firstGreaterThan(value, orEqual); i < literals.length; i++) {
+                matches.set(ruleIndexes[i]);
+            }
+        }
+
+        /**
+         * Sets the rules of which the literal is less than (or equal to) the value.
+         */
+        public void setWhereLiteralLessThan(Object value, boolean orEqual, BitSet matches) {
+            int end = firstGreaterThan(value, !orEqual);
+            for (int i = 0; i < end; i++) {
+                matches.set(ruleIndexes[i]);
+            }
+        }
+
+        /**
+         * Returns the position of the first literal that is greater than (or equal to) the value.
+         */
+        protected int firstGreaterThan(Object value, boolean orEqual) {
+            int low = 0;
+            int high = literals.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = comparator.compare(literals[middle], value);
+                if (comparison > 0 || (orEqual && comparison == 0)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
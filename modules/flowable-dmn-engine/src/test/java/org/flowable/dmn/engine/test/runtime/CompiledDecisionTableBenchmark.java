@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.impl.el.CompiledDecisionTable;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the execution time of a generated, large decision table with and without the compiled decision table.
+ * <p>
+ * Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class CompiledDecisionTableBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledDecisionTableBenchmark.class);
+
+    protected static final int NR_OF_RULES = 200;
+    protected static final int NR_OF_EXECUTIONS = 200;
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected String deploymentId;
+    protected DecisionTableCacheEntry cacheEntry;
+    protected CompiledDecisionTable compiledDecisionTable;
+
+    @Before
+    public void deployLargeDecisionTable() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        DmnDeployment deployment = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addString("largeDecisionTable.dmn", CompiledDecisionTableTest.createDecisionTableXml(NR_OF_RULES))
+                .deploy();
+        deploymentId = deployment.getId();
+
+        DmnDecisionTable decisionTable = dmnEngine.getDmnRepositoryService().createDecisionTableQuery().deploymentId(deploymentId).singleResult();
+        cacheEntry = dmnEngine.getDmnEngineConfiguration().getDecisionCache().get(decisionTable.getId());
+        assertNotNull(cacheEntry);
+        compiledDecisionTable = cacheEntry.getCompiledDecisionTable();
+    }
+
+    @After
+    public void deleteDeployment() {
+        dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+    }
+
+    @Test
+    public void compiledVersusInterpretedExecutionTime() {
+        Map<String, Object> input = CompiledDecisionTableTest.createInput(NR_OF_RULES, "cat5");
+
+        // warm up both paths
+        for (int i = 0; i < 20; i++) {
+            cacheEntry.setCompiledDecisionTable(compiledDecisionTable);
+            execute(input);
+            cacheEntry.setCompiledDecisionTable(null);
+            execute(input);
+        }
+
+        cacheEntry.setCompiledDecisionTable(null);
+        Object interpretedResult = execute(input).getDecisionResult();
+        long interpretedTime = timeExecutions(input);
+
+        cacheEntry.setCompiledDecisionTable(CompiledDecisionTable.compile(getDecisionTable(), dmnEngine.getDmnEngineConfiguration().getExpressionManager()));
+        long compiledTime = timeExecutions(input);
+
+        cacheEntry.setCompiledDecisionTable(compiledDecisionTable);
+        assertEquals(interpretedResult, execute(input).getDecisionResult());
+        long indexedTime = timeExecutions(input);
+
+        LOGGER.info("{} executions of a decision table with {} rules: interpreted {} ms, compiled {} ms, compiled and indexed {} ms",
+                NR_OF_EXECUTIONS, NR_OF_RULES, interpretedTime, compiledTime, indexedTime);
+    }
+
+    protected DecisionTable getDecisionTable() {
+        return (DecisionTable) cacheEntry.getDecision().getExpression();
+    }
+
+    protected long timeExecutions(Map<String, Object> input) {
+        long start = System.nanoTime();
+        for (int i = 0; i < NR_OF_EXECUTIONS; i++) {
+            execute(input);
+        }
+        return (System.nanoTime() - start) / 1000000L;
+    }
+
+    protected DecisionExecutionAuditContainer execute(Map<String, Object> input) {
+        return dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variables(input)
+                .executeWithAuditTrail();
+    }
+}
@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.DmnEngine;
+import org.flowable.dmn.engine.impl.el.ComparisonUnaryTest;
+import org.flowable.dmn.engine.impl.el.CompiledDecisionTable;
+import org.flowable.dmn.engine.impl.el.CompiledInputEntry;
+import org.flowable.dmn.engine.impl.el.DecisionTableIndexMatches;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Executes a generated, large decision table with and without the compiled decision table and compares the results.
+ */
+public class CompiledDecisionTableTest {
+
+    protected static final int NR_OF_RULES = 200;
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    protected DmnEngine dmnEngine;
+    protected String deploymentId;
+    protected DecisionTableCacheEntry cacheEntry;
+    protected CompiledDecisionTable compiledDecisionTable;
+
+    @Before
+    public void deployLargeDecisionTable() {
+        dmnEngine = flowableDmnRule.getDmnEngine();
+        DmnDeployment deployment = dmnEngine.getDmnRepositoryService().createDeployment()
+                .addString("largeDecisionTable.dmn", createDecisionTableXml(NR_OF_RULES))
+                .deploy();
+        deploymentId = deployment.getId();
+
+        DmnDecisionTable decisionTable = dmnEngine.getDmnRepositoryService().createDecisionTableQuery().deploymentId(deploymentId).singleResult();
+        cacheEntry = dmnEngine.getDmnEngineConfiguration().getDecisionCache().get(decisionTable.getId());
+        assertNotNull(cacheEntry);
+        compiledDecisionTable = cacheEntry.getCompiledDecisionTable();
+    }
+
+    @After
+    public void deleteDeployment() {
+        dmnEngine.getDmnRepositoryService().deleteDeployment(deploymentId);
+    }
+
+    @Test
+    public void compiledAndInterpretedResultsAreEqual() {
+        assertNotNull(compiledDecisionTable);
+
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        inputs.add(createInput(5, "cat0"));
+        inputs.add(createInput(150L, "cat3"));
+        inputs.add(createInput(150.5, "cat3"));
+        inputs.add(createInput(new BigDecimal("99.5"), "cat9"));
+        inputs.add(createInput(399, "unknown"));
+        inputs.add(createInput(-1, "cat1"));
+
+        for (Map<String, Object> input : inputs) {
+            cacheEntry.setCompiledDecisionTable(compiledDecisionTable);
+            DecisionExecutionAuditContainer compiledResult = execute(input);
+
+            cacheEntry.setCompiledDecisionTable(null);
+            DecisionExecutionAuditContainer interpretedResult = execute(input);
+
+            assertFalse(compiledResult.isFailed() != null && compiledResult.isFailed());
+            assertEquals(interpretedResult.isFailed(), compiledResult.isFailed());
+            assertEquals(interpretedResult.getDecisionResult(), compiledResult.getDecisionResult());
+            assertEquals(interpretedResult.getRuleExecutions().keySet(), compiledResult.getRuleExecutions().keySet());
+            for (Integer ruleNumber : interpretedResult.getRuleExecutions().keySet()) {
+                assertEquals(interpretedResult.getRuleExecutions().get(ruleNumber).isValid(), compiledResult.getRuleExecutions().get(ruleNumber).isValid());
+            }
+        }
+    }
+
+    @Test
+    public void missingInputVariableGivesSameResult() {
+        Map<String, Object> input = new HashMap<>();
+        input.put("category", "cat0");
+
+        cacheEntry.setCompiledDecisionTable(compiledDecisionTable);
+        DecisionExecutionAuditContainer compiledResult = execute(input);
+
+        cacheEntry.setCompiledDecisionTable(null);
+        DecisionExecutionAuditContainer interpretedResult = execute(input);
+
+        assertEquals(interpretedResult.isFailed(), compiledResult.isFailed());
+        assertEquals(interpretedResult.getDecisionResult(), compiledResult.getDecisionResult());
+        assertEquals(interpretedResult.getExceptionMessage(), compiledResult.getExceptionMessage());
+    }
+
+    @Test
+    public void indexMatchesComparisonUnaryTests() {
+        assertNotNull(compiledDecisionTable.getIndex());
+        assertEquals(2, compiledDecisionTable.getIndex().getColumnIndexes().size());
+
+        List<Object> values = new ArrayList<>();
+        for (int i = -2; i <= NR_OF_RULES * 2 + 2; i++) {
+            values.add(i);
+            values.add((long) i);
+            values.add(i + 0.5);
+            values.add("cat" + i);
+        }
+        values.add(-0.0);
+        values.add(Float.NaN);
+        values.add(new BigDecimal("10"));
+        values.add(Boolean.TRUE);
+
+        DecisionTable decisionTable = getDecisionTable();
+        for (Object value : values) {
+            DecisionTableIndexMatches matches = compiledDecisionTable.getIndex().match(createInput(value, value));
+            for (DecisionRule rule : decisionTable.getRules()) {
+                for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+                    CompiledInputEntry compiledInputEntry = compiledDecisionTable.getInputEntry(inputContainer.getInputEntry());
+                    Boolean indexResult = matches.getInputEntryResult(inputContainer.getInputEntry());
+                    if (indexResult != null) {
+                        assertEquals("value " + value + " for " + inputContainer.getInputEntry().getText(),
+                                compiledInputEntry.getComparisonUnaryTest().test(value), indexResult);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void comparisonUnaryTests() {
+        assertTrue(ComparisonUnaryTest.parse(">= 10", "age", "number").test(10));
+        assertFalse(ComparisonUnaryTest.parse("> 10", "age", "number").test(10L));
+        assertTrue(ComparisonUnaryTest.parse("< 10.5", "age", "number").test(10));
+        assertTrue(ComparisonUnaryTest.parse("10", "age", "number").test(10.0));
+        assertTrue(ComparisonUnaryTest.parse("!= 'gold'", "level", "string").test("silver"));
+        assertTrue(ComparisonUnaryTest.parse("== \"gold\"", "level", "string").test("gold"));
+        assertTrue(ComparisonUnaryTest.parse("== true", "vip", "boolean").test(Boolean.TRUE));
+
+        // left to the expression language
+        assertNull(ComparisonUnaryTest.parse("> 10", "age", "number").test(new BigDecimal("11")));
+        assertNull(ComparisonUnaryTest.parse("== 'gold'", "level", "string").test(1));
+        assertNull(ComparisonUnaryTest.parse("> otherVariable", "age", "number"));
+        assertNull(ComparisonUnaryTest.parse("> 10", "person.age", "number"));
+        assertNull(ComparisonUnaryTest.parse("#{age > 10}", "age", "number"));
+        assertNull(ComparisonUnaryTest.parse("fn_date('2017-01-01')", "birthDate", "date"));
+    }
+
+    protected DecisionTable getDecisionTable() {
+        return (DecisionTable) cacheEntry.getDecision().getExpression();
+    }
+
+    protected DecisionExecutionAuditContainer execute(Map<String, Object> input) {
+        return dmnEngine.getDmnRuleService().createExecuteDecisionBuilder()
+                .decisionKey("largeDecision")
+                .variables(input)
+                .executeWithAuditTrail();
+    }
+
+    protected static Map<String, Object> createInput(Object age, Object category) {
+        Map<String, Object> input = new HashMap<>();
+        input.put("age", age);
+        input.put("category", category);
+        return input;
+    }
+
+    protected static String createDecisionTableXml(int nrOfRules) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101\" id=\"large\" name=\"Large\" namespace=\"http://www.flowable.org/dmn\">")
+                .append("<decision id=\"largeDecision\" name=\"Large Decision\">")
+                .append("<decisionTable id=\"largeDecisionTable\" hitPolicy=\"COLLECT\">")
+                .append("<input><inputExpression id=\"age\" typeRef=\"number\"><text>age</text></inputExpression></input>")
+                .append("<input><inputExpression id=\"category\" typeRef=\"string\"><text>category</text></inputExpression></input>")
+                .append("<output id=\"result\" label=\"Result\" name=\"result\" typeRef=\"string\"></output>");
+
+        for (int i = 0; i < nrOfRules; i++) {
+            xml.append("<rule>")
+                    .append("<inputEntry id=\"ageEntry").append(i).append("\"><text><![CDATA[").append(i % 2 == 0 ? ">= " : "< ").append(i * 2).append("]]></text></inputEntry>")
+                    .append("<inputEntry id=\"categoryEntry").append(i).append("\"><text><![CDATA[").append(i % 3 == 0 ? "-" : "== 'cat" + (i % 10) + "'").append("]]></text></inputEntry>")
+                    .append("<outputEntry id=\"resultEntry").append(i).append("\"><text>'rule ").append(i).append("'</text></outputEntry>")
+                    .append("</rule>");
+        }
+
+        xml.append("</decisionTable></decision></definitions>");
+        return xml.toString();
+    }
+}
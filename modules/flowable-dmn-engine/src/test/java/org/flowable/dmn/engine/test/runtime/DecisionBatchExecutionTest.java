@@ -0,0 +1,151 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.flowable.dmn.api.DecisionBatchExecutionSummary;
+import org.flowable.dmn.api.DecisionBatchResultHandler;
+import org.flowable.dmn.api.DecisionBatchRowResult;
+import org.flowable.dmn.api.DmnRuleService;
+import org.flowable.dmn.engine.test.DmnDeploymentAnnotation;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DecisionBatchExecutionTest {
+
+    protected static final String DECISION_RESOURCE = "org/flowable/dmn/engine/test/runtime/HitPolicyFirstTest.firstHitPolicy.dmn";
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    @Test
+    @DmnDeploymentAnnotation(resources = DECISION_RESOURCE)
+    public void executeBatchOnCallingThread() {
+        List<DecisionBatchRowResult> rowResults = new ArrayList<>();
+        DecisionBatchExecutionSummary summary = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBatchBuilder()
+                .decisionKey("decision1")
+                .inputVariables(createRows(250))
+                .chunkSize(100)
+                .execute(new CollectingResultHandler(rowResults));
+
+        assertRowResults(rowResults, 250);
+        assertEquals(250, summary.getRowCount());
+        assertEquals(0, summary.getFailedRowCount());
+        assertEquals(0, summary.getAuditedRowCount());
+        assertNotNull(summary.getDecisionDefinitionId());
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = DECISION_RESOURCE)
+    public void executeBatchInParallel() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<DecisionBatchRowResult> rowResults = new ArrayList<>();
+            DecisionBatchExecutionSummary summary = flowableDmnRule.getDmnEngine().getDmnRuleService().createExecuteDecisionBatchBuilder()
+                    .decisionKey("decision1")
+                    .inputVariables(createRows(500))
+                    .chunkSize(64)
+                    .executorService(executorService)
+                    .parallelism(4)
+                    .execute(new CollectingResultHandler(rowResults));
+
+            assertRowResults(rowResults, 500);
+            assertEquals(500, summary.getRowCount());
+
+            // rule 1: < 10, rule 2: > 10, rule 3: < 20 (only matches 10 with hit policy FIRST)
+            assertEquals(Long.valueOf(10), summary.getRuleMatchCounts().get(1));
+            assertEquals(Long.valueOf(489), summary.getRuleMatchCounts().get(2));
+            assertEquals(Long.valueOf(1), summary.getRuleMatchCounts().get(3));
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = DECISION_RESOURCE)
+    public void executeBatchWithSampledAudit() {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        long historicExecutionCount = flowableDmnRule.getDmnEngine().getDmnHistoryService().createHistoricDecisionExecutionQuery().count();
+
+        List<DecisionBatchRowResult> rowResults = new ArrayList<>();
+        DecisionBatchExecutionSummary summary = dmnRuleService.createExecuteDecisionBatchBuilder()
+                .decisionKey("decision1")
+                .inputVariables(createRows(100))
+                .auditSampleRate(25)
+                .execute(new CollectingResultHandler(rowResults));
+
+        assertEquals(100, summary.getRowCount());
+        assertEquals(4, summary.getAuditedRowCount());
+        for (DecisionBatchRowResult rowResult : rowResults) {
+            if (rowResult.getRowIndex() % 25 == 0) {
+                assertNotNull(rowResult.getAuditContainer());
+                assertEquals(rowResult.getDecisionResult(), rowResult.getAuditContainer().getDecisionResult());
+            } else {
+                assertNull(rowResult.getAuditContainer());
+            }
+        }
+
+        assertEquals(historicExecutionCount + 4, flowableDmnRule.getDmnEngine().getDmnHistoryService().createHistoricDecisionExecutionQuery().count());
+    }
+
+    protected void assertRowResults(List<DecisionBatchRowResult> rowResults, int nrOfRows) {
+        DmnRuleService dmnRuleService = flowableDmnRule.getDmnEngine().getDmnRuleService();
+        assertEquals(nrOfRows, rowResults.size());
+        for (int i = 0; i < nrOfRows; i++) {
+            DecisionBatchRowResult rowResult = rowResults.get(i);
+            assertEquals(i, rowResult.getRowIndex());
+            assertFalse(rowResult.isFailed());
+
+            List<Map<String, Object>> expectedResult = dmnRuleService.createExecuteDecisionBuilder()
+                    .decisionKey("decision1")
+                    .variables(rowResult.getInputVariables())
+                    .execute();
+            assertEquals(expectedResult, rowResult.getDecisionResult());
+        }
+    }
+
+    protected List<Map<String, Object>> createRows(int nrOfRows) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < nrOfRows; i++) {
+            rows.add(Collections.<String, Object> singletonMap("inputVariable1", i));
+        }
+        return rows;
+    }
+
+    protected static class CollectingResultHandler implements DecisionBatchResultHandler {
+
+        protected List<DecisionBatchRowResult> rowResults;
+
+        public CollectingResultHandler(List<DecisionBatchRowResult> rowResults) {
+            this.rowResults = rowResults;
+        }
+
+        @Override
+        public void handleResult(DecisionBatchRowResult rowResult) {
+            rowResults.add(rowResult);
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package org.flowable.engine.common.impl.db;
 
 import java.sql.Connection;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -24,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableOptimisticLockingException;
@@ -48,6 +51,7 @@ public class DbSqlSession implements Session {
 
     protected EntityCache entityCache;
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession;
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -56,6 +60,12 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, Map<String, Entity>> deletedObjects = new HashMap<>();
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations = new HashMap<>();
     protected List<Entity> updatedObjects = new ArrayList<>();
+
+    // Statistics of this session: select statements and flushed rows (bulk update and delete statements count as one)
+    protected int selectCount;
+    protected int insertCount;
+    protected int updateCount;
+    protected int deleteCount;
     
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
@@ -100,6 +110,7 @@ public class DbSqlSession implements Session {
 
     public int update(String statement, Object parameters) {
         String updateStatement = dbSqlSessionFactory.mapStatement(statement);
+        updateCount++;
         return getSqlSession().update(updateStatement, parameters);
     }
 
@@ -107,6 +118,7 @@ public class DbSqlSession implements Session {
     // ///////////////////////////////////////////////////////////////////
     
     public void delete(String statement, Object parameter) {
+        deleteCount++;
         sqlSession.delete(statement, parameter);
     }
 
@@ -199,6 +211,7 @@ public class DbSqlSession implements Session {
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public List selectListWithRawParameter(String statement, Object parameter, boolean useCache) {
         statement = dbSqlSessionFactory.mapStatement(statement);
+        selectCount++;
         List loadedObjects = sqlSession.selectList(statement, parameter);
         if (useCache) {
             return cacheLoadOrStore(loadedObjects);
@@ -209,6 +222,7 @@ public class DbSqlSession implements Session {
 
     public Object selectOne(String statement, Object parameter) {
         statement = dbSqlSessionFactory.mapStatement(statement);
+        selectCount++;
         Object result = sqlSession.selectOne(statement, parameter);
         if (result instanceof Entity) {
             Entity loadedObject = (Entity) result;
@@ -234,6 +248,7 @@ public class DbSqlSession implements Session {
 
         String selectStatement = dbSqlSessionFactory.getSelectStatement(entityClass);
         selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
+        selectCount++;
         entity = (T) sqlSession.selectOne(selectStatement, id);
         if (entity == null) {
             return null;
@@ -414,6 +429,7 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushInsertEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToInsert) {
+        insertCount += entitiesToInsert.size();
         if (entitiesToInsert.size() == 1) {
             flushRegularInsert(entitiesToInsert.iterator().next(), entityClass);
         } else if (Boolean.FALSE.equals(dbSqlSessionFactory.isBulkInsertable(entityClass))) {
@@ -485,28 +501,95 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+        updateCount += updatedObjects.size();
+        if (dbSqlSessionFactory.isBatchUpdatesAndDeletesEnabled() && updatedObjects.size() > 1) {
+            flushBatchUpdates();
+        } else {
+            for (Entity updatedObject : updatedObjects) {
+                String updateStatement = getMappedUpdateStatement(updatedObject);
 
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+                LOGGER.debug("updating: {}", updatedObject);
+
+                int updatedRecords = sqlSession.update(updateStatement, updatedObject);
+                if (updatedRecords == 0) {
+                    throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+                }
+
+                // See https://activiti.atlassian.net/browse/ACT-1290
+                incrementRevisionAfterUpdate(updatedObject);
             }
+        }
+        updatedObjects.clear();
+    }
 
-            LOGGER.debug("updating: {}", updatedObject);
-            
-            int updatedRecords = sqlSession.update(updateStatement, updatedObject);
-            if (updatedRecords == 0) {
-                throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+    /**
+     * Groups the updated entities per entity class and sends each group to the database as one jdbc batch.
+     * The update counts returned by the driver are verified per row, so optimistic locking behaves exactly as with the regular flush.
+     */
+    protected void flushBatchUpdates() {
+        Map<Class<? extends Entity>, List<Entity>> updatedObjectsPerClass = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            Class<? extends Entity> clazz = updatedObject.getClass();
+            if (!updatedObjectsPerClass.containsKey(clazz)) {
+                updatedObjectsPerClass.put(clazz, new ArrayList<Entity>());
             }
-            
-            // See https://activiti.atlassian.net/browse/ACT-1290
-            if (updatedObject instanceof HasRevision) {
-                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            updatedObjectsPerClass.get(clazz).add(updatedObject);
+        }
+
+        SqlSession batchSession = getBatchSqlSession();
+        for (List<Entity> entities : updatedObjectsPerClass.values()) {
+            for (Entity updatedObject : entities) {
+                LOGGER.debug("updating (batched): {}", updatedObject);
+                batchSession.update(getMappedUpdateStatement(updatedObject), updatedObject);
             }
+            executeBatch(batchSession, true);
 
+            for (Entity updatedObject : entities) {
+                incrementRevisionAfterUpdate(updatedObject);
+            }
+        }
+    }
+
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
+    }
+
+    protected void incrementRevisionAfterUpdate(Entity updatedObject) {
+        if (updatedObject instanceof HasRevision) {
+            ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        }
+    }
+
+    /**
+     * Executes all statements queued on the batch session and checks the returned update counts.
+     * A row count of 0 for an entity with a revision means it was changed or removed by another transaction.
+     */
+    protected void executeBatch(SqlSession batchSession, boolean checkEntitiesWithoutRevision) {
+        List<BatchResult> batchResults = batchSession.flushStatements();
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object parameterObject = parameterObjects.get(i);
+                if (!checkEntitiesWithoutRevision && !(parameterObject instanceof HasRevision)) {
+                    continue;
+                }
+
+                if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    throw new FlowableException("The jdbc driver did not return update counts for a batched statement, "
+                            + "so optimistic locking can not be verified. Disable batch updates and deletes for this database.");
+
+                } else if (updateCounts[i] == 0 || updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    throw new FlowableOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+                }
+            }
         }
-        updatedObjects.clear();
     }
 
     protected void flushDeletes() {
@@ -539,18 +622,21 @@ public class DbSqlSession implements Session {
         // Bulk deletes
         if (bulkDeleteOperations.containsKey(entityClass)) {
             for (BulkDeleteOperation bulkDeleteOperation : bulkDeleteOperations.get(entityClass)) {
+                deleteCount++;
                 bulkDeleteOperation.execute(sqlSession, entityClass);
             }
         }
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        deleteCount += entitiesToDelete.size();
+        if (dbSqlSessionFactory.isBatchUpdatesAndDeletesEnabled() && entitiesToDelete.size() > 1) {
+            flushBatchDeleteEntities(entityClass, entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
-            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
-            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-            if (deleteStatement == null) {
-                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
-            }
+            String deleteStatement = getMappedDeleteStatement(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
@@ -564,7 +650,42 @@ public class DbSqlSession implements Session {
             }
         }
     }
-    
+
+    /**
+     * Sends all deletes of one entity class as one jdbc batch. The batch is executed immediately,
+     * as the bulk deletes and the deletes of the next entity class depend on these rows being gone.
+     */
+    protected void flushBatchDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        SqlSession batchSession = getBatchSqlSession();
+        for (Entity entity : entitiesToDelete) {
+            LOGGER.debug("deleting (batched): {}", entity);
+            batchSession.delete(getMappedDeleteStatement(entity), entity);
+        }
+        executeBatch(batchSession, false);
+    }
+
+    protected String getMappedDeleteStatement(Entity entity) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+        }
+        return deleteStatement;
+    }
+
+    /**
+     * Returns a MyBatis session using the {@link ExecutorType#BATCH} executor on the same connection (and thus transaction) as the regular session.
+     * 
+     * Note that this session is never closed explicitly: closing it would close the shared connection. 
+     * All statements are always flushed before the regular session continues.
+     */
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            batchSqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession(ExecutorType.BATCH, sqlSession.getConnection());
+        }
+        return batchSqlSession;
+    }
+
     public void close() {
         sqlSession.close();
     }
@@ -592,6 +713,34 @@ public class DbSqlSession implements Session {
         return dbSqlSessionFactory;
     }
 
+    /**
+     * Returns the number of select statements executed by this session.
+     */
+    public int getSelectCount() {
+        return selectCount;
+    }
+
+    /**
+     * Returns the number of rows inserted by this session.
+     */
+    public int getInsertCount() {
+        return insertCount;
+    }
+
+    /**
+     * Returns the number of entities updated by this session, plus the number of bulk update statements.
+     */
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Returns the number of entities deleted by this session, plus the number of bulk delete statements.
+     */
+    public int getDeleteCount() {
+        return deleteCount;
+    }
+
     public String getConnectionMetadataDefaultCatalog() {
         return connectionMetadataDefaultCatalog;
     }
@@ -64,6 +64,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
     
     protected int maxNrOfStatementsInBulkInsert = 100;
+    
+    protected boolean batchUpdatesAndDeletesEnabled;
 
     public Class<?> getSessionType() {
         return DbSqlSession.class;
@@ -194,6 +196,14 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
     
+    public boolean isBatchUpdatesAndDeletesEnabled() {
+        return batchUpdatesAndDeletesEnabled;
+    }
+
+    public void setBatchUpdatesAndDeletesEnabled(boolean batchUpdatesAndDeletesEnabled) {
+        this.batchUpdatesAndDeletesEnabled = batchUpdatesAndDeletesEnabled;
+    }
+    
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
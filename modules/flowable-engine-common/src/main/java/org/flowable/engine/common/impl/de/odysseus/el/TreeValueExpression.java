@@ -164,6 +164,14 @@ public final class TreeValueExpression extends ValueExpression {
 	 * This is the case for eval expressions consisting of a simple identifier or
 	 * a nonliteral prefix, followed by a sequence of property operators (<code>.</code> or <code>[]</code>)
 	 */
+	public ExpressionNode getNode() {
+		return node;
+	}
+
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	public boolean isLeftValue() {
 		return node.isLeftValue();
 	}
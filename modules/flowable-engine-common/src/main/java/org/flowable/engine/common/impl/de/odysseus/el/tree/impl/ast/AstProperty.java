@@ -50,6 +50,10 @@ public abstract class AstProperty extends AstNode {
 		return prefix;
 	}
 
+	public boolean isStrict() {
+		return strict;
+	}
+
 	public ValueReference getValueReference(Bindings bindings, ELContext context) {
 		Object base = prefix.eval(bindings, context);
 		if (base == null) {
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import org.flowable.engine.common.impl.javax.el.ELContext;
+
+/**
+ * Super class of the classes generated by the {@link ExpressionCompiler}. A generated class evaluates one expression tree.
+ * <p>
+ * The constants array holds the values the generated code cannot express as bytecode constants: the bindings of the
+ * expression (always at index 0), literal values, property and identifier names and the tree nodes that are delegated to
+ * the interpreter.
+ */
+public abstract class CompiledEvaluator {
+
+    protected final Object[] constants;
+
+    protected CompiledEvaluator(Object[] constants) {
+        this.constants = constants;
+    }
+
+    public abstract Object eval(ELContext context);
+
+}
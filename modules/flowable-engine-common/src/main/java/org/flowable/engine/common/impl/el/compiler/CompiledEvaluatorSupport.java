@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import org.flowable.engine.common.impl.de.odysseus.el.misc.LocalMessages;
+import org.flowable.engine.common.impl.de.odysseus.el.misc.TypeConverter;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.PropertyNotFoundException;
+
+/**
+ * Static accessors called by the generated {@link CompiledEvaluator} classes. Every identifier and property access site of
+ * an expression is compiled into a direct call of one of these methods with its name passed as a constant, so the call
+ * sites stay monomorphic. The {@link org.flowable.engine.common.impl.javax.el.ELResolver} of the context is still asked
+ * for every value, exactly like the interpreter in AstIdentifier and AstProperty does.
+ */
+public final class CompiledEvaluatorSupport {
+
+    private CompiledEvaluatorSupport() {
+    }
+
+    public static Object getIdentifier(ELContext context, String name) {
+        context.setPropertyResolved(false);
+        Object result = context.getELResolver().getValue(context, null, name);
+        if (!context.isPropertyResolved()) {
+            throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+        }
+        return result;
+    }
+
+    public static Object getProperty(Object base, ELContext context, Object property, boolean strict) {
+        if (base == null) {
+            return null;
+        }
+        if (property == null && strict) {
+            return null;
+        }
+        context.setPropertyResolved(false);
+        Object result = context.getELResolver().getValue(context, base, property);
+        if (!context.isPropertyResolved()) {
+            throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
+        }
+        return result;
+    }
+
+    public static boolean isTrue(TypeConverter converter, Object value) {
+        return Boolean.TRUE.equals(converter.convert(value, Boolean.class));
+    }
+
+    public static Boolean toBoolean(TypeConverter converter, Object value) {
+        return converter.convert(value, Boolean.class);
+    }
+
+    public static Boolean not(TypeConverter converter, Object value) {
+        return !converter.convert(value, Boolean.class);
+    }
+
+    public static String coerceToString(TypeConverter converter, Object value) {
+        return converter.convert(value, String.class);
+    }
+
+}
@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import org.flowable.engine.common.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.ValueExpression;
+import org.flowable.engine.common.impl.javax.el.ValueReference;
+
+/**
+ * A {@link ValueExpression} that reads its value through a generated {@link CompiledEvaluator}. Everything else, like
+ * setting a value or determining its type, is delegated to the parsed {@link TreeValueExpression}.
+ * <p>
+ * The evaluator is not serialized. A deserialized expression is evaluated by the interpreter of the tree.
+ */
+public class CompiledValueExpression extends ValueExpression {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final TreeValueExpression treeValueExpression;
+    protected transient CompiledEvaluator evaluator;
+
+    public CompiledValueExpression(TreeValueExpression treeValueExpression, CompiledEvaluator evaluator) {
+        this.treeValueExpression = treeValueExpression;
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public Object getValue(ELContext context) {
+        if (evaluator == null) {
+            return treeValueExpression.getValue(context);
+        }
+        Object value = evaluator.eval(context);
+        Class<?> expectedType = treeValueExpression.getExpectedType();
+        if (expectedType != null) {
+            value = treeValueExpression.getBindings().convert(value, expectedType);
+        }
+        return value;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object value) {
+        treeValueExpression.setValue(context, value);
+    }
+
+    @Override
+    public Class<?> getType(ELContext context) {
+        return treeValueExpression.getType(context);
+    }
+
+    @Override
+    public Class<?> getExpectedType() {
+        return treeValueExpression.getExpectedType();
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context) {
+        return treeValueExpression.isReadOnly(context);
+    }
+
+    @Override
+    public ValueReference getValueReference(ELContext context) {
+        return treeValueExpression.getValueReference(context);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return treeValueExpression.getExpressionString();
+    }
+
+    @Override
+    public boolean isLiteralText() {
+        return treeValueExpression.isLiteralText();
+    }
+
+    public TreeValueExpression getTreeValueExpression() {
+        return treeValueExpression;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj != null && obj.getClass() == getClass()) {
+            return treeValueExpression.equals(((CompiledValueExpression) obj).treeValueExpression);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return treeValueExpression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledValueExpression(" + getExpressionString() + ")";
+    }
+}
@@ -0,0 +1,350 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal class file writer for the {@link CompiledEvaluator} subclasses. It writes a class with a constructor taking the
+ * constants array and a single eval method, which is the only shape the {@link ExpressionCompiler} needs.
+ * <p>
+ * The class file version is 49 (Java 5), so no stack map frames have to be computed for the branches of the eval method.
+ * Only reference and int values are pushed, every stack slot therefore has size one.
+ */
+class EvaluatorClassWriter {
+
+    static final int ACONST_NULL = 0x01;
+    static final int ICONST_0 = 0x03;
+    static final int ICONST_1 = 0x04;
+    static final int SIPUSH = 0x11;
+    static final int ALOAD_0 = 0x2a;
+    static final int ALOAD_1 = 0x2b;
+    static final int ALOAD_2 = 0x2c;
+    static final int ALOAD_3 = 0x2d;
+    static final int AALOAD = 0x32;
+    static final int ASTORE_2 = 0x4d;
+    static final int ASTORE_3 = 0x4e;
+    static final int DUP = 0x59;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9a;
+    static final int GOTO = 0xa7;
+    static final int ARETURN = 0xb0;
+    static final int RETURN = 0xb1;
+    static final int GETSTATIC = 0xb2;
+    static final int GETFIELD = 0xb4;
+    static final int INVOKEVIRTUAL = 0xb6;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+    static final int NEW = 0xbb;
+    static final int CHECKCAST = 0xc0;
+    static final int IFNONNULL = 0xc7;
+
+    protected static final int ACC_PUBLIC = 0x0001;
+    protected static final int ACC_FINAL = 0x0010;
+    protected static final int ACC_SUPER = 0x0020;
+
+    protected static final int CONSTANT_UTF8 = 1;
+    protected static final int CONSTANT_CLASS = 7;
+    protected static final int CONSTANT_FIELDREF = 9;
+    protected static final int CONSTANT_METHODREF = 10;
+    protected static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /** Branch offsets are signed 16 bit values, keep the whole method within their range. */
+    protected static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+    protected final String className;
+    protected final String superClassName;
+
+    protected final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+    protected final DataOutputStream constantPoolOut = new DataOutputStream(constantPool);
+    protected final Map<String, Integer> constantPoolIndexes = new HashMap<>();
+    protected int constantPoolCount = 1;
+
+    protected final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    protected final List<Label> labels = new ArrayList<>();
+    protected int stackDepth;
+    protected int maxStackDepth;
+
+    EvaluatorClassWriter(String className, String superClassName) {
+        this.className = className;
+        this.superClassName = superClassName;
+    }
+
+    // instructions of the eval method
+
+    void instruction(int opcode, int stackChange) {
+        code.write(opcode);
+        changeStackDepth(stackChange);
+    }
+
+    void pushInt(int value) {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new IllegalStateException("Constant index out of range: " + value);
+        }
+        code.write(SIPUSH);
+        writeShort(value);
+        changeStackDepth(1);
+    }
+
+    void typeInstruction(int opcode, String internalName, int stackChange) {
+        code.write(opcode);
+        writeShort(classIndex(internalName));
+        changeStackDepth(stackChange);
+    }
+
+    void fieldInstruction(int opcode, String owner, String name, String descriptor, int stackChange) {
+        code.write(opcode);
+        writeShort(memberIndex(CONSTANT_FIELDREF, owner, name, descriptor));
+        changeStackDepth(stackChange);
+    }
+
+    void methodInstruction(int opcode, String owner, String name, String descriptor) {
+        code.write(opcode);
+        writeShort(memberIndex(CONSTANT_METHODREF, owner, name, descriptor));
+        int stackChange = getReturnSize(descriptor) - getArgumentCount(descriptor);
+        if (opcode != INVOKESTATIC) {
+            stackChange--;
+        }
+        changeStackDepth(stackChange);
+    }
+
+    Label newLabel() {
+        Label label = new Label();
+        labels.add(label);
+        return label;
+    }
+
+    void jump(int opcode, Label target) {
+        int instructionPosition = code.size();
+        code.write(opcode);
+        target.references.add(new int[] { instructionPosition, code.size() });
+        writeShort(0);
+        changeStackDepth(opcode == GOTO ? 0 : -1);
+    }
+
+    void mark(Label label) {
+        label.position = code.size();
+    }
+
+    int getStackDepth() {
+        return stackDepth;
+    }
+
+    /**
+     * Resets the tracked stack depth at the start of a branch that is only reached by a jump.
+     */
+    void setStackDepth(int stackDepth) {
+        this.stackDepth = stackDepth;
+    }
+
+    // class file
+
+    byte[] toByteArray(String evalDescriptor, int evalMaxLocals) {
+        byte[] evalCode = resolveJumps(code.toByteArray());
+        if (evalCode.length > MAX_CODE_LENGTH) {
+            throw new IllegalStateException("Generated code too large: " + evalCode.length + " bytes");
+        }
+
+        // the constructor only passes the constants array on to the super class
+        ByteArrayOutputStream constructorCode = new ByteArrayOutputStream();
+        constructorCode.write(ALOAD_0);
+        constructorCode.write(ALOAD_1);
+        constructorCode.write(INVOKESPECIAL);
+        int superConstructor = memberIndex(CONSTANT_METHODREF, superClassName, "<init>", "([Ljava/lang/Object;)V");
+        constructorCode.write(superConstructor >> 8);
+        constructorCode.write(superConstructor);
+        constructorCode.write(RETURN);
+
+        int thisClass = classIndex(className);
+        int superClass = classIndex(superClassName);
+        int codeName = utf8Index("Code");
+        int constructorName = utf8Index("<init>");
+        int constructorDescriptor = utf8Index("([Ljava/lang/Object;)V");
+        int evalName = utf8Index("eval");
+        int evalDescriptorIndex = utf8Index(evalDescriptor);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            out.writeShort(constantPoolCount);
+            constantPoolOut.flush();
+            constantPool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0); // interfaces
+            out.writeShort(0); // fields
+            out.writeShort(2); // methods
+            writeMethod(out, constructorName, constructorDescriptor, codeName, 2, 2, constructorCode.toByteArray());
+            writeMethod(out, evalName, evalDescriptorIndex, codeName, maxStackDepth, evalMaxLocals, evalCode);
+            out.writeShort(0); // attributes
+            out.flush();
+            return bytes.toByteArray();
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write class " + className, e);
+        }
+    }
+
+    protected void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, int maxStack, int maxLocals, byte[] methodCode) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + methodCode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(methodCode.length);
+        out.write(methodCode);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    protected byte[] resolveJumps(byte[] bytes) {
+        for (Label label : labels) {
+            if (label.position < 0) {
+                throw new IllegalStateException("Label used but never marked");
+            }
+            for (int[] reference : label.references) {
+                int offset = label.position - reference[0];
+                bytes[reference[1]] = (byte) (offset >> 8);
+                bytes[reference[1] + 1] = (byte) offset;
+            }
+        }
+        return bytes;
+    }
+
+    protected void changeStackDepth(int change) {
+        stackDepth += change;
+        if (stackDepth > maxStackDepth) {
+            maxStackDepth = stackDepth;
+        }
+    }
+
+    protected void writeShort(int value) {
+        code.write(value >> 8);
+        code.write(value);
+    }
+
+    // constant pool
+
+    protected int utf8Index(String value) {
+        String key = "U" + value;
+        Integer index = constantPoolIndexes.get(key);
+        if (index == null) {
+            try {
+                constantPoolOut.writeByte(CONSTANT_UTF8);
+                constantPoolOut.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    protected int classIndex(String internalName) {
+        String key = "C" + internalName;
+        Integer index = constantPoolIndexes.get(key);
+        if (index == null) {
+            int nameIndex = utf8Index(internalName);
+            writeConstant(CONSTANT_CLASS, nameIndex);
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    protected int memberIndex(int tag, String owner, String name, String descriptor) {
+        String key = tag + owner + '.' + name + descriptor;
+        Integer index = constantPoolIndexes.get(key);
+        if (index == null) {
+            int ownerIndex = classIndex(owner);
+            String nameAndTypeKey = "N" + name + descriptor;
+            Integer nameAndTypeIndex = constantPoolIndexes.get(nameAndTypeKey);
+            if (nameAndTypeIndex == null) {
+                int nameIndex = utf8Index(name);
+                int descriptorIndex = utf8Index(descriptor);
+                writeConstant(CONSTANT_NAME_AND_TYPE, nameIndex, descriptorIndex);
+                nameAndTypeIndex = addConstant(nameAndTypeKey);
+            }
+            writeConstant(tag, ownerIndex, nameAndTypeIndex);
+            index = addConstant(key);
+        }
+        return index;
+    }
+
+    protected void writeConstant(int tag, int... indexes) {
+        try {
+            constantPoolOut.writeByte(tag);
+            for (int index : indexes) {
+                constantPoolOut.writeShort(index);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected int addConstant(String key) {
+        if (constantPoolCount >= 0xffff) {
+            throw new IllegalStateException("Constant pool too large");
+        }
+        int index = constantPoolCount++;
+        constantPoolIndexes.put(key, index);
+        return index;
+    }
+
+    protected static int getArgumentCount(String descriptor) {
+        int count = 0;
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            char c = descriptor.charAt(i);
+            while (c == '[') {
+                c = descriptor.charAt(++i);
+            }
+            if (c == 'J' || c == 'D') {
+                throw new IllegalArgumentException("Wide arguments are not supported: " + descriptor);
+            }
+            if (c == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            i++;
+            count++;
+        }
+        return count;
+    }
+
+    protected static int getReturnSize(String descriptor) {
+        char returnType = descriptor.charAt(descriptor.indexOf(')') + 1);
+        if (returnType == 'J' || returnType == 'D') {
+            throw new IllegalArgumentException("Wide return values are not supported: " + descriptor);
+        }
+        return returnType == 'V' ? 0 : 1;
+    }
+
+    static class Label {
+
+        protected int position = -1;
+        protected final List<int[]> references = new ArrayList<>();
+    }
+
+}
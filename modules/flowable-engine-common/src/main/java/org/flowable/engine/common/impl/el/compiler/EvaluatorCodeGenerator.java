@@ -0,0 +1,353 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.AALOAD;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ACONST_NULL;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ALOAD_0;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ALOAD_1;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ALOAD_2;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ALOAD_3;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ARETURN;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ASTORE_2;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ASTORE_3;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.CHECKCAST;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.DUP;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.GETFIELD;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.GETSTATIC;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.GOTO;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ICONST_0;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.ICONST_1;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.IFEQ;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.IFNE;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.IFNONNULL;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.INVOKESPECIAL;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.INVOKESTATIC;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.INVOKEVIRTUAL;
+import static org.flowable.engine.common.impl.el.compiler.EvaluatorClassWriter.NEW;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.impl.de.odysseus.el.tree.Bindings;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstBinary;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstBoolean;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstBracket;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstChoice;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstComposite;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstDot;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstEval;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstIdentifier;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstNested;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstNull;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstNumber;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstString;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstText;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstUnary;
+
+/**
+ * Generates the eval method of a {@link CompiledEvaluator} for one expression tree. Literals, identifiers, property access,
+ * the arithmetic, comparison and logical operators, the choice operator and composite text are translated into bytecode.
+ * Any other node, for example a function or method call, is kept as a constant and evaluated by the interpreter of the
+ * tree, so the generated code always produces the same result as the tree itself.
+ * <p>
+ * Local variables of the eval method: 0 is the evaluator, 1 the ELContext, 2 the constants array and 3 the bindings of the
+ * tree, used as type converter.
+ */
+class EvaluatorCodeGenerator {
+
+    protected static final String OBJECT = "Ljava/lang/Object;";
+    protected static final String BOOLEAN = "java/lang/Boolean";
+    protected static final String STRING_BUILDER = "java/lang/StringBuilder";
+    protected static final String EL_CONTEXT = "Lorg/flowable/engine/common/impl/javax/el/ELContext;";
+    protected static final String TYPE_CONVERTER = "org/flowable/engine/common/impl/de/odysseus/el/misc/TypeConverter";
+    protected static final String BINDINGS = "org/flowable/engine/common/impl/de/odysseus/el/tree/Bindings";
+    protected static final String AST_NODE = "org/flowable/engine/common/impl/de/odysseus/el/tree/impl/ast/AstNode";
+    protected static final String BOOLEAN_OPERATIONS = "org/flowable/engine/common/impl/de/odysseus/el/misc/BooleanOperations";
+    protected static final String NUMBER_OPERATIONS = "org/flowable/engine/common/impl/de/odysseus/el/misc/NumberOperations";
+    protected static final String EVALUATOR = "org/flowable/engine/common/impl/el/compiler/CompiledEvaluator";
+    protected static final String SUPPORT = "org/flowable/engine/common/impl/el/compiler/CompiledEvaluatorSupport";
+
+    protected static final String EVAL_DESCRIPTOR = "(" + EL_CONTEXT + ")" + OBJECT;
+    protected static final String UNARY_DESCRIPTOR = "(L" + TYPE_CONVERTER + ";" + OBJECT + ")";
+    protected static final String BINARY_DESCRIPTOR = "(L" + TYPE_CONVERTER + ";" + OBJECT + OBJECT + ")";
+
+    /** Operators with a static implementation taking the type converter and both operands, mapped to owner, name and return type. */
+    protected static final Map<AstBinary.Operator, String[]> BINARY_OPERATIONS = new IdentityHashMap<>();
+
+    /** Same as {@link #BINARY_OPERATIONS} for unary operators. */
+    protected static final Map<AstUnary.Operator, String[]> UNARY_OPERATIONS = new IdentityHashMap<>();
+
+    static {
+        BINARY_OPERATIONS.put(AstBinary.ADD, new String[] { NUMBER_OPERATIONS, "add", "Ljava/lang/Number;" });
+        BINARY_OPERATIONS.put(AstBinary.SUB, new String[] { NUMBER_OPERATIONS, "sub", "Ljava/lang/Number;" });
+        BINARY_OPERATIONS.put(AstBinary.MUL, new String[] { NUMBER_OPERATIONS, "mul", "Ljava/lang/Number;" });
+        BINARY_OPERATIONS.put(AstBinary.DIV, new String[] { NUMBER_OPERATIONS, "div", "Ljava/lang/Number;" });
+        BINARY_OPERATIONS.put(AstBinary.MOD, new String[] { NUMBER_OPERATIONS, "mod", "Ljava/lang/Number;" });
+        BINARY_OPERATIONS.put(AstBinary.EQ, new String[] { BOOLEAN_OPERATIONS, "eq", "Z" });
+        BINARY_OPERATIONS.put(AstBinary.NE, new String[] { BOOLEAN_OPERATIONS, "ne", "Z" });
+        BINARY_OPERATIONS.put(AstBinary.LT, new String[] { BOOLEAN_OPERATIONS, "lt", "Z" });
+        BINARY_OPERATIONS.put(AstBinary.LE, new String[] { BOOLEAN_OPERATIONS, "le", "Z" });
+        BINARY_OPERATIONS.put(AstBinary.GT, new String[] { BOOLEAN_OPERATIONS, "gt", "Z" });
+        BINARY_OPERATIONS.put(AstBinary.GE, new String[] { BOOLEAN_OPERATIONS, "ge", "Z" });
+
+        UNARY_OPERATIONS.put(AstUnary.NOT, new String[] { SUPPORT, "not", "Ljava/lang/Boolean;" });
+        UNARY_OPERATIONS.put(AstUnary.NEG, new String[] { NUMBER_OPERATIONS, "neg", "Ljava/lang/Number;" });
+        UNARY_OPERATIONS.put(AstUnary.EMPTY, new String[] { BOOLEAN_OPERATIONS, "empty", "Z" });
+    }
+
+    protected final EvaluatorClassWriter writer;
+    protected final Bindings bindings;
+    protected final List<Object> constants = new ArrayList<>();
+    protected int compiledNodeCount;
+
+    EvaluatorCodeGenerator(String internalClassName, Bindings bindings) {
+        this.writer = new EvaluatorClassWriter(internalClassName, EVALUATOR);
+        this.bindings = bindings;
+        this.constants.add(bindings);
+    }
+
+    void generate(AstNode root) {
+        writer.instruction(ALOAD_0, 1);
+        writer.fieldInstruction(GETFIELD, EVALUATOR, "constants", "[" + OBJECT, 0);
+        writer.instruction(ASTORE_2, -1);
+        writer.instruction(ALOAD_2, 1);
+        writer.instruction(ICONST_0, 1);
+        writer.instruction(AALOAD, -1);
+        writer.typeInstruction(CHECKCAST, TYPE_CONVERTER, 0);
+        writer.instruction(ASTORE_3, -1);
+
+        generateNode(root);
+        writer.instruction(ARETURN, -1);
+    }
+
+    byte[] toByteArray() {
+        return writer.toByteArray(EVAL_DESCRIPTOR, 4);
+    }
+
+    Object[] getConstants() {
+        return constants.toArray();
+    }
+
+    /**
+     * @return the number of nodes translated into bytecode, 0 when the whole tree is evaluated by the interpreter.
+     */
+    int getCompiledNodeCount() {
+        return compiledNodeCount;
+    }
+
+    protected void generateNode(AstNode node) {
+        if (node instanceof AstEval || node instanceof AstNested) {
+            generateNode((AstNode) node.getChild(0));
+
+        } else if (node instanceof AstNull) {
+            writer.instruction(ACONST_NULL, 1);
+            compiledNodeCount++;
+
+        } else if (node instanceof AstBoolean) {
+            Boolean value = (Boolean) node.eval(bindings, null);
+            writer.fieldInstruction(GETSTATIC, BOOLEAN, value ? "TRUE" : "FALSE", "L" + BOOLEAN + ";", 1);
+            compiledNodeCount++;
+
+        } else if (node instanceof AstText || node instanceof AstString || node instanceof AstNumber) {
+            loadConstant(node.eval(bindings, null), null);
+            compiledNodeCount++;
+
+        } else if (node instanceof AstIdentifier) {
+            generateIdentifier((AstIdentifier) node);
+
+        } else if (node instanceof AstDot) {
+            generateDot((AstDot) node);
+
+        } else if (node instanceof AstBracket) {
+            generateBracket((AstBracket) node);
+
+        } else if (node instanceof AstBinary) {
+            generateBinary((AstBinary) node);
+
+        } else if (node instanceof AstUnary) {
+            generateUnary((AstUnary) node);
+
+        } else if (node instanceof AstChoice) {
+            generateChoice((AstChoice) node);
+
+        } else if (node instanceof AstComposite) {
+            generateComposite((AstComposite) node);
+
+        } else {
+            generateInterpreted(node);
+        }
+    }
+
+    protected void generateIdentifier(AstIdentifier node) {
+        if (bindings.isVariableBound(node.getIndex())) {
+            // variables of the variable mapper are value expressions themselves
+            generateInterpreted(node);
+            return;
+        }
+        writer.instruction(ALOAD_1, 1);
+        loadConstant(node.getName(), "java/lang/String");
+        writer.methodInstruction(INVOKESTATIC, SUPPORT, "getIdentifier", "(" + EL_CONTEXT + "Ljava/lang/String;)" + OBJECT);
+        compiledNodeCount++;
+    }
+
+    protected void generateDot(AstDot node) {
+        generateNode((AstNode) node.getChild(0));
+        writer.instruction(ALOAD_1, 1);
+        loadConstant(node.getPropertyName(), null);
+        writer.instruction(node.isStrict() ? ICONST_1 : ICONST_0, 1);
+        writer.methodInstruction(INVOKESTATIC, SUPPORT, "getProperty", "(" + OBJECT + EL_CONTEXT + OBJECT + "Z)" + OBJECT);
+        compiledNodeCount++;
+    }
+
+    protected void generateBracket(AstBracket node) {
+        // the property is not evaluated when the base is null
+        EvaluatorClassWriter.Label baseNotNull = writer.newLabel();
+        EvaluatorClassWriter.Label end = writer.newLabel();
+
+        generateNode((AstNode) node.getChild(0));
+        writer.instruction(DUP, 1);
+        writer.jump(IFNONNULL, baseNotNull);
+        writer.jump(GOTO, end);
+
+        writer.mark(baseNotNull);
+        writer.instruction(ALOAD_1, 1);
+        generateNode((AstNode) node.getChild(1));
+        writer.instruction(node.isStrict() ? ICONST_1 : ICONST_0, 1);
+        writer.methodInstruction(INVOKESTATIC, SUPPORT, "getProperty", "(" + OBJECT + EL_CONTEXT + OBJECT + "Z)" + OBJECT);
+        writer.mark(end);
+        compiledNodeCount++;
+    }
+
+    protected void generateBinary(AstBinary node) {
+        AstNode left = (AstNode) node.getChild(0);
+        AstNode right = (AstNode) node.getChild(1);
+        AstBinary.Operator operator = node.getOperator();
+
+        if (operator == AstBinary.AND || operator == AstBinary.OR) {
+            // short circuit: the right operand is only evaluated when the left one does not decide the result
+            EvaluatorClassWriter.Label decided = writer.newLabel();
+            EvaluatorClassWriter.Label end = writer.newLabel();
+
+            writer.instruction(ALOAD_3, 1);
+            generateNode(left);
+            writer.methodInstruction(INVOKESTATIC, SUPPORT, "isTrue", UNARY_DESCRIPTOR + "Z");
+            if (operator == AstBinary.AND) {
+                writer.jump(IFEQ, decided);
+            } else {
+                writer.jump(IFNE, decided);
+            }
+            int stackDepth = writer.getStackDepth();
+            writer.instruction(ALOAD_3, 1);
+            generateNode(right);
+            writer.methodInstruction(INVOKESTATIC, SUPPORT, "toBoolean", UNARY_DESCRIPTOR + "L" + BOOLEAN + ";");
+            writer.jump(GOTO, end);
+
+            writer.mark(decided);
+            writer.setStackDepth(stackDepth);
+            writer.fieldInstruction(GETSTATIC, BOOLEAN, operator == AstBinary.AND ? "FALSE" : "TRUE", "L" + BOOLEAN + ";", 1);
+            writer.mark(end);
+            compiledNodeCount++;
+            return;
+        }
+
+        String[] operation = BINARY_OPERATIONS.get(operator);
+        if (operation == null) {
+            generateInterpreted(node);
+            return;
+        }
+        writer.instruction(ALOAD_3, 1);
+        generateNode(left);
+        generateNode(right);
+        writer.methodInstruction(INVOKESTATIC, operation[0], operation[1], BINARY_DESCRIPTOR + operation[2]);
+        boxBoolean(operation[2]);
+        compiledNodeCount++;
+    }
+
+    protected void generateUnary(AstUnary node) {
+        String[] operation = UNARY_OPERATIONS.get(node.getOperator());
+        if (operation == null) {
+            generateInterpreted(node);
+            return;
+        }
+        writer.instruction(ALOAD_3, 1);
+        generateNode((AstNode) node.getChild(0));
+        writer.methodInstruction(INVOKESTATIC, operation[0], operation[1], UNARY_DESCRIPTOR + operation[2]);
+        boxBoolean(operation[2]);
+        compiledNodeCount++;
+    }
+
+    protected void generateChoice(AstChoice node) {
+        EvaluatorClassWriter.Label no = writer.newLabel();
+        EvaluatorClassWriter.Label end = writer.newLabel();
+
+        writer.instruction(ALOAD_3, 1);
+        generateNode((AstNode) node.getChild(0));
+        writer.methodInstruction(INVOKESTATIC, SUPPORT, "isTrue", UNARY_DESCRIPTOR + "Z");
+        writer.jump(IFEQ, no);
+        int stackDepth = writer.getStackDepth();
+        generateNode((AstNode) node.getChild(1));
+        writer.jump(GOTO, end);
+
+        writer.mark(no);
+        writer.setStackDepth(stackDepth);
+        generateNode((AstNode) node.getChild(2));
+        writer.mark(end);
+        compiledNodeCount++;
+    }
+
+    protected void generateComposite(AstComposite node) {
+        writer.typeInstruction(NEW, STRING_BUILDER, 1);
+        writer.instruction(DUP, 1);
+        writer.methodInstruction(INVOKESPECIAL, STRING_BUILDER, "<init>", "()V");
+        for (int i = 0; i < node.getCardinality(); i++) {
+            writer.instruction(ALOAD_3, 1);
+            generateNode((AstNode) node.getChild(i));
+            writer.methodInstruction(INVOKESTATIC, SUPPORT, "coerceToString", UNARY_DESCRIPTOR + "Ljava/lang/String;");
+            writer.methodInstruction(INVOKEVIRTUAL, STRING_BUILDER, "append", "(Ljava/lang/String;)L" + STRING_BUILDER + ";");
+        }
+        writer.methodInstruction(INVOKEVIRTUAL, STRING_BUILDER, "toString", "()Ljava/lang/String;");
+        compiledNodeCount++;
+    }
+
+    protected void generateInterpreted(AstNode node) {
+        loadConstant(node, AST_NODE);
+        writer.instruction(ALOAD_2, 1);
+        writer.instruction(ICONST_0, 1);
+        writer.instruction(AALOAD, -1);
+        writer.typeInstruction(CHECKCAST, BINDINGS, 0);
+        writer.instruction(ALOAD_1, 1);
+        writer.methodInstruction(INVOKEVIRTUAL, AST_NODE, "eval", "(L" + BINDINGS + ";" + EL_CONTEXT + ")" + OBJECT);
+    }
+
+    protected void loadConstant(Object value, String internalTypeName) {
+        int index = constants.size();
+        constants.add(value);
+        writer.instruction(ALOAD_2, 1);
+        writer.pushInt(index);
+        writer.instruction(AALOAD, -1);
+        if (internalTypeName != null) {
+            writer.typeInstruction(CHECKCAST, internalTypeName, 0);
+        }
+    }
+
+    protected void boxBoolean(String returnType) {
+        if ("Z".equals(returnType)) {
+            writer.methodInstruction(INVOKESTATIC, BOOLEAN, "valueOf", "(Z)L" + BOOLEAN + ";");
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.el.compiler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.common.impl.de.odysseus.el.TreeValueExpression;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.ExpressionNode;
+import org.flowable.engine.common.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.ValueExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional expression backend that compiles parsed JUEL expression trees into generated bytecode classes, instead of
+ * evaluating them by walking the tree for every evaluation.
+ * <p>
+ * Expression managers pass every parsed expression to {@link #compile(ValueExpression)}. The returned expression reads
+ * its value through a generated {@link CompiledEvaluator}. Constructs the generator does not support, like functions
+ * and method calls, are evaluated by the interpreter from within the generated code. Expressions that cannot be compiled
+ * at all are returned unchanged.
+ * <p>
+ * Expressions are also created at runtime, for example for task names, so the evaluators are cached per parsed
+ * expression and reused when the same expression is created again. The generated classes are defined in a class loader
+ * owned by this compiler and are only unloaded together with the compiler, so at most {@link #maxCompiledExpressions}
+ * expressions are compiled. Expressions beyond that limit are evaluated by the interpreter.
+ */
+public class ExpressionCompiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionCompiler.class);
+
+    protected static final String GENERATED_CLASS_NAME = CompiledEvaluator.class.getPackage().getName() + ".GeneratedEvaluator";
+
+    /** Cached for expressions the generator cannot translate, so they are not generated again. */
+    protected static final CompiledEvaluator NOT_COMPILABLE = new CompiledEvaluator(null) {
+
+        @Override
+        public Object eval(ELContext context) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    protected final EvaluatorClassLoader classLoader;
+    protected final AtomicInteger classCounter = new AtomicInteger();
+    protected final ConcurrentMap<TreeValueExpression, CompiledEvaluator> evaluators = new ConcurrentHashMap<>();
+    protected int maxCompiledExpressions = 10000;
+
+    public ExpressionCompiler() {
+        this(CompiledEvaluator.class.getClassLoader());
+    }
+
+    public ExpressionCompiler(ClassLoader parentClassLoader) {
+        this.classLoader = new EvaluatorClassLoader(parentClassLoader);
+    }
+
+    /**
+     * @return a {@link CompiledValueExpression} for the given expression, or the given expression itself when it is not
+     *         a parsed tree, is literal text or none of its nodes can be compiled.
+     */
+    public ValueExpression compile(ValueExpression valueExpression) {
+        if (!(valueExpression instanceof TreeValueExpression) || valueExpression.isLiteralText()) {
+            return valueExpression;
+        }
+
+        TreeValueExpression treeValueExpression = (TreeValueExpression) valueExpression;
+        ExpressionNode root = treeValueExpression.getNode();
+        if (!(root instanceof AstNode)) {
+            return valueExpression;
+        }
+
+        CompiledEvaluator evaluator = evaluators.get(treeValueExpression);
+        if (evaluator == null) {
+            if (evaluators.size() >= maxCompiledExpressions) {
+                return valueExpression;
+            }
+
+            try {
+                evaluator = createEvaluator((AstNode) root, treeValueExpression);
+            } catch (RuntimeException | LinkageError | ReflectiveOperationException e) {
+                LOGGER.debug("Could not compile expression {}, it is evaluated by the interpreter", valueExpression.getExpressionString(), e);
+            }
+            if (evaluator == null) {
+                evaluator = NOT_COMPILABLE;
+            }
+
+            CompiledEvaluator existingEvaluator = evaluators.putIfAbsent(treeValueExpression, evaluator);
+            if (existingEvaluator != null) {
+                evaluator = existingEvaluator;
+            }
+        }
+
+        if (evaluator == NOT_COMPILABLE) {
+            return valueExpression;
+        }
+        return new CompiledValueExpression(treeValueExpression, evaluator);
+    }
+
+    protected CompiledEvaluator createEvaluator(AstNode root, TreeValueExpression treeValueExpression) throws ReflectiveOperationException {
+        String className = GENERATED_CLASS_NAME + classCounter.incrementAndGet();
+        EvaluatorCodeGenerator generator = new EvaluatorCodeGenerator(className.replace('.', '/'), treeValueExpression.getBindings());
+        generator.generate(root);
+        if (generator.getCompiledNodeCount() == 0) {
+            return null;
+        }
+
+        Class<?> evaluatorClass = classLoader.defineEvaluatorClass(className, generator.toByteArray());
+        return (CompiledEvaluator) evaluatorClass.getConstructor(Object[].class).newInstance((Object) generator.getConstants());
+    }
+
+    /**
+     * @return the number of generated evaluator classes.
+     */
+    public int getCompiledExpressionCount() {
+        return classLoader.getDefinedClassCount();
+    }
+
+    public int getMaxCompiledExpressions() {
+        return maxCompiledExpressions;
+    }
+
+    public void setMaxCompiledExpressions(int maxCompiledExpressions) {
+        this.maxCompiledExpressions = maxCompiledExpressions;
+    }
+
+    protected static class EvaluatorClassLoader extends ClassLoader {
+
+        protected final AtomicInteger definedClassCount = new AtomicInteger();
+
+        public EvaluatorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        public Class<?> defineEvaluatorClass(String name, byte[] bytes) {
+            Class<?> evaluatorClass = defineClass(name, bytes, 0, bytes.length);
+            definedClassCount.incrementAndGet();
+            return evaluatorClass;
+        }
+
+        public int getDefinedClassCount() {
+            return definedClassCount.get();
+        }
+    }
+
+}
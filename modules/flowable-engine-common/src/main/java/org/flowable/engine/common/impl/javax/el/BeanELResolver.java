@@ -41,6 +41,11 @@ import java.util.concurrent.ConcurrentHashMap;
  * for details. Because this resolver handles base objects of any type, it should be placed near the
  * end of a composite resolver. Otherwise, it will claim to have resolved a property before any
  * resolvers that come after it get a chance to test if they can do so as well.
+ * <p>
+ * The results of the bean introspection and of the method lookups done for method expressions are
+ * cached per bean class and shared by all resolver instances. Expressions compiled by the
+ * {@link org.flowable.engine.common.impl.el.compiler.ExpressionCompiler} resolve their properties
+ * through this resolver as well, so they use the same caches.
  * 
  * @see CompositeELResolver
  * @see ELResolver
@@ -145,6 +150,30 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
+	/**
+	 * Introspection results shared by all resolver instances. Expression managers create a new
+	 * resolver for every ELContext, so a per-instance cache would have to introspect the same bean
+	 * classes over and over again. The values are attached to the classes themselves, which means
+	 * they are released together with the class loader of the beans.
+	 */
+	private static final ClassValue<BeanProperties> BEAN_PROPERTIES = new ClassValue<BeanProperties>() {
+		@Override
+		protected BeanProperties computeValue(Class<?> type) {
+			return new BeanProperties(type);
+		}
+	};
+
+	/**
+	 * Methods resolved by {@link #invoke(ELContext, Object, Object, Class[], Object[])} for calls
+	 * without explicit parameter types, keyed by method name and parameter count.
+	 */
+	private static final ClassValue<ConcurrentHashMap<String, Method>> METHODS = new ClassValue<ConcurrentHashMap<String, Method>>() {
+		@Override
+		protected ConcurrentHashMap<String, Method> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
 	private final boolean readOnly;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
 	
@@ -516,8 +545,21 @@ public class BeanELResolver extends ELResolver {
 				return null;
 			}
 		}
+		ConcurrentHashMap<String, Method> methods = METHODS.get(base.getClass());
+		String key = name + '#' + paramCount;
+		Method result = methods.get(key);
+		if (result == null) {
+			result = findMethod(base.getClass(), name, paramCount);
+			if (result != null) {
+				methods.putIfAbsent(key, result);
+			}
+		}
+		return result;
+	}
+
+	private Method findMethod(Class<?> baseClass, String name, int paramCount) {
 		Method varArgsMethod = null;
-		for (Method method : base.getClass().getMethods()) {
+		for (Method method : baseClass.getMethods()) {
 			if (method.getName().equals(name)) {
 				int formalParamCount = method.getParameterTypes().length;
 				if (method.isVarArgs() && paramCount >= formalParamCount - 1) {
@@ -631,7 +673,7 @@ public class BeanELResolver extends ELResolver {
 	private final BeanProperty toBeanProperty(Object base, Object property) {
 		BeanProperties beanProperties = cache.get(base.getClass());
 		if (beanProperties == null) {
-			BeanProperties newBeanProperties = new BeanProperties(base.getClass());
+			BeanProperties newBeanProperties = BEAN_PROPERTIES.get(base.getClass());
 			beanProperties = cache.putIfAbsent(base.getClass(), newBeanProperties);
 			if (beanProperties == null) { // put succeeded, use new value
 				beanProperties = newBeanProperties;
@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.metrics;
+
+/**
+ * The database work and duration of one command execution, as passed to a {@link CommandMetricsRegistry}.
+ */
+public class CommandMetrics {
+
+    protected String commandClassName;
+    protected long durationInNanos;
+    protected boolean failed;
+    protected boolean optimisticLockingFailure;
+
+    protected int selectCount;
+    protected int insertCount;
+    protected int updateCount;
+    protected int deleteCount;
+    protected int entityCacheHitCount;
+    protected int entityCacheMissCount;
+
+    public CommandMetrics(String commandClassName) {
+        this.commandClassName = commandClassName;
+    }
+
+    public String getCommandClassName() {
+        return commandClassName;
+    }
+
+    public long getDurationInNanos() {
+        return durationInNanos;
+    }
+
+    public void setDurationInNanos(long durationInNanos) {
+        this.durationInNanos = durationInNanos;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+
+    public boolean isOptimisticLockingFailure() {
+        return optimisticLockingFailure;
+    }
+
+    public void setOptimisticLockingFailure(boolean optimisticLockingFailure) {
+        this.optimisticLockingFailure = optimisticLockingFailure;
+    }
+
+    public int getSelectCount() {
+        return selectCount;
+    }
+
+    public void setSelectCount(int selectCount) {
+        this.selectCount = selectCount;
+    }
+
+    public int getInsertCount() {
+        return insertCount;
+    }
+
+    public void setInsertCount(int insertCount) {
+        this.insertCount = insertCount;
+    }
+
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    public void setUpdateCount(int updateCount) {
+        this.updateCount = updateCount;
+    }
+
+    public int getDeleteCount() {
+        return deleteCount;
+    }
+
+    public void setDeleteCount(int deleteCount) {
+        this.deleteCount = deleteCount;
+    }
+
+    /**
+     * Returns the number of rows inserted, updated and deleted when flushing.
+     */
+    public int getFlushedRowCount() {
+        return insertCount + updateCount + deleteCount;
+    }
+
+    public int getEntityCacheHitCount() {
+        return entityCacheHitCount;
+    }
+
+    public void setEntityCacheHitCount(int entityCacheHitCount) {
+        this.entityCacheHitCount = entityCacheHitCount;
+    }
+
+    public int getEntityCacheMissCount() {
+        return entityCacheMissCount;
+    }
+
+    public void setEntityCacheMissCount(int entityCacheMissCount) {
+        this.entityCacheMissCount = entityCacheMissCount;
+    }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.metrics;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.db.DbSqlSession;
+import org.flowable.engine.common.impl.interceptor.AbstractCommandInterceptor;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.interceptor.CommandContextCloseListener;
+import org.flowable.engine.common.impl.persistence.cache.EntityCache;
+import org.flowable.engine.common.impl.persistence.cache.EntityCacheImpl;
+
+/**
+ * Records the {@link CommandMetrics} of every command that opens a new {@link CommandContext} in a {@link CommandMetricsRegistry}.
+ * <p>
+ * Must be placed after the command context interceptor. The metrics are collected when the command context is closed, so the duration includes flushing the sessions and committing
+ * the transaction. Commands reusing the command context of another command are accounted to that command.
+ */
+public class CommandMetricsInterceptor extends AbstractCommandInterceptor {
+
+    protected CommandMetricsRegistry commandMetricsRegistry;
+
+    public CommandMetricsInterceptor(CommandMetricsRegistry commandMetricsRegistry) {
+        this.commandMetricsRegistry = commandMetricsRegistry;
+    }
+
+    @Override
+    public <T> T execute(CommandConfig config, Command<T> command) {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null && !commandContext.isReused()) {
+            commandContext.addCloseListener(new CommandMetricsCloseListener(command.getClass().getName(), commandMetricsRegistry));
+        }
+        return next.execute(config, command);
+    }
+
+    public CommandMetricsRegistry getCommandMetricsRegistry() {
+        return commandMetricsRegistry;
+    }
+
+    public void setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+        this.commandMetricsRegistry = commandMetricsRegistry;
+    }
+
+    protected static class CommandMetricsCloseListener implements CommandContextCloseListener {
+
+        protected String commandClassName;
+        protected CommandMetricsRegistry commandMetricsRegistry;
+        protected long startTime = System.nanoTime();
+
+        public CommandMetricsCloseListener(String commandClassName, CommandMetricsRegistry commandMetricsRegistry) {
+            this.commandClassName = commandClassName;
+            this.commandMetricsRegistry = commandMetricsRegistry;
+        }
+
+        @Override
+        public void closing(CommandContext commandContext) {
+        }
+
+        @Override
+        public void afterSessionsFlush(CommandContext commandContext) {
+        }
+
+        @Override
+        public void closed(CommandContext commandContext) {
+            record(commandContext, false);
+        }
+
+        @Override
+        public void closeFailure(CommandContext commandContext) {
+            record(commandContext, true);
+        }
+
+        protected void record(CommandContext commandContext, boolean failed) {
+            CommandMetrics commandMetrics = new CommandMetrics(commandClassName);
+            commandMetrics.setDurationInNanos(System.nanoTime() - startTime);
+            commandMetrics.setFailed(failed);
+            commandMetrics.setOptimisticLockingFailure(failed && commandContext.getException() instanceof FlowableOptimisticLockingException);
+
+            // The sessions are only closed after the close listeners were called
+            DbSqlSession dbSqlSession = (DbSqlSession) commandContext.getSessions().get(DbSqlSession.class);
+            if (dbSqlSession != null) {
+                commandMetrics.setSelectCount(dbSqlSession.getSelectCount());
+                commandMetrics.setInsertCount(dbSqlSession.getInsertCount());
+                commandMetrics.setUpdateCount(dbSqlSession.getUpdateCount());
+                commandMetrics.setDeleteCount(dbSqlSession.getDeleteCount());
+            }
+            Object entityCache = commandContext.getSessions().get(EntityCache.class);
+            if (entityCache instanceof EntityCacheImpl) {
+                commandMetrics.setEntityCacheHitCount(((EntityCacheImpl) entityCache).getHitCount());
+                commandMetrics.setEntityCacheMissCount(((EntityCacheImpl) entityCache).getMissCount());
+            }
+
+            commandMetricsRegistry.record(commandMetrics);
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.metrics;
+
+/**
+ * Receives the {@link CommandMetrics} of every executed command when command metrics are enabled, e.g. the {@link DefaultCommandMetricsRegistry}. An implementation can also
+ * forward them to an external metrics library.
+ * <p>
+ * Called by the thread that executed the command, right after the command context is closed, so implementations must be thread safe and fast.
+ */
+public interface CommandMetricsRegistry {
+
+    void record(CommandMetrics commandMetrics);
+
+}
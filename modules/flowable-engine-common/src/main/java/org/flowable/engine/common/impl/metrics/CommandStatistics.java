@@ -0,0 +1,204 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The aggregated {@link CommandMetrics} of all executions of one command class: counters and a latency histogram. Recording is lock free.
+ */
+public class CommandStatistics {
+
+    /**
+     * The upper bounds (inclusive) of the latency histogram buckets in milliseconds. Slower executions are counted in an extra last bucket.
+     */
+    public static final long[] LATENCY_BUCKET_BOUNDS_IN_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    /**
+     * The bucket bounds in nanoseconds: the durations are compared without truncating them to milliseconds, so e.g. 1.9 ms is not counted as "<=1ms".
+     */
+    protected static final long[] LATENCY_BUCKET_BOUNDS_IN_NANOS = new long[LATENCY_BUCKET_BOUNDS_IN_MILLIS.length];
+
+    static {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_IN_MILLIS.length; i++) {
+            LATENCY_BUCKET_BOUNDS_IN_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(LATENCY_BUCKET_BOUNDS_IN_MILLIS[i]);
+        }
+    }
+
+    protected final String commandClassName;
+
+    protected final AtomicLong count = new AtomicLong();
+    protected final AtomicLong failedCount = new AtomicLong();
+    protected final AtomicLong optimisticLockingFailureCount = new AtomicLong();
+    protected final AtomicLong totalDurationInNanos = new AtomicLong();
+    protected final AtomicLong maxDurationInNanos = new AtomicLong();
+    protected final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_IN_MILLIS.length + 1);
+
+    protected final AtomicLong selectCount = new AtomicLong();
+    protected final AtomicLong insertCount = new AtomicLong();
+    protected final AtomicLong updateCount = new AtomicLong();
+    protected final AtomicLong deleteCount = new AtomicLong();
+    protected final AtomicLong entityCacheHitCount = new AtomicLong();
+    protected final AtomicLong entityCacheMissCount = new AtomicLong();
+
+    public CommandStatistics(String commandClassName) {
+        this.commandClassName = commandClassName;
+    }
+
+    public void record(CommandMetrics commandMetrics) {
+        count.incrementAndGet();
+        if (commandMetrics.isFailed()) {
+            failedCount.incrementAndGet();
+        }
+        if (commandMetrics.isOptimisticLockingFailure()) {
+            optimisticLockingFailureCount.incrementAndGet();
+        }
+
+        long durationInNanos = commandMetrics.getDurationInNanos();
+        totalDurationInNanos.addAndGet(durationInNanos);
+        long currentMax = maxDurationInNanos.get();
+        while (durationInNanos > currentMax && !maxDurationInNanos.compareAndSet(currentMax, durationInNanos)) {
+            currentMax = maxDurationInNanos.get();
+        }
+        latencyBuckets.incrementAndGet(getLatencyBucket(durationInNanos));
+
+        addIfNotZero(selectCount, commandMetrics.getSelectCount());
+        addIfNotZero(insertCount, commandMetrics.getInsertCount());
+        addIfNotZero(updateCount, commandMetrics.getUpdateCount());
+        addIfNotZero(deleteCount, commandMetrics.getDeleteCount());
+        addIfNotZero(entityCacheHitCount, commandMetrics.getEntityCacheHitCount());
+        addIfNotZero(entityCacheMissCount, commandMetrics.getEntityCacheMissCount());
+    }
+
+    protected int getLatencyBucket(long durationInNanos) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_IN_NANOS.length; i++) {
+            if (durationInNanos <= LATENCY_BUCKET_BOUNDS_IN_NANOS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS_IN_NANOS.length;
+    }
+
+    protected void addIfNotZero(AtomicLong counter, int value) {
+        if (value != 0) {
+            counter.addAndGet(value);
+        }
+    }
+
+    public String getCommandClassName() {
+        return commandClassName;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getOptimisticLockingFailureCount() {
+        return optimisticLockingFailureCount.get();
+    }
+
+    public long getTotalDurationInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalDurationInNanos.get());
+    }
+
+    public long getMaxDurationInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDurationInNanos.get());
+    }
+
+    public double getAverageDurationInMillis() {
+        long executions = count.get();
+        if (executions == 0) {
+            return 0.0;
+        }
+        double average = totalDurationInNanos.get() / 1000000.0 / executions;
+        return Math.round(average * 100.0) / 100.0;
+    }
+
+    /**
+     * Returns the number of executions per latency bucket, with keys like "<=10ms" and ">10000ms" for the last bucket.
+     */
+    public Map<String, Long> getLatencyHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_IN_MILLIS.length; i++) {
+            histogram.put("<=" + LATENCY_BUCKET_BOUNDS_IN_MILLIS[i] + "ms", latencyBuckets.get(i));
+        }
+        histogram.put(">" + LATENCY_BUCKET_BOUNDS_IN_MILLIS[LATENCY_BUCKET_BOUNDS_IN_MILLIS.length - 1] + "ms", latencyBuckets.get(LATENCY_BUCKET_BOUNDS_IN_MILLIS.length));
+        return histogram;
+    }
+
+    public long getSelectCount() {
+        return selectCount.get();
+    }
+
+    public long getInsertCount() {
+        return insertCount.get();
+    }
+
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    public long getDeleteCount() {
+        return deleteCount.get();
+    }
+
+    public long getFlushedRowCount() {
+        return insertCount.get() + updateCount.get() + deleteCount.get();
+    }
+
+    /**
+     * Returns the number of select statements and flushed rows, as an indication of the database work done by the command.
+     */
+    public long getDatabaseOperationCount() {
+        return selectCount.get() + getFlushedRowCount();
+    }
+
+    public long getEntityCacheHitCount() {
+        return entityCacheHitCount.get();
+    }
+
+    public long getEntityCacheMissCount() {
+        return entityCacheMissCount.get();
+    }
+
+    /**
+     * Returns all statistics as a map, e.g. for rendering as json.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", getCount());
+        map.put("failedCount", getFailedCount());
+        map.put("optimisticLockingFailureCount", getOptimisticLockingFailureCount());
+        map.put("averageDurationInMillis", getAverageDurationInMillis());
+        map.put("maxDurationInMillis", getMaxDurationInMillis());
+        map.put("totalDurationInMillis", getTotalDurationInMillis());
+        map.put("selectCount", getSelectCount());
+        map.put("insertCount", getInsertCount());
+        map.put("updateCount", getUpdateCount());
+        map.put("deleteCount", getDeleteCount());
+        map.put("flushedRowCount", getFlushedRowCount());
+        map.put("entityCacheHitCount", getEntityCacheHitCount());
+        map.put("entityCacheMissCount", getEntityCacheMissCount());
+        map.put("latencyHistogram", getLatencyHistogram());
+        return map;
+    }
+
+}
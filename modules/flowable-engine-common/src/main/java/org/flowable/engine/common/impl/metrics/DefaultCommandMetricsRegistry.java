@@ -0,0 +1,81 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CommandMetricsRegistry} keeping {@link CommandStatistics} per command class in memory, which can be read through JMX or the Spring Boot actuator endpoint.
+ */
+public class DefaultCommandMetricsRegistry implements CommandMetricsRegistry {
+
+    protected ConcurrentMap<String, CommandStatistics> commandStatistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(CommandMetrics commandMetrics) {
+        CommandStatistics statistics = commandStatistics.get(commandMetrics.getCommandClassName());
+        if (statistics == null) {
+            CommandStatistics newStatistics = new CommandStatistics(commandMetrics.getCommandClassName());
+            statistics = commandStatistics.putIfAbsent(commandMetrics.getCommandClassName(), newStatistics);
+            if (statistics == null) {
+                statistics = newStatistics;
+            }
+        }
+        statistics.record(commandMetrics);
+    }
+
+    public CommandStatistics getCommandStatistics(String commandClassName) {
+        return commandStatistics.get(commandClassName);
+    }
+
+    /**
+     * Returns the statistics of all executed command classes, the commands doing the most database operations first.
+     */
+    public List<CommandStatistics> getCommandStatistics() {
+        List<CommandStatistics> statistics = new ArrayList<>(commandStatistics.values());
+        Collections.sort(statistics, new Comparator<CommandStatistics>() {
+
+            @Override
+            public int compare(CommandStatistics statistics1, CommandStatistics statistics2) {
+                long databaseOperations1 = statistics1.getDatabaseOperationCount();
+                long databaseOperations2 = statistics2.getDatabaseOperationCount();
+                return databaseOperations1 < databaseOperations2 ? 1 : (databaseOperations1 == databaseOperations2 ? 0 : -1);
+            }
+        });
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics of all executed command classes as a map from command class name to statistics (see {@link CommandStatistics#toMap()}), the commands doing the
+     * most database operations first.
+     */
+    public Map<String, Object> getCommandStatisticsAsMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (CommandStatistics statistics : getCommandStatistics()) {
+            map.put(statistics.getCommandClassName(), statistics.toMap());
+        }
+        return map;
+    }
+
+    public void reset() {
+        commandStatistics.clear();
+    }
+
+}
@@ -12,8 +12,9 @@
  */
 package org.flowable.engine.common.impl.persistence.cache;
 
-import java.util.HashMap;
+import java.util.Collections;
 
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.engine.common.impl.persistence.entity.Entity;
 
 /**
@@ -38,7 +39,12 @@ public class CachedEntity {
             this.originalPersistentState = entity.getPersistentState();
             entity.setOriginalPersistentState(originalPersistentState);
         } else if (entity.getOriginalPersistentState() == null){
-            entity.setOriginalPersistentState(new HashMap<>(1));
+            entity.setOriginalPersistentState(Collections.emptyMap());
+        }
+
+        if (entity instanceof DirtyTrackingEntity) {
+            // Without stored state, the entity is always seen as changed
+            ((DirtyTrackingEntity) entity).setDirty(!storeState);
         }
     }
 
@@ -59,7 +65,11 @@ public class CachedEntity {
     }
 
     public boolean hasChanged() {
-        return entity.getPersistentState() != null && !entity.getPersistentState().equals(originalPersistentState);
+        if (entity instanceof DirtyTrackingEntity && !((DirtyTrackingEntity) entity).isDirty()) {
+            return false;
+        }
+        Object persistentState = entity.getPersistentState();
+        return persistentState != null && !persistentState.equals(originalPersistentState);
     }
 
 }
\ No newline at end of file
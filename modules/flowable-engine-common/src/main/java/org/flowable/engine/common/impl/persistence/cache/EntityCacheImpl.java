@@ -26,14 +26,31 @@ import org.flowable.engine.common.impl.persistence.entity.Entity;
  */
 public class EntityCacheImpl implements EntityCache {
 
+    /**
+     * Marks a class for which no class cache exists, so the subclasses don't need to be checked again.
+     */
+    protected static final Map<String, CachedEntity> NO_CLASS_CACHE = Collections.emptyMap();
+
     protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<>();
 
+    /**
+     * The class caches resolved for classes that aren't cached themselves, typically the entity interfaces (e.g. ExecutionEntity instead of ExecutionEntityImpl).
+     * Cleared when a class cache is added, as the new class could be a better match.
+     */
+    protected Map<Class<?>, Map<String, CachedEntity>> resolvedClassCaches = new HashMap<>();
+
+    protected int hitCount;
+    protected int missCount;
+
     @Override
     public CachedEntity put(Entity entity, boolean storeState) {
         Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
         if (classCache == null) {
             classCache = new HashMap<>();
             cachedObjects.put(entity.getClass(), classCache);
+            if (!resolvedClassCaches.isEmpty()) {
+                resolvedClassCaches.clear();
+            }
         }
         CachedEntity cachedObject = new CachedEntity(entity, storeState);
         classCache.put(entity.getId(), cachedObject);
@@ -55,19 +72,27 @@ public class EntityCacheImpl implements EntityCache {
         }
 
         if (cachedObject != null) {
+            hitCount++;
             return (T) cachedObject.getEntity();
         }
 
+        missCount++;
         return null;
     }
 
     protected Map<String, CachedEntity> findClassCacheByCheckingSubclasses(Class<?> entityClass) {
-        for (Class<?> clazz : cachedObjects.keySet()) {
-            if (entityClass.isAssignableFrom(clazz)) {
-                return cachedObjects.get(clazz);
+        Map<String, CachedEntity> classCache = resolvedClassCaches.get(entityClass);
+        if (classCache == null) {
+            classCache = NO_CLASS_CACHE;
+            for (Map.Entry<Class<?>, Map<String, CachedEntity>> entry : cachedObjects.entrySet()) {
+                if (entityClass.isAssignableFrom(entry.getKey())) {
+                    classCache = entry.getValue();
+                    break;
+                }
             }
+            resolvedClassCaches.put(entityClass, classCache);
         }
-        return null;
+        return classCache != NO_CLASS_CACHE ? classCache : null;
     }
 
     @Override
@@ -108,6 +133,20 @@ public class EntityCacheImpl implements EntityCache {
         return Collections.emptyList();
     }
 
+    /**
+     * Returns the number of lookups by id that found the entity in the cache.
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups by id that didn't find the entity in the cache.
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
     @Override
     public Map<Class<?>, Map<String, CachedEntity>> getAllCachedEntities() {
         return cachedObjects;
@@ -0,0 +1,208 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.persistence.deploy;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.flowable.engine.common.impl.util.StripedCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deployment cache that can be read concurrently without taking any lock.
+ * 
+ * Contrary to an access-ordered {@link java.util.LinkedHashMap}, a read does not reorder anything: it only stamps the entry with a coarse-grained access time. 
+ * When a limit is set and it is exceeded after adding an entry, the least recently accessed entries are evicted (approximate LRU).
+ * Eviction is done by one thread at a time; other threads adding entries meanwhile do not wait for it.
+ * 
+ * Hits, misses and evictions are counted, which gives insight in whether the configured limit is sufficient.
+ * 
+ * The engine specific DeploymentCache interfaces are implemented by subclasses in the engine modules.
+ */
+public abstract class AbstractConcurrentDeploymentCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractConcurrentDeploymentCache.class);
+
+    /** Access times are only updated when they differ more than this, to avoid writing to hot entries on every read. */
+    protected static final long ACCESS_TIME_GRANULARITY = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    protected ConcurrentHashMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<>();
+    protected int limit;
+    protected ReentrantLock evictionLock = new ReentrantLock();
+
+    protected StripedCounter hitCount = new StripedCounter();
+    protected StripedCounter missCount = new StripedCounter();
+    protected StripedCounter evictionCount = new StripedCounter();
+
+    /** Cache with no limit */
+    public AbstractConcurrentDeploymentCache() {
+        this(-1);
+    }
+
+    /**
+     * Cache which has a limit: when more elements than the limit are added, the least recently used ones are evicted.
+     */
+    public AbstractConcurrentDeploymentCache(int limit) {
+        this.limit = limit;
+    }
+
+    public T get(String id) {
+        CacheEntry<T> entry = cache.get(id);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        entry.recordAccess();
+        return entry.getValue();
+    }
+
+    public boolean contains(String id) {
+        return cache.containsKey(id);
+    }
+
+    public void add(String id, T object) {
+        if (object == null) {
+            cache.remove(id);
+            return;
+        }
+
+        cache.put(id, new CacheEntry<>(object));
+        if (limit > 0 && cache.size() > limit) {
+            evict();
+        }
+    }
+
+    public void remove(String id) {
+        cache.remove(id);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    protected void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // Another thread is already evicting
+        }
+
+        try {
+            int nrOfEntriesToEvict = cache.size() - limit;
+            while (nrOfEntriesToEvict > 0) {
+
+                // Keep the nrOfEntriesToEvict least recently accessed entries, with the most recent one of those at the head
+                PriorityQueue<EvictionCandidate<T>> evictionCandidates = new PriorityQueue<>(nrOfEntriesToEvict + 1);
+                for (Map.Entry<String, CacheEntry<T>> entry : cache.entrySet()) {
+                    evictionCandidates.add(new EvictionCandidate<>(entry.getKey(), entry.getValue()));
+                    if (evictionCandidates.size() > nrOfEntriesToEvict) {
+                        evictionCandidates.poll();
+                    }
+                }
+
+                for (EvictionCandidate<T> evictionCandidate : evictionCandidates) {
+                    if (cache.remove(evictionCandidate.key, evictionCandidate.entry)) {
+                        evictionCount.increment();
+                        LOGGER.trace("Cache limit is reached, {} will be evicted", evictionCandidate.key);
+                    }
+                }
+
+                nrOfEntriesToEvict = cache.size() - limit;
+            }
+
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    protected static class CacheEntry<T> {
+
+        protected final T value;
+        protected volatile long lastAccessTime;
+
+        public CacheEntry(T value) {
+            this.value = value;
+            this.lastAccessTime = System.nanoTime();
+        }
+
+        public void recordAccess() {
+            long now = System.nanoTime();
+            if (now - lastAccessTime > ACCESS_TIME_GRANULARITY) {
+                lastAccessTime = now;
+            }
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+    }
+
+    /**
+     * Snapshot of the access time of an entry at the moment eviction started. Ordered with the most recently accessed first.
+     */
+    protected static class EvictionCandidate<T> implements Comparable<EvictionCandidate<T>> {
+
+        protected final String key;
+        protected final CacheEntry<T> entry;
+        protected final long lastAccessTime;
+
+        public EvictionCandidate(String key, CacheEntry<T> entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccessTime = entry.getLastAccessTime();
+        }
+
+        @Override
+        public int compareTo(EvictionCandidate<T> other) {
+            long difference = other.lastAccessTime - lastAccessTime; // System.nanoTime() values can only be compared by subtracting
+            return difference < 0 ? -1 : (difference == 0 ? 0 : 1);
+        }
+
+    }
+
+}
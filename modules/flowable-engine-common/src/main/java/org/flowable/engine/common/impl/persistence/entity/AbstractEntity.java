@@ -27,6 +27,7 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     protected boolean isInserted;
     protected boolean isUpdated;
     protected boolean isDeleted;
+    protected boolean isDirty;
     
     protected Object originalPersistentState;
 
@@ -76,6 +77,24 @@ public abstract class AbstractEntity implements Entity, HasRevision {
         this.isDeleted = isDeleted;
     }
 
+    /**
+     * Only used when the subclass implements {@link DirtyTrackingEntity}.
+     */
+    public boolean isDirty() {
+        return isDirty;
+    }
+
+    public void setDirty(boolean isDirty) {
+        this.isDirty = isDirty;
+    }
+
+    /**
+     * To be called by subclasses implementing {@link DirtyTrackingEntity} whenever their persistent state is changed.
+     */
+    protected void markDirty() {
+        isDirty = true;
+    }
+
     @Override
     public Object getOriginalPersistentState() {
         return originalPersistentState;
@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.persistence.entity;
+
+/**
+ * Implemented by {@link Entity} implementations that mark themselves dirty in every method that changes their persistent state (see {@link AbstractEntity#markDirty()}).
+ * <p>
+ * When flushing, an entity that hasn't been marked dirty since it was loaded is seen as unchanged, without calling {@link Entity#getPersistentState()} and comparing it with the
+ * original state. A dirty entity is still compared with the original state, so setting a property to the value it already had doesn't lead to an update.
+ * <p>
+ * Entities that don't implement this interface are always compared with their original state.
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    /**
+     * Returns whether the persistent state could have been changed since the entity was loaded.
+     */
+    boolean isDirty();
+
+    void setDirty(boolean isDirty);
+
+}
@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that spreads increments over multiple padded cells, so threads incrementing concurrently don't all compete for the same cache line.
+ * Meant for statistics that are written very often and read rarely.
+ */
+public class StripedCounter {
+
+    /** Number of longs in a (64 byte) cache line: only every 8th cell of the array is used. */
+    protected static final int PADDING = 8;
+
+    protected final AtomicLongArray cells;
+    protected final int mask;
+
+    public StripedCounter() {
+        int nrOfStripes = 1;
+        while (nrOfStripes < Runtime.getRuntime().availableProcessors()) {
+            nrOfStripes <<= 1;
+        }
+        this.mask = nrOfStripes - 1;
+        this.cells = new AtomicLongArray(nrOfStripes * PADDING);
+    }
+
+    public void increment() {
+        add(1L);
+    }
+
+    public void add(long value) {
+        int index = (int) (Thread.currentThread().getId() & mask);
+        cells.addAndGet(index * PADDING, value);
+    }
+
+    public long get() {
+        long sum = 0L;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    public void reset() {
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            cells.set(i, 0L);
+        }
+    }
+
+}
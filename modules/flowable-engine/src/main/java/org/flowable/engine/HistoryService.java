@@ -14,6 +14,7 @@
 
 package org.flowable.engine;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.history.HistoricActivityInstance;
@@ -30,6 +31,7 @@ import org.flowable.engine.history.NativeHistoricProcessInstanceQuery;
 import org.flowable.engine.history.NativeHistoricTaskInstanceQuery;
 import org.flowable.engine.history.ProcessInstanceHistoryLog;
 import org.flowable.engine.history.ProcessInstanceHistoryLogQuery;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
 import org.flowable.identitylink.service.IdentityLink;
 import org.flowable.identitylink.service.history.HistoricIdentityLink;
 import org.flowable.variable.service.history.HistoricVariableInstance;
@@ -90,6 +92,15 @@ public interface HistoryService {
      */
     void deleteHistoricProcessInstance(String processInstanceId);
 
+    /**
+     * Deletes the given historic process instances asynchronously, in the same way as {@link #deleteHistoricProcessInstance(String)}. The process instances are deleted in
+     * batches by asynchronous jobs, each batch in its own transaction, see {@link RuntimeService#deleteProcessInstancesAsync(Collection, String)}. Historic process instances
+     * that don't exist anymore when their batch is executed are skipped.
+     * 
+     * @return the batch, which can be used to monitor the progress with {@link RuntimeService#getProcessInstanceBatch(String)}
+     */
+    ProcessInstanceBatch deleteHistoricProcessInstancesAsync(Collection<String> processInstanceIds);
+
     /**
      * creates a native query to search for {@link HistoricProcessInstance}s via SQL
      */
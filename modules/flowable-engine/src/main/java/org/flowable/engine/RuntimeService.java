@@ -34,8 +34,10 @@ import org.flowable.engine.runtime.ExecutionQuery;
 import org.flowable.engine.runtime.NativeExecutionQuery;
 import org.flowable.engine.runtime.NativeProcessInstanceQuery;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
 import org.flowable.engine.runtime.ProcessInstanceBuilder;
 import org.flowable.engine.runtime.ProcessInstanceQuery;
+import org.flowable.engine.runtime.SignalDelivery;
 import org.flowable.engine.task.Event;
 import org.flowable.form.model.FormModel;
 import org.flowable.identitylink.service.IdentityLink;
@@ -1017,6 +1019,64 @@ public interface RuntimeService {
      */
     void activateProcessInstanceById(String processInstanceId);
 
+    /**
+     * Deletes the given process instances asynchronously, in the same way as {@link #deleteProcessInstance(String, String)}.
+     * 
+     * The process instances are split into batches (see {@link org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl#setProcessInstanceBatchSize(int)}), each batch
+     * is deleted by an asynchronous job in its own transaction. Process instances that don't exist anymore when their batch is executed are skipped.
+     * 
+     * @param processInstanceIds
+     *            ids of the process instances to delete, cannot be null.
+     * @param deleteReason
+     *            reason for deleting, can be null.
+     * @return the batch, which can be used to monitor the progress with {@link #getProcessInstanceBatch(String)}
+     */
+    ProcessInstanceBatch deleteProcessInstancesAsync(Collection<String> processInstanceIds, String deleteReason);
+
+    /**
+     * Similar to {@link #deleteProcessInstancesAsync(Collection, String)}, but deletes the process instances returned by the query. The query is executed page by page when
+     * this method is called, ordered by process instance id (the ordering of the query is ignored, the query itself isn't changed). The jobs of each page are scheduled in
+     * their own transaction, so the process instances of a page can already be handled while the next pages are read.
+     */
+    ProcessInstanceBatch deleteProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery, String deleteReason);
+
+    /**
+     * Suspends the given process instances asynchronously, in batches like {@link #deleteProcessInstancesAsync(Collection, String)}. Process instances that don't exist
+     * anymore or are already suspended when their batch is executed are skipped.
+     * 
+     * @return the batch, which can be used to monitor the progress with {@link #getProcessInstanceBatch(String)}
+     */
+    ProcessInstanceBatch suspendProcessInstancesAsync(Collection<String> processInstanceIds);
+
+    /**
+     * Similar to {@link #suspendProcessInstancesAsync(Collection)}, but suspends the process instances returned by the query. The query is executed page by page when this
+     * method is called, like {@link #deleteProcessInstancesAsync(ProcessInstanceQuery, String)}.
+     */
+    ProcessInstanceBatch suspendProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery);
+
+    /**
+     * Activates the given process instances asynchronously, in batches like {@link #deleteProcessInstancesAsync(Collection, String)}. Process instances that don't exist
+     * anymore or are already active when their batch is executed are skipped.
+     * 
+     * @return the batch, which can be used to monitor the progress with {@link #getProcessInstanceBatch(String)}
+     */
+    ProcessInstanceBatch activateProcessInstancesAsync(Collection<String> processInstanceIds);
+
+    /**
+     * Similar to {@link #activateProcessInstancesAsync(Collection)}, but activates the process instances returned by the query. The query is executed page by page when this
+     * method is called, like {@link #deleteProcessInstancesAsync(ProcessInstanceQuery, String)}.
+     */
+    ProcessInstanceBatch activateProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery);
+
+    /**
+     * Returns the current state of an asynchronous process instance batch operation, e.g. started with {@link #deleteProcessInstancesAsync(Collection, String)} or
+     * {@link HistoryService#deleteHistoricProcessInstancesAsync(Collection)}. Once completed, a batch without failures can't be distinguished from an unknown batch id.
+     * 
+     * @param batchId
+     *            the id of the batch
+     */
+    ProcessInstanceBatch getProcessInstanceBatch(String batchId);
+
     // Events
     // ////////////////////////////////////////////////////////////////////////
 
@@ -1050,6 +1110,44 @@ public interface RuntimeService {
      */
     void signalEventReceivedAsyncWithTenantId(String signalName, String tenantId);
 
+    /**
+     * Notifies the process engine that a signal event of name 'signalName' has been received. This method delivers the signal to all executions waiting on the signal.
+     * <p/>
+     * 
+     * The subscriptions are read page by page and triggered in batches by asynchronous jobs, each batch in its own transaction. This avoids one large transaction when many
+     * executions are waiting on the signal. Only the subscriptions existing when this method is called receive the signal.
+     * 
+     * @param signalName
+     *            the name of the signal event
+     * @return the delivery, which can be used to monitor the progress with {@link #getSignalDelivery(String)} or {@link #awaitSignalDelivery(String, long)}
+     */
+    SignalDelivery signalEventReceivedFanOut(String signalName);
+
+    /**
+     * Similar to {@link #signalEventReceivedFanOut(String)}, but within the context of one tenant.
+     */
+    SignalDelivery signalEventReceivedFanOutWithTenantId(String signalName, String tenantId);
+
+    /**
+     * Returns the current state of a signal delivery started with {@link #signalEventReceivedFanOut(String)}. Once completed, a delivery can't be distinguished from an unknown
+     * delivery id.
+     * 
+     * @param deliveryId
+     *            the id of the signal delivery
+     */
+    SignalDelivery getSignalDelivery(String deliveryId);
+
+    /**
+     * Waits until the signal delivery is completed or the timeout has elapsed, whatever comes first. The jobs of the delivery are executed by the async executor.
+     * 
+     * @param deliveryId
+     *            the id of the signal delivery
+     * @param timeoutInMillis
+     *            the maximum time to wait
+     * @return the state of the delivery when the method returns, see {@link SignalDelivery#isCompleted()}
+     */
+    SignalDelivery awaitSignalDelivery(String deliveryId, long timeoutInMillis);
+
     /**
      * Notifies the process engine that a signal event of name 'signalName' has been received. This method delivers the signal to all executions waiting on the signal.
      * <p/>
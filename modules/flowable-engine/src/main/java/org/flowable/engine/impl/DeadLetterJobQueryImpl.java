@@ -36,6 +36,7 @@ public class DeadLetterJobQueryImpl extends AbstractQuery<DeadLetterJobQuery, Jo
     protected String processInstanceId;
     protected String executionId;
     protected String handlerType;
+    protected String handlerConfigurationLike;
     protected String processDefinitionId;
     protected boolean executable;
     protected boolean onlyTimers;
@@ -101,6 +102,14 @@ public class DeadLetterJobQueryImpl extends AbstractQuery<DeadLetterJobQuery, Jo
         return this;
     }
 
+    public DeadLetterJobQueryImpl handlerConfigurationLike(String handlerConfigurationLike) {
+        if (handlerConfigurationLike == null) {
+            throw new FlowableIllegalArgumentException("Provided handlerConfigurationLike is null");
+        }
+        this.handlerConfigurationLike = handlerConfigurationLike;
+        return this;
+    }
+
     public DeadLetterJobQueryImpl executable() {
         executable = true;
         return this;
@@ -248,6 +257,10 @@ public class DeadLetterJobQueryImpl extends AbstractQuery<DeadLetterJobQuery, Jo
         return handlerType;
     }
 
+    public String getHandlerConfigurationLike() {
+        return handlerConfigurationLike;
+    }
+
     public boolean getExecutable() {
         return executable;
     }
@@ -14,6 +14,7 @@
 
 package org.flowable.engine.impl;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.HistoryService;
@@ -27,9 +28,12 @@ import org.flowable.engine.history.NativeHistoricProcessInstanceQuery;
 import org.flowable.engine.history.NativeHistoricTaskInstanceQuery;
 import org.flowable.engine.history.ProcessInstanceHistoryLogQuery;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.CreateProcessInstanceBatchCmd;
 import org.flowable.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.flowable.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceBatchJobHandler;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
 import org.flowable.identitylink.service.history.HistoricIdentityLink;
 import org.flowable.variable.service.history.HistoricVariableInstanceQuery;
 import org.flowable.variable.service.history.NativeHistoricVariableInstanceQuery;
@@ -89,6 +93,10 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
         commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
     }
 
+    public ProcessInstanceBatch deleteHistoricProcessInstancesAsync(Collection<String> processInstanceIds) {
+        return commandExecutor.execute(new CreateProcessInstanceBatchCmd(ProcessInstanceBatchJobHandler.OPERATION_DELETE_HISTORIC, processInstanceIds, null));
+    }
+
     public NativeHistoricProcessInstanceQuery createNativeHistoricProcessInstanceQuery() {
         return new NativeHistoricProcessInstanceQueryImpl(commandExecutor);
     }
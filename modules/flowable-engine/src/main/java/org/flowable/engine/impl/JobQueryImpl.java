@@ -37,6 +37,7 @@ public class JobQueryImpl extends AbstractQuery<JobQuery, Job> implements JobQue
     protected String processInstanceId;
     protected String executionId;
     protected String handlerType;
+    protected String handlerConfigurationLike;
     protected String processDefinitionId;
     protected boolean retriesLeft;
     protected boolean executable;
@@ -107,6 +108,14 @@ public class JobQueryImpl extends AbstractQuery<JobQuery, Job> implements JobQue
         return this;
     }
 
+    public JobQueryImpl handlerConfigurationLike(String handlerConfigurationLike) {
+        if (handlerConfigurationLike == null) {
+            throw new FlowableIllegalArgumentException("Provided handlerConfigurationLike is null");
+        }
+        this.handlerConfigurationLike = handlerConfigurationLike;
+        return this;
+    }
+
     public JobQuery withRetriesLeft() {
         retriesLeft = true;
         return this;
@@ -279,6 +288,10 @@ public class JobQueryImpl extends AbstractQuery<JobQuery, Job> implements JobQue
         return this.handlerType;
     }
 
+    public String getHandlerConfigurationLike() {
+        return handlerConfigurationLike;
+    }
+
     public boolean getRetriesLeft() {
         return retriesLeft;
     }
@@ -31,6 +31,8 @@ import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
+import org.flowable.engine.impl.history.async.StreamingAsyncHistoryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -108,6 +110,12 @@ public class ProcessEngineImpl implements ProcessEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isActive()) {
             asyncHistoryExecutor.shutdown();
         }
+        if (processEngineConfiguration.getAsyncHistoryListener() instanceof StreamingAsyncHistoryListener) {
+            ((StreamingAsyncHistoryListener) processEngineConfiguration.getAsyncHistoryListener()).shutdown();
+        }
+        if (processEngineConfiguration.getIdGenerator() instanceof PrefetchingDbIdGenerator) {
+            ((PrefetchingDbIdGenerator) processEngineConfiguration.getIdGenerator()).shutdown();
+        }
 
         Runnable closeRunnable = processEngineConfiguration.getProcessEngineCloseRunnable();
         if (closeRunnable != null) {
@@ -15,8 +15,11 @@ package org.flowable.engine.impl;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.flowable.engine.DynamicBpmnConstants;
@@ -26,10 +29,13 @@ import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.context.BpmnOverrideContext;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.flowable.engine.impl.persistence.entity.SuspensionState;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.runtime.ProcessInstanceQuery;
+import org.flowable.variable.service.impl.persistence.entity.VariableInitializingList;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -65,6 +71,7 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     protected String involvedUser;
     protected SuspensionState suspensionState;
     protected boolean includeProcessVariables;
+    protected Collection<String> processVariableNames;
     protected Integer processInstanceVariablesLimit;
     protected boolean withJobException;
     protected String name;
@@ -93,6 +100,9 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     protected boolean onlySubProcessExecutions;
     protected String rootProcessInstanceId;
 
+    // Not exposed in the API, used for paging through the process instance ids by key
+    protected String processInstanceIdAfter;
+
     public ProcessInstanceQueryImpl() {
     }
 
@@ -383,6 +393,15 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
         return this;
     }
 
+    public ProcessInstanceQuery includeProcessVariables(Collection<String> variableNames) {
+        if (variableNames == null) {
+            throw new FlowableIllegalArgumentException("variableNames is null");
+        }
+        this.includeProcessVariables = true;
+        this.processVariableNames = variableNames;
+        return this;
+    }
+
     public ProcessInstanceQuery limitProcessInstanceVariables(Integer processInstanceVariablesLimit) {
         this.processInstanceVariablesLimit = processInstanceVariablesLimit;
         return this;
@@ -636,7 +655,9 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
         checkQueryOk();
         ensureVariablesInitialized();
         List<ProcessInstance> processInstances = null;
-        if (includeProcessVariables) {
+        if (includeProcessVariables && isPrefetchVariables(commandContext)) {
+            processInstances = findProcessInstancesAndPrefetchVariables(commandContext);
+        } else if (includeProcessVariables) {
             processInstances = CommandContextUtil.getExecutionEntityManager(commandContext).findProcessInstanceAndVariablesByQueryCriteria(this);
         } else {
             processInstances = CommandContextUtil.getExecutionEntityManager(commandContext).findProcessInstanceByQueryCriteria(this);
@@ -651,6 +672,68 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
         return processInstances;
     }
 
+    /**
+     * Returns the ids of the next page of process instances matching this query, ordered by id and starting after the given process instance id. Paging by id instead of by
+     * offset doesn't skip process instances when process instances of earlier pages are removed in the meantime. The ordering, paging and variable fetching of this query are
+     * left unchanged.
+     */
+    public List<String> executeProcessInstanceIdsPage(String processInstanceIdAfter, int pageSize, CommandContext commandContext) {
+        checkQueryOk();
+        ensureVariablesInitialized();
+
+        String originalOrderByColumns = orderByColumns;
+        int originalFirstResult = firstResult;
+        int originalMaxResults = maxResults;
+        try {
+            this.orderByColumns = "RES.ID_ asc";
+            this.firstResult = 0;
+            this.maxResults = pageSize;
+            this.processInstanceIdAfter = processInstanceIdAfter;
+
+            List<ProcessInstance> processInstances = CommandContextUtil.getExecutionEntityManager(commandContext).findProcessInstanceByQueryCriteria(this);
+            List<String> processInstanceIds = new ArrayList<>(processInstances.size());
+            for (ProcessInstance processInstance : processInstances) {
+                processInstanceIds.add(processInstance.getId());
+            }
+            return processInstanceIds;
+
+        } finally {
+            this.orderByColumns = originalOrderByColumns;
+            this.firstResult = originalFirstResult;
+            this.maxResults = originalMaxResults;
+            this.processInstanceIdAfter = null;
+        }
+    }
+
+    protected boolean isPrefetchVariables(CommandContext commandContext) {
+        return processVariableNames != null || CommandContextUtil.getProcessEngineConfiguration(commandContext).getPerformanceSettings().isEnableQueryVariablePrefetching();
+    }
+
+    /**
+     * Fetches the page of process instances first and then the variables of these process instances with one query, instead of joining the variables into the process instance query.
+     */
+    protected List<ProcessInstance> findProcessInstancesAndPrefetchVariables(CommandContext commandContext) {
+        List<ProcessInstance> processInstances = CommandContextUtil.getExecutionEntityManager(commandContext).findProcessInstanceByQueryCriteria(this);
+        if (processInstances.isEmpty()) {
+            return processInstances;
+        }
+
+        Map<String, ExecutionEntityImpl> processInstancesById = new HashMap<>();
+        for (ProcessInstance processInstance : processInstances) {
+            ExecutionEntityImpl processInstanceExecution = (ExecutionEntityImpl) processInstance;
+            processInstanceExecution.setQueryVariables(new VariableInitializingList());
+            processInstancesById.put(processInstanceExecution.getId(), processInstanceExecution);
+        }
+
+        List<VariableInstanceEntity> variableInstances = CommandContextUtil.getVariableService().findVariableInstancesByExecutionIdsAndNames(
+                processInstancesById.keySet(), processVariableNames);
+        for (VariableInstanceEntity variableInstance : variableInstances) {
+            processInstancesById.get(variableInstance.getExecutionId()).getQueryVariables().add(variableInstance);
+        }
+
+        return processInstances;
+    }
+
     @Override
     protected void ensureVariablesInitialized() {
         super.ensureVariablesInitialized();
@@ -694,6 +777,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
         return executionId;
     }
 
+    public String getProcessInstanceIdAfter() {
+        return processInstanceIdAfter;
+    }
+
     public String getRootProcessInstanceId() {
         return rootProcessInstanceId;
     }
@@ -822,6 +909,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
         return includeProcessVariables;
     }
 
+    public Collection<String> getProcessVariableNames() {
+        return processVariableNames;
+    }
+
     public boolean iswithException() {
         return withJobException;
     }
@@ -14,6 +14,7 @@ package org.flowable.engine.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@ import org.flowable.engine.impl.cmd.AddIdentityLinkForProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.AddMultiInstanceExecutionCmd;
 import org.flowable.engine.impl.cmd.ChangeActivityStateCmd;
 import org.flowable.engine.impl.cmd.CompleteAdhocSubProcessCmd;
+import org.flowable.engine.impl.cmd.CreateProcessInstanceBatchCmd;
 import org.flowable.engine.impl.cmd.DeleteIdentityLinkForProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.DeleteMultiInstanceExecutionCmd;
 import org.flowable.engine.impl.cmd.DeleteProcessInstanceCmd;
@@ -48,7 +50,10 @@ import org.flowable.engine.impl.cmd.GetExecutionVariableInstancesCmd;
 import org.flowable.engine.impl.cmd.GetExecutionVariablesCmd;
 import org.flowable.engine.impl.cmd.GetExecutionsVariablesCmd;
 import org.flowable.engine.impl.cmd.GetIdentityLinksForProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.GetProcessInstanceBatchCmd;
+import org.flowable.engine.impl.cmd.GetProcessInstanceIdsPageCmd;
 import org.flowable.engine.impl.cmd.GetProcessInstanceEventsCmd;
+import org.flowable.engine.impl.cmd.GetSignalDeliveryCmd;
 import org.flowable.engine.impl.cmd.GetStartFormCmd;
 import org.flowable.engine.impl.cmd.GetStartFormModelCmd;
 import org.flowable.engine.impl.cmd.HasExecutionVariableCmd;
@@ -59,12 +64,15 @@ import org.flowable.engine.impl.cmd.SetExecutionVariablesCmd;
 import org.flowable.engine.impl.cmd.SetProcessInstanceBusinessKeyCmd;
 import org.flowable.engine.impl.cmd.SetProcessInstanceNameCmd;
 import org.flowable.engine.impl.cmd.SignalEventReceivedCmd;
+import org.flowable.engine.impl.cmd.SignalEventReceivedFanOutCmd;
 import org.flowable.engine.impl.cmd.StartProcessInstanceByMessageCmd;
 import org.flowable.engine.impl.cmd.StartProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.StartProcessInstanceWithFormCmd;
 import org.flowable.engine.impl.cmd.SuspendProcessInstanceCmd;
 import org.flowable.engine.impl.cmd.TriggerCmd;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceBatchJobHandler;
 import org.flowable.engine.impl.runtime.ChangeActivityStateBuilderImpl;
+import org.flowable.engine.impl.runtime.ProcessInstanceBatchImpl;
 import org.flowable.engine.impl.runtime.ProcessInstanceBuilderImpl;
 import org.flowable.engine.runtime.ChangeActivityStateBuilder;
 import org.flowable.engine.runtime.DataObject;
@@ -74,8 +82,10 @@ import org.flowable.engine.runtime.ExecutionQuery;
 import org.flowable.engine.runtime.NativeExecutionQuery;
 import org.flowable.engine.runtime.NativeProcessInstanceQuery;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
 import org.flowable.engine.runtime.ProcessInstanceBuilder;
 import org.flowable.engine.runtime.ProcessInstanceQuery;
+import org.flowable.engine.runtime.SignalDelivery;
 import org.flowable.engine.task.Event;
 import org.flowable.form.model.FormModel;
 import org.flowable.identitylink.service.IdentityLink;
@@ -88,6 +98,10 @@ import org.flowable.variable.service.impl.persistence.entity.VariableInstance;
  */
 public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
 
+    protected static final long SIGNAL_DELIVERY_POLL_INTERVAL = 200L;
+
+    protected static final int PROCESS_INSTANCE_ID_PAGE_SIZE = 1000;
+
     public ProcessInstance startProcessInstanceByKey(String processDefinitionKey) {
         return commandExecutor.execute(new StartProcessInstanceCmd<ProcessInstance>(processDefinitionKey, null, null, null));
     }
@@ -419,6 +433,66 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new ActivateProcessInstanceCmd(processInstanceId));
     }
 
+    public ProcessInstanceBatch deleteProcessInstancesAsync(Collection<String> processInstanceIds, String deleteReason) {
+        return commandExecutor.execute(new CreateProcessInstanceBatchCmd(ProcessInstanceBatchJobHandler.OPERATION_DELETE, processInstanceIds, deleteReason));
+    }
+
+    public ProcessInstanceBatch deleteProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery, String deleteReason) {
+        return createProcessInstanceBatch(ProcessInstanceBatchJobHandler.OPERATION_DELETE, processInstanceQuery, deleteReason);
+    }
+
+    public ProcessInstanceBatch suspendProcessInstancesAsync(Collection<String> processInstanceIds) {
+        return commandExecutor.execute(new CreateProcessInstanceBatchCmd(ProcessInstanceBatchJobHandler.OPERATION_SUSPEND, processInstanceIds, null));
+    }
+
+    public ProcessInstanceBatch suspendProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery) {
+        return createProcessInstanceBatch(ProcessInstanceBatchJobHandler.OPERATION_SUSPEND, processInstanceQuery, null);
+    }
+
+    public ProcessInstanceBatch activateProcessInstancesAsync(Collection<String> processInstanceIds) {
+        return commandExecutor.execute(new CreateProcessInstanceBatchCmd(ProcessInstanceBatchJobHandler.OPERATION_ACTIVATE, processInstanceIds, null));
+    }
+
+    public ProcessInstanceBatch activateProcessInstancesAsync(ProcessInstanceQuery processInstanceQuery) {
+        return createProcessInstanceBatch(ProcessInstanceBatchJobHandler.OPERATION_ACTIVATE, processInstanceQuery, null);
+    }
+
+    public ProcessInstanceBatch getProcessInstanceBatch(String batchId) {
+        return commandExecutor.execute(new GetProcessInstanceBatchCmd(batchId));
+    }
+
+    /**
+     * Creates a batch for the process instances of the query. The query is executed page by page (by process instance id), each page in its own command that also schedules
+     * the jobs for that page, so neither the ids nor the fetched process instances pile up in memory. The query itself is left unchanged.
+     */
+    protected ProcessInstanceBatch createProcessInstanceBatch(String operation, ProcessInstanceQuery processInstanceQuery, String deleteReason) {
+        if (processInstanceQuery == null) {
+            throw new FlowableIllegalArgumentException("processInstanceQuery is null");
+        }
+        if (!(processInstanceQuery instanceof ProcessInstanceQueryImpl)) {
+            throw new FlowableIllegalArgumentException("Unsupported process instance query " + processInstanceQuery.getClass().getName());
+        }
+
+        ProcessInstanceQueryImpl processInstanceQueryImpl = (ProcessInstanceQueryImpl) processInstanceQuery;
+        String batchId = null;
+        long jobCount = 0;
+        String processInstanceIdAfter = null;
+        List<String> processInstanceIds;
+        do {
+            processInstanceIds = commandExecutor.execute(new GetProcessInstanceIdsPageCmd(processInstanceQueryImpl, processInstanceIdAfter, PROCESS_INSTANCE_ID_PAGE_SIZE));
+            if (batchId == null || !processInstanceIds.isEmpty()) {
+                ProcessInstanceBatch pageBatch = commandExecutor.execute(new CreateProcessInstanceBatchCmd(batchId, operation, processInstanceIds, deleteReason));
+                batchId = pageBatch.getId();
+                jobCount += pageBatch.getPendingJobCount();
+            }
+            if (!processInstanceIds.isEmpty()) {
+                processInstanceIdAfter = processInstanceIds.get(processInstanceIds.size() - 1);
+            }
+        } while (processInstanceIds.size() == PROCESS_INSTANCE_ID_PAGE_SIZE);
+
+        return new ProcessInstanceBatchImpl(batchId, jobCount, 0, Collections.<String>emptyList());
+    }
+
     public ProcessInstance startProcessInstanceByMessage(String messageName) {
         return commandExecutor.execute(new StartProcessInstanceByMessageCmd(messageName, null, null, null));
     }
@@ -468,6 +542,33 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, true, tenantId));
     }
 
+    public SignalDelivery signalEventReceivedFanOut(String signalName) {
+        return commandExecutor.execute(new SignalEventReceivedFanOutCmd(signalName, null));
+    }
+
+    public SignalDelivery signalEventReceivedFanOutWithTenantId(String signalName, String tenantId) {
+        return commandExecutor.execute(new SignalEventReceivedFanOutCmd(signalName, tenantId));
+    }
+
+    public SignalDelivery getSignalDelivery(String deliveryId) {
+        return commandExecutor.execute(new GetSignalDeliveryCmd(deliveryId));
+    }
+
+    public SignalDelivery awaitSignalDelivery(String deliveryId, long timeoutInMillis) {
+        long end = System.currentTimeMillis() + timeoutInMillis;
+        SignalDelivery signalDelivery = getSignalDelivery(deliveryId);
+        while (!signalDelivery.isCompleted() && System.currentTimeMillis() < end) {
+            try {
+                Thread.sleep(Math.max(1L, Math.min(SIGNAL_DELIVERY_POLL_INTERVAL, end - System.currentTimeMillis())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            signalDelivery = getSignalDelivery(deliveryId);
+        }
+        return signalDelivery;
+    }
+
     public void signalEventReceived(String signalName, Map<String, Object> processVariables) {
         commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, processVariables, null));
     }
@@ -13,8 +13,11 @@
 package org.flowable.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.common.api.FlowableException;
@@ -23,10 +26,15 @@ import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.context.BpmnOverrideContext;
 import org.flowable.engine.impl.persistence.entity.SuspensionState;
+import org.flowable.engine.impl.persistence.entity.TaskEntityImpl;
+import org.flowable.engine.impl.persistence.entity.TaskEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.task.DelegationState;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.task.TaskQuery;
+import org.flowable.variable.service.VariableService;
+import org.flowable.variable.service.impl.persistence.entity.VariableInitializingList;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.flowable.variable.service.impl.types.VariableTypes;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -102,6 +110,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     protected boolean excludeSubtasks;
     protected boolean includeTaskLocalVariables;
     protected boolean includeProcessVariables;
+    protected Collection<String> processVariableNames;
     protected Integer taskVariablesLimit;
     protected boolean includeIdentityLinks;
     protected String userIdForCandidateAndAssignee;
@@ -1124,6 +1133,15 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return this;
     }
 
+    public TaskQuery includeProcessVariables(Collection<String> variableNames) {
+        if (variableNames == null) {
+            throw new FlowableIllegalArgumentException("variableNames is null");
+        }
+        this.includeProcessVariables = true;
+        this.processVariableNames = variableNames;
+        return this;
+    }
+
     public TaskQuery limitTaskVariables(Integer taskVariablesLimit) {
         this.taskVariablesLimit = taskVariablesLimit;
         return this;
@@ -1288,7 +1306,9 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         ensureVariablesInitialized();
         checkQueryOk();
         List<Task> tasks = null;
-        if (includeTaskLocalVariables || includeProcessVariables || includeIdentityLinks) {
+        if ((includeTaskLocalVariables || includeProcessVariables) && isPrefetchVariables(commandContext)) {
+            tasks = findTasksAndPrefetchVariables(commandContext);
+        } else if (includeTaskLocalVariables || includeProcessVariables || includeIdentityLinks) {
             tasks = CommandContextUtil.getTaskEntityManager(commandContext).findTasksWithRelatedEntitiesByQueryCriteria(this);
         } else {
             tasks = CommandContextUtil.getTaskEntityManager(commandContext).findTasksByQueryCriteria(this);
@@ -1303,6 +1323,69 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return tasks;
     }
 
+    protected boolean isPrefetchVariables(CommandContext commandContext) {
+        return processVariableNames != null || CommandContextUtil.getProcessEngineConfiguration(commandContext).getPerformanceSettings().isEnableQueryVariablePrefetching();
+    }
+
+    /**
+     * Fetches the page of tasks first and then the variables of these tasks with one query per kind of variables, instead of joining the variables into the task query.
+     */
+    protected List<Task> findTasksAndPrefetchVariables(CommandContext commandContext) {
+        TaskEntityManager taskEntityManager = CommandContextUtil.getTaskEntityManager(commandContext);
+        List<Task> tasks = null;
+        if (includeIdentityLinks) {
+            // Only the identity links are joined into the task query
+            boolean originalIncludeTaskLocalVariables = includeTaskLocalVariables;
+            boolean originalIncludeProcessVariables = includeProcessVariables;
+            includeTaskLocalVariables = false;
+            includeProcessVariables = false;
+            try {
+                tasks = taskEntityManager.findTasksWithRelatedEntitiesByQueryCriteria(this);
+            } finally {
+                includeTaskLocalVariables = originalIncludeTaskLocalVariables;
+                includeProcessVariables = originalIncludeProcessVariables;
+            }
+        } else {
+            tasks = taskEntityManager.findTasksByQueryCriteria(this);
+        }
+
+        if (tasks == null || tasks.isEmpty()) {
+            return tasks;
+        }
+
+        Map<String, TaskEntityImpl> tasksById = new HashMap<>();
+        Map<String, List<TaskEntityImpl>> tasksByProcessInstanceId = new HashMap<>();
+        for (Task task : tasks) {
+            TaskEntityImpl taskEntity = (TaskEntityImpl) task;
+            taskEntity.setQueryVariables(new VariableInitializingList());
+            tasksById.put(taskEntity.getId(), taskEntity);
+            if (taskEntity.getProcessInstanceId() != null) {
+                List<TaskEntityImpl> processInstanceTasks = tasksByProcessInstanceId.get(taskEntity.getProcessInstanceId());
+                if (processInstanceTasks == null) {
+                    processInstanceTasks = new ArrayList<>(1);
+                    tasksByProcessInstanceId.put(taskEntity.getProcessInstanceId(), processInstanceTasks);
+                }
+                processInstanceTasks.add(taskEntity);
+            }
+        }
+
+        VariableService variableService = CommandContextUtil.getVariableService();
+        if (includeTaskLocalVariables) {
+            for (VariableInstanceEntity variableInstance : variableService.findVariableInstancesByTaskIds(tasksById.keySet())) {
+                tasksById.get(variableInstance.getTaskId()).getQueryVariables().add(variableInstance);
+            }
+        }
+        if (includeProcessVariables && !tasksByProcessInstanceId.isEmpty()) {
+            for (VariableInstanceEntity variableInstance : variableService.findVariableInstancesByExecutionIdsAndNames(tasksByProcessInstanceId.keySet(), processVariableNames)) {
+                for (TaskEntityImpl taskEntity : tasksByProcessInstanceId.get(variableInstance.getExecutionId())) {
+                    taskEntity.getQueryVariables().add(variableInstance);
+                }
+            }
+        }
+
+        return tasks;
+    }
+
     public long executeCount(CommandContext commandContext) {
         ensureVariablesInitialized();
         checkQueryOk();
@@ -1562,6 +1645,10 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return includeProcessVariables;
     }
 
+    public Collection<String> getProcessVariableNames() {
+        return processVariableNames;
+    }
+
     public boolean isIncludeIdentityLinks() {
         return includeIdentityLinks;
     }
@@ -36,6 +36,7 @@ public class TimerJobQueryImpl extends AbstractQuery<TimerJobQuery, Job> impleme
     protected String processInstanceId;
     protected String executionId;
     protected String handlerType;
+    protected String handlerConfigurationLike;
     protected String processDefinitionId;
     protected boolean retriesLeft;
     protected boolean executable;
@@ -103,6 +104,14 @@ public class TimerJobQueryImpl extends AbstractQuery<TimerJobQuery, Job> impleme
         return this;
     }
 
+    public TimerJobQueryImpl handlerConfigurationLike(String handlerConfigurationLike) {
+        if (handlerConfigurationLike == null) {
+            throw new FlowableIllegalArgumentException("Provided handlerConfigurationLike is null");
+        }
+        this.handlerConfigurationLike = handlerConfigurationLike;
+        return this;
+    }
+
     public TimerJobQueryImpl withRetriesLeft() {
         retriesLeft = true;
         return this;
@@ -260,6 +269,10 @@ public class TimerJobQueryImpl extends AbstractQuery<TimerJobQuery, Job> impleme
         return handlerType;
     }
 
+    public String getHandlerConfigurationLike() {
+        return handlerConfigurationLike;
+    }
+
     public boolean getRetriesLeft() {
         return retriesLeft;
     }
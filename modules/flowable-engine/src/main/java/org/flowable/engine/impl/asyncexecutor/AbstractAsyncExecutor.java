@@ -12,7 +12,9 @@
  */
 package org.flowable.engine.impl.asyncexecutor;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.UUID;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -55,6 +57,22 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
     protected int defaultQueueSizeFullWaitTime;
 
+    /**
+     * Whether the acquisition threads adapt their page size and wait time to the outcome of the previous acquisitions.
+     * The default acquire wait times are then used as the maximum wait time.
+     */
+    protected boolean adaptiveJobAcquisition;
+    protected int adaptiveJobAcquisitionMinWaitTimeInMillis = 100;
+    protected int adaptiveJobAcquisitionMaxJobsPerAcquisition = 32;
+
+    /**
+     * The number of partitions the jobs are divided in for acquisition. When larger than 1, this executor only acquires the jobs of partition {@link #acquisitionPartitionIndex},
+     * and the jobs of other partitions once they have been waiting for {@link #acquisitionPartitionGracePeriodInMillis}.
+     */
+    protected int acquisitionPartitionCount;
+    protected int acquisitionPartitionIndex;
+    protected int acquisitionPartitionGracePeriodInMillis = 30 * 1000;
+
     protected String lockOwner = UUID.randomUUID().toString();
     protected int timerLockTimeInMillis = 5 * 60 * 1000;
     protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
@@ -88,6 +106,22 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         return true;
     }
 
+    /**
+     * Offers the acquired jobs to this executor, called by the {@link AcquireAsyncJobsDueRunnable}. By default every job is offered separately through
+     * {@link #executeAsyncJob(JobInfo)}, subclasses can execute the jobs together (for example in batches).
+     *
+     * @return the jobs that could not be offered
+     */
+    public <T extends JobInfo> List<T> executeAsyncJobs(List<T> jobs) {
+        List<T> rejectedJobs = new ArrayList<>();
+        for (T job : jobs) {
+            if (!executeAsyncJob(job)) {
+                rejectedJobs.add(job);
+            }
+        }
+        return rejectedJobs;
+    }
+
     protected abstract boolean executeAsyncJob(final JobInfo job, Runnable runnable);
 
     protected void unlockOwnedJobs() {
@@ -125,8 +159,18 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
     }
 
     protected void initializeRunnables() {
+        JobAcquisitionPartition partition = null;
+        if (acquisitionPartitionCount > 1) {
+            partition = new JobAcquisitionPartition(acquisitionPartitionCount, acquisitionPartitionIndex, acquisitionPartitionGracePeriodInMillis);
+        }
+
         if (timerRunnableNeeded && timerJobRunnable == null) {
             timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager());
+            timerJobRunnable.setPartition(partition);
+            if (adaptiveJobAcquisition) {
+                timerJobRunnable.setAcquisitionStrategy(new AdaptiveJobAcquisitionStrategy(adaptiveJobAcquisitionMinWaitTimeInMillis,
+                        defaultTimerJobAcquireWaitTimeInMillis, maxTimerJobsPerAcquisition, adaptiveJobAcquisitionMaxJobsPerAcquisition));
+            }
         }
 
         JobInfoEntityManager<? extends JobInfoEntity> jobEntityManagerToUse = jobEntityManager != null
@@ -140,6 +184,12 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         if (!isMessageQueueMode && asyncJobsDueRunnable == null) {
             String acquireJobsRunnableName = acquireRunnableThreadName != null ? acquireRunnableThreadName : "flowable-acquire-async-jobs";
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse);
+            asyncJobsDueRunnable.setPartition(partition);
+            if (adaptiveJobAcquisition) {
+                asyncJobsDueRunnable.setAcquisitionStrategy(new AdaptiveJobAcquisitionStrategy(adaptiveJobAcquisitionMinWaitTimeInMillis,
+                        defaultAsyncJobAcquireWaitTimeInMillis, maxAsyncJobsDuePerAcquisition, adaptiveJobAcquisitionMaxJobsPerAcquisition,
+                        defaultQueueSizeFullWaitTime));
+            }
         }
     }
 
@@ -281,6 +331,54 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         this.defaultQueueSizeFullWaitTime = defaultQueueSizeFullWaitTime;
     }
 
+    public boolean isAdaptiveJobAcquisition() {
+        return adaptiveJobAcquisition;
+    }
+
+    public void setAdaptiveJobAcquisition(boolean adaptiveJobAcquisition) {
+        this.adaptiveJobAcquisition = adaptiveJobAcquisition;
+    }
+
+    public int getAdaptiveJobAcquisitionMinWaitTimeInMillis() {
+        return adaptiveJobAcquisitionMinWaitTimeInMillis;
+    }
+
+    public void setAdaptiveJobAcquisitionMinWaitTimeInMillis(int adaptiveJobAcquisitionMinWaitTimeInMillis) {
+        this.adaptiveJobAcquisitionMinWaitTimeInMillis = adaptiveJobAcquisitionMinWaitTimeInMillis;
+    }
+
+    public int getAdaptiveJobAcquisitionMaxJobsPerAcquisition() {
+        return adaptiveJobAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public void setAdaptiveJobAcquisitionMaxJobsPerAcquisition(int adaptiveJobAcquisitionMaxJobsPerAcquisition) {
+        this.adaptiveJobAcquisitionMaxJobsPerAcquisition = adaptiveJobAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public int getAcquisitionPartitionCount() {
+        return acquisitionPartitionCount;
+    }
+
+    public void setAcquisitionPartitionCount(int acquisitionPartitionCount) {
+        this.acquisitionPartitionCount = acquisitionPartitionCount;
+    }
+
+    public int getAcquisitionPartitionIndex() {
+        return acquisitionPartitionIndex;
+    }
+
+    public void setAcquisitionPartitionIndex(int acquisitionPartitionIndex) {
+        this.acquisitionPartitionIndex = acquisitionPartitionIndex;
+    }
+
+    public int getAcquisitionPartitionGracePeriodInMillis() {
+        return acquisitionPartitionGracePeriodInMillis;
+    }
+
+    public void setAcquisitionPartitionGracePeriodInMillis(int acquisitionPartitionGracePeriodInMillis) {
+        this.acquisitionPartitionGracePeriodInMillis = acquisitionPartitionGracePeriodInMillis;
+    }
+
     public void setAsyncJobsDueRunnable(AcquireAsyncJobsDueRunnable asyncJobsDueRunnable) {
         this.asyncJobsDueRunnable = asyncJobsDueRunnable;
     }
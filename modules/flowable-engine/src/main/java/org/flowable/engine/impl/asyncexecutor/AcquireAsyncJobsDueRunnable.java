@@ -40,6 +40,20 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected final Object MONITOR = new Object();
     protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+    /**
+     * When set, the page size and the wait time between acquisitions adapt to the outcome of the previous acquisitions,
+     * instead of using the fixed settings of the async executor.
+     */
+    protected AdaptiveJobAcquisitionStrategy acquisitionStrategy;
+
+    /**
+     * When set, only the jobs of this partition are acquired, unless jobs of other partitions have been waiting longer than the grace period of the partition.
+     */
+    protected JobAcquisitionPartition partition;
+
+    /** Whether the thread is waiting because the executor could not accept more jobs, guarded by {@link #MONITOR} */
+    protected boolean isWaitingForCapacity;
+
     public AcquireAsyncJobsDueRunnable(String name, AsyncExecutor asyncExecutor, 
             JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
         this.name = name;
@@ -55,23 +69,31 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
         while (!isInterrupted) {
             final long millisToWait;
+            boolean waitForCapacity = false;
 
             int remainingCapacity = asyncExecutor.getRemainingCapacity();
             if (remainingCapacity > 0) {
-                millisToWait = acquireAndExecuteJobs(commandExecutor, remainingCapacity);
+                if (acquisitionStrategy != null) {
+                    millisToWait = acquireAndExecuteJobsAdaptive(commandExecutor, remainingCapacity);
+                } else {
+                    millisToWait = acquireAndExecuteJobs(commandExecutor, remainingCapacity);
+                }
 
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("acquired and queued new jobs; sleeping for {} ms", millisToWait);
                 }
             } else {
                 millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+                waitForCapacity = acquisitionStrategy != null;
 
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("queue is full; sleeping for {} ms", millisToWait);
                 }
             }
 
-            if (millisToWait > 0) {
+            if (waitForCapacity) {
+                sleepUntilCapacityAvailable(millisToWait);
+            } else if (millisToWait > 0) {
                 sleep(millisToWait);
             }
         }
@@ -80,7 +102,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         try {
-            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager).partition(partition));
 
             List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
 
@@ -109,7 +131,32 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
     }
 
+    protected long acquireAndExecuteJobsAdaptive(CommandExecutor commandExecutor, int remainingCapacity) {
+        int pageSize = acquisitionStrategy.getPageSize(remainingCapacity);
+        try {
+            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, pageSize, jobEntityManager).partition(partition));
+
+            List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
+
+            LOGGER.debug("Jobs acquired: {} (page size {}), rejected: {}", acquiredJobs.size(), pageSize, rejectedJobs.size());
+            return acquisitionStrategy.jobsAcquired(pageSize, acquiredJobs.size(), rejectedJobs.size());
+
+        } catch (FlowableOptimisticLockingException optimisticLockingException) {
+            LOGGER.debug("Optimistic locking exception during adaptive async job acquisition: {}", optimisticLockingException.getMessage());
+            return acquisitionStrategy.acquisitionConflict();
+
+        } catch (Throwable e) {
+            LOGGER.error("exception during async job acquisition: {}", e.getMessage(), e);
+            return acquisitionStrategy.acquisitionFailed();
+        }
+    }
+
     protected List<JobInfoEntity> offerJobs(AcquiredJobEntities acquiredJobs) {
+        if (asyncExecutor instanceof AbstractAsyncExecutor) {
+            // the executor can execute the acquired jobs together, for example the history jobs in batches
+            return ((AbstractAsyncExecutor) asyncExecutor).executeAsyncJobs(new ArrayList<>(acquiredJobs.getJobs()));
+        }
+
         List<JobInfoEntity> rejected = new ArrayList<>();
         for (JobInfoEntity job : acquiredJobs.getJobs()) {
             boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
@@ -120,6 +167,19 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return rejected;
     }
 
+    /**
+     * Called when the executor has capacity available again. Wakes up the acquisition thread if it is waiting for a full queue to drain,
+     * so busy engines don't have to wait for the full acquire wait time.
+     */
+    public void capacityAvailable() {
+        synchronized (MONITOR) {
+            if (isWaitingForCapacity) {
+                isWaitingForCapacity = false;
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
     public void stop() {
         synchronized (MONITOR) {
             isInterrupted = true;
@@ -155,4 +215,48 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
     }
 
+    /**
+     * Waits until the executor signals that capacity is available again, or the given time has passed. The flag is set and the remaining capacity is checked
+     * while holding the {@link #MONITOR}, so a job finishing just before the wait can't be missed.
+     */
+    protected void sleepUntilCapacityAvailable(long millisToWait) {
+        try {
+            synchronized (MONITOR) {
+                isWaitingForCapacity = true;
+                try {
+                    if (!isInterrupted && millisToWait > 0 && asyncExecutor.getRemainingCapacity() <= 0) {
+                        if (LOGGER.isDebugEnabled()) {
+                            LOGGER.debug("async job acquisition thread waiting for capacity for at most {} millis", millisToWait);
+                        }
+                        isWaiting.set(true);
+                        MONITOR.wait(millisToWait);
+                    }
+                } finally {
+                    isWaitingForCapacity = false;
+                    isWaiting.set(false);
+                }
+            }
+        } catch (InterruptedException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("async job acquisition wait interrupted");
+            }
+        }
+    }
+
+    public AdaptiveJobAcquisitionStrategy getAcquisitionStrategy() {
+        return acquisitionStrategy;
+    }
+
+    public void setAcquisitionStrategy(AdaptiveJobAcquisitionStrategy acquisitionStrategy) {
+        this.acquisitionStrategy = acquisitionStrategy;
+    }
+
+    public JobAcquisitionPartition getPartition() {
+        return partition;
+    }
+
+    public void setPartition(JobAcquisitionPartition partition) {
+        this.partition = partition;
+    }
+
 }
@@ -38,6 +38,17 @@ public class AcquireTimerJobsRunnable implements Runnable {
     protected final Object MONITOR = new Object();
     protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+    /**
+     * When set, the page size and the wait time between acquisitions adapt to the outcome of the previous acquisitions,
+     * instead of using the fixed settings of the async executor.
+     */
+    protected AdaptiveJobAcquisitionStrategy acquisitionStrategy;
+
+    /**
+     * When set, only the jobs of this partition are acquired, unless jobs of other partitions have been waiting longer than the grace period of the partition.
+     */
+    protected JobAcquisitionPartition partition;
+
     protected long millisToWait;
 
     public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
@@ -53,8 +64,10 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
         while (!isInterrupted) {
 
+            int pageSize = acquisitionStrategy != null ? acquisitionStrategy.getPageSize(Integer.MAX_VALUE) : asyncExecutor.getMaxTimerJobsPerAcquisition();
             try {
-                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(acquisitionStrategy != null
+                        ? new AcquireTimerJobsCmd(asyncExecutor, pageSize).partition(partition) : new AcquireTimerJobsCmd(asyncExecutor).partition(partition));
 
                 commandExecutor.execute(new Command<Void>() {
 
@@ -70,11 +83,16 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 // if all jobs were executed
                 millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
                 int jobsAcquired = acquiredJobs.size();
-                if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+                if (acquisitionStrategy != null) {
+                    millisToWait = acquisitionStrategy.jobsAcquired(pageSize, jobsAcquired, 0);
+                } else if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
                     millisToWait = 0;
                 }
 
             } catch (FlowableOptimisticLockingException optimisticLockingException) {
+                if (acquisitionStrategy != null) {
+                    millisToWait = acquisitionStrategy.acquisitionConflict();
+                }
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
                             + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
@@ -84,7 +102,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 }
             } catch (Throwable e) {
                 LOGGER.error("exception during timer job acquisition: {}", e.getMessage(), e);
-                millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+                millisToWait = acquisitionStrategy != null ? acquisitionStrategy.acquisitionFailed() : asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
             }
 
             if (millisToWait > 0) {
@@ -131,4 +149,20 @@ public class AcquireTimerJobsRunnable implements Runnable {
     public void setMillisToWait(long millisToWait) {
         this.millisToWait = millisToWait;
     }
+
+    public AdaptiveJobAcquisitionStrategy getAcquisitionStrategy() {
+        return acquisitionStrategy;
+    }
+
+    public void setAcquisitionStrategy(AdaptiveJobAcquisitionStrategy acquisitionStrategy) {
+        this.acquisitionStrategy = acquisitionStrategy;
+    }
+
+    public JobAcquisitionPartition getPartition() {
+        return partition;
+    }
+
+    public void setPartition(JobAcquisitionPartition partition) {
+        this.partition = partition;
+    }
 }
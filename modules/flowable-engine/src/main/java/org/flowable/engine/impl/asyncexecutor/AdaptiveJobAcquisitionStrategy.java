@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+/**
+ * Calculates the page size of the next acquisition query and the time to wait before executing it, based on the outcome of the previous acquisitions.
+ * <p>
+ * Whenever a full page of jobs is acquired, the page size is doubled (up to the maximum page size) and the next query is executed immediately. When a partial page is acquired, the next query is
+ * executed after the minimal wait time. Every empty acquisition doubles the wait time, up to the maximum wait time, so idle engines stop polling the job tables at a high rate while busy engines
+ * don't wait unnecessarily. When acquired jobs are rejected by the executor, the page size is halved and the queue-full wait time of the executor is used, as with the fixed
+ * acquisition settings.
+ * <p>
+ * An instance keeps the state of one acquisition thread and is not thread-safe.
+ */
+public class AdaptiveJobAcquisitionStrategy {
+
+    protected int minWaitTimeInMillis;
+    protected int maxWaitTimeInMillis;
+    protected int minPageSize;
+    protected int maxPageSize;
+    protected int queueFullWaitTimeInMillis;
+
+    protected long currentWaitTimeInMillis;
+    protected int currentPageSize;
+
+    public AdaptiveJobAcquisitionStrategy(int minWaitTimeInMillis, int maxWaitTimeInMillis, int minPageSize, int maxPageSize) {
+        this(minWaitTimeInMillis, maxWaitTimeInMillis, minPageSize, maxPageSize, 0);
+    }
+
+    public AdaptiveJobAcquisitionStrategy(int minWaitTimeInMillis, int maxWaitTimeInMillis, int minPageSize, int maxPageSize, int queueFullWaitTimeInMillis) {
+        this.minWaitTimeInMillis = Math.max(0, minWaitTimeInMillis);
+        this.maxWaitTimeInMillis = Math.max(this.minWaitTimeInMillis, maxWaitTimeInMillis);
+        this.minPageSize = Math.max(1, minPageSize);
+        this.maxPageSize = Math.max(this.minPageSize, maxPageSize);
+        this.queueFullWaitTimeInMillis = Math.max(0, queueFullWaitTimeInMillis);
+        this.currentWaitTimeInMillis = this.minWaitTimeInMillis;
+        this.currentPageSize = this.minPageSize;
+    }
+
+    /**
+     * Returns the number of jobs that should be acquired with the next query, never exceeding the given remaining capacity of the executor.
+     */
+    public int getPageSize(int remainingCapacity) {
+        return Math.max(1, Math.min(currentPageSize, remainingCapacity));
+    }
+
+    /**
+     * Registers the outcome of an acquisition and returns the time (in milliseconds) to wait before the next acquisition.
+     *
+     * @param pageSize
+     *            the number of jobs that were requested
+     * @param acquiredJobs
+     *            the number of jobs that were acquired
+     * @param rejectedJobs
+     *            the number of acquired jobs that could not be handed over to the executor
+     */
+    public long jobsAcquired(int pageSize, int acquiredJobs, int rejectedJobs) {
+        if (rejectedJobs > 0) {
+            // the executor can't keep up: fetch less, the acquisition thread waits for capacity before acquiring again
+            currentPageSize = Math.max(minPageSize, currentPageSize / 2);
+            currentWaitTimeInMillis = minWaitTimeInMillis;
+            return queueFullWaitTimeInMillis;
+
+        } else if (acquiredJobs >= pageSize) {
+            // a full page: more jobs are likely waiting
+            currentPageSize = Math.min(maxPageSize, Math.max(currentPageSize, pageSize) * 2);
+            currentWaitTimeInMillis = minWaitTimeInMillis;
+            return 0L;
+
+        } else if (acquiredJobs > 0) {
+            if (acquiredJobs * 2 < pageSize) {
+                currentPageSize = Math.max(minPageSize, currentPageSize / 2);
+            }
+            currentWaitTimeInMillis = minWaitTimeInMillis;
+            return minWaitTimeInMillis;
+
+        } else {
+            currentPageSize = minPageSize;
+            long waitTime = currentWaitTimeInMillis;
+            currentWaitTimeInMillis = Math.min(maxWaitTimeInMillis, Math.max(1L, currentWaitTimeInMillis) * 2);
+            return waitTime;
+        }
+    }
+
+    /**
+     * Registers that the acquired jobs were already acquired by another executor and returns the time (in milliseconds) to wait before the next acquisition. Smaller pages reduce the chance of
+     * concurrent executors competing for the same jobs.
+     */
+    public long acquisitionConflict() {
+        currentPageSize = Math.max(minPageSize, currentPageSize / 2);
+        return minWaitTimeInMillis;
+    }
+
+    /**
+     * Registers a failed acquisition and returns the time (in milliseconds) to wait before the next acquisition.
+     */
+    public long acquisitionFailed() {
+        currentPageSize = minPageSize;
+        currentWaitTimeInMillis = maxWaitTimeInMillis;
+        return maxWaitTimeInMillis;
+    }
+
+    public int getMinWaitTimeInMillis() {
+        return minWaitTimeInMillis;
+    }
+
+    public int getMaxWaitTimeInMillis() {
+        return maxWaitTimeInMillis;
+    }
+
+    public int getMinPageSize() {
+        return minPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public int getQueueFullWaitTimeInMillis() {
+        return queueFullWaitTimeInMillis;
+    }
+
+    public long getCurrentWaitTimeInMillis() {
+        return currentWaitTimeInMillis;
+    }
+
+    public int getCurrentPageSize() {
+        return currentPageSize;
+    }
+
+}
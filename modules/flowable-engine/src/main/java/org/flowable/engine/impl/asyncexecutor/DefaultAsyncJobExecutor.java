@@ -12,10 +12,13 @@
  */
 package org.flowable.engine.impl.asyncexecutor;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -68,14 +71,41 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     /** The executor service used for job execution */
     protected ExecutorService executorService;
 
+    /**
+     * The maximum number of jobs that are executed concurrently. When set to a value larger than 0, the thread pool and its queue are not used: every job gets its own thread (or virtual thread,
+     * see {@link #useVirtualThreads}) as long as a permit is available, and the acquisition is fed by the number of free permits instead of the remaining queue capacity. This suits jobs that
+     * mostly block on I/O. Default value = 0 (thread pool mode).
+     */
+    protected int maxConcurrentJobs;
+
+    /**
+     * Whether jobs are executed on virtual threads when {@link #maxConcurrentJobs} is set and the runtime supports them. Falls back to a cached thread pool on runtimes without virtual threads.
+     */
+    protected boolean useVirtualThreads;
+
+    /**
+     * The permits limiting the number of concurrently executed jobs, only used when {@link #maxConcurrentJobs} is set. Set to null at shutdown, so read it into a local variable
+     * once before using it.
+     */
+    protected volatile Semaphore jobExecutionPermits;
+
     /**
      * The time (in seconds) that is waited to gracefully shut down the threadpool used for job execution
      */
     protected long secondsToWaitOnShutdown = 60L;
 
     protected boolean executeAsyncJob(final JobInfo job, Runnable runnable) {
+        Semaphore permits = jobExecutionPermits;
+        if (permits != null) {
+            return executeAsyncJobWithPermit(job, runnable, permits);
+        }
+
         try {
-            executorService.execute(runnable);
+            if (adaptiveJobAcquisition) {
+                executorService.execute(createCapacitySignallingRunnable(runnable));
+            } else {
+                executorService.execute(runnable);
+            }
             return true;
         } catch (RejectedExecutionException e) {
 
@@ -84,29 +114,78 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
             // The job is now 'unlocked', meaning that the lock owner/time is set to null,
             // so other executors can pick the job up (or this async executor, the next time the
             // acquire query is executed.
+            unacquireJob(job);
+
+            // Job queue full, returning true so (if wanted) the acquiring can be throttled
+            return false;
+        }
+    }
 
-            // This can happen while already in a command context (for example in a transaction listener
-            // after the async executor has been hinted that a new async job is created)
-            // or not (when executed in the acquire thread runnable)
+    /**
+     * Wraps the runnable so that the acquisition thread is signalled when the job is done, whatever executor service is used.
+     */
+    protected Runnable createCapacitySignallingRunnable(final Runnable runnable) {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    jobExecutionCompleted();
+                }
+            }
+        };
+    }
 
-            CommandContext commandContext = Context.getCommandContext();
-            if (commandContext != null) {
-                CommandContextUtil.getJobManager(commandContext).unacquire(job);
+    protected boolean executeAsyncJobWithPermit(final JobInfo job, final Runnable runnable, final Semaphore permits) {
+        if (!permits.tryAcquire()) {
+            // All permits are in use: handled the same way as a full queue
+            unacquireJob(job);
+            return false;
+        }
 
-            } else {
-                processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-                    public Void execute(CommandContext commandContext) {
-                        CommandContextUtil.getJobManager(commandContext).unacquire(job);
-                        return null;
+        try {
+            executorService.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        runnable.run();
+                    } finally {
+                        permits.release();
+                        jobExecutionCompleted();
                     }
-                });
-            }
+                }
+            });
+            return true;
 
-            // Job queue full, returning true so (if wanted) the acquiring can be throttled
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            unacquireJob(job);
             return false;
         }
     }
 
+    protected void unacquireJob(final JobInfo job) {
+        // This can happen while already in a command context (for example in a transaction listener
+        // after the async executor has been hinted that a new async job is created)
+        // or not (when executed in the acquire thread runnable)
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            CommandContextUtil.getJobManager(commandContext).unacquire(job);
+
+        } else {
+            processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+                public Void execute(CommandContext commandContext) {
+                    CommandContextUtil.getJobManager(commandContext).unacquire(job);
+                    return null;
+                }
+            });
+        }
+    }
+
     @Override
     protected void startAdditionalComponents() {
         if (!isMessageQueueMode) {
@@ -133,6 +212,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     }
 
     protected void initAsyncJobExecutionThreadPool() {
+        if (maxConcurrentJobs > 0) {
+            initAsyncJobExecutionWithPermits();
+            return;
+        }
+
         if (threadPoolQueue == null) {
             LOGGER.info("Creating thread pool queue of size {}", queueSize);
             threadPoolQueue = new ArrayBlockingQueue<>(queueSize);
@@ -146,6 +230,49 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    protected void initAsyncJobExecutionWithPermits() {
+        LOGGER.info("Limiting the number of concurrently executed jobs to {}", maxConcurrentJobs);
+        jobExecutionPermits = new Semaphore(maxConcurrentJobs);
+
+        if (executorService == null) {
+            if (useVirtualThreads) {
+                executorService = createVirtualThreadExecutorService();
+            }
+
+            if (executorService == null) {
+                LOGGER.info("Creating cached thread pool for job execution");
+                BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-async-job-executor-thread-%d").build();
+                executorService = Executors.newCachedThreadPool(threadFactory);
+            }
+        }
+    }
+
+    /**
+     * Creates an executor service starting a new virtual thread for each job, or returns null when the runtime doesn't support virtual threads.
+     */
+    protected ExecutorService createVirtualThreadExecutorService() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            LOGGER.info("Creating virtual thread executor service for job execution");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            LOGGER.warn("Virtual threads are not supported by this runtime, falling back to a cached thread pool");
+        } catch (Exception e) {
+            LOGGER.warn("Could not create virtual thread executor service, falling back to a cached thread pool", e);
+        }
+        return null;
+    }
+
+    /**
+     * Wakes up the acquisition thread when it is waiting for the queue to drain, so new jobs are acquired as soon as there is capacity for them.
+     */
+    protected void jobExecutionCompleted() {
+        AcquireAsyncJobsDueRunnable runnable = asyncJobsDueRunnable;
+        if (runnable != null) {
+            runnable.capacityAvailable();
+        }
+    }
+
     protected void stopExecutingAsyncJobs() {
         if (executorService != null) {
 
@@ -163,6 +290,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
             executorService = null;
         }
+        jobExecutionPermits = null;
     }
 
     /** Starts the acquisition thread */
@@ -254,7 +382,10 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     public int getRemainingCapacity() {
-        if (threadPoolQueue != null) {
+        Semaphore permits = jobExecutionPermits;
+        if (permits != null) {
+            return permits.availablePermits();
+        } else if (threadPoolQueue != null) {
             return threadPoolQueue.remainingCapacity();
         } else {
             // return plenty of remaining capacity if there's no thread pool queue
@@ -314,6 +445,22 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.threadPoolQueue = threadPoolQueue;
     }
 
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+
+/**
+ * Divides the jobs over a fixed number of buckets, based on the job id, and determines which jobs an async executor is allowed to acquire.
+ * <p>
+ * When every async executor of a cluster is configured with the same partition count and a different partition index, the executors select disjoint sets of rows, so they no longer
+ * compete (and fail with optimistic locking exceptions) for the jobs at the head of the queue. Jobs of another partition are only acquired once they have been waiting longer than the
+ * grace period, which guarantees progress when the executor owning that partition is not running.
+ * <p>
+ * The partition predicate is part of the acquisition queries (see <code>jobPartitionBucketSql</code> in common.xml), so the bucket has to be computable in SQL on every supported
+ * database: the character codes of the last three characters of the job id are combined like in {@link String#hashCode()}, modulo the partition count. For ids in the UUID format,
+ * the last three characters of the first group are used instead, as the last group of a time based UUID is the same for all ids generated by one node.
+ */
+public class JobAcquisitionPartition {
+
+    protected final int partitionCount;
+    protected final int partitionIndex;
+    protected final long gracePeriodInMillis;
+
+    public JobAcquisitionPartition(int partitionCount, int partitionIndex, long gracePeriodInMillis) {
+        if (partitionCount < 1) {
+            throw new FlowableIllegalArgumentException("partition count must be at least 1");
+        }
+        if (partitionIndex < 0 || partitionIndex >= partitionCount) {
+            throw new FlowableIllegalArgumentException("partition index must be between 0 and " + (partitionCount - 1));
+        }
+        this.partitionCount = partitionCount;
+        this.partitionIndex = partitionIndex;
+        this.gracePeriodInMillis = gracePeriodInMillis;
+    }
+
+    /**
+     * Returns the bucket of the job with the given id, calculated in the same way as in the acquisition queries.
+     */
+    public int getBucket(String jobId) {
+        // Ids shorter than three characters are padded with zeros
+        String paddedJobId = "00" + jobId;
+        int end = jobId.length() == 36 ? 10 : paddedJobId.length();
+        int key = paddedJobId.charAt(end - 1) + 31 * paddedJobId.charAt(end - 2) + 961 * paddedJobId.charAt(end - 3);
+        return key % partitionCount;
+    }
+
+    public boolean isOwnBucket(String jobId) {
+        return getBucket(jobId) == partitionIndex;
+    }
+
+    /**
+     * Returns whether the job can be acquired by this executor. This is the same check as the partition predicate of the acquisition queries.
+     *
+     * @param jobId
+     *            the id of the job
+     * @param availableSince
+     *            the time since which the job can be executed (creation time for async jobs, due date for timer jobs), can be null
+     * @param now
+     *            the current time
+     */
+    public boolean isAcquirable(String jobId, Date availableSince, Date now) {
+        if (isOwnBucket(jobId)) {
+            return true;
+        }
+        return availableSince == null || now.getTime() - availableSince.getTime() >= gracePeriodInMillis;
+    }
+
+    /**
+     * Returns the parameters of the partition predicate of the acquisition queries.
+     *
+     * @param now
+     *            the current time, jobs available since before the grace period are acquired regardless of their bucket
+     */
+    public Map<String, Object> createQueryParameters(Date now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("partitionCount", partitionCount);
+        params.put("partitionIndex", partitionIndex);
+        params.put("gracePeriodThreshold", new Date(now.getTime() - gracePeriodInMillis));
+        return params;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public long getGracePeriodInMillis() {
+        return gracePeriodInMillis;
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.bpmn.behavior;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -25,15 +26,24 @@ import org.flowable.bpmn.model.CompensateEventDefinition;
 import org.flowable.bpmn.model.FlowElement;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.bpmn.model.Transaction;
+import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.asyncexecutor.JobManager;
 import org.flowable.engine.impl.bpmn.helper.ScopeUtil;
+import org.flowable.engine.impl.cfg.PerformanceSettings;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceInstantiationJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.variable.service.VariableService;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
 /**
  * @author Joram Barrez
@@ -43,6 +53,13 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Local variable of the multi instance root execution holding a copy of the collection when the instances are created in chunks, so the instances created by later
+     * chunks get the elements of the collection as it was when the activity was reached. The copy is stored as a serializable variable, so it is only stored when all
+     * elements are {@link Serializable}. Otherwise all instances are created at once.
+     */
+    protected static final String COLLECTION_SNAPSHOT_VARIABLE = "__multiInstanceCollection";
+
     public ParallelMultiInstanceBehavior(Activity activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
         super(activity, originalActivityBehavior);
     }
@@ -60,8 +77,50 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         setLoopVariable(multiInstanceRootExecution, NUMBER_OF_COMPLETED_INSTANCES, 0);
         setLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
 
-        List<ExecutionEntity> concurrentExecutions = new ArrayList<>();
-        for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+        // When the instances are created in chunks, the instances that aren't created yet are counted as active,
+        // so the activity can only be completed by the completion condition or after all instances are created and completed
+        int chunkSize = CommandContextUtil.getProcessEngineConfiguration().getParallelMultiInstanceInstantiationChunkSize();
+        int nrOfInstancesToCreate = chunkSize > 0 ? Math.min(chunkSize, nrOfInstances) : nrOfInstances;
+        if (nrOfInstancesToCreate < nrOfInstances && usesCollection() && collectionElementVariable != null) {
+            List<Object> collectionSnapshot = new ArrayList<Object>(resolveAndValidateCollection(multiInstanceRootExecution));
+            if (isSerializable(collectionSnapshot)) {
+                setLoopVariable(multiInstanceRootExecution, COLLECTION_SNAPSHOT_VARIABLE, collectionSnapshot);
+            } else {
+                LOGGER.debug("Collection of multi instance activity {} has elements that are not serializable, all {} instances are created at once", activity.getId(), nrOfInstances);
+                nrOfInstancesToCreate = nrOfInstances;
+            }
+        }
+        createInstances(multiInstanceRootExecution, 0, nrOfInstancesToCreate, nrOfInstances);
+
+        return nrOfInstances;
+    }
+
+    /**
+     * Creates the next chunk of instances, starting with the given loop counter. Called by the {@link ParallelMultiInstanceInstantiationJobHandler} when the instances are
+     * created in chunks (see {@link ProcessEngineConfigurationImpl#setParallelMultiInstanceInstantiationChunkSize(int)}).
+     */
+    public void createInstancesChunk(ExecutionEntity multiInstanceRootExecution, int fromLoopCounter) {
+        int nrOfInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_INSTANCES);
+        if (usesCollection() && collectionElementVariable != null) {
+            Collection<?> collectionSnapshot = getCollectionSnapshot(multiInstanceRootExecution);
+            if (collectionSnapshot == null || collectionSnapshot.size() != nrOfInstances) {
+                throw new FlowableException("The collection of multi instance activity " + activity.getId() + " doesn't match the " + nrOfInstances
+                        + " instances it was started with, no more instances are created for execution " + multiInstanceRootExecution.getId());
+            }
+        }
+
+        int chunkSize = CommandContextUtil.getProcessEngineConfiguration().getParallelMultiInstanceInstantiationChunkSize();
+        int toLoopCounter = chunkSize > 0 ? Math.min(fromLoopCounter + chunkSize, nrOfInstances) : nrOfInstances;
+        createInstances(multiInstanceRootExecution, fromLoopCounter, toLoopCounter, nrOfInstances);
+    }
+
+    /**
+     * Creates and executes the instances from the given loop counter (inclusive) up to the given loop counter (exclusive). When not all instances are created after this,
+     * a job is scheduled which creates the next chunk.
+     */
+    protected void createInstances(DelegateExecution multiInstanceRootExecution, int fromLoopCounter, int toLoopCounter, int nrOfInstances) {
+        List<ExecutionEntity> concurrentExecutions = new ArrayList<>(toLoopCounter - fromLoopCounter);
+        for (int loopCounter = fromLoopCounter; loopCounter < toLoopCounter; loopCounter++) {
             ExecutionEntity concurrentExecution = CommandContextUtil.getExecutionEntityManager()
                     .createChildExecution((ExecutionEntity) multiInstanceRootExecution);
             concurrentExecution.setCurrentFlowElement(activity);
@@ -77,17 +136,26 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         // Before the activities are executed, all executions MUST be created up front
         // Do not try to merge this loop with the previous one, as it will lead
         // to bugs, due to possible child execution pruning.
-        for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
-            ExecutionEntity concurrentExecution = concurrentExecutions.get(loopCounter);
+        for (int i = 0; i < concurrentExecutions.size(); i++) {
+            ExecutionEntity concurrentExecution = concurrentExecutions.get(i);
             // executions can be inactive, if instances are all automatics
             // (no-waitstate) and completionCondition has been met in the meantime
             if (concurrentExecution.isActive() 
                     && !concurrentExecution.isEnded() 
                     && !concurrentExecution.getParent().isEnded()) {
-                executeOriginalBehavior(concurrentExecution, loopCounter);
+                executeOriginalBehavior(concurrentExecution, fromLoopCounter + i);
             } 
         }
 
+        // The job is deleted together with the multi instance root execution when the activity is completed before the job is executed
+        if (toLoopCounter < nrOfInstances) {
+            JobManager jobManager = CommandContextUtil.getJobManager();
+            JobEntity job = jobManager.createAsyncJob((ExecutionEntity) multiInstanceRootExecution, true);
+            job.setJobHandlerType(ParallelMultiInstanceInstantiationJobHandler.TYPE);
+            job.setJobHandlerConfiguration(String.valueOf(toLoopCounter));
+            jobManager.scheduleAsyncJob(job);
+        }
+
         // See ACT-1586: ExecutionQuery returns wrong results when using multi
         // instance on a receive task The parent execution must be set to false, so it wouldn't show up in
         // the execution query when using .activityId(something). Do not we cannot nullify the
@@ -95,8 +163,38 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         if (!concurrentExecutions.isEmpty()) {
             multiInstanceRootExecution.setActive(false);
         }
+    }
 
-        return nrOfInstances;
+    /**
+     * Uses the copy of the collection that was stored when the instances are created in chunks, instead of evaluating the collection expression again in later transactions.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected Collection resolveAndValidateCollection(DelegateExecution execution) {
+        if (CommandContextUtil.getProcessEngineConfiguration().getParallelMultiInstanceInstantiationChunkSize() > 0) {
+            DelegateExecution multiInstanceRootExecution = getMultiInstanceRootExecution(execution);
+            if (multiInstanceRootExecution != null) {
+                Collection<?> collectionSnapshot = getCollectionSnapshot(multiInstanceRootExecution);
+                if (collectionSnapshot != null) {
+                    return collectionSnapshot;
+                }
+            }
+        }
+        return super.resolveAndValidateCollection(execution);
+    }
+
+    protected boolean isSerializable(Collection<?> collection) {
+        for (Object element : collection) {
+            if (element != null && !(element instanceof Serializable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected Collection<?> getCollectionSnapshot(DelegateExecution multiInstanceRootExecution) {
+        Object collectionSnapshot = multiInstanceRootExecution.getVariableLocal(COLLECTION_SNAPSHOT_VARIABLE);
+        return collectionSnapshot instanceof Collection ? (Collection<?>) collectionSnapshot : null;
     }
 
     /**
@@ -123,10 +221,22 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
             return;
         }
 
+        boolean countedAtomically = false;
         DelegateExecution miRootExecution = getMultiInstanceRootExecution(execution);
         if (miRootExecution != null) { // will be null in case of empty collection
-            setLoopVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
-            setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+            VariableInstanceEntity nrOfCompletedInstancesVariable = getAtomicCounterVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES);
+            VariableInstanceEntity nrOfActiveInstancesVariable = getAtomicCounterVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES);
+            if (nrOfCompletedInstancesVariable != null && nrOfActiveInstancesVariable != null) {
+                // Always in the same order, so concurrently completing instances can't deadlock on the row locks
+                VariableService variableService = CommandContextUtil.getVariableService();
+                nrOfCompletedInstances = (int) variableService.incrementVariableInstanceLongValue(nrOfCompletedInstancesVariable, 1);
+                nrOfActiveInstances = (int) variableService.incrementVariableInstanceLongValue(nrOfActiveInstancesVariable, -1);
+                countedAtomically = true;
+
+            } else {
+                setLoopVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+                setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+            }
         }
 
         logLoopDetails(execution, "instance completed", loopCounter, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
@@ -135,7 +245,12 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         if (executionEntity.getParent() != null) {
 
             executionEntity.inactivate();
-            lockFirstParentScope(executionEntity);
+
+            // With atomic counters, the row lock on the counters already makes sure only the last completing instance sees all instances completed.
+            // A completion condition can depend on any other data though, so the optimistic lock on the parent scope is still needed for it.
+            if (!countedAtomically || completionCondition != null) {
+                lockFirstParentScope(executionEntity);
+            }
 
             boolean isCompletionConditionSatisfied = completionConditionSatisfied(execution.getParent());
             if (nrOfCompletedInstances >= nrOfInstances || isCompletionConditionSatisfied) {
@@ -175,6 +290,26 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         }
     }
 
+    /**
+     * Returns the counter variable of the multi instance root execution when it can be updated with an atomic increment, which requires
+     * {@link PerformanceSettings#isEnableParallelMultiInstanceAtomicCounters()} and a variable that is already stored in the database.
+     * Returns null otherwise, in which case the counter is updated as a regular variable.
+     */
+    protected VariableInstanceEntity getAtomicCounterVariable(DelegateExecution miRootExecution, String variableName) {
+        if (!CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableParallelMultiInstanceAtomicCounters()) {
+            return null;
+        }
+
+        VariableInstance variable = miRootExecution.getVariableInstanceLocal(variableName);
+        if (variable instanceof VariableInstanceEntity) {
+            VariableInstanceEntity variableEntity = (VariableInstanceEntity) variable;
+            if (!variableEntity.isInserted() && !variableEntity.isDeleted()) {
+                return variableEntity;
+            }
+        }
+        return null;
+    }
+
     protected Activity verifyCompensation(DelegateExecution execution, ExecutionEntity executionToUse, Activity activity) {
         boolean hasCompensation = false;
         if (activity instanceof Transaction) {
@@ -13,6 +13,7 @@
 package org.flowable.engine.impl.bpmn.deployer;
 
 import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.InclusiveGateway;
 import org.flowable.bpmn.model.Process;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.context.Context;
@@ -27,6 +28,7 @@ import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionInfoEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.ProcessReachabilityIndex;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -49,7 +51,7 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
             addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -68,11 +70,21 @@ public class CachingAndArtifactsManager {
         for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
             BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
             Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
-            ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+            ProcessDefinitionCacheEntry cacheEntry = createProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
             processDefinitionCache.add(processDefinition.getId(), cacheEntry);
         }
     }
 
+    protected ProcessDefinitionCacheEntry createProcessDefinitionCacheEntry(ProcessDefinitionEntity processDefinition, BpmnModel bpmnModel, Process process) {
+        ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+
+        // The joins of inclusive gateways check which executions can still reach the gateway
+        if (!process.findFlowElementsOfType(InclusiveGateway.class, true).isEmpty()) {
+            cacheEntry.setReachabilityIndex(new ProcessReachabilityIndex(process));
+        }
+        return cacheEntry;
+    }
+
     protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition,
             ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
 
@@ -53,6 +53,23 @@ public class PerformanceSettings {
      */
     protected boolean enableLocalization = true;
 
+    /**
+     * Experimental setting: when a task or process instance query includes variables, the page of tasks or process instances is fetched first, after which the variables of that page are fetched
+     * with one additional query, instead of joining the variable table into the query.
+     * 
+     * This avoids repeating all columns of a task or process instance for each of its variables and allows the paging to be done by the database, so the task/execution query limits don't apply.
+     */
+    protected boolean enableQueryVariablePrefetching;
+
+    /**
+     * Experimental setting: when an instance of a parallel multi instance activity completes, the nrOfCompletedInstances and nrOfActiveInstances variables are incremented and
+     * decremented with an atomic update in the database, instead of being read, changed and written back with an optimistic lock on the multi instance root execution.
+     * 
+     * Concurrently completing instances (e.g. async instances executed by different job executor threads) then wait for each other on the database row lock instead of failing
+     * with an optimistic locking exception and being retried. The historic values of the counter variables are not updated for each completed instance.
+     */
+    protected boolean enableParallelMultiInstanceAtomicCounters;
+
     public boolean isEnableEagerExecutionTreeFetching() {
         return enableEagerExecutionTreeFetching;
     }
@@ -101,4 +118,20 @@ public class PerformanceSettings {
         this.enableLocalization = enableLocalization;
     }
 
+    public boolean isEnableQueryVariablePrefetching() {
+        return enableQueryVariablePrefetching;
+    }
+
+    public void setEnableQueryVariablePrefetching(boolean enableQueryVariablePrefetching) {
+        this.enableQueryVariablePrefetching = enableQueryVariablePrefetching;
+    }
+
+    public boolean isEnableParallelMultiInstanceAtomicCounters() {
+        return enableParallelMultiInstanceAtomicCounters;
+    }
+
+    public void setEnableParallelMultiInstanceAtomicCounters(boolean enableParallelMultiInstanceAtomicCounters) {
+        this.enableParallelMultiInstanceAtomicCounters = enableParallelMultiInstanceAtomicCounters;
+    }
+
 }
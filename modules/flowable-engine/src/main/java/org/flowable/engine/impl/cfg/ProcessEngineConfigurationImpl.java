@@ -66,6 +66,7 @@ import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
 import org.flowable.engine.common.impl.cfg.IdGenerator;
 import org.flowable.engine.common.impl.cfg.standalone.StandaloneMybatisTransactionContextFactory;
 import org.flowable.engine.common.impl.db.DbSqlSessionFactory;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
 import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.history.HistoryLevel;
 import org.flowable.engine.common.impl.interceptor.Command;
@@ -79,6 +80,9 @@ import org.flowable.engine.common.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.engine.common.impl.interceptor.LogInterceptor;
 import org.flowable.engine.common.impl.interceptor.SessionFactory;
 import org.flowable.engine.common.impl.interceptor.TransactionContextInterceptor;
+import org.flowable.engine.common.impl.metrics.CommandMetricsInterceptor;
+import org.flowable.engine.common.impl.metrics.CommandMetricsRegistry;
+import org.flowable.engine.common.impl.metrics.DefaultCommandMetricsRegistry;
 import org.flowable.engine.common.impl.persistence.GenericManagerFactory;
 import org.flowable.engine.common.impl.persistence.cache.EntityCache;
 import org.flowable.engine.common.impl.persistence.cache.EntityCacheImpl;
@@ -172,6 +176,7 @@ import org.flowable.engine.impl.cmd.ValidateV5EntitiesCmd;
 import org.flowable.engine.impl.db.DbIdGenerator;
 import org.flowable.engine.impl.db.EntityDependencyOrder;
 import org.flowable.engine.impl.db.IbatisVariableTypeHandler;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
 import org.flowable.engine.impl.db.ProcessDbSchemaManager;
 import org.flowable.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.flowable.engine.impl.el.DefaultExpressionManager;
@@ -193,13 +198,18 @@ import org.flowable.engine.impl.form.StringFormType;
 import org.flowable.engine.impl.history.DefaultHistoryManager;
 import org.flowable.engine.impl.history.HistoryManager;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobPayloadCodec;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobZippedHandler;
 import org.flowable.engine.impl.history.async.AsyncHistoryListener;
 import org.flowable.engine.impl.history.async.AsyncHistoryManager;
 import org.flowable.engine.impl.history.async.AsyncHistorySession;
 import org.flowable.engine.impl.history.async.AsyncHistorySessionFactory;
+import org.flowable.engine.impl.history.async.AsyncHistorySink;
 import org.flowable.engine.impl.history.async.DefaultAsyncHistoryJobExecutor;
 import org.flowable.engine.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.engine.impl.history.async.DeflateAsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.RollingFileAsyncHistorySink;
+import org.flowable.engine.impl.history.async.StreamingAsyncHistoryListener;
 import org.flowable.engine.impl.interceptor.BpmnOverrideContextInterceptor;
 import org.flowable.engine.impl.interceptor.CommandInvoker;
 import org.flowable.engine.impl.interceptor.DelegateInterceptor;
@@ -209,17 +219,22 @@ import org.flowable.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.flowable.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.flowable.engine.impl.jobexecutor.HistoryJobHandler;
 import org.flowable.engine.impl.jobexecutor.JobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceInstantiationJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceBatchJobHandler;
+import org.flowable.engine.impl.jobexecutor.SignalEventFanOutJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
+import org.flowable.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.Deployer;
 import org.flowable.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
 import org.flowable.engine.impl.persistence.entity.ByteArrayEntityManager;
@@ -312,6 +327,7 @@ import org.flowable.engine.impl.persistence.entity.data.impl.MybatisSuspendedJob
 import org.flowable.engine.impl.persistence.entity.data.impl.MybatisTaskDataManager;
 import org.flowable.engine.impl.persistence.entity.data.impl.MybatisTimerJobDataManager;
 import org.flowable.engine.impl.scripting.BeansResolverFactory;
+import org.flowable.engine.impl.scripting.CompiledScriptCache;
 import org.flowable.engine.impl.scripting.ResolverFactory;
 import org.flowable.engine.impl.scripting.ScriptBindingsFactory;
 import org.flowable.engine.impl.scripting.ScriptingEngines;
@@ -367,6 +383,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     public static final int DEFAULT_GENERIC_MAX_LENGTH_STRING = 4000;
     public static final int DEFAULT_ORACLE_MAX_LENGTH_STRING = 2000;
 
+    /**
+     * The maximum length of a job handler configuration that fits in the HANDLER_CFG_ column on every supported database (NVARCHAR2(2000) on Oracle).
+     */
+    public static final int MAX_LENGTH_JOB_HANDLER_CONFIGURATION = DEFAULT_ORACLE_MAX_LENGTH_STRING;
+
     // SERVICES /////////////////////////////////////////////////////////////////
 
     protected RepositoryService repositoryService = new RepositoryServiceImpl();
@@ -448,6 +469,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int asyncHistoryJsonGroupingThreshold = 10;
     protected AsyncHistoryListener asyncHistoryListener;
 
+    /**
+     * The codec used to store the historic data of new async history jobs, e.g. the {@link DeflateAsyncHistoryJobPayloadCodec}. When not set, plain json is used (or GZIP compressed json).
+     * A history job handler for the jobs of the codec is registered automatically.
+     */
+    protected AsyncHistoryJobPayloadCodec asyncHistoryJobPayloadCodec;
+
+    /**
+     * When set, the historic data of the async history is streamed to this sink (e.g. a {@link RollingFileAsyncHistorySink}) by a {@link StreamingAsyncHistoryListener}.
+     * By default the history is then only written to the sink, see {@link #isAsyncHistorySinkDatabaseEnabled}.
+     */
+    protected AsyncHistorySink asyncHistorySink;
+
+    /**
+     * Whether the historic data is also written to the ACT_HI tables (using async history jobs) when an {@link #asyncHistorySink} is set.
+     */
+    protected boolean isAsyncHistorySinkDatabaseEnabled;
+
+    protected int asyncHistorySinkQueueSize = 10000;
+    protected int asyncHistorySinkBatchSize = 500;
+
     // Job Manager
 
     protected JobManager jobManager;
@@ -478,6 +519,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected List<Deployer> deployers;
     protected DeploymentManager deploymentManager;
 
+    /**
+     * If true, the default deployment caches are {@link ConcurrentDeploymentCache} instances (lock-free reads, approximate LRU eviction and hit/miss/eviction counters)
+     * instead of {@link DefaultDeploymentCache} instances, which synchronize every access. Only used when the caches are not set explicitly.
+     */
+    protected boolean enableConcurrentDeploymentCache;
+
     protected int processDefinitionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
@@ -531,6 +578,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected long asyncExecutorThreadKeepAliveTime = 5000L;
 
+    /**
+     * The maximum number of jobs executed concurrently when the async executor doesn't use a thread pool. When set to a value larger than 0, each job is executed on its own thread as long as
+     * fewer jobs are running, and the pool size and queue settings are ignored. Useful when jobs mostly wait on I/O (HTTP, JMS, JDBC). Default value = 0 (thread pool is used).
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorMaxConcurrentJobs;
+
+    /**
+     * Whether jobs are executed on virtual threads when {@link #asyncExecutorMaxConcurrentJobs} is set. On runtimes without virtual threads, a cached thread pool is used instead.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorUseVirtualThreads;
+
     /**
      * The size of the queue on which jobs to be executed are placed, before they are actually executed. Default value = 100. (This property is only applicable when using the
      * {@link DefaultAsyncJobExecutor}).
@@ -595,6 +657,43 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorDefaultQueueSizeFullWaitTime;
 
+    /**
+     * Whether the acquisition threads of the async executor adapt the number of jobs fetched per query and the wait time between queries to the outcome of the previous queries.
+     * Idle engines back off up to {@link #asyncExecutorDefaultAsyncJobAcquireWaitTime} (or {@link #asyncExecutorDefaultTimerJobAcquireWaitTime}), busy engines query again immediately
+     * and fetch up to {@link #asyncExecutorAdaptiveMaxJobsPerAcquisition} jobs at once. When the queue is full, the acquisition thread is woken up as soon as a job has been executed.
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorAdaptiveJobAcquisition;
+
+    /**
+     * The minimal time (in milliseconds) between two acquisition queries when adaptive job acquisition is enabled. Default value = 100 milliseconds.
+     */
+    protected int asyncExecutorAdaptiveMinAcquireWaitTime = 100;
+
+    /**
+     * The maximum number of jobs fetched by one acquisition query when adaptive job acquisition is enabled. Default value = 32.
+     */
+    protected int asyncExecutorAdaptiveMaxJobsPerAcquisition = 32;
+
+    /**
+     * The number of partitions the async and timer jobs are divided in (based on the hash of the job id) when acquiring jobs. Every engine in a cluster should use the same partition count
+     * and a different {@link #asyncExecutorAcquisitionPartitionIndex}, so the engines lock disjoint sets of jobs instead of competing for the same rows. Default value = 0 (no partitioning).
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorAcquisitionPartitionCount;
+
+    /**
+     * The partition of which this engine acquires the jobs, between 0 and {@link #asyncExecutorAcquisitionPartitionCount} - 1.
+     */
+    protected int asyncExecutorAcquisitionPartitionIndex;
+
+    /**
+     * The time (in milliseconds) after which jobs of other partitions are acquired as well, so jobs of a partition without running engine are still executed. Default value = 30 seconds.
+     */
+    protected int asyncExecutorAcquisitionPartitionGracePeriod = 30 * 1000;
+
     /**
      * When a job is acquired, it is locked so other async executors can't lock and execute it. While doing this, the 'name' of the lock owner is written into a column of the job.
      * <p>
@@ -659,6 +758,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean asyncExecutorMessageQueueMode;
     protected boolean asyncHistoryExecutorMessageQueueMode;
 
+    /**
+     * The maximum number of history jobs the async history executor executes together in one transaction, allowing the historic data of these jobs to be written with bulk inserts.
+     * When a batch fails, its jobs are executed one by one. Default value = 1 (every history job is executed in its own transaction).
+     * <p>
+     * (This property is only applicable when using the {@link DefaultAsyncHistoryJobExecutor}).
+     */
+    protected int asyncHistoryExecutorJobBatchSize = 1;
+
     /**
      * Allows to define a custom factory for creating the {@link Runnable} that is executed by the async executor.
      * <p>
@@ -711,6 +818,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected ScriptingEngines scriptingEngines;
     protected List<ResolverFactory> resolverFactories;
 
+    /**
+     * If true, scripts (script tasks, script execution and task listeners) of scripting engines that support compilation are compiled once 
+     * and the compiled scripts are cached, instead of being evaluated from source on every execution.
+     */
+    protected boolean enableCompiledScriptCache;
+    protected int compiledScriptCacheLimit = 1000;
+
+    /**
+     * If true, the default expression manager compiles parsed expressions into generated bytecode classes, instead of evaluating them
+     * by walking the expression tree. Function and method calls are still evaluated by the tree.
+     */
+    protected boolean enableExpressionCompilation;
+
+    /**
+     * If true, the default id generator hands out ids without locking and fetches the next id block before the current one is exhausted.
+     * The size of the fetched blocks grows with the consumption rate, up to {@link #maxIdBlockSize}.
+     */
+    protected boolean enablePrefetchingIdGenerator;
+    protected int maxIdBlockSize = 100000;
+
     protected BusinessCalendarManager businessCalendarManager;
 
     protected int executionQueryLimit = 20000;
@@ -778,6 +905,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
+    /**
+     * If set to true, updates and deletes of entities are sent to the database as jdbc batches (grouped per entity type) when flushing, instead of one statement per entity.
+     * The update counts of every row are still checked for optimistic locking, which requires a jdbc driver that returns exact update counts for batched statements. Default false.
+     */
+    protected boolean isBatchUpdatesAndDeletesEnabled;
+
     protected ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -785,6 +918,43 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean enableVerboseExecutionTreeLogging;
 
+    /**
+     * If set to true, the duration, the database statements and the entity cache usage of every command are recorded in the {@link #commandMetricsRegistry}. Default false.
+     */
+    protected boolean enableCommandMetrics;
+
+    /**
+     * The registry receiving the command metrics when {@link #enableCommandMetrics} is set. By default a {@link DefaultCommandMetricsRegistry}, which is exposed through JMX and the
+     * Spring Boot actuator endpoint.
+     */
+    protected CommandMetricsRegistry commandMetricsRegistry;
+
+    /**
+     * The number of subscriptions read by one page job when a signal is delivered with {@link RuntimeService#signalEventReceivedFanOut(String)}.
+     */
+    protected int signalFanOutPageSize = 1000;
+
+    /**
+     * The maximum number of subscriptions triggered in one transaction when a signal is delivered with {@link RuntimeService#signalEventReceivedFanOut(String)}. The subscription
+     * ids are stored in the job configuration, a batch job gets less subscriptions when their ids don't fit in {@link #MAX_LENGTH_JOB_HANDLER_CONFIGURATION} characters.
+     */
+    protected int signalFanOutBatchSize = 50;
+
+    /**
+     * When larger than 0, the instances of a parallel multi instance activity are created in chunks of this size: the first chunk is created in the transaction that reaches
+     * the activity, each following chunk by an async job. This keeps the transactions small for large collections. The default (0) creates all instances at once.
+     * When the instances are created from a collection, a copy of the collection is stored as a serializable variable of the multi instance root execution for the later chunks.
+     * This requires {@link java.io.Serializable} elements, the instances of a collection with other elements are all created at once.
+     */
+    protected int parallelMultiInstanceInstantiationChunkSize;
+
+    /**
+     * The maximum number of process instances handled in one transaction by an asynchronous batch operation, e.g. {@link RuntimeService#deleteProcessInstancesAsync(Collection, String)}.
+     * The process instance ids are stored in the job configuration, a job gets less process instances when their ids don't fit in {@link #MAX_LENGTH_JOB_HANDLER_CONFIGURATION}
+     * characters.
+     */
+    protected int processInstanceBatchSize = 50;
+
     protected PerformanceSettings performanceSettings = new PerformanceSettings();
 
     // agenda factory
@@ -941,6 +1111,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
             commandInterceptors.add(new BpmnOverrideContextInterceptor());
 
+            if (enableCommandMetrics) {
+                if (commandMetricsRegistry == null) {
+                    commandMetricsRegistry = new DefaultCommandMetricsRegistry();
+                }
+                commandInterceptors.add(new CommandMetricsInterceptor(commandMetricsRegistry));
+            }
+
             if (customPostCommandInterceptors != null) {
                 commandInterceptors.addAll(customPostCommandInterceptors);
             }
@@ -1270,6 +1447,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchUpdatesAndDeletesEnabled(isBatchUpdatesAndDeletesEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -1311,9 +1489,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected void initDefaultAsyncHistoryListener() {
         DefaultAsyncHistoryJobProducer asyncHistoryJobProducer = new DefaultAsyncHistoryJobProducer();
+        asyncHistoryJobProducer.setPayloadCodec(asyncHistoryJobPayloadCodec);
         //asyncHistoryJobProducer.setJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
         //asyncHistoryJobProducer.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
-        asyncHistoryListener = asyncHistoryJobProducer;
+
+        if (asyncHistorySink != null) {
+            StreamingAsyncHistoryListener streamingAsyncHistoryListener = new StreamingAsyncHistoryListener(asyncHistorySink);
+            if (isAsyncHistorySinkDatabaseEnabled) {
+                streamingAsyncHistoryListener.setDatabaseAsyncHistoryListener(asyncHistoryJobProducer);
+            }
+            streamingAsyncHistoryListener.setQueueSize(asyncHistorySinkQueueSize);
+            streamingAsyncHistoryListener.setBatchSize(asyncHistorySinkBatchSize);
+            asyncHistoryListener = streamingAsyncHistoryListener;
+
+        } else {
+            asyncHistoryListener = asyncHistoryJobProducer;
+        }
     }
 
     public void initConfigurators() {
@@ -1442,17 +1633,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
-                processDefinitionCache = new DefaultDeploymentCache<>();
-            } else {
-                processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
-            }
+            processDefinitionCache = createDeploymentCache(processDefinitionCacheLimit);
         }
     }
 
     public void initProcessDefinitionInfoCache() {
         if (processDefinitionInfoCache == null) {
-            if (processDefinitionInfoCacheLimit <= 0) {
+            if (enableConcurrentDeploymentCache) {
+                processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, 
+                        this.<ProcessDefinitionInfoCacheObject>createDeploymentCache(processDefinitionInfoCacheLimit));
+            } else if (processDefinitionInfoCacheLimit <= 0) {
                 processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor);
             } else {
                 processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, processDefinitionInfoCacheLimit);
@@ -1462,21 +1652,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initAppResourceCache() {
         if (appResourceCache == null) {
-            if (appResourceCacheLimit <= 0) {
-                appResourceCache = new DefaultDeploymentCache<>();
-            } else {
-                appResourceCache = new DefaultDeploymentCache<>(appResourceCacheLimit);
-            }
+            appResourceCache = createDeploymentCache(appResourceCacheLimit);
         }
     }
 
     public void initKnowledgeBaseCache() {
         if (knowledgeBaseCache == null) {
-            if (knowledgeBaseCacheLimit <= 0) {
-                knowledgeBaseCache = new DefaultDeploymentCache<>();
-            } else {
-                knowledgeBaseCache = new DefaultDeploymentCache<>(knowledgeBaseCacheLimit);
-            }
+            knowledgeBaseCache = createDeploymentCache(knowledgeBaseCacheLimit);
+        }
+    }
+
+    protected <T> DeploymentCache<T> createDeploymentCache(int limit) {
+        if (enableConcurrentDeploymentCache) {
+            return limit <= 0 ? new ConcurrentDeploymentCache<T>() : new ConcurrentDeploymentCache<T>(limit);
+        } else {
+            return limit <= 0 ? new DefaultDeploymentCache<T>() : new DefaultDeploymentCache<T>(limit);
         }
     }
 
@@ -1716,6 +1906,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
         jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+        SignalEventFanOutJobHandler signalEventFanOutJobHandler = new SignalEventFanOutJobHandler();
+        signalEventFanOutJobHandler.setPageSize(signalFanOutPageSize);
+        signalEventFanOutJobHandler.setBatchSize(signalFanOutBatchSize);
+        jobHandlers.put(signalEventFanOutJobHandler.getType(), signalEventFanOutJobHandler);
+
+        ParallelMultiInstanceInstantiationJobHandler parallelMultiInstanceInstantiationJobHandler = new ParallelMultiInstanceInstantiationJobHandler();
+        jobHandlers.put(parallelMultiInstanceInstantiationJobHandler.getType(), parallelMultiInstanceInstantiationJobHandler);
+
+        ProcessInstanceBatchJobHandler processInstanceBatchJobHandler = new ProcessInstanceBatchJobHandler();
+        jobHandlers.put(processInstanceBatchJobHandler.getType(), processInstanceBatchJobHandler);
+
         // if we have custom job handlers, register them
         if (getCustomJobHandlers() != null) {
             for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1738,6 +1939,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
 
+            if (asyncHistoryJobPayloadCodec != null && !historyJobHandlers.containsKey(asyncHistoryJobPayloadCodec.getJobHandlerType())) {
+                AsyncHistoryJobHandler codecHistoryJobHandler = new AsyncHistoryJobHandler(asyncHistoryJobPayloadCodec);
+                codecHistoryJobHandler.initDefaultTransformers();
+                codecHistoryJobHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
+                historyJobHandlers.put(codecHistoryJobHandler.getType(), codecHistoryJobHandler);
+            }
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1763,6 +1971,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             defaultAsyncExecutor.setCorePoolSize(asyncExecutorCorePoolSize);
             defaultAsyncExecutor.setMaxPoolSize(asyncExecutorMaxPoolSize);
             defaultAsyncExecutor.setKeepAliveTime(asyncExecutorThreadKeepAliveTime);
+            defaultAsyncExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs);
+            defaultAsyncExecutor.setUseVirtualThreads(asyncExecutorUseVirtualThreads);
 
             // Threadpool queue
             if (asyncExecutorThreadPoolQueue != null) {
@@ -1777,6 +1987,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Queue full wait time
             defaultAsyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(asyncExecutorDefaultQueueSizeFullWaitTime);
 
+            // Adaptive acquisition
+            defaultAsyncExecutor.setAdaptiveJobAcquisition(asyncExecutorAdaptiveJobAcquisition);
+            defaultAsyncExecutor.setAdaptiveJobAcquisitionMinWaitTimeInMillis(asyncExecutorAdaptiveMinAcquireWaitTime);
+            defaultAsyncExecutor.setAdaptiveJobAcquisitionMaxJobsPerAcquisition(asyncExecutorAdaptiveMaxJobsPerAcquisition);
+
+            // Partitioned acquisition
+            defaultAsyncExecutor.setAcquisitionPartitionCount(asyncExecutorAcquisitionPartitionCount);
+            defaultAsyncExecutor.setAcquisitionPartitionIndex(asyncExecutorAcquisitionPartitionIndex);
+            defaultAsyncExecutor.setAcquisitionPartitionGracePeriodInMillis(asyncExecutorAcquisitionPartitionGracePeriod);
+
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
@@ -1800,15 +2020,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initAsyncHistoryExecutor() {
         if (asyncHistoryExecutor == null) {
-            DefaultAsyncJobExecutor defaultAsyncHistoryExecutor = new DefaultAsyncHistoryJobExecutor();
+            DefaultAsyncHistoryJobExecutor defaultAsyncHistoryExecutor = new DefaultAsyncHistoryJobExecutor();
 
             // Message queue mode
             defaultAsyncHistoryExecutor.setMessageQueueMode(asyncHistoryExecutorMessageQueueMode);
 
+            // Batched execution
+            defaultAsyncHistoryExecutor.setHistoryJobBatchSize(asyncHistoryExecutorJobBatchSize);
+            if (asyncHistoryExecutorJobBatchSize > 1) {
+                defaultAsyncHistoryExecutor.setMaxAsyncJobsDuePerAcquisition(Math.max(asyncExecutorMaxAsyncJobsDuePerAcquisition, asyncHistoryExecutorJobBatchSize));
+            }
+
             // Thread pool config
             defaultAsyncHistoryExecutor.setCorePoolSize(asyncExecutorCorePoolSize);
             defaultAsyncHistoryExecutor.setMaxPoolSize(asyncExecutorMaxPoolSize);
             defaultAsyncHistoryExecutor.setKeepAliveTime(asyncExecutorThreadKeepAliveTime);
+            defaultAsyncHistoryExecutor.setMaxConcurrentJobs(asyncExecutorMaxConcurrentJobs);
+            defaultAsyncHistoryExecutor.setUseVirtualThreads(asyncExecutorUseVirtualThreads);
 
             // Threadpool queue
             if (asyncExecutorThreadPoolQueue != null) {
@@ -1822,6 +2050,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Queue full wait time
             defaultAsyncHistoryExecutor.setDefaultQueueSizeFullWaitTimeInMillis(asyncExecutorDefaultQueueSizeFullWaitTime);
 
+            // Adaptive acquisition
+            defaultAsyncHistoryExecutor.setAdaptiveJobAcquisition(asyncExecutorAdaptiveJobAcquisition);
+            defaultAsyncHistoryExecutor.setAdaptiveJobAcquisitionMinWaitTimeInMillis(asyncExecutorAdaptiveMinAcquireWaitTime);
+            defaultAsyncHistoryExecutor.setAdaptiveJobAcquisitionMaxJobsPerAcquisition(asyncExecutorAdaptiveMaxJobsPerAcquisition);
+
+            // Partitioned acquisition
+            defaultAsyncHistoryExecutor.setAcquisitionPartitionCount(asyncExecutorAcquisitionPartitionCount);
+            defaultAsyncHistoryExecutor.setAcquisitionPartitionIndex(asyncExecutorAcquisitionPartitionIndex);
+            defaultAsyncHistoryExecutor.setAcquisitionPartitionGracePeriodInMillis(asyncExecutorAcquisitionPartitionGracePeriod);
+
             // Job locking
             defaultAsyncHistoryExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
             if (asyncExecutorLockOwner != null) {
@@ -1858,7 +2096,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     public void initIdGenerator() {
         if (idGenerator == null) {
             CommandExecutor idGeneratorCommandExecutor = getCommandExecutor();
-            DbIdGenerator dbIdGenerator = new DbIdGenerator();
+            DbIdGenerator dbIdGenerator;
+            if (enablePrefetchingIdGenerator) {
+                PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+                prefetchingDbIdGenerator.setMaxIdBlockSize(maxIdBlockSize);
+                dbIdGenerator = prefetchingDbIdGenerator;
+            } else {
+                dbIdGenerator = new DbIdGenerator();
+            }
             dbIdGenerator.setIdBlockSize(idBlockSize);
             dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
             dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
@@ -1987,6 +2232,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (scriptingEngines == null) {
             scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(this, resolverFactories));
         }
+        if (enableCompiledScriptCache && scriptingEngines.getCompiledScriptCache() == null) {
+            scriptingEngines.setCompiledScriptCache(new CompiledScriptCache(compiledScriptCacheLimit));
+        }
     }
 
     public void initExpressionManager() {
@@ -1995,6 +2243,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
 
         expressionManager.setFunctionDelegates(flowableFunctionDelegates);
+
+        if (enableExpressionCompilation && expressionManager instanceof DefaultExpressionManager) {
+            DefaultExpressionManager defaultExpressionManager = (DefaultExpressionManager) expressionManager;
+            if (defaultExpressionManager.getExpressionCompiler() == null) {
+                defaultExpressionManager.setExpressionCompiler(new ExpressionCompiler());
+            }
+        }
     }
 
     public void initBusinessCalendarManager() {
@@ -2521,6 +2776,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableCompiledScriptCache() {
+        return enableCompiledScriptCache;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableCompiledScriptCache(boolean enableCompiledScriptCache) {
+        this.enableCompiledScriptCache = enableCompiledScriptCache;
+        return this;
+    }
+
+    public boolean isEnablePrefetchingIdGenerator() {
+        return enablePrefetchingIdGenerator;
+    }
+
+    public ProcessEngineConfigurationImpl setEnablePrefetchingIdGenerator(boolean enablePrefetchingIdGenerator) {
+        this.enablePrefetchingIdGenerator = enablePrefetchingIdGenerator;
+        return this;
+    }
+
+    public int getMaxIdBlockSize() {
+        return maxIdBlockSize;
+    }
+
+    public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+        this.maxIdBlockSize = maxIdBlockSize;
+        return this;
+    }
+
+    public boolean isEnableExpressionCompilation() {
+        return enableExpressionCompilation;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableExpressionCompilation(boolean enableExpressionCompilation) {
+        this.enableExpressionCompilation = enableExpressionCompilation;
+        return this;
+    }
+
+    public int getCompiledScriptCacheLimit() {
+        return compiledScriptCacheLimit;
+    }
+
+    public ProcessEngineConfigurationImpl setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+        this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+        return this;
+    }
+
     public VariableTypes getVariableTypes() {
         return variableTypes;
     }
@@ -2872,6 +3172,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableConcurrentDeploymentCache() {
+        return enableConcurrentDeploymentCache;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+        this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+        return this;
+    }
+
     public int getProcessDefinitionCacheLimit() {
         return processDefinitionCacheLimit;
     }
@@ -3004,6 +3313,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableCommandMetrics() {
+        return enableCommandMetrics;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableCommandMetrics(boolean enableCommandMetrics) {
+        this.enableCommandMetrics = enableCommandMetrics;
+        return this;
+    }
+
+    public CommandMetricsRegistry getCommandMetricsRegistry() {
+        return commandMetricsRegistry;
+    }
+
+    public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+        this.commandMetricsRegistry = commandMetricsRegistry;
+        return this;
+    }
+
+    public int getSignalFanOutPageSize() {
+        return signalFanOutPageSize;
+    }
+
+    public ProcessEngineConfigurationImpl setSignalFanOutPageSize(int signalFanOutPageSize) {
+        this.signalFanOutPageSize = signalFanOutPageSize;
+        return this;
+    }
+
+    public int getSignalFanOutBatchSize() {
+        return signalFanOutBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setSignalFanOutBatchSize(int signalFanOutBatchSize) {
+        this.signalFanOutBatchSize = signalFanOutBatchSize;
+        return this;
+    }
+
+    public int getParallelMultiInstanceInstantiationChunkSize() {
+        return parallelMultiInstanceInstantiationChunkSize;
+    }
+
+    public ProcessEngineConfigurationImpl setParallelMultiInstanceInstantiationChunkSize(int parallelMultiInstanceInstantiationChunkSize) {
+        this.parallelMultiInstanceInstantiationChunkSize = parallelMultiInstanceInstantiationChunkSize;
+        return this;
+    }
+
+    public int getProcessInstanceBatchSize() {
+        return processInstanceBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessInstanceBatchSize(int processInstanceBatchSize) {
+        this.processInstanceBatchSize = processInstanceBatchSize;
+        return this;
+    }
+
     public int getMaxLengthStringVariableType() {
         return maxLengthStringVariableType;
     }
@@ -3031,6 +3394,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isBatchUpdatesAndDeletesEnabled() {
+        return isBatchUpdatesAndDeletesEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setBatchUpdatesAndDeletesEnabled(boolean isBatchUpdatesAndDeletesEnabled) {
+        this.isBatchUpdatesAndDeletesEnabled = isBatchUpdatesAndDeletesEnabled;
+        return this;
+    }
+
     @Override
     public ProcessEngineConfigurationImpl setUsingRelationalDatabase(boolean usingRelationalDatabase) {
         this.usingRelationalDatabase = usingRelationalDatabase;
@@ -3074,6 +3446,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public ProcessEngineConfigurationImpl setEnableQueryVariablePrefetching(boolean enableQueryVariablePrefetching) {
+        this.performanceSettings.setEnableQueryVariablePrefetching(enableQueryVariablePrefetching);
+        return this;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableParallelMultiInstanceAtomicCounters(boolean enableParallelMultiInstanceAtomicCounters) {
+        this.performanceSettings.setEnableParallelMultiInstanceAtomicCounters(enableParallelMultiInstanceAtomicCounters);
+        return this;
+    }
+
     public AttachmentDataManager getAttachmentDataManager() {
         return attachmentDataManager;
     }
@@ -3564,6 +3946,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
 
+    public AsyncHistoryJobPayloadCodec getAsyncHistoryJobPayloadCodec() {
+        return asyncHistoryJobPayloadCodec;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryJobPayloadCodec(AsyncHistoryJobPayloadCodec asyncHistoryJobPayloadCodec) {
+        this.asyncHistoryJobPayloadCodec = asyncHistoryJobPayloadCodec;
+        return this;
+    }
+
+    public AsyncHistorySink getAsyncHistorySink() {
+        return asyncHistorySink;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistorySink(AsyncHistorySink asyncHistorySink) {
+        this.asyncHistorySink = asyncHistorySink;
+        return this;
+    }
+
+    public boolean isAsyncHistorySinkDatabaseEnabled() {
+        return isAsyncHistorySinkDatabaseEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistorySinkDatabaseEnabled(boolean isAsyncHistorySinkDatabaseEnabled) {
+        this.isAsyncHistorySinkDatabaseEnabled = isAsyncHistorySinkDatabaseEnabled;
+        return this;
+    }
+
+    public int getAsyncHistorySinkQueueSize() {
+        return asyncHistorySinkQueueSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistorySinkQueueSize(int asyncHistorySinkQueueSize) {
+        this.asyncHistorySinkQueueSize = asyncHistorySinkQueueSize;
+        return this;
+    }
+
+    public int getAsyncHistorySinkBatchSize() {
+        return asyncHistorySinkBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistorySinkBatchSize(int asyncHistorySinkBatchSize) {
+        this.asyncHistorySinkBatchSize = asyncHistorySinkBatchSize;
+        return this;
+    }
+
     public AsyncHistoryListener getAsyncHistoryListener() {
         return asyncHistoryListener;
     }
@@ -3792,6 +4219,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getAsyncExecutorMaxConcurrentJobs() {
+        return asyncExecutorMaxConcurrentJobs;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+        this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+        return this;
+    }
+
+    public boolean isAsyncExecutorUseVirtualThreads() {
+        return asyncExecutorUseVirtualThreads;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+        this.asyncExecutorUseVirtualThreads = asyncExecutorUseVirtualThreads;
+        return this;
+    }
+
     public int getAsyncExecutorThreadPoolQueueSize() {
         return asyncExecutorThreadPoolQueueSize;
     }
@@ -3864,6 +4309,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorAdaptiveJobAcquisition() {
+        return asyncExecutorAdaptiveJobAcquisition;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveJobAcquisition(boolean asyncExecutorAdaptiveJobAcquisition) {
+        this.asyncExecutorAdaptiveJobAcquisition = asyncExecutorAdaptiveJobAcquisition;
+        return this;
+    }
+
+    public int getAsyncExecutorAdaptiveMinAcquireWaitTime() {
+        return asyncExecutorAdaptiveMinAcquireWaitTime;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveMinAcquireWaitTime(int asyncExecutorAdaptiveMinAcquireWaitTime) {
+        this.asyncExecutorAdaptiveMinAcquireWaitTime = asyncExecutorAdaptiveMinAcquireWaitTime;
+        return this;
+    }
+
+    public int getAsyncExecutorAdaptiveMaxJobsPerAcquisition() {
+        return asyncExecutorAdaptiveMaxJobsPerAcquisition;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveMaxJobsPerAcquisition(int asyncExecutorAdaptiveMaxJobsPerAcquisition) {
+        this.asyncExecutorAdaptiveMaxJobsPerAcquisition = asyncExecutorAdaptiveMaxJobsPerAcquisition;
+        return this;
+    }
+
+    public int getAsyncExecutorAcquisitionPartitionCount() {
+        return asyncExecutorAcquisitionPartitionCount;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAcquisitionPartitionCount(int asyncExecutorAcquisitionPartitionCount) {
+        this.asyncExecutorAcquisitionPartitionCount = asyncExecutorAcquisitionPartitionCount;
+        return this;
+    }
+
+    public int getAsyncExecutorAcquisitionPartitionIndex() {
+        return asyncExecutorAcquisitionPartitionIndex;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAcquisitionPartitionIndex(int asyncExecutorAcquisitionPartitionIndex) {
+        this.asyncExecutorAcquisitionPartitionIndex = asyncExecutorAcquisitionPartitionIndex;
+        return this;
+    }
+
+    public int getAsyncExecutorAcquisitionPartitionGracePeriod() {
+        return asyncExecutorAcquisitionPartitionGracePeriod;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorAcquisitionPartitionGracePeriod(int asyncExecutorAcquisitionPartitionGracePeriod) {
+        this.asyncExecutorAcquisitionPartitionGracePeriod = asyncExecutorAcquisitionPartitionGracePeriod;
+        return this;
+    }
+
     public String getAsyncExecutorLockOwner() {
         return asyncExecutorLockOwner;
     }
@@ -3944,4 +4443,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.asyncHistoryExecutorMessageQueueMode = asyncHistoryExecutorMessageQueueMode;
         return this;
     }
+
+    public int getAsyncHistoryExecutorJobBatchSize() {
+        return asyncHistoryExecutorJobBatchSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryExecutorJobBatchSize(int asyncHistoryExecutorJobBatchSize) {
+        this.asyncHistoryExecutorJobBatchSize = asyncHistoryExecutorJobBatchSize;
+        return this;
+    }
 }
@@ -21,6 +21,7 @@ import org.flowable.engine.common.impl.interceptor.Command;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -32,24 +33,32 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
     private final AsyncExecutor asyncExecutor;
     private final int remainingCapacity;
+    private final int maxResults;
     private final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    private JobAcquisitionPartition partition;
     
     public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = Integer.MAX_VALUE;
+        this.maxResults = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
         this.jobEntityManager = asyncExecutor.getProcessEngineConfiguration().getJobEntityManager(); // backwards compatibility
     }
 
     public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this(asyncExecutor, remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition(), jobEntityManager);
+    }
+
+    public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, int maxResults, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = remainingCapacity;
+        this.maxResults = maxResults;
         this.jobEntityManager = jobEntityManager;
     }
 
     public AcquiredJobEntities execute(CommandContext commandContext) {
-        int maxResults = Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+        int maxResults = Math.min(remainingCapacity, this.maxResults);
 
-        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(new Page(0, maxResults)); 
+        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(new Page(0, maxResults), partition);
         AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
 
         for (JobInfoEntity job : jobs) {
@@ -67,4 +76,9 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
         job.setLockOwner(asyncExecutor.getLockOwner());
         job.setLockExpirationTime(gregorianCalendar.getTime());
     }
+
+    public AcquireJobsCmd partition(JobAcquisitionPartition partition) {
+        this.partition = partition;
+        return this;
+    }
 }
@@ -21,6 +21,7 @@ import org.flowable.engine.common.impl.interceptor.Command;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 
@@ -30,15 +31,22 @@ import org.flowable.engine.impl.util.CommandContextUtil;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
     private final AsyncExecutor asyncExecutor;
+    private final int maxResults;
+    private JobAcquisitionPartition partition;
 
     public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+    }
+
+    public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxResults) {
         this.asyncExecutor = asyncExecutor;
+        this.maxResults = maxResults;
     }
 
     public AcquiredTimerJobEntities execute(CommandContext commandContext) {
         AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
         List<TimerJobEntity> timerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
-                .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+                .findTimerJobsToExecute(new Page(0, maxResults), partition);
 
         for (TimerJobEntity job : timerJobs) {
             lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -59,4 +67,9 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         job.setLockOwner(asyncExecutor.getLockOwner());
         job.setLockExpirationTime(gregorianCalendar.getTime());
     }
-}
\ No newline at end of file
+
+    public AcquireTimerJobsCmd partition(JobAcquisitionPartition partition) {
+        this.partition = partition;
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceBatchJobHandler;
+import org.flowable.engine.impl.runtime.ProcessInstanceBatchImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
+
+/**
+ * Schedules the jobs executing an operation on the given process instances, see {@link ProcessInstanceBatchJobHandler}. When a batch id is given, the jobs are added to that
+ * batch, otherwise a new batch is created.
+ */
+public class CreateProcessInstanceBatchCmd implements Command<ProcessInstanceBatch>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String batchId;
+    protected String operation;
+    protected Collection<String> processInstanceIds;
+    protected String deleteReason;
+
+    public CreateProcessInstanceBatchCmd(String operation, Collection<String> processInstanceIds, String deleteReason) {
+        this(null, operation, processInstanceIds, deleteReason);
+    }
+
+    public CreateProcessInstanceBatchCmd(String batchId, String operation, Collection<String> processInstanceIds, String deleteReason) {
+        this.batchId = batchId;
+        this.operation = operation;
+        this.processInstanceIds = processInstanceIds;
+        this.deleteReason = deleteReason;
+    }
+
+    public ProcessInstanceBatch execute(CommandContext commandContext) {
+        if (processInstanceIds == null) {
+            throw new FlowableIllegalArgumentException("processInstanceIds is null");
+        }
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        String batchId = this.batchId != null ? this.batchId : processEngineConfiguration.getIdGenerator().getNextId();
+        int jobCount = ProcessInstanceBatchJobHandler.scheduleBatch(batchId, operation, processInstanceIds, deleteReason,
+                processEngineConfiguration.getProcessInstanceBatchSize(), commandContext);
+
+        return new ProcessInstanceBatchImpl(batchId, jobCount, 0, Collections.<String>emptyList());
+    }
+
+}
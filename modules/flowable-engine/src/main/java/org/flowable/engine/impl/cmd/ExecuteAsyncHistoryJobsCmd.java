@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.asyncexecutor.JobManager;
+import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.engine.impl.persistence.entity.HistoryJobEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes multiple history jobs in one transaction.
+ * <p>
+ * All historic entities created by the jobs are inserted when the command context is flushed, which allows them to be written with one bulk insert per entity type. An entity that is created
+ * and updated by jobs of the same batch (e.g. the start and end of an activity instance) results in a single insert. When one of the jobs fails, the whole batch is rolled back.
+ */
+public class ExecuteAsyncHistoryJobsCmd implements Command<Void>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteAsyncHistoryJobsCmd.class);
+
+    protected Collection<String> jobIds;
+
+    public ExecuteAsyncHistoryJobsCmd(Collection<String> jobIds) {
+        this.jobIds = jobIds;
+    }
+
+    public Void execute(CommandContext commandContext) {
+        if (jobIds == null) {
+            throw new FlowableIllegalArgumentException("jobIds is null");
+        }
+
+        HistoryJobEntityManager historyJobEntityManager = CommandContextUtil.getHistoryJobEntityManager(commandContext);
+        List<HistoryJobEntity> jobs = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            // The job is refetched, as it could have been handled by another executor in the meantime
+            HistoryJobEntity job = historyJobEntityManager.findById(jobId);
+            if (job != null) {
+                jobs.add(job);
+            } else {
+                LOGGER.debug("History job {} does not exist anymore and will not be executed.", jobId);
+            }
+        }
+
+        // Jobs are executed in the order they were created, so the end of an activity is processed after its start
+        Collections.sort(jobs, new Comparator<HistoryJobEntity>() {
+
+            @Override
+            public int compare(HistoryJobEntity job1, HistoryJobEntity job2) {
+                if (job1.getCreateTime() == null || job2.getCreateTime() == null) {
+                    return 0;
+                }
+                return job1.getCreateTime().compareTo(job2.getCreateTime());
+            }
+        });
+
+        JobManager jobManager = CommandContextUtil.getJobManager(commandContext);
+        boolean eventDispatcherEnabled = CommandContextUtil.getEventDispatcher(commandContext).isEnabled();
+        for (HistoryJobEntity job : jobs) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Executing history job {} as part of a batch of {} jobs", job.getId(), jobs.size());
+            }
+
+            jobManager.execute(job);
+
+            if (eventDispatcherEnabled) {
+                CommandContextUtil.getEventDispatcher(commandContext).dispatchEvent(
+                        FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_EXECUTION_SUCCESS, job));
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.DeadLetterJobQueryImpl;
+import org.flowable.engine.impl.JobQueryImpl;
+import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceBatchJobHandler;
+import org.flowable.engine.impl.runtime.ProcessInstanceBatchImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Returns the state of a process instance batch, derived from the jobs of the batch that still exist: a job failing with retries left is moved to the timer jobs, a job
+ * without retries left to the dead letter jobs.
+ */
+public class GetProcessInstanceBatchCmd implements Command<ProcessInstanceBatch>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String batchId;
+
+    public GetProcessInstanceBatchCmd(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public ProcessInstanceBatch execute(CommandContext commandContext) {
+        if (batchId == null) {
+            throw new FlowableIllegalArgumentException("batchId is null");
+        }
+
+        String configurationLike = ProcessInstanceBatchJobHandler.getJobHandlerConfigurationLike(batchId);
+
+        long pendingJobCount = CommandContextUtil.getJobEntityManager(commandContext).findJobCountByQueryCriteria(
+                new JobQueryImpl().handlerType(ProcessInstanceBatchJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+        pendingJobCount += CommandContextUtil.getTimerJobEntityManager(commandContext).findJobCountByQueryCriteria(
+                new TimerJobQueryImpl().handlerType(ProcessInstanceBatchJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+
+        List<Job> failedJobs = CommandContextUtil.getDeadLetterJobEntityManager(commandContext).findJobsByQueryCriteria(
+                new DeadLetterJobQueryImpl().handlerType(ProcessInstanceBatchJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+        ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
+        List<String> failedProcessInstanceIds = new ArrayList<>();
+        for (Job failedJob : failedJobs) {
+            failedProcessInstanceIds.addAll(ProcessInstanceBatchJobHandler.getProcessInstanceIds(failedJob.getJobHandlerConfiguration(), objectMapper));
+        }
+
+        return new ProcessInstanceBatchImpl(batchId, pendingJobCount, failedJobs.size(), failedProcessInstanceIds);
+    }
+
+}
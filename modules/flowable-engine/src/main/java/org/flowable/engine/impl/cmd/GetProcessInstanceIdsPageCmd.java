@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.ProcessInstanceQueryImpl;
+
+/**
+ * Returns the ids of the next page of process instances of a query, see {@link ProcessInstanceQueryImpl#executeProcessInstanceIdsPage(String, int, CommandContext)}.
+ */
+public class GetProcessInstanceIdsPageCmd implements Command<List<String>>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected ProcessInstanceQueryImpl processInstanceQuery;
+    protected String processInstanceIdAfter;
+    protected int pageSize;
+
+    public GetProcessInstanceIdsPageCmd(ProcessInstanceQueryImpl processInstanceQuery, String processInstanceIdAfter, int pageSize) {
+        this.processInstanceQuery = processInstanceQuery;
+        this.processInstanceIdAfter = processInstanceIdAfter;
+        this.pageSize = pageSize;
+    }
+
+    public List<String> execute(CommandContext commandContext) {
+        return processInstanceQuery.executeProcessInstanceIdsPage(processInstanceIdAfter, pageSize, commandContext);
+    }
+
+}
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.DeadLetterJobQueryImpl;
+import org.flowable.engine.impl.JobQueryImpl;
+import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.jobexecutor.SignalEventFanOutJobHandler;
+import org.flowable.engine.impl.runtime.SignalDeliveryImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.SignalDelivery;
+
+/**
+ * Returns the state of a signal delivery, derived from the jobs of the delivery that still exist: a job failing with retries left is moved to the timer jobs, a job without
+ * retries left to the dead letter jobs.
+ */
+public class GetSignalDeliveryCmd implements Command<SignalDelivery>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String deliveryId;
+
+    public GetSignalDeliveryCmd(String deliveryId) {
+        this.deliveryId = deliveryId;
+    }
+
+    public SignalDelivery execute(CommandContext commandContext) {
+        if (deliveryId == null) {
+            throw new FlowableIllegalArgumentException("deliveryId is null");
+        }
+
+        String configurationLike = SignalEventFanOutJobHandler.getJobHandlerConfigurationLike(deliveryId);
+
+        long pendingJobCount = CommandContextUtil.getJobEntityManager(commandContext).findJobCountByQueryCriteria(
+                new JobQueryImpl().handlerType(SignalEventFanOutJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+        pendingJobCount += CommandContextUtil.getTimerJobEntityManager(commandContext).findJobCountByQueryCriteria(
+                new TimerJobQueryImpl().handlerType(SignalEventFanOutJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+        long failedJobCount = CommandContextUtil.getDeadLetterJobEntityManager(commandContext).findJobCountByQueryCriteria(
+                new DeadLetterJobQueryImpl().handlerType(SignalEventFanOutJobHandler.TYPE).handlerConfigurationLike(configurationLike));
+
+        return new SignalDeliveryImpl(deliveryId, pendingJobCount, failedJobCount);
+    }
+
+}
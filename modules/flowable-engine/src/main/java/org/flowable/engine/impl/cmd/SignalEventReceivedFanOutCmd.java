@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.jobexecutor.SignalEventFanOutJobHandler;
+import org.flowable.engine.impl.runtime.SignalDeliveryImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.SignalDelivery;
+
+/**
+ * Starts the asynchronous delivery of a signal to all its subscriptions, see {@link SignalEventFanOutJobHandler}.
+ */
+public class SignalEventReceivedFanOutCmd implements Command<SignalDelivery>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String signalName;
+    protected String tenantId;
+
+    public SignalEventReceivedFanOutCmd(String signalName, String tenantId) {
+        this.signalName = signalName;
+        this.tenantId = tenantId;
+    }
+
+    public SignalDelivery execute(CommandContext commandContext) {
+        if (signalName == null) {
+            throw new FlowableIllegalArgumentException("signalName is null");
+        }
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        String deliveryId = processEngineConfiguration.getIdGenerator().getNextId();
+        Date receivedTime = processEngineConfiguration.getClock().getCurrentTime();
+        SignalEventFanOutJobHandler.scheduleDelivery(deliveryId, signalName, tenantId, receivedTime, commandContext);
+
+        return new SignalDeliveryImpl(deliveryId, 1, 0);
+    }
+
+}
@@ -0,0 +1,247 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.engine.impl.db;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.engine.common.impl.db.IdBlock;
+import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DbIdGenerator} that hands out ids without locking and fetches the next id block before the current one is exhausted.
+ * <p>
+ * Ids are taken from the current block with an atomic counter. The thread that takes the id at the prefetch threshold of the block schedules the fetch of the next block on the
+ * {@link #prefetchExecutor} and returns its id right away, so the fetch doesn't add to the latency of any caller. Threads only have to wait when the current block is exhausted before the
+ * next one could be fetched, in which case the block is fetched synchronously.
+ * <p>
+ * The size of the fetched blocks adapts to the consumption rate: when a block is used up faster than {@link #targetBlockDurationInMillis}, the next block is twice as large (up to
+ * {@link #maxIdBlockSize}). When it takes much longer, the block size shrinks again towards the configured id block size. This reduces the number of updates on the id property row, which is
+ * shared by all engines.
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingDbIdGenerator.class);
+
+    /** The maximum size of the id blocks fetched when ids are consumed quickly */
+    protected int maxIdBlockSize = 100000;
+
+    /** The desired time (in milliseconds) between two id block fetches */
+    protected long targetBlockDurationInMillis = 1000L;
+
+    /** The percentage of the block that is left when the next block is fetched */
+    protected int prefetchPercentage = 25;
+
+    protected final AtomicReference<IdRange> currentRange = new AtomicReference<>(new IdRange(0L, -1L, 0));
+    protected final AtomicReference<IdRange> prefetchedRange = new AtomicReference<>();
+    protected final AtomicBoolean prefetchScheduled = new AtomicBoolean();
+    protected final ReentrantLock fetchLock = new ReentrantLock();
+
+    /**
+     * The executor fetching the next id block in the background. By default a single daemon thread is created when the first block is prefetched, which is shut down by
+     * {@link #shutdown()}. An executor set from outside is not shut down.
+     */
+    protected Executor prefetchExecutor;
+    protected ExecutorService createdPrefetchExecutor;
+    protected volatile boolean isShutdown;
+
+    protected volatile int currentBlockSize;
+    protected long lastFetchTime;
+
+    @Override
+    public String getNextId() {
+        while (true) {
+            IdRange range = currentRange.get();
+            long id = range.next();
+            if (id >= 0) {
+                if (id == range.prefetchId) {
+                    prefetch();
+                }
+                return Long.toString(id);
+            }
+            switchRange(range);
+        }
+    }
+
+    protected void prefetch() {
+        if (isShutdown || prefetchedRange.get() != null || !prefetchScheduled.compareAndSet(false, true)) {
+            // a block is already available or being fetched
+            return;
+        }
+        try {
+            getPrefetchExecutor().execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    fetchPrefetchedRange();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the block will be fetched when the current block is exhausted
+            prefetchScheduled.set(false);
+            LOGGER.warn("Could not schedule the prefetch of the next id block: {}", e.getMessage());
+        }
+    }
+
+    protected void fetchPrefetchedRange() {
+        fetchLock.lock();
+        try {
+            if (prefetchedRange.get() == null) {
+                prefetchedRange.set(fetchRange());
+            }
+        } catch (RuntimeException e) {
+            // the block will be fetched again when the current block is exhausted
+            LOGGER.warn("Could not prefetch id block: {}", e.getMessage(), e);
+        } finally {
+            prefetchScheduled.set(false);
+            fetchLock.unlock();
+        }
+    }
+
+    public synchronized Executor getPrefetchExecutor() {
+        if (prefetchExecutor == null) {
+            createdPrefetchExecutor = createPrefetchExecutor();
+            prefetchExecutor = createdPrefetchExecutor;
+        }
+        return prefetchExecutor;
+    }
+
+    /**
+     * Stops prefetching and shuts down the prefetch executor created by this id generator, called when the process engine is closed. Ids are still handed out afterwards,
+     * the blocks are then fetched synchronously.
+     */
+    public synchronized void shutdown() {
+        isShutdown = true;
+        if (createdPrefetchExecutor != null) {
+            createdPrefetchExecutor.shutdown();
+        }
+    }
+
+    protected ExecutorService createPrefetchExecutor() {
+        BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-id-block-prefetch-%d").daemon(true).build();
+        return Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    protected void switchRange(IdRange exhaustedRange) {
+        synchronized (this) {
+            if (currentRange.get() != exhaustedRange) {
+                return;
+            }
+
+            IdRange nextRange = prefetchedRange.getAndSet(null);
+            if (nextRange == null) {
+                fetchLock.lock();
+                try {
+                    // a prefetch might have completed while waiting for the lock
+                    nextRange = prefetchedRange.getAndSet(null);
+                    if (nextRange == null) {
+                        nextRange = fetchRange();
+                    }
+                } finally {
+                    fetchLock.unlock();
+                }
+            }
+            currentRange.set(nextRange);
+        }
+    }
+
+    /**
+     * Fetches a new id block. Must be called while holding the fetch lock.
+     */
+    protected IdRange fetchRange() {
+        int blockSize = determineBlockSize();
+        IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(blockSize));
+        return new IdRange(idBlock.getNextId(), idBlock.getLastId(), prefetchPercentage);
+    }
+
+    protected int determineBlockSize() {
+        long now = System.currentTimeMillis();
+        if (currentBlockSize == 0) {
+            currentBlockSize = idBlockSize;
+
+        } else {
+            long blockDuration = now - lastFetchTime;
+            if (blockDuration < targetBlockDurationInMillis / 2) {
+                currentBlockSize = (int) Math.min(maxIdBlockSize, currentBlockSize * 2L);
+            } else if (blockDuration > targetBlockDurationInMillis * 4) {
+                currentBlockSize = Math.max(idBlockSize, currentBlockSize / 2);
+            }
+        }
+        lastFetchTime = now;
+        return currentBlockSize;
+    }
+
+    protected static class IdRange {
+
+        protected final AtomicLong nextId;
+        protected final long lastId;
+        protected final long prefetchId;
+
+        public IdRange(long firstId, long lastId, int prefetchPercentage) {
+            this.nextId = new AtomicLong(firstId);
+            this.lastId = lastId;
+            this.prefetchId = lastId - ((lastId - firstId + 1) * prefetchPercentage / 100);
+        }
+
+        /**
+         * Returns the next id of this range, or -1 when the range is exhausted.
+         */
+        public long next() {
+            long id = nextId.getAndIncrement();
+            return id <= lastId ? id : -1L;
+        }
+    }
+
+    public int getMaxIdBlockSize() {
+        return maxIdBlockSize;
+    }
+
+    public void setMaxIdBlockSize(int maxIdBlockSize) {
+        this.maxIdBlockSize = maxIdBlockSize;
+    }
+
+    public long getTargetBlockDurationInMillis() {
+        return targetBlockDurationInMillis;
+    }
+
+    public void setTargetBlockDurationInMillis(long targetBlockDurationInMillis) {
+        this.targetBlockDurationInMillis = targetBlockDurationInMillis;
+    }
+
+    public int getPrefetchPercentage() {
+        return prefetchPercentage;
+    }
+
+    public void setPrefetchPercentage(int prefetchPercentage) {
+        this.prefetchPercentage = prefetchPercentage;
+    }
+
+    public int getCurrentBlockSize() {
+        return currentBlockSize;
+    }
+
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+}
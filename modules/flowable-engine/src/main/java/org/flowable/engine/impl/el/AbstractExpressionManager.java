@@ -21,6 +21,7 @@ import org.flowable.engine.common.impl.el.FlowableElContext;
 import org.flowable.engine.common.impl.el.JsonNodeELResolver;
 import org.flowable.engine.common.impl.el.ParsingElContext;
 import org.flowable.engine.common.impl.el.ReadOnlyMapELResolver;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
 import org.flowable.engine.common.impl.javax.el.ArrayELResolver;
 import org.flowable.engine.common.impl.javax.el.BeanELResolver;
 import org.flowable.engine.common.impl.javax.el.CompositeELResolver;
@@ -59,16 +60,29 @@ public abstract class AbstractExpressionManager implements ExpressionManager {
     protected ELContext parsingElContext;
     protected Map<Object, Object> beans;
 
+    protected ExpressionCompiler expressionCompiler;
+
     @Override
     public Expression createExpression(String expression) {
         if (parsingElContext == null) {
             this.parsingElContext = new ParsingElContext(functionDelegates);
         }
 
-        ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression.trim(), Object.class);
+        ValueExpression valueExpression = createValueExpression(expression.trim());
         return new JuelExpression(this, this.delegateInterceptor, valueExpression, expression);
     }
 
+    /**
+     * Parses the expression. When an {@link ExpressionCompiler} is set, the parsed tree is compiled into bytecode.
+     */
+    protected ValueExpression createValueExpression(String expression) {
+        ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+        if (expressionCompiler != null) {
+            valueExpression = expressionCompiler.compile(valueExpression);
+        }
+        return valueExpression;
+    }
+
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
     }
@@ -129,4 +143,12 @@ public abstract class AbstractExpressionManager implements ExpressionManager {
     public void setFunctionDelegates(List<FlowableFunctionDelegate> functionDelegates) {
         this.functionDelegates = functionDelegates;
     }
+
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
 }
@@ -20,6 +20,7 @@ import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.engine.common.impl.cfg.IdGenerator;
 import org.flowable.engine.common.impl.history.HistoryLevel;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.persistence.cache.EntityCache;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.identity.Authentication;
@@ -35,8 +36,12 @@ public abstract class AbstractHistoryManager extends AbstractManager implements
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractHistoryManager.class.getName());
 
+    protected static final String ATTRIBUTE_HISTORIC_ACTIVITY_INSTANCE_INDEX = "ctx.attribute.historicActivityInstanceIndex";
+
     protected HistoryLevel historyLevel;
 
+    protected HistoricActivityInstanceLookupStatistics historicActivityInstanceLookupStatistics = new HistoricActivityInstanceLookupStatistics();
+
     public AbstractHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration, HistoryLevel historyLevel) {
         super(processEngineConfiguration);
         this.historyLevel = historyLevel;
@@ -172,18 +177,31 @@ public abstract class AbstractHistoryManager extends AbstractManager implements
     }
 
     protected HistoricActivityInstanceEntity getHistoricActivityInstanceFromCache(String executionId, String activityId, boolean endTimeMustBeNull) {
-        List<HistoricActivityInstanceEntity> cachedHistoricActivityInstances = getEntityCache().findInCache(HistoricActivityInstanceEntity.class);
-        for (HistoricActivityInstanceEntity cachedHistoricActivityInstance : cachedHistoricActivityInstances) {
-            if (activityId != null
-                            && activityId.equals(cachedHistoricActivityInstance.getActivityId())
-                            && (!endTimeMustBeNull || cachedHistoricActivityInstance.getEndTime() == null)) {
-                if (executionId.equals(cachedHistoricActivityInstance.getExecutionId())) {
-                    return cachedHistoricActivityInstance;
-                }
-            }
+        if (activityId == null) {
+            return null;
         }
 
-        return null;
+        HistoricActivityInstanceIndex index = getHistoricActivityInstanceIndex();
+        HistoricActivityInstanceEntity historicActivityInstance = index.find(executionId, activityId, endTimeMustBeNull);
+        if (historicActivityInstance == null && index.synchronize(getEntityCache())) {
+            // instances were added to the entity cache outside of the history manager
+            historicActivityInstanceLookupStatistics.indexRebuilds.incrementAndGet();
+            historicActivityInstance = index.find(executionId, activityId, endTimeMustBeNull);
+        }
+        return historicActivityInstance;
+    }
+
+    /**
+     * Returns the {@link HistoricActivityInstanceIndex} of the current command context.
+     */
+    protected HistoricActivityInstanceIndex getHistoricActivityInstanceIndex() {
+        CommandContext commandContext = getCommandContext();
+        HistoricActivityInstanceIndex index = (HistoricActivityInstanceIndex) commandContext.getAttribute(ATTRIBUTE_HISTORIC_ACTIVITY_INSTANCE_INDEX);
+        if (index == null) {
+            index = new HistoricActivityInstanceIndex();
+            commandContext.addAttribute(ATTRIBUTE_HISTORIC_ACTIVITY_INSTANCE_INDEX, index);
+        }
+        return index;
     }
 
     @Override
@@ -211,25 +229,39 @@ public abstract class AbstractHistoryManager extends AbstractManager implements
         }
 
         String executionId = execution.getId();
+        historicActivityInstanceLookupStatistics.lookups.incrementAndGet();
+
+        // If the execution was freshly created, there is no need to check the database,
+        // there can never be an entry for a historic activity instance with this execution id.
+        boolean checkDatabase = !execution.isInserted() && !execution.isProcessInstanceType();
 
         // Check the cache
         HistoricActivityInstanceEntity historicActivityInstanceEntityFromCache = getHistoricActivityInstanceFromCache(executionId, activityId, endTimeMustBeNull);
         if (historicActivityInstanceEntityFromCache != null) {
+            historicActivityInstanceLookupStatistics.indexHits.incrementAndGet();
             return historicActivityInstanceEntityFromCache;
         }
 
-        // If the execution was freshly created, there is no need to check the database,
-        // there can never be an entry for a historic activity instance with this execution id.
-        if (!execution.isInserted() && !execution.isProcessInstanceType()) {
+        if (checkDatabase) {
+            HistoricActivityInstanceIndex index = getHistoricActivityInstanceIndex();
+            if (index.isKnownNotInDatabase(executionId, activityId)) {
+                historicActivityInstanceLookupStatistics.databaseLookupsSaved.incrementAndGet();
 
-            // Check the database
-            List<HistoricActivityInstanceEntity> historicActivityInstances = getHistoricActivityInstanceEntityManager()
-                            .findUnfinishedHistoricActivityInstancesByExecutionAndActivityId(executionId, activityId);
+            } else {
+                // Check the database
+                historicActivityInstanceLookupStatistics.databaseLookups.incrementAndGet();
+                List<HistoricActivityInstanceEntity> historicActivityInstances = getHistoricActivityInstanceEntityManager()
+                                .findUnfinishedHistoricActivityInstancesByExecutionAndActivityId(executionId, activityId);
+
+                if (historicActivityInstances.size() > 0) {
+                    for (HistoricActivityInstanceEntity historicActivityInstance : historicActivityInstances) {
+                        index.add(historicActivityInstance);
+                    }
+                    return historicActivityInstances.get(0);
+                }
 
-            if (historicActivityInstances.size() > 0) {
-                return historicActivityInstances.get(0);
+                index.markNotInDatabase(executionId, activityId);
             }
-
         }
 
         if (createOnNotFound
@@ -264,6 +296,7 @@ public abstract class AbstractHistoryManager extends AbstractManager implements
         }
 
         getHistoricActivityInstanceEntityManager().insert(historicActivityInstance);
+        getHistoricActivityInstanceIndex().add(historicActivityInstance);
         return historicActivityInstance;
     }
 
@@ -277,6 +310,10 @@ public abstract class AbstractHistoryManager extends AbstractManager implements
         return getSession(EntityCache.class);
     }
 
+    public HistoricActivityInstanceLookupStatistics getHistoricActivityInstanceLookupStatistics() {
+        return historicActivityInstanceLookupStatistics;
+    }
+
     public HistoryLevel getHistoryLevel() {
         return historyLevel;
     }
@@ -0,0 +1,127 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
+import org.flowable.engine.common.impl.persistence.cache.EntityCache;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+
+/**
+ * Index of the {@link HistoricActivityInstanceEntity} instances of one command context, keyed by execution id and activity id.
+ * <p>
+ * The index replaces the linear scan over all cached historic activity instances that was done for every activity start and end. Historic activity instances created or fetched by the
+ * history manager are added directly. Instances that end up in the {@link EntityCache} in another way (e.g. through a query) are picked up by comparing the number of cached instances with
+ * the number of indexed instances, in which case the index is rebuilt from the entity cache.
+ * <p>
+ * The index also remembers for which execution and activity the database didn't return an unfinished instance, so the query isn't repeated in the same command context.
+ */
+public class HistoricActivityInstanceIndex {
+
+    protected Map<String, List<HistoricActivityInstanceEntity>> historicActivityInstances = new HashMap<>();
+    protected Set<String> indexedIds = new HashSet<>();
+    protected Set<String> notInDatabase = new HashSet<>();
+
+    // cached instances without execution or activity id, these can't be indexed
+    protected int unindexableCount;
+
+    /**
+     * Returns the indexed historic activity instance for the given execution and activity, or null when there is none.
+     */
+    public HistoricActivityInstanceEntity find(String executionId, String activityId, boolean endTimeMustBeNull) {
+        List<HistoricActivityInstanceEntity> candidates = historicActivityInstances.get(createKey(executionId, activityId));
+        if (candidates != null) {
+            for (HistoricActivityInstanceEntity candidate : candidates) {
+                if (executionId.equals(candidate.getExecutionId())
+                                && activityId.equals(candidate.getActivityId())
+                                && (!endTimeMustBeNull || candidate.getEndTime() == null)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given historic activity instance to the index.
+     *
+     * @return false if the instance can't be indexed, because it has no id, execution id or activity id
+     */
+    public boolean add(HistoricActivityInstanceEntity historicActivityInstance) {
+        if (historicActivityInstance.getId() == null || historicActivityInstance.getExecutionId() == null || historicActivityInstance.getActivityId() == null) {
+            return false;
+        }
+        if (indexedIds.add(historicActivityInstance.getId())) {
+            String key = createKey(historicActivityInstance.getExecutionId(), historicActivityInstance.getActivityId());
+            List<HistoricActivityInstanceEntity> entries = historicActivityInstances.get(key);
+            if (entries == null) {
+                entries = new ArrayList<>(1);
+                historicActivityInstances.put(key, entries);
+            }
+            entries.add(historicActivityInstance);
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the index when the entity cache contains historic activity instances that are not indexed, or when indexed instances were removed from the entity cache.
+     *
+     * @return true if the index was rebuilt
+     */
+    public boolean synchronize(EntityCache entityCache) {
+        int cachedCount = 0;
+        List<Map<String, CachedEntity>> classCaches = new ArrayList<>(1);
+        for (Map.Entry<Class<?>, Map<String, CachedEntity>> entry : entityCache.getAllCachedEntities().entrySet()) {
+            if (HistoricActivityInstanceEntity.class.isAssignableFrom(entry.getKey())) {
+                classCaches.add(entry.getValue());
+                cachedCount += entry.getValue().size();
+            }
+        }
+
+        if (cachedCount == indexedIds.size() + unindexableCount) {
+            return false;
+        }
+
+        historicActivityInstances.clear();
+        indexedIds.clear();
+        unindexableCount = 0;
+        for (Map<String, CachedEntity> classCache : classCaches) {
+            for (CachedEntity cachedEntity : classCache.values()) {
+                HistoricActivityInstanceEntity historicActivityInstance = (HistoricActivityInstanceEntity) cachedEntity.getEntity();
+                if (!add(historicActivityInstance)) {
+                    unindexableCount++;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean isKnownNotInDatabase(String executionId, String activityId) {
+        return notInDatabase.contains(createKey(executionId, activityId));
+    }
+
+    public void markNotInDatabase(String executionId, String activityId) {
+        notInDatabase.add(createKey(executionId, activityId));
+    }
+
+    protected String createKey(String executionId, String activityId) {
+        return executionId + '\u0000' + activityId;
+    }
+
+}
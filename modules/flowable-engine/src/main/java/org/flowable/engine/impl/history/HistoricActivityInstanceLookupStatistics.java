@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the historic activity instance lookups done by a history manager, across all command contexts.
+ */
+public class HistoricActivityInstanceLookupStatistics {
+
+    protected final AtomicLong lookups = new AtomicLong();
+    protected final AtomicLong indexHits = new AtomicLong();
+    protected final AtomicLong indexRebuilds = new AtomicLong();
+    protected final AtomicLong databaseLookups = new AtomicLong();
+    protected final AtomicLong databaseLookupsSaved = new AtomicLong();
+
+    /**
+     * Returns the number of historic activity instance lookups.
+     */
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    /**
+     * Returns the number of lookups that were answered by the index.
+     */
+    public long getIndexHits() {
+        return indexHits.get();
+    }
+
+    /**
+     * Returns the number of times the index was rebuilt from the entity cache.
+     */
+    public long getIndexRebuilds() {
+        return indexRebuilds.get();
+    }
+
+    /**
+     * Returns the number of queries for unfinished historic activity instances that were executed.
+     */
+    public long getDatabaseLookups() {
+        return databaseLookups.get();
+    }
+
+    /**
+     * Returns the number of queries for unfinished historic activity instances that were avoided, because the index knew from an earlier query in the same
+     * command context that the database has no unfinished instance for the execution and activity. Lookups answered with an instance from the index are
+     * counted as {@link #getIndexHits() index hits} only.
+     */
+    public long getDatabaseLookupsSaved() {
+        return databaseLookupsSaved.get();
+    }
+
+    public void reset() {
+        lookups.set(0L);
+        indexHits.set(0L);
+        indexRebuilds.set(0L);
+        databaseLookups.set(0L);
+        databaseLookupsSaved.set(0L);
+    }
+
+}
@@ -12,34 +12,41 @@
  */
 package org.flowable.engine.impl.history.async;
 
+import java.io.IOException;
+
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.jobexecutor.HistoryJobHandler;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 
 public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandler {
 
     protected boolean isAsyncHistoryJsonGroupingEnabled;
 
+    /** The codec used to decode the job payload, null for plain json */
+    protected AsyncHistoryJobPayloadCodec payloadCodec;
+
     @Override
     public void execute(HistoryJobEntity job, String configuration, CommandContext commandContext) {
         ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
         if (job.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
-            try {
+            try (JsonParser parser = createPayloadParser(job, objectMapper)) {
 
-                byte[] bytes = getJobBytes(job);
-                JsonNode historyNode = objectMapper.readTree(bytes);
-                if (isAsyncHistoryJsonGroupingEnabled() && historyNode.isArray()) {
-                    ArrayNode arrayNode = (ArrayNode) historyNode;
-                    for (JsonNode jsonNode : arrayNode) {
+                JsonToken token = parser.nextToken();
+                if (isAsyncHistoryJsonGroupingEnabled() && token == JsonToken.START_ARRAY) {
+                    // the history objects are decoded and processed one by one
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonNode jsonNode = objectMapper.readTree(parser);
                         processHistoryJson(commandContext, job, jsonNode);
                     }
                 } else {
+                    JsonNode historyNode = objectMapper.readTree(parser);
                     processHistoryJson(commandContext, job, historyNode);
                 }
                 
@@ -58,6 +65,14 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
         return job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes();
     }
 
+    protected JsonParser createPayloadParser(HistoryJobEntity job, ObjectMapper objectMapper) throws IOException {
+        byte[] bytes = getJobBytes(job);
+        if (payloadCodec != null) {
+            return payloadCodec.createParser(bytes, objectMapper);
+        }
+        return objectMapper.getFactory().createParser(bytes);
+    }
+
     protected abstract void processHistoryJson(CommandContext commandContext, HistoryJobEntity job, JsonNode historyNode);
 
     public boolean isAsyncHistoryJsonGroupingEnabled() {
@@ -67,5 +82,13 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
     public void setAsyncHistoryJsonGroupingEnabled(boolean isAsyncHistoryJsonGroupingEnabled) {
         this.isAsyncHistoryJsonGroupingEnabled = isAsyncHistoryJsonGroupingEnabled;
     }
+
+    public AsyncHistoryJobPayloadCodec getPayloadCodec() {
+        return payloadCodec;
+    }
+
+    public void setPayloadCodec(AsyncHistoryJobPayloadCodec payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
     
 }
@@ -56,9 +56,19 @@ public class AsyncHistoryJobHandler extends AbstractAsyncHistoryJobHandler {
 
     protected Map<String, List<HistoryJsonTransformer>> historyJsonTransformers = new HashMap<>();
 
+    public AsyncHistoryJobHandler() {
+    }
+
+    /**
+     * Creates a handler for the jobs with a payload created by the given codec.
+     */
+    public AsyncHistoryJobHandler(AsyncHistoryJobPayloadCodec payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
+
     @Override
     public String getType() {
-        return JOB_TYPE;
+        return payloadCodec != null ? payloadCodec.getJobHandlerType() : JOB_TYPE;
     }
 
     public void initDefaultTransformers() {
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Converts the historic data of an async history job to the bytes stored with the job, and back.
+ * <p>
+ * Every codec has its own job handler type, so jobs that were created with a codec can still be executed after another codec has been configured, as long as the history job handler
+ * for the old codec stays registered.
+ */
+public interface AsyncHistoryJobPayloadCodec {
+
+    /**
+     * Returns the type of the history jobs with a payload created by this codec.
+     */
+    String getJobHandlerType();
+
+    /**
+     * Encodes the given historic data (a single history object or an array of them).
+     */
+    byte[] encode(JsonNode historyNode, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Creates a parser reading the historic data from the given payload. The data is decoded while it is read, so a payload containing multiple history objects can be processed object by
+     * object, without materializing the whole decoded payload first.
+     */
+    JsonParser createParser(byte[] payload, ObjectMapper objectMapper) throws IOException;
+
+}
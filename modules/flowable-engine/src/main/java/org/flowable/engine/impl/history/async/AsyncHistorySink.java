@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An append-only destination for the historic data generated by the async history, used by the {@link StreamingAsyncHistoryListener}, e.g. the
+ * {@link RollingFileAsyncHistorySink}. This allows to export the history to an external system (a log, an object store, a message broker, ...) instead of (or next to) the
+ * ACT_HI tables.
+ * <p>
+ * The methods are called from one writer thread only. The historic data is only passed to the sink after the transaction that generated it has been committed.
+ */
+public interface AsyncHistorySink {
+
+    /**
+     * Appends a batch of historic data, in the order it was generated. Every element has a {@link HistoryJsonConstants#TYPE} and a {@link HistoryJsonConstants#DATA} field,
+     * the same json that is stored in an async history job.
+     * <p>
+     * When an exception is thrown, the same batch is offered again later (a limited number of times). An implementation should therefore either write a batch completely or not
+     * at all, or make sure the part written before the failure isn't read as valid history (e.g. by starting a new file).
+     */
+    void write(List<ObjectNode> historyObjectNodes) throws IOException;
+
+    /**
+     * Makes sure all appended data is durable, called when no more historic data is waiting.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and releases all resources, called when the process engine is closed.
+     */
+    void close() throws IOException;
+
+}
@@ -12,9 +12,29 @@
  */
 package org.flowable.engine.impl.history.async;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.flowable.engine.runtime.JobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncHistoryJobExecutor.class);
+
+    /**
+     * The maximum number of acquired history jobs that are executed together in one transaction. Executing multiple history jobs in one transaction allows the historic entities to be
+     * written with bulk inserts, and collapses the insert and update of an entity that is created and changed by different jobs (e.g. the start and end of an activity) into one insert.
+     * Default value = 1 (every history job is executed in its own transaction).
+     * <p>
+     * Batching is not used when an {@link ExecuteAsyncRunnableFactory} is configured, because every job is then executed through the runnable created by the factory.
+     * It is also not used when {@link #maxConcurrentJobs} is set, because the concurrency limit is applied per job. A warning is logged at startup in both cases.
+     */
+    protected int historyJobBatchSize = 1;
     
     public DefaultAsyncHistoryJobExecutor() {
         setTimerRunnableNeeded(false);
@@ -23,6 +43,15 @@ public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
         setAsyncRunnableExecutionExceptionHandler(new UnacquireAsyncHistoryJobExceptionHandler());
     }
     
+    @Override
+    protected void startAdditionalComponents() {
+        if (historyJobBatchSize > 1 && (maxConcurrentJobs > 0 || executeAsyncRunnableFactory != null)) {
+            LOGGER.warn("History job batch size {} is ignored, history jobs are executed separately when maxConcurrentJobs or an executeAsyncRunnableFactory is set",
+                    historyJobBatchSize);
+        }
+        super.startAdditionalComponents();
+    }
+
     @Override
     protected void initializeJobEntityManager() {
         if (jobEntityManager == null) {
@@ -30,4 +59,55 @@ public class DefaultAsyncHistoryJobExecutor extends DefaultAsyncJobExecutor {
         }
     }
 
+    /**
+     * Executes the given acquired history jobs, in batches of {@link #historyJobBatchSize} jobs.
+     *
+     * @return the jobs that could not be handed over for execution, these have been unacquired
+     */
+    @Override
+    public <T extends JobInfo> List<T> executeAsyncJobs(List<T> jobs) {
+        if (historyJobBatchSize <= 1 || !isActive || isMessageQueueMode || maxConcurrentJobs > 0 || executeAsyncRunnableFactory != null) {
+            return super.executeAsyncJobs(jobs);
+        }
+
+        List<T> rejectedJobs = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i += historyJobBatchSize) {
+            List<T> batch = new ArrayList<>(jobs.subList(i, Math.min(jobs.size(), i + historyJobBatchSize)));
+            if (batch.size() == 1) {
+                if (!executeAsyncJob(batch.get(0))) {
+                    rejectedJobs.add(batch.get(0));
+                }
+                continue;
+            }
+
+            Runnable runnable = createRunnableForJobs(batch);
+            try {
+                if (adaptiveJobAcquisition) {
+                    executorService.execute(createCapacitySignallingRunnable(runnable));
+                } else {
+                    executorService.execute(runnable);
+                }
+            } catch (RejectedExecutionException e) {
+                // Queue full: release all jobs of the batch so they can be acquired again
+                for (T job : batch) {
+                    unacquireJob(job);
+                }
+                rejectedJobs.addAll(batch);
+            }
+        }
+        return rejectedJobs;
+    }
+
+    protected Runnable createRunnableForJobs(List<? extends JobInfo> jobs) {
+        return new ExecuteAsyncHistoryJobsRunnable(jobs, processEngineConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler);
+    }
+
+    public int getHistoryJobBatchSize() {
+        return historyJobBatchSize;
+    }
+
+    public void setHistoryJobBatchSize(int historyJobBatchSize) {
+        this.historyJobBatchSize = historyJobBatchSize;
+    }
+
 }
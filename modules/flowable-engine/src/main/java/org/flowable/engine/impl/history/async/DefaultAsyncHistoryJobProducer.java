@@ -25,8 +25,8 @@ import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -35,6 +35,7 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     protected boolean isJsonGzipCompressionEnabled;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected int asyncHistoryJsonGroupingThreshold;
+    protected AsyncHistoryJobPayloadCodec payloadCodec;
     
     @Override
     public void historyDataGenerated(List<ObjectNode> historyObjectNodes) {
@@ -44,7 +45,12 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     protected void createJobsWithHistoricalData(List<ObjectNode> historyObjectNodes, CommandContext commandContext) {
         AsyncHistorySession asyncHistorySession = commandContext.getSession(AsyncHistorySession.class);
         if (isAsyncHistoryJsonGroupingEnabled && historyObjectNodes.size() >= asyncHistoryJsonGroupingThreshold) {
-            String jobType = isJsonGzipCompressionEnabled ? AsyncHistoryJobZippedHandler.JOB_TYPE : AsyncHistoryJobHandler.JOB_TYPE;
+            String jobType = null;
+            if (payloadCodec != null) {
+                jobType = payloadCodec.getJobHandlerType();
+            } else {
+                jobType = isJsonGzipCompressionEnabled ? AsyncHistoryJobZippedHandler.JOB_TYPE : AsyncHistoryJobHandler.JOB_TYPE;
+            }
             HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, jobType);
             ArrayNode arrayNode = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().createArrayNode();
             for (ObjectNode historyJsonNode : historyObjectNodes) {
@@ -54,7 +60,8 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
             
         } else {
             for (ObjectNode historyJsonNode : historyObjectNodes) {
-                HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, AsyncHistoryJobHandler.JOB_TYPE);
+                String jobType = payloadCodec != null ? payloadCodec.getJobHandlerType() : AsyncHistoryJobHandler.JOB_TYPE;
+                HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, jobType);
                 addJsonToJob(commandContext, jobEntity, historyJsonNode, false);
             }
             
@@ -75,12 +82,18 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
 
     protected void addJsonToJob(CommandContext commandContext, HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
         try {
-            byte[] bytes = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().writeValueAsBytes(rootObjectNode);
-            if (applyCompression) {
-                bytes = compress(bytes);
+            ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
+            byte[] bytes = null;
+            if (payloadCodec != null) {
+                bytes = payloadCodec.encode(rootObjectNode, objectMapper);
+            } else {
+                bytes = objectMapper.writeValueAsBytes(rootObjectNode);
+                if (applyCompression) {
+                    bytes = compress(bytes);
+                }
             }
             jobEntity.setAdvancedJobHandlerConfigurationBytes(bytes);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new FlowableException("Could not serialize historic data for async history", e);
         }
     }
@@ -119,5 +132,13 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     public void setAsyncHistoryJsonGroupingThreshold(int asyncHistoryJsonGroupingThreshold) {
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
+
+    public AsyncHistoryJobPayloadCodec getPayloadCodec() {
+        return payloadCodec;
+    }
+
+    public void setPayloadCodec(AsyncHistoryJobPayloadCodec payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
     
 }
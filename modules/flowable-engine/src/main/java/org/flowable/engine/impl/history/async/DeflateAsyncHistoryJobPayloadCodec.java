@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link AsyncHistoryJobPayloadCodec} storing the historic data as raw deflate compressed json, using a preset dictionary.
+ * <p>
+ * The dictionary contains the field names and types of the history json (see {@link HistoryJsonConstants}), which act as a shared field name table: even the payload of a single
+ * history object refers to the dictionary instead of repeating the field names, which makes it considerably smaller than plain or GZIP compressed json. There is no GZIP header
+ * and checksum, and the fastest compression level is used by default, which lowers the CPU time per job.
+ * <p>
+ * The first byte of every payload is the version of the dictionary it was compressed with. A dictionary must never be changed once payloads have been created with it: a changed
+ * dictionary gets a new version and is added to {@link #DICTIONARIES}, where the old versions stay available to decode the payloads of existing jobs. New payloads use
+ * {@link #CURRENT_DICTIONARY_VERSION}, unless an older version is configured, e.g. until all engines sharing the database can decode the new one.
+ */
+public class DeflateAsyncHistoryJobPayloadCodec implements AsyncHistoryJobPayloadCodec {
+
+    public static final String JOB_TYPE = "async-history-deflate";
+
+    public static final int CURRENT_DICTIONARY_VERSION = 1;
+
+    // Most frequent fragments are at the end of the dictionary, where they can be referenced with the shortest distance
+    protected static final byte[] DICTIONARY_V1 = ("\"variableTextValue2\":\"variableDoubleValue\":\"variableLongValue\":\"variableBytesValue\":\"formPropertyId\":\"formPropertyValue\":"
+            + "\"identityLinkType\":\"userId\":\"groupId\":\"property\":\"category\":\"description\":\"formKey\":\"dueDate\":\"claimTime\":\"lastUpdatedTime\":"
+            + "\"superProcessInstanceId\":\"sourceExecutionId\":\"isMiRootExecution\":\"startUserId\":\"startActivityId\":\"businessKey\":\"deploymentId\":"
+            + "\"processDefinitionName\":\"processDefinitionVersion\":\"processDefinitionKey\":\"deleteReason\":\"parentTaskId\":\"owner\":\"priority\":\"revision\":"
+            + "\"activityAssigneeHandled\":\"taskDefinitionKey\":\"variableType\":\"variableTextValue\":\"createTime\":\"assignee\":\"taskId\":"
+            + "\"historic-detail-variable-update\"\"form-properties-submitted\"\"identitylink-created\"\"identitylink-deleted\"\"process-instance-property-changed\""
+            + "\"process-instance-deleted\"\"set-process-definition\"\"subprocess-instance-start\"\"process-instance-start\"\"process-instance-end\""
+            + "\"task-owner-changed\"\"task-property-changed\"\"task-assignee-changed\"\"task-created\"\"task-ended\""
+            + "\"variable-created\"\"variable-updated\"\"variable-removed\"\"activity-start\"\"activity-end\"\"activity-full\""
+            + "\"userTask\"\"serviceTask\"\"exclusiveGateway\"\"parallelGateway\"\"startEvent\"\"endEvent\""
+            + ",\"tenantId\":\"\",\"name\":\",\"activityName\":\",\"activityType\":\",\"activityId\":\",\"endTime\":\",\"startTime\":\""
+            + ",\"processDefinitionId\":\",\"executionId\":\",\"processInstanceId\":\",\"id\":\",\"__timeStamp\":\"},"
+            + "{\"type\":\"activity-full\",\"data\":{\"").getBytes(StandardCharsets.UTF_8);
+
+    /** The dictionaries indexed by their version, version 0 is not used */
+    protected static final byte[][] DICTIONARIES = { null, DICTIONARY_V1 };
+
+    protected int compressionLevel = Deflater.BEST_SPEED;
+    protected int dictionaryVersion = CURRENT_DICTIONARY_VERSION;
+
+    @Override
+    public String getJobHandlerType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public byte[] encode(JsonNode historyNode, ObjectMapper objectMapper) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(historyNode);
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setDictionary(DICTIONARIES[dictionaryVersion]);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(json.length / 2 + 16);
+            baos.write(dictionaryVersion);
+            try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater, 512)) {
+                dos.write(json);
+            }
+            return baos.toByteArray();
+
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public JsonParser createParser(byte[] payload, ObjectMapper objectMapper) throws IOException {
+        byte[] dictionary = payload.length > 0 ? getDictionary(payload[0] & 0xFF) : null;
+        if (dictionary == null) {
+            throw new IOException("The payload doesn't start with a known dictionary version");
+        }
+
+        final Inflater inflater = new Inflater(true);
+        inflater.setDictionary(dictionary);
+        InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1), inflater, 512) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+        return objectMapper.getFactory().createParser(inputStream);
+    }
+
+    /**
+     * Returns the dictionary with the given version, or null when there is no such version.
+     */
+    protected byte[] getDictionary(int version) {
+        return version > 0 && version < DICTIONARIES.length ? DICTIONARIES[version] : null;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    public void setDictionaryVersion(int dictionaryVersion) {
+        if (getDictionary(dictionaryVersion) == null) {
+            throw new FlowableIllegalArgumentException("Unknown dictionary version " + dictionaryVersion);
+        }
+        this.dictionaryVersion = dictionaryVersion;
+    }
+
+}
@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.asyncexecutor.AsyncRunnableExecutionExceptionHandler;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.ExecuteAsyncHistoryJobsCmd;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntityManager;
+import org.flowable.engine.runtime.JobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a batch of acquired history jobs in one transaction (see {@link ExecuteAsyncHistoryJobsCmd}).
+ * <p>
+ * When the batch fails, for example because one of the jobs isn't applicable yet or contains invalid data, each job of the batch is executed on its own, so the failure handling
+ * (unacquiring, decrementing the retries) only affects the failing job.
+ */
+public class ExecuteAsyncHistoryJobsRunnable implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteAsyncHistoryJobsRunnable.class);
+
+    protected List<? extends JobInfo> jobs;
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler;
+
+    public ExecuteAsyncHistoryJobsRunnable(List<? extends JobInfo> jobs, ProcessEngineConfigurationImpl processEngineConfiguration,
+            JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager, AsyncRunnableExecutionExceptionHandler asyncRunnableExecutionExceptionHandler) {
+        this.jobs = jobs;
+        this.processEngineConfiguration = processEngineConfiguration;
+        this.jobEntityManager = jobEntityManager;
+        this.asyncRunnableExecutionExceptionHandler = asyncRunnableExecutionExceptionHandler;
+    }
+
+    public void run() {
+        List<String> jobIds = new ArrayList<>(jobs.size());
+        for (JobInfo job : jobs) {
+            jobIds.add(job.getId());
+        }
+
+        try {
+            processEngineConfiguration.getCommandExecutor().execute(new ExecuteAsyncHistoryJobsCmd(jobIds));
+
+        } catch (Throwable exception) {
+            LOGGER.debug("Could not execute batch of {} history jobs, executing the jobs one by one. Caught exception: {}", jobs.size(), exception.getMessage());
+            executeJobsSeparately();
+        }
+    }
+
+    protected void executeJobsSeparately() {
+        for (JobInfo job : jobs) {
+            new ExecuteAsyncRunnable(job, processEngineConfiguration, jobEntityManager, asyncRunnableExecutionExceptionHandler).run();
+        }
+    }
+
+    public List<? extends JobInfo> getJobs() {
+        return jobs;
+    }
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link AsyncHistoryJobPayloadCodec} storing the historic data as GZIP compressed json. This is the format of the {@link AsyncHistoryJobZippedHandler#JOB_TYPE} jobs.
+ */
+public class GzipAsyncHistoryJobPayloadCodec implements AsyncHistoryJobPayloadCodec {
+
+    @Override
+    public String getJobHandlerType() {
+        return AsyncHistoryJobZippedHandler.JOB_TYPE;
+    }
+
+    @Override
+    public byte[] encode(JsonNode historyNode, ObjectMapper objectMapper) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+            gos.write(objectMapper.writeValueAsBytes(historyNode));
+        }
+        return baos.toByteArray();
+    }
+
+    @Override
+    public JsonParser createParser(byte[] payload, ObjectMapper objectMapper) throws IOException {
+        return objectMapper.getFactory().createParser(new GZIPInputStream(new ByteArrayInputStream(payload)));
+    }
+
+}
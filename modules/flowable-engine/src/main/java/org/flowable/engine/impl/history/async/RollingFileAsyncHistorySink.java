@@ -0,0 +1,262 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link AsyncHistorySink} writing the historic data to GZIP compressed segment files in a local directory, one json object per line.
+ * <p>
+ * A new segment is started when the current one reaches {@link #maxSegmentSize} uncompressed bytes or is older than {@link #maxSegmentAgeInMillis}. The segment that is being
+ * written has the {@link #IN_PROGRESS_SUFFIX}, which is removed when the segment is complete: only files ending with {@link #SEGMENT_SUFFIX} should be picked up for shipping or
+ * importing. Segment names start with the creation time, so sorting them by name gives the order in which the history was generated.
+ * <p>
+ * A batch is always written as a whole to one segment, so a segment can exceed {@link #maxSegmentSize} by at most one batch. When writing fails, the segment is abandoned (see
+ * {@link #abandonSegment()}) and the batch is written again to a new segment.
+ */
+public class RollingFileAsyncHistorySink implements AsyncHistorySink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollingFileAsyncHistorySink.class);
+
+    public static final String SEGMENT_SUFFIX = ".json.gz";
+    public static final String IN_PROGRESS_SUFFIX = ".inprogress";
+    public static final String FAILED_SUFFIX = ".failed";
+
+    protected File directory;
+    protected String segmentPrefix = "flowable-history-";
+    protected long maxSegmentSize = 64L * 1024L * 1024L;
+    protected long maxSegmentAgeInMillis = 60L * 60L * 1000L;
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    protected File currentSegment;
+    protected CountingOutputStream currentOutputStream;
+    protected long currentSegmentCreateTime;
+    protected int segmentCounter;
+
+    public RollingFileAsyncHistorySink() {
+
+    }
+
+    public RollingFileAsyncHistorySink(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(List<ObjectNode> historyObjectNodes) throws IOException {
+        // The batch is serialized up front and written with one call, so a failing serialization never leaves a partial batch in the segment
+        ByteArrayOutputStream batchOutputStream = new ByteArrayOutputStream(historyObjectNodes.size() * 256);
+        for (ObjectNode historyObjectNode : historyObjectNodes) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(batchOutputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeTree(generator, historyObjectNode);
+            generator.close();
+            batchOutputStream.write('\n');
+        }
+
+        try {
+            if (currentOutputStream == null) {
+                openSegment();
+            }
+            batchOutputStream.writeTo(currentOutputStream);
+
+            if (currentOutputStream.getCount() >= maxSegmentSize
+                    || System.currentTimeMillis() - currentSegmentCreateTime >= maxSegmentAgeInMillis) {
+                closeSegment();
+            }
+
+        } catch (IOException e) {
+            abandonSegment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (currentOutputStream != null) {
+            try {
+                if (System.currentTimeMillis() - currentSegmentCreateTime >= maxSegmentAgeInMillis) {
+                    closeSegment();
+                } else {
+                    currentOutputStream.flush();
+                }
+
+            } catch (IOException e) {
+                abandonSegment();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSegment();
+    }
+
+    protected void openSegment() throws IOException {
+        if (directory == null) {
+            throw new FlowableIllegalArgumentException("No directory configured for the async history segments");
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new FlowableException("Could not create async history segment directory " + directory);
+        }
+
+        currentSegmentCreateTime = System.currentTimeMillis();
+        String segmentName = segmentPrefix + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date(currentSegmentCreateTime))
+                + "-" + String.format("%06d", segmentCounter++ % 1000000) + SEGMENT_SUFFIX;
+        currentSegment = new File(directory, segmentName + IN_PROGRESS_SUFFIX);
+
+        // The counting stream sits before the compression, it counts the uncompressed bytes; the gzip stream is sync flushed on flush()
+        OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(currentSegment), 64 * 1024);
+        currentOutputStream = new CountingOutputStream(new GZIPOutputStream(fileOutputStream, 8192, true));
+        LOGGER.debug("Opened async history segment {}", currentSegment);
+    }
+
+    protected void closeSegment() throws IOException {
+        if (currentOutputStream == null) {
+            return;
+        }
+
+        try {
+            currentOutputStream.close();
+        } finally {
+            currentOutputStream = null;
+        }
+
+        String segmentPath = currentSegment.getPath();
+        File completedSegment = new File(segmentPath.substring(0, segmentPath.length() - IN_PROGRESS_SUFFIX.length()));
+        if (!currentSegment.renameTo(completedSegment)) {
+            throw new IOException("Could not rename async history segment " + currentSegment + " to " + completedSegment);
+        }
+        LOGGER.debug("Completed async history segment {}", completedSegment);
+        currentSegment = null;
+    }
+
+    /**
+     * Gives up on the current segment after a failed write: the compressed stream can't be trusted anymore, and a batch that is written again must not end up twice in the
+     * same segment. The segment gets the {@link #FAILED_SUFFIX}, so it is never picked up as a complete segment, but the history flushed to it before the failure can still be
+     * recovered manually. The next write starts a new segment.
+     */
+    protected void abandonSegment() {
+        if (currentSegment == null) {
+            return;
+        }
+
+        if (currentOutputStream != null) {
+            try {
+                currentOutputStream.close();
+            } catch (IOException e) {
+                LOGGER.debug("Could not close failed async history segment {}", currentSegment, e);
+            }
+            currentOutputStream = null;
+        }
+
+        File failedSegment = new File(currentSegment.getPath() + FAILED_SUFFIX);
+        if (currentSegment.renameTo(failedSegment)) {
+            LOGGER.warn("Abandoned async history segment {} after a failed write", failedSegment);
+        } else {
+            LOGGER.warn("Abandoned async history segment {} after a failed write, it could not be renamed to {}", currentSegment, failedSegment);
+        }
+        currentSegment = null;
+    }
+
+    @Override
+    public String toString() {
+        return "RollingFileAsyncHistorySink[" + directory + "]";
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    public String getSegmentPrefix() {
+        return segmentPrefix;
+    }
+
+    public void setSegmentPrefix(String segmentPrefix) {
+        this.segmentPrefix = segmentPrefix;
+    }
+
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public long getMaxSegmentAgeInMillis() {
+        return maxSegmentAgeInMillis;
+    }
+
+    public void setMaxSegmentAgeInMillis(long maxSegmentAgeInMillis) {
+        this.maxSegmentAgeInMillis = maxSegmentAgeInMillis;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    protected static class CountingOutputStream extends FilterOutputStream {
+
+        protected long count;
+
+        public CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,380 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.cfg.TransactionContext;
+import org.flowable.engine.common.impl.cfg.TransactionListener;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link AsyncHistoryListener} streaming the historic data to an {@link AsyncHistorySink}, instead of (or next to) creating async history jobs.
+ * <p>
+ * The historic data of a transaction is handed over after the commit, so data of rolled back transactions is never exported. It is put on a bounded queue, which is drained by
+ * one writer thread that passes it to the sink in batches of at most {@link #batchSize} elements. When the sink can't keep up and the queue is full, the committing threads wait
+ * at most {@link #handOverTimeoutInMillis} for room (back-pressure), instead of buffering an unbounded amount of history in memory.
+ * <p>
+ * A failed write is retried {@link #maxWriteRetries} times for the same batch. When the sink keeps failing, or a committing thread can't hand over its historic data in time, or
+ * the listener has been shut down, the historic data is dropped: this is logged as an error and counted in {@link #getDroppedHistoryObjectCount()}. The history in the ACT_HI
+ * tables (when a {@link #databaseAsyncHistoryListener} is set) is not affected by this.
+ * <p>
+ * When a {@link #databaseAsyncHistoryListener} is set (typically the {@link DefaultAsyncHistoryJobProducer}), it receives the historic data as well, so it also ends up in the ACT_HI
+ * tables ("sink plus database"). Without it, the history is only written to the sink ("sink only"). Which historic data is generated at all is still determined by the history level.
+ */
+public class StreamingAsyncHistoryListener implements AsyncHistoryListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingAsyncHistoryListener.class);
+
+    protected AsyncHistorySink sink;
+    protected AsyncHistoryListener databaseAsyncHistoryListener;
+
+    protected int queueSize = 10000;
+    protected int batchSize = 500;
+    protected long flushIntervalInMillis = 1000L;
+    protected long writeRetryWaitTimeInMillis = 1000L;
+    protected int maxWriteRetries = 3;
+    protected long handOverTimeoutInMillis = 10000L;
+
+    protected BlockingQueue<ObjectNode> queue;
+    protected Thread writerThread;
+    protected volatile boolean isActive;
+    protected volatile boolean isShutdown;
+    protected final AtomicInteger activeHandOvers = new AtomicInteger();
+
+    protected final AtomicLong writtenHistoryObjects = new AtomicLong();
+    protected final AtomicLong blockedHandOvers = new AtomicLong();
+    protected final AtomicLong droppedHistoryObjects = new AtomicLong();
+
+    public StreamingAsyncHistoryListener() {
+
+    }
+
+    public StreamingAsyncHistoryListener(AsyncHistorySink sink) {
+        this.sink = sink;
+    }
+
+    public StreamingAsyncHistoryListener(AsyncHistorySink sink, AsyncHistoryListener databaseAsyncHistoryListener) {
+        this.sink = sink;
+        this.databaseAsyncHistoryListener = databaseAsyncHistoryListener;
+    }
+
+    @Override
+    public void historyDataGenerated(final List<ObjectNode> historyObjectNodes) {
+        if (databaseAsyncHistoryListener != null) {
+            databaseAsyncHistoryListener.historyDataGenerated(historyObjectNodes);
+        }
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+                @Override
+                public void execute(CommandContext commandContext) {
+                    handOver(historyObjectNodes);
+                }
+            });
+        } else {
+            handOver(historyObjectNodes);
+        }
+    }
+
+    protected void handOver(List<ObjectNode> historyObjectNodes) {
+        if (!isActive && !isShutdown) {
+            startOnFirstHandOver();
+        }
+
+        // The writer thread keeps running until all running hand-overs are done, so nothing is left in the queue after it stopped
+        activeHandOvers.incrementAndGet();
+        try {
+            if (isShutdown) {
+                // The sink is closed, the writer thread is not restarted
+                dropHistoricData(historyObjectNodes.size(), "the async history sink has been shut down");
+                return;
+            }
+
+            for (int i = 0; i < historyObjectNodes.size(); i++) {
+                ObjectNode historyObjectNode = historyObjectNodes.get(i);
+                if (!queue.offer(historyObjectNode)) {
+                    blockedHandOvers.incrementAndGet();
+                    LOGGER.debug("Async history sink queue is full, waiting for the sink to catch up");
+                    if (!queue.offer(historyObjectNode, handOverTimeoutInMillis, TimeUnit.MILLISECONDS)) {
+                        dropHistoricData(historyObjectNodes.size() - i, "the async history sink queue stayed full for " + handOverTimeoutInMillis + " ms");
+                        return;
+                    }
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlowableException("Interrupted while handing over historic data to the async history sink", e);
+
+        } finally {
+            activeHandOvers.decrementAndGet();
+        }
+    }
+
+    protected void dropHistoricData(int historyObjectCount, String reason) {
+        droppedHistoryObjects.addAndGet(historyObjectCount);
+        LOGGER.error("Dropped {} historic data elements for async history sink {}: {}", historyObjectCount, sink, reason);
+    }
+
+    protected synchronized void startOnFirstHandOver() {
+        if (!isShutdown) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the writer thread. This happens automatically for the first historic data, but not anymore after {@link #shutdown()}: the sink has been closed then, so a restart
+     * needs an explicit call of this method.
+     */
+    public synchronized void start() {
+        if (isActive) {
+            return;
+        }
+        if (sink == null) {
+            throw new FlowableIllegalArgumentException("No async history sink configured");
+        }
+
+        LOGGER.info("Starting streaming of async history to {}", sink);
+        if (queue == null) {
+            queue = new ArrayBlockingQueue<>(queueSize);
+        }
+        isActive = true;
+        isShutdown = false;
+        writerThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                writeHistoricData();
+            }
+        }, "flowable-async-history-sink");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stops the writer thread after all queued historic data, including that of hand-overs still running when the shutdown starts, has been written, and closes the sink.
+     * Historic data handed over afterwards is dropped.
+     */
+    public synchronized void shutdown() {
+        if (!isActive) {
+            return;
+        }
+
+        LOGGER.info("Shutting down streaming of async history to {}", sink);
+        isShutdown = true;
+        isActive = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting for the async history sink writer to finish");
+        }
+        writerThread = null;
+
+        try {
+            sink.close();
+        } catch (Exception e) {
+            LOGGER.error("Could not close async history sink {}", sink, e);
+        }
+    }
+
+    protected void writeHistoricData() {
+        List<ObjectNode> batch = new ArrayList<>(batchSize);
+        boolean unflushedData = false;
+        int failedAttempts = 0;
+        boolean discardHistoricData = false;
+        boolean interrupted = false;
+        while (isActive || activeHandOvers.get() > 0 || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    ObjectNode historyObjectNode = queue.poll(flushIntervalInMillis, TimeUnit.MILLISECONDS);
+                    if (historyObjectNode == null) {
+                        if (unflushedData && !discardHistoricData) {
+                            sink.flush();
+                            unflushedData = false;
+                        }
+                        continue;
+                    }
+                    batch.add(historyObjectNode);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                if (discardHistoricData) {
+                    // Still drained until the last hand-over is done, so no historic data is left behind unnoticed in the queue
+                    droppedHistoryObjects.addAndGet(batch.size());
+                    batch.clear();
+                    continue;
+                }
+
+                sink.write(batch);
+                writtenHistoryObjects.addAndGet(batch.size());
+                batch.clear();
+                unflushedData = true;
+                failedAttempts = 0;
+
+                if (queue.isEmpty()) {
+                    sink.flush();
+                    unflushedData = false;
+                }
+
+            } catch (InterruptedException e) {
+                LOGGER.error("Async history sink writer interrupted, the remaining historic data is dropped");
+                interrupted = true;
+                discardHistoricData = true;
+
+            } catch (Exception e) {
+                if (!isActive) {
+                    LOGGER.error("Could not write {} historic data elements to async history sink {} while shutting down, the remaining historic data is dropped", batch.size(), sink, e);
+                    discardHistoricData = true;
+                    continue;
+                }
+
+                if (++failedAttempts > maxWriteRetries) {
+                    LOGGER.error("Could not write {} historic data elements to async history sink {}, giving up after {} retries", batch.size(), sink, maxWriteRetries, e);
+                    droppedHistoryObjects.addAndGet(batch.size());
+                    batch.clear();
+                    failedAttempts = 0;
+                    continue;
+                }
+
+                // The sink starts over with the whole batch (e.g. the rolling file sink writes it to a new segment); meanwhile the queue fills up and slows down the committing threads
+                LOGGER.error("Could not write {} historic data elements to async history sink {}, retrying in {} ms", batch.size(), sink, writeRetryWaitTimeInMillis, e);
+                try {
+                    Thread.sleep(writeRetryWaitTimeInMillis);
+                } catch (InterruptedException ie) {
+                    LOGGER.error("Async history sink writer interrupted, the remaining historic data is dropped");
+                    interrupted = true;
+                    discardHistoricData = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of historic data elements that are waiting to be written to the sink.
+     */
+    public int getQueuedHistoryObjectCount() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Returns the number of historic data elements written to the sink.
+     */
+    public long getWrittenHistoryObjectCount() {
+        return writtenHistoryObjects.get();
+    }
+
+    /**
+     * Returns the number of times a committing thread had to wait, because the queue was full.
+     */
+    public long getBlockedHandOverCount() {
+        return blockedHandOvers.get();
+    }
+
+    /**
+     * Returns the number of historic data elements that were not written to the sink, because it kept failing, its queue stayed full or it was already shut down.
+     */
+    public long getDroppedHistoryObjectCount() {
+        return droppedHistoryObjects.get();
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public AsyncHistorySink getSink() {
+        return sink;
+    }
+
+    public void setSink(AsyncHistorySink sink) {
+        this.sink = sink;
+    }
+
+    public AsyncHistoryListener getDatabaseAsyncHistoryListener() {
+        return databaseAsyncHistoryListener;
+    }
+
+    public void setDatabaseAsyncHistoryListener(AsyncHistoryListener databaseAsyncHistoryListener) {
+        this.databaseAsyncHistoryListener = databaseAsyncHistoryListener;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalInMillis() {
+        return flushIntervalInMillis;
+    }
+
+    public void setFlushIntervalInMillis(long flushIntervalInMillis) {
+        this.flushIntervalInMillis = flushIntervalInMillis;
+    }
+
+    public long getWriteRetryWaitTimeInMillis() {
+        return writeRetryWaitTimeInMillis;
+    }
+
+    public void setWriteRetryWaitTimeInMillis(long writeRetryWaitTimeInMillis) {
+        this.writeRetryWaitTimeInMillis = writeRetryWaitTimeInMillis;
+    }
+
+    public int getMaxWriteRetries() {
+        return maxWriteRetries;
+    }
+
+    public void setMaxWriteRetries(int maxWriteRetries) {
+        this.maxWriteRetries = maxWriteRetries;
+    }
+
+    public long getHandOverTimeoutInMillis() {
+        return handOverTimeoutInMillis;
+    }
+
+    public void setHandOverTimeoutInMillis(long handOverTimeoutInMillis) {
+        this.handOverTimeoutInMillis = handOverTimeoutInMillis;
+    }
+
+}
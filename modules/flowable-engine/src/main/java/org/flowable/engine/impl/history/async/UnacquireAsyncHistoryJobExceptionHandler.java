@@ -24,8 +24,7 @@ public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableEx
 
     @Override
     public boolean handleException(final ProcessEngineConfigurationImpl processEngineConfiguration, final JobInfo job, final Throwable exception) {
-        if (job != null 
-                && (AsyncHistoryJobHandler.JOB_TYPE.equals(job.getJobHandlerType()) || AsyncHistoryJobZippedHandler.JOB_TYPE.equals(job.getJobHandlerType()) ) ) {
+        if (job != null && isAsyncHistoryJob(processEngineConfiguration, job)) {
             
             return processEngineConfiguration.getCommandExecutor().execute(new Command<Boolean>() {
                 public Boolean execute(CommandContext commandContext) {
@@ -42,4 +41,13 @@ public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableEx
         return false;
     }
 
+    protected boolean isAsyncHistoryJob(ProcessEngineConfigurationImpl processEngineConfiguration, JobInfo job) {
+        if (AsyncHistoryJobHandler.JOB_TYPE.equals(job.getJobHandlerType()) || AsyncHistoryJobZippedHandler.JOB_TYPE.equals(job.getJobHandlerType())) {
+            return true;
+        }
+        // jobs with a payload of a configured codec
+        return processEngineConfiguration.getHistoryJobHandlers() != null
+                && processEngineConfiguration.getHistoryJobHandlers().get(job.getJobHandlerType()) instanceof AbstractAsyncHistoryJobHandler;
+    }
+
 }
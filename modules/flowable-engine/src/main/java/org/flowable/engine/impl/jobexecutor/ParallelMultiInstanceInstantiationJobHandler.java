@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the next chunk of instances of a parallel multi instance activity (see {@link ParallelMultiInstanceBehavior}). The job belongs to the multi instance root
+ * execution and its configuration is the loop counter of the first instance of the chunk.
+ */
+public class ParallelMultiInstanceInstantiationJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelMultiInstanceInstantiationJobHandler.class);
+
+    public static final String TYPE = "parallel-multi-instance-instantiation";
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        // The job is deleted together with the multi instance root execution, e.g. when the completion condition is satisfied
+        if (execution == null || execution.isEnded() || !execution.isMultiInstanceRoot()) {
+            LOGGER.debug("Multi instance root execution of job {} does not exist anymore, no instances are created", job.getId());
+            return;
+        }
+
+        FlowElement flowElement = execution.getCurrentFlowElement();
+        if (!(flowElement instanceof FlowNode) || !(((FlowNode) flowElement).getBehavior() instanceof ParallelMultiInstanceBehavior)) {
+            LOGGER.debug("Execution {} is not at a parallel multi instance activity anymore, no instances are created", execution.getId());
+            return;
+        }
+
+        ParallelMultiInstanceBehavior multiInstanceBehavior = (ParallelMultiInstanceBehavior) ((FlowNode) flowElement).getBehavior();
+        multiInstanceBehavior.createInstancesChunk(execution, Integer.parseInt(configuration));
+    }
+
+}
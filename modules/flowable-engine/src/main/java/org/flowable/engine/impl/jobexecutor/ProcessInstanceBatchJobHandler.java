@@ -0,0 +1,231 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.ActivateProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.DeleteProcessInstanceCmd;
+import org.flowable.engine.impl.cmd.SuspendProcessInstanceCmd;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Executes an operation (delete, suspend, activate or delete the history) on many process instances in small transactions instead of one command per process instance
+ * (see {@link org.flowable.engine.RuntimeService#deleteProcessInstancesAsync(Collection, String)}).
+ * <p>
+ * The process instance ids are split into jobs of at most batchSize process instances, which share the id of the batch in their configuration. A job gets less process
+ * instances when their ids don't fit in {@link ProcessEngineConfigurationImpl#MAX_LENGTH_JOB_HANDLER_CONFIGURATION} characters. Each job handles its process instances in one
+ * transaction, the same way as the single process instance commands. When a job fails, only the process instances of that job are retried. A process instance that doesn't
+ * exist anymore or already has the requested state is skipped, so a retried job doesn't fail on the process instances that were handled before.
+ * <p>
+ * Deleting historic process instances uses the bulk delete operations of the history (details, variables, activity and task instances, identity links and comments), which
+ * are executed in the single flush at the end of the job. Deleting running process instances still loads the execution tree of each process instance, like
+ * {@link DeleteProcessInstanceCmd}: the executions are needed to end the process instance properly (cancel events and listeners, sub process instances, history), so the
+ * runtime data isn't removed with bulk deletes. The gain is one transaction and one flush per job instead of per process instance.
+ * <p>
+ * The progress of a batch is derived from the jobs of the batch that still exist, no additional state is stored.
+ */
+public class ProcessInstanceBatchJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceBatchJobHandler.class);
+
+    public static final String TYPE = "process-instance-batch";
+
+    public static final String OPERATION_DELETE = "delete";
+    public static final String OPERATION_SUSPEND = "suspend";
+    public static final String OPERATION_ACTIVATE = "activate";
+    public static final String OPERATION_DELETE_HISTORIC = "deleteHistoric";
+
+    protected static final String CFG_BATCH_ID = "batchId";
+    protected static final String CFG_OPERATION = "operation";
+    protected static final String CFG_DELETE_REASON = "deleteReason";
+    protected static final String CFG_PROCESS_INSTANCE_IDS = "processInstanceIds";
+
+    // The length of the ID_ columns
+    protected static final int MAX_LENGTH_ID = 64;
+
+    public String getType() {
+        return TYPE;
+    }
+
+    /**
+     * Returns the pattern matching the configuration of all jobs of the given batch, the batch id is always the first field of the configuration.
+     */
+    public static String getJobHandlerConfigurationLike(String batchId) {
+        return "{\"" + CFG_BATCH_ID + "\":\"" + batchId + "\",%";
+    }
+
+    /**
+     * Schedules the jobs of a batch, each job handles at most batchSize process instances. The process instance ids and the delete reason are stored in the job configuration,
+     * so a job gets less process instances when its configuration would get longer than {@link ProcessEngineConfigurationImpl#MAX_LENGTH_JOB_HANDLER_CONFIGURATION}.
+     * 
+     * @return the number of scheduled jobs
+     */
+    public static int scheduleBatch(String batchId, String operation, Collection<String> processInstanceIds, String deleteReason, int batchSize, CommandContext commandContext) {
+        if (!OPERATION_DELETE.equals(operation) && !OPERATION_SUSPEND.equals(operation) && !OPERATION_ACTIVATE.equals(operation)
+                && !OPERATION_DELETE_HISTORIC.equals(operation)) {
+            throw new FlowableIllegalArgumentException("Unknown process instance batch operation " + operation);
+        }
+        if (batchSize < 1) {
+            throw new FlowableIllegalArgumentException("The process instance batch size must be at least 1, but was " + batchSize);
+        }
+
+        // The length of a job configuration without process instance ids, which must leave room for at least one id
+        int emptyConfigurationLength = createConfiguration(batchId, operation, Collections.<String>emptyList(), deleteReason, commandContext).toString().length();
+        if (emptyConfigurationLength + MAX_LENGTH_ID + 2 > ProcessEngineConfigurationImpl.MAX_LENGTH_JOB_HANDLER_CONFIGURATION) {
+            throw new FlowableIllegalArgumentException("The delete reason is too long for an asynchronous batch operation, the job configuration would exceed "
+                    + ProcessEngineConfigurationImpl.MAX_LENGTH_JOB_HANDLER_CONFIGURATION + " characters");
+        }
+
+        int jobCount = 0;
+        List<String> jobProcessInstanceIds = new ArrayList<>(batchSize);
+        int configurationLength = emptyConfigurationLength;
+        for (String processInstanceId : processInstanceIds) {
+            // The quoted id, plus a separating comma
+            int processInstanceIdLength = TextNode.valueOf(processInstanceId).toString().length() + 1;
+            if (!jobProcessInstanceIds.isEmpty() && configurationLength + processInstanceIdLength > ProcessEngineConfigurationImpl.MAX_LENGTH_JOB_HANDLER_CONFIGURATION) {
+                scheduleJob(batchId, operation, jobProcessInstanceIds, deleteReason, commandContext);
+                jobProcessInstanceIds = new ArrayList<>(batchSize);
+                configurationLength = emptyConfigurationLength;
+                jobCount++;
+            }
+
+            jobProcessInstanceIds.add(processInstanceId);
+            configurationLength += processInstanceIdLength;
+            if (jobProcessInstanceIds.size() == batchSize) {
+                scheduleJob(batchId, operation, jobProcessInstanceIds, deleteReason, commandContext);
+                jobProcessInstanceIds = new ArrayList<>(batchSize);
+                configurationLength = emptyConfigurationLength;
+                jobCount++;
+            }
+        }
+        if (!jobProcessInstanceIds.isEmpty()) {
+            scheduleJob(batchId, operation, jobProcessInstanceIds, deleteReason, commandContext);
+            jobCount++;
+        }
+
+        LOGGER.debug("Scheduled {} jobs to {} {} process instances (batch {})", jobCount, operation, processInstanceIds.size(), batchId);
+        return jobCount;
+    }
+
+    /**
+     * Returns the ids of the process instances of the given job configuration.
+     */
+    public static List<String> getProcessInstanceIds(String configuration, ObjectMapper objectMapper) {
+        JsonNode configurationNode = readConfiguration(configuration, objectMapper);
+        List<String> processInstanceIds = new ArrayList<>();
+        for (JsonNode processInstanceIdNode : configurationNode.get(CFG_PROCESS_INSTANCE_IDS)) {
+            processInstanceIds.add(processInstanceIdNode.asText());
+        }
+        return processInstanceIds;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        JsonNode configurationNode = readConfiguration(configuration, CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper());
+        String operation = configurationNode.get(CFG_OPERATION).asText();
+        JsonNode deleteReasonNode = configurationNode.get(CFG_DELETE_REASON);
+        String deleteReason = deleteReasonNode != null && !deleteReasonNode.isNull() ? deleteReasonNode.asText() : null;
+
+        for (JsonNode processInstanceIdNode : configurationNode.get(CFG_PROCESS_INSTANCE_IDS)) {
+            String processInstanceId = processInstanceIdNode.asText();
+            if (OPERATION_DELETE_HISTORIC.equals(operation)) {
+                deleteHistoricProcessInstance(processInstanceId, commandContext);
+            } else {
+                executeRuntimeOperation(operation, processInstanceId, deleteReason, commandContext);
+            }
+        }
+    }
+
+    protected void executeRuntimeOperation(String operation, String processInstanceId, String deleteReason, CommandContext commandContext) {
+        ExecutionEntity processInstance = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+        if (processInstance == null) {
+            LOGGER.debug("Process instance {} does not exist anymore, skipping {}", processInstanceId, operation);
+            return;
+        }
+
+        if (OPERATION_DELETE.equals(operation)) {
+            new DeleteProcessInstanceCmd(processInstanceId, deleteReason).execute(commandContext);
+
+        } else if (OPERATION_SUSPEND.equals(operation)) {
+            if (!processInstance.isSuspended()) {
+                new SuspendProcessInstanceCmd(processInstanceId).execute(commandContext);
+            }
+
+        } else if (OPERATION_ACTIVATE.equals(operation)) {
+            if (processInstance.isSuspended()) {
+                new ActivateProcessInstanceCmd(processInstanceId).execute(commandContext);
+            }
+
+        } else {
+            throw new FlowableException("Unknown process instance batch operation " + operation);
+        }
+    }
+
+    protected void deleteHistoricProcessInstance(String processInstanceId, CommandContext commandContext) {
+        HistoricProcessInstance historicProcessInstance = CommandContextUtil.getHistoricProcessInstanceEntityManager(commandContext).findById(processInstanceId);
+        if (historicProcessInstance == null) {
+            LOGGER.debug("Historic process instance {} does not exist anymore, skipping delete", processInstanceId);
+            return;
+        }
+        new DeleteHistoricProcessInstanceCmd(processInstanceId).execute(commandContext);
+    }
+
+    protected static void scheduleJob(String batchId, String operation, List<String> processInstanceIds, String deleteReason, CommandContext commandContext) {
+        JobEntity job = CommandContextUtil.getJobEntityManager(commandContext).create();
+        job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+        job.setJobHandlerType(TYPE);
+        job.setJobHandlerConfiguration(createConfiguration(batchId, operation, processInstanceIds, deleteReason, commandContext).toString());
+        CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(job);
+    }
+
+    protected static ObjectNode createConfiguration(String batchId, String operation, List<String> processInstanceIds, String deleteReason, CommandContext commandContext) {
+        ObjectNode configurationNode = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().createObjectNode();
+        configurationNode.put(CFG_BATCH_ID, batchId);
+        configurationNode.put(CFG_OPERATION, operation);
+        configurationNode.put(CFG_DELETE_REASON, deleteReason);
+        ArrayNode processInstanceIdsNode = configurationNode.putArray(CFG_PROCESS_INSTANCE_IDS);
+        for (String processInstanceId : processInstanceIds) {
+            processInstanceIdsNode.add(processInstanceId);
+        }
+        return configurationNode;
+    }
+
+    protected static JsonNode readConfiguration(String configuration, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.readTree(configuration);
+        } catch (IOException e) {
+            throw new FlowableException("Could not read process instance batch job configuration " + configuration, e);
+        }
+    }
+
+}
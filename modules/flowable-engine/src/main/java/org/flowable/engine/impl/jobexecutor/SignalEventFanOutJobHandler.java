@@ -0,0 +1,279 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.compatibility.Flowable5CompatibilityHandler;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.flowable.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.Flowable5Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Delivers a signal to its subscriptions in many small transactions instead of one (see {@link org.flowable.engine.RuntimeService#signalEventReceivedFanOut(String)}).
+ * <p>
+ * A delivery consists of two kinds of jobs, which share the id of the delivery in their configuration:
+ * <ul>
+ * <li>a page job reads the next page of subscriptions (ordered by id) that existed when the signal was received, splits it into batch jobs and schedules the job for the next
+ * page when the page was full;</li>
+ * <li>a batch job triggers its subscriptions in one transaction, the same way as a synchronously received signal. When it fails, only the subscriptions of that batch are
+ * retried.</li>
+ * </ul>
+ * The progress of a delivery is derived from the jobs of the delivery that still exist, no additional state is stored.
+ */
+public class SignalEventFanOutJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SignalEventFanOutJobHandler.class);
+
+    public static final String TYPE = "signal-fan-out";
+
+    protected static final String CFG_DELIVERY_ID = "deliveryId";
+    protected static final String CFG_SIGNAL_NAME = "signalName";
+    protected static final String CFG_TENANT_ID = "tenantId";
+    protected static final String CFG_CREATED_BEFORE = "createdBefore";
+    protected static final String CFG_AFTER_ID = "afterId";
+    protected static final String CFG_SUBSCRIPTION_IDS = "subscriptionIds";
+
+    /**
+     * The number of subscriptions read by one page job.
+     */
+    protected int pageSize = 1000;
+
+    /**
+     * The maximum number of subscriptions triggered by one batch job. The ids of the subscriptions are stored in the job configuration, so a batch is closed earlier when the
+     * next id would make the configuration longer than {@link #maxConfigurationLength}.
+     */
+    protected int batchSize = 50;
+
+    /**
+     * The maximum length of the configuration of a batch job, by default the length that fits on every supported database.
+     */
+    protected int maxConfigurationLength = ProcessEngineConfigurationImpl.MAX_LENGTH_JOB_HANDLER_CONFIGURATION;
+
+    public String getType() {
+        return TYPE;
+    }
+
+    /**
+     * Returns the pattern matching the configuration of all jobs of the given delivery, the delivery id is always the first field of the configuration.
+     */
+    public static String getJobHandlerConfigurationLike(String deliveryId) {
+        return "{\"" + CFG_DELIVERY_ID + "\":\"" + deliveryId + "\",%";
+    }
+
+    /**
+     * Schedules the first page job of a new delivery, the subscriptions created after the given time are not part of the delivery.
+     */
+    public static void scheduleDelivery(String deliveryId, String signalName, String tenantId, Date createdBefore, CommandContext commandContext) {
+        schedulePageJob(deliveryId, signalName, tenantId, createdBefore.getTime(), null, commandContext);
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        JsonNode configurationNode = readConfiguration(configuration, commandContext);
+        if (configurationNode.has(CFG_SUBSCRIPTION_IDS)) {
+            deliverBatch(configurationNode, commandContext);
+        } else {
+            schedulePage(configurationNode, commandContext);
+        }
+    }
+
+    protected void schedulePage(JsonNode configurationNode, CommandContext commandContext) {
+        String deliveryId = configurationNode.get(CFG_DELIVERY_ID).asText();
+        String signalName = configurationNode.get(CFG_SIGNAL_NAME).asText();
+        String tenantId = getText(configurationNode, CFG_TENANT_ID);
+        long createdBefore = configurationNode.get(CFG_CREATED_BEFORE).asLong();
+        String afterId = getText(configurationNode, CFG_AFTER_ID);
+
+        List<SignalEventSubscriptionEntity> subscriptions = CommandContextUtil.getEventSubscriptionEntityManager(commandContext)
+                .findSignalEventSubscriptionsPageByEventName(signalName, tenantId, new Date(createdBefore), afterId, pageSize);
+
+        // The length of a batch job configuration without subscription ids, e.g. {"deliveryId":"...","subscriptionIds":[]}
+        ObjectNode emptyBatchConfigurationNode = createConfiguration(deliveryId, commandContext);
+        emptyBatchConfigurationNode.putArray(CFG_SUBSCRIPTION_IDS);
+        int emptyBatchConfigurationLength = emptyBatchConfigurationNode.toString().length();
+
+        List<String> subscriptionIds = new ArrayList<>(batchSize);
+        int configurationLength = emptyBatchConfigurationLength;
+        int batchCount = 0;
+        for (SignalEventSubscriptionEntity subscription : subscriptions) {
+            // Process instance scoped signals must be thrown within the process itself
+            if (subscription.isGlobalScoped()) {
+                // The quoted id, plus a separating comma
+                int subscriptionIdLength = TextNode.valueOf(subscription.getId()).toString().length() + 1;
+                if (!subscriptionIds.isEmpty() && configurationLength + subscriptionIdLength > maxConfigurationLength) {
+                    scheduleBatchJob(deliveryId, tenantId, subscriptionIds, commandContext);
+                    subscriptionIds = new ArrayList<>(batchSize);
+                    configurationLength = emptyBatchConfigurationLength;
+                    batchCount++;
+                }
+
+                subscriptionIds.add(subscription.getId());
+                configurationLength += subscriptionIdLength;
+                if (subscriptionIds.size() == batchSize) {
+                    scheduleBatchJob(deliveryId, tenantId, subscriptionIds, commandContext);
+                    subscriptionIds = new ArrayList<>(batchSize);
+                    configurationLength = emptyBatchConfigurationLength;
+                    batchCount++;
+                }
+            }
+        }
+        if (!subscriptionIds.isEmpty()) {
+            scheduleBatchJob(deliveryId, tenantId, subscriptionIds, commandContext);
+            batchCount++;
+        }
+
+        if (subscriptions.size() == pageSize) {
+            schedulePageJob(deliveryId, signalName, tenantId, createdBefore, subscriptions.get(subscriptions.size() - 1).getId(), commandContext);
+        }
+
+        LOGGER.debug("Scheduled {} batch jobs for {} subscriptions of signal {} (delivery {})", batchCount, subscriptions.size(), signalName, deliveryId);
+    }
+
+    protected void deliverBatch(JsonNode configurationNode, CommandContext commandContext) {
+        EventSubscriptionEntityManager eventSubscriptionEntityManager = CommandContextUtil.getEventSubscriptionEntityManager(commandContext);
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+
+        for (JsonNode subscriptionIdNode : configurationNode.get(CFG_SUBSCRIPTION_IDS)) {
+            EventSubscriptionEntity eventSubscription = eventSubscriptionEntityManager.findById(subscriptionIdNode.asText());
+
+            // The subscription can be gone in the meantime, e.g. because the process instance was deleted
+            if (!(eventSubscription instanceof SignalEventSubscriptionEntity)) {
+                continue;
+            }
+
+            ExecutionEntity subscriptionExecution = eventSubscription.getExecution();
+            if (subscriptionExecution != null && subscriptionExecution.isSuspended()) {
+                continue;
+            }
+
+            SignalEventSubscriptionEntity signalEventSubscription = (SignalEventSubscriptionEntity) eventSubscription;
+            if (Flowable5Util.isFlowable5ProcessDefinitionId(commandContext, signalEventSubscription.getProcessDefinitionId())) {
+                Flowable5CompatibilityHandler compatibilityHandler = Flowable5Util.getFlowable5CompatibilityHandler();
+                compatibilityHandler.signalEventReceived(signalEventSubscription, null, false);
+
+            } else {
+                processEngineConfiguration.getEventDispatcher().dispatchEvent(
+                        FlowableEventBuilder.createSignalEvent(FlowableEngineEventType.ACTIVITY_SIGNALED, signalEventSubscription.getActivityId(),
+                                signalEventSubscription.getEventName(), null, signalEventSubscription.getExecutionId(),
+                                signalEventSubscription.getProcessInstanceId(), signalEventSubscription.getProcessDefinitionId()));
+
+                eventSubscriptionEntityManager.eventReceived(signalEventSubscription, null, false);
+            }
+        }
+    }
+
+    protected static void schedulePageJob(String deliveryId, String signalName, String tenantId, long createdBefore, String afterId, CommandContext commandContext) {
+        ObjectNode configurationNode = createConfiguration(deliveryId, commandContext);
+        configurationNode.put(CFG_SIGNAL_NAME, signalName);
+        configurationNode.put(CFG_TENANT_ID, tenantId);
+        configurationNode.put(CFG_CREATED_BEFORE, createdBefore);
+        configurationNode.put(CFG_AFTER_ID, afterId);
+        scheduleJob(configurationNode, tenantId, commandContext);
+    }
+
+    protected static void scheduleBatchJob(String deliveryId, String tenantId, List<String> subscriptionIds, CommandContext commandContext) {
+        ObjectNode configurationNode = createConfiguration(deliveryId, commandContext);
+        ArrayNode subscriptionIdsNode = configurationNode.putArray(CFG_SUBSCRIPTION_IDS);
+        for (String subscriptionId : subscriptionIds) {
+            subscriptionIdsNode.add(subscriptionId);
+        }
+        scheduleJob(configurationNode, tenantId, commandContext);
+    }
+
+    protected static ObjectNode createConfiguration(String deliveryId, CommandContext commandContext) {
+        ObjectNode configurationNode = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().createObjectNode();
+        configurationNode.put(CFG_DELIVERY_ID, deliveryId);
+        return configurationNode;
+    }
+
+    protected static void scheduleJob(ObjectNode configurationNode, String tenantId, CommandContext commandContext) {
+        JobEntity job = CommandContextUtil.getJobEntityManager(commandContext).create();
+        job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+        job.setJobHandlerType(TYPE);
+        job.setJobHandlerConfiguration(configurationNode.toString());
+        if (tenantId != null && !ProcessEngineConfiguration.NO_TENANT_ID.equals(tenantId)) {
+            job.setTenantId(tenantId);
+        }
+        CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(job);
+    }
+
+    protected JsonNode readConfiguration(String configuration, CommandContext commandContext) {
+        ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
+        try {
+            return objectMapper.readTree(configuration);
+        } catch (IOException e) {
+            throw new FlowableException("Could not read signal fan-out job configuration " + configuration, e);
+        }
+    }
+
+    protected String getText(JsonNode configurationNode, String fieldName) {
+        JsonNode fieldNode = configurationNode.get(fieldName);
+        if (fieldNode == null || fieldNode.isNull()) {
+            return null;
+        }
+        return fieldNode.asText();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new FlowableIllegalArgumentException("The signal fan-out page size must be at least 1, but was " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new FlowableIllegalArgumentException("The signal fan-out batch size must be at least 1, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxConfigurationLength() {
+        return maxConfigurationLength;
+    }
+
+    public void setMaxConfigurationLength(int maxConfigurationLength) {
+        this.maxConfigurationLength = maxConfigurationLength;
+    }
+
+}
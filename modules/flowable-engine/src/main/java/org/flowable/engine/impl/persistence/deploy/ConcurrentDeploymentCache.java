@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import org.flowable.engine.common.impl.persistence.deploy.AbstractConcurrentDeploymentCache;
+
+/**
+ * Cache with lock-free reads and approximate LRU eviction, unless no limit is set.
+ * See {@link AbstractConcurrentDeploymentCache}.
+ */
+public class ConcurrentDeploymentCache<T> extends AbstractConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+    /** Cache with no limit */
+    public ConcurrentDeploymentCache() {
+        super();
+    }
+
+    /**
+     * Cache which has a limit: the least recently used elements are evicted when more elements than the limit are cached.
+     */
+    public ConcurrentDeploymentCache(int limit) {
+        super(limit);
+    }
+
+}
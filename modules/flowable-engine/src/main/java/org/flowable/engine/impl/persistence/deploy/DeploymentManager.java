@@ -214,6 +214,11 @@ public class DeploymentManager {
 
         appResourceCache.remove(deploymentId);
         knowledgeBaseCache.remove(deploymentId);
+
+        // compiled scripts aren't tracked per deployment
+        if (processEngineConfiguration.getScriptingEngines() != null) {
+            processEngineConfiguration.getScriptingEngines().clearCompiledScripts();
+        }
     }
 
     // getters and setters
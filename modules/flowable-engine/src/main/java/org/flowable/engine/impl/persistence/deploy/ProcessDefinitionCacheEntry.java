@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
+import org.flowable.engine.impl.util.ProcessReachabilityIndex;
 import org.flowable.engine.repository.ProcessDefinition;
 
 /**
@@ -29,6 +30,11 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected BpmnModel bpmnModel;
     protected Process process;
 
+    /**
+     * Built when the process definition is parsed if the process contains an inclusive gateway, otherwise on first use.
+     */
+    protected volatile ProcessReachabilityIndex reachabilityIndex;
+
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
         this.bpmnModel = bpmnModel;
@@ -59,4 +65,18 @@ public class ProcessDefinitionCacheEntry implements Serializable {
         this.process = process;
     }
 
+    public ProcessReachabilityIndex getReachabilityIndex() {
+        ProcessReachabilityIndex index = reachabilityIndex;
+        if (index == null) {
+            // Concurrent initialization only builds the same index twice
+            index = new ProcessReachabilityIndex(process);
+            reachabilityIndex = index;
+        }
+        return index;
+    }
+
+    public void setReachabilityIndex(ProcessReachabilityIndex reachabilityIndex) {
+        this.reachabilityIndex = reachabilityIndex;
+    }
+
 }
@@ -12,11 +12,6 @@
  */
 package org.flowable.engine.impl.persistence.deploy;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.context.Context;
 import org.flowable.engine.common.impl.interceptor.Command;
@@ -25,8 +20,6 @@ import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionInfoEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -38,35 +31,23 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 public class ProcessDefinitionInfoCache {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessDefinitionInfoCache.class);
-
-    protected Map<String, ProcessDefinitionInfoCacheObject> cache;
+    protected DeploymentCache<ProcessDefinitionInfoCacheObject> cache;
     protected CommandExecutor commandExecutor;
 
     /** Cache with no limit */
     public ProcessDefinitionInfoCache(CommandExecutor commandExecutor) {
-        this.commandExecutor = commandExecutor;
-        this.cache = Collections.synchronizedMap(new HashMap<String, ProcessDefinitionInfoCacheObject>());
+        this(commandExecutor, new DefaultDeploymentCache<ProcessDefinitionInfoCacheObject>());
     }
 
     /** Cache which has a hard limit: no more elements will be cached than the limit. */
-    public ProcessDefinitionInfoCache(CommandExecutor commandExecutor, final int limit) {
-        this.commandExecutor = commandExecutor;
-        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, ProcessDefinitionInfoCacheObject>(limit + 1, 0.75f, true) {
-            // +1 is needed, because the entry is inserted first, before it is removed
-            // 0.75 is the default (see javadocs)
-            // true will keep the 'access-order', which is needed to have a real LRU cache
-            private static final long serialVersionUID = 1L;
-
-            protected boolean removeEldestEntry(Map.Entry<String, ProcessDefinitionInfoCacheObject> eldest) {
-                boolean removeEldest = size() > limit;
-                if (removeEldest) {
-                    LOGGER.trace("Cache limit is reached, {} will be evicted", eldest.getKey());
-                }
-                return removeEldest;
-            }
+    public ProcessDefinitionInfoCache(CommandExecutor commandExecutor, int limit) {
+        this(commandExecutor, new DefaultDeploymentCache<ProcessDefinitionInfoCacheObject>(limit));
+    }
 
-        });
+    /** Cache using the given {@link DeploymentCache} (eg. a {@link ConcurrentDeploymentCache}) as storage. */
+    public ProcessDefinitionInfoCache(CommandExecutor commandExecutor, DeploymentCache<ProcessDefinitionInfoCacheObject> cache) {
+        this.commandExecutor = commandExecutor;
+        this.cache = cache;
     }
 
     public ProcessDefinitionInfoCacheObject get(final String processDefinitionId) {
@@ -89,7 +70,7 @@ public class ProcessDefinitionInfoCache {
     }
 
     public void add(String id, ProcessDefinitionInfoCacheObject obj) {
-        cache.put(id, obj);
+        cache.add(id, obj);
     }
 
     public void remove(String id) {
@@ -102,17 +83,24 @@ public class ProcessDefinitionInfoCache {
 
     // For testing purposes only
     public int size() {
-        return cache.size();
+        if (cache instanceof DefaultDeploymentCache) {
+            return ((DefaultDeploymentCache<ProcessDefinitionInfoCacheObject>) cache).size();
+        } else if (cache instanceof ConcurrentDeploymentCache) {
+            return ((ConcurrentDeploymentCache<ProcessDefinitionInfoCacheObject>) cache).size();
+        }
+        throw new FlowableException("size is not supported by " + cache.getClass());
+    }
+
+    public DeploymentCache<ProcessDefinitionInfoCacheObject> getCache() {
+        return cache;
     }
 
     protected ProcessDefinitionInfoCacheObject retrieveProcessDefinitionInfoCacheObject(String processDefinitionId, CommandContext commandContext) {
         ProcessDefinitionInfoEntityManager infoEntityManager = CommandContextUtil.getProcessDefinitionInfoEntityManager(commandContext);
         ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
 
-        ProcessDefinitionInfoCacheObject cacheObject = null;
-        if (cache.containsKey(processDefinitionId)) {
-            cacheObject = cache.get(processDefinitionId);
-        } else {
+        ProcessDefinitionInfoCacheObject cacheObject = cache.get(processDefinitionId);
+        if (cacheObject == null) {
             cacheObject = new ProcessDefinitionInfoCacheObject();
             cacheObject.setRevision(0);
             cacheObject.setInfoNode(objectMapper.createObjectNode());
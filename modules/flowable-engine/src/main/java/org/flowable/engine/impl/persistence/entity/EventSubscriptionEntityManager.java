@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -74,6 +75,11 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
     List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(String eventName, String tenantId);
 
+    /**
+     * Returns at most maxResults signal event subscriptions with the given name created before (or at) the given time, ordered by id and starting after the given id (if not null).
+     */
+    List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsPageByEventName(String eventName, String tenantId, Date createdBefore, String afterId, int maxResults);
+
     List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName);
 
     List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByNameAndExecution(String name, String executionId);
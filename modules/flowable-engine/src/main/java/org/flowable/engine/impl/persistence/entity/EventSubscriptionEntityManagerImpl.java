@@ -14,6 +14,7 @@
 package org.flowable.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -192,6 +193,11 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
         return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventName(eventName, tenantId);
     }
 
+    @Override
+    public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsPageByEventName(String eventName, String tenantId, Date createdBefore, String afterId, int maxResults) {
+        return eventSubscriptionDataManager.findSignalEventSubscriptionsPageByEventName(eventName, tenantId, createdBefore, afterId, maxResults);
+    }
+
     @Override
     public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName) {
         return eventSubscriptionDataManager.findSignalEventSubscriptionsByProcessInstanceAndEventName(processInstanceId, eventName);
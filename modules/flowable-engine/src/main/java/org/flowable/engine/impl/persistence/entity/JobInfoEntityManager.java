@@ -17,6 +17,7 @@ import java.util.List;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.EntityManager;
 import org.flowable.engine.impl.asyncexecutor.AcquireTimerJobsRunnable;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cmd.AcquireJobsCmd;
 
 public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityManager<T> {
@@ -28,6 +29,12 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
      */
     List<T> findJobsToExecute(Page page);
 
+    /**
+     * Same as {@link #findJobsToExecute(Page)}, but only returns the jobs of the given partition and the jobs of other partitions that have been waiting longer than the grace
+     * period of the partition. When the partition is null, all jobs that are eligible to be executed are returned.
+     */
+    List<T> findJobsToExecute(Page page, JobAcquisitionPartition partition);
+
     /**
      * Returns all {@link JobEntity} instances related to on {@link ExecutionEntity}.
      */
@@ -17,6 +17,7 @@ import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.data.JobInfoDataManager;
 
@@ -43,6 +44,11 @@ public abstract class JobInfoEntityManagerImpl<T extends JobInfoEntity> extends
         return jobDataManager.findJobsToExecute(page);
     }
 
+    @Override
+    public List<T> findJobsToExecute(Page page, JobAcquisitionPartition partition) {
+        return jobDataManager.findJobsToExecute(page, partition);
+    }
+
     @Override
     public List<T> findJobsByExecutionId(String executionId) {
         return jobDataManager.findJobsByExecutionId(executionId);
@@ -19,6 +19,7 @@ import org.flowable.engine.common.impl.persistence.entity.EntityManager;
 import org.flowable.engine.delegate.VariableScope;
 import org.flowable.engine.impl.JobQueryImpl;
 import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.runtime.Job;
 
 /**
@@ -40,6 +41,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    /**
+     * Same as {@link #findTimerJobsToExecute(Page)}, but only returns the timers of the given partition and the timers of other partitions that have been due for longer than the
+     * grace period of the partition. When the partition is null, all timers that are eligible to execute are returned.
+     */
+    List<TimerJobEntity> findTimerJobsToExecute(Page page, JobAcquisitionPartition partition);
+
     /**
      * Returns the {@link TimerJobEntity} for a given process definition.
      * 
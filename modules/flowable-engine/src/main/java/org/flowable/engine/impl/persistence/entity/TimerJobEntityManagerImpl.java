@@ -23,6 +23,7 @@ import org.flowable.engine.delegate.VariableScope;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.calendar.BusinessCalendar;
 import org.flowable.engine.impl.calendar.CycleBusinessCalendar;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -71,6 +72,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> findTimerJobsToExecute(Page page, JobAcquisitionPartition partition) {
+        return jobDataManager.findTimerJobsToExecute(page, partition);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
         return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
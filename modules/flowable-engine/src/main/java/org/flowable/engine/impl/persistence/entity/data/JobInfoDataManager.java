@@ -16,12 +16,15 @@ import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 
 public interface JobInfoDataManager<T extends JobInfoEntity> extends DataManager<T> {
 
     List<T> findJobsToExecute(Page page);
 
+    List<T> findJobsToExecute(Page page, JobAcquisitionPartition partition);
+
     List<T> findJobsByExecutionId(final String executionId);
 
     List<T> findJobsByProcessInstanceId(final String processInstanceId);
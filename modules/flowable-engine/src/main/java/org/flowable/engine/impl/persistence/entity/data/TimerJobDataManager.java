@@ -17,6 +17,7 @@ import java.util.List;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
 import org.flowable.engine.runtime.Job;
 
@@ -28,6 +29,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
 
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    List<TimerJobEntity> findTimerJobsToExecute(Page page, JobAcquisitionPartition partition);
+
     List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
 
     List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
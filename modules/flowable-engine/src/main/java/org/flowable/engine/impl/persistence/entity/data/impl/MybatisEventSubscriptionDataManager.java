@@ -13,11 +13,13 @@
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.db.CachedEntityMatcher;
 import org.flowable.engine.impl.EventSubscriptionQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -141,6 +143,26 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
         return toSignalEventSubscriptionEntityList(result);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsPageByEventName(final String eventName, final String tenantId, final Date createdBefore,
+            final String afterId, final int maxResults) {
+
+        final String query = "selectSignalEventSubscriptionsPageByEventName";
+
+        final Map<String, Object> params = new HashMap<>();
+        params.put("eventName", eventName);
+        params.put("createdBefore", createdBefore);
+        params.put("afterId", afterId);
+        if (tenantId != null && !tenantId.equals(ProcessEngineConfiguration.NO_TENANT_ID)) {
+            params.put("tenantId", tenantId);
+        }
+
+        // Not matched against the cache: the page is only read once, by the job paging through the subscriptions
+        List<EventSubscriptionEntity> result = getDbSqlSession().selectList(query, params, new Page(0, maxResults));
+        return toSignalEventSubscriptionEntityList(result);
+    }
+
     @Override
     public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName) {
         final String query = "selectSignalEventSubscriptionsByProcessInstanceAndEventName";
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.db.ListQueryParameterObject;
 import org.flowable.engine.impl.HistoryJobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntityImpl;
@@ -47,13 +48,21 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<HistoryJobEntity> findJobsToExecute(Page page) {
+        return findJobsToExecute(page, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<HistoryJobEntity> findJobsToExecute(Page page, JobAcquisitionPartition partition) {
         // Needed for db2/sqlserver (see limitBetween in mssql.properties), otherwise ordering will be incorrect
         ListQueryParameterObject params = new ListQueryParameterObject();
         params.setFirstResult(page.getFirstResult());
         params.setMaxResults(page.getMaxResults());
         params.setOrderByColumns("CREATE_TIME_ ASC");
+        if (partition != null) {
+            params.setParameter(partition.createQueryParameters(getClock().getCurrentTime()));
+        }
         return getDbSqlSession().selectList("selectHistoryJobsToExecute", params);
     }
 
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.db.CachedEntityMatcher;
 import org.flowable.engine.impl.JobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.JobEntity;
 import org.flowable.engine.impl.persistence.entity.JobEntityImpl;
@@ -51,9 +52,15 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<JobEntity> findJobsToExecute(Page page) {
-        return getDbSqlSession().selectList("selectJobsToExecute", null, page);
+        return findJobsToExecute(page, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsToExecute(Page page, JobAcquisitionPartition partition) {
+        Map<String, Object> params = partition != null ? partition.createQueryParameters(getClock().getCurrentTime()) : null;
+        return getDbSqlSession().selectList("selectJobsToExecute", params, page);
     }
 
     @Override
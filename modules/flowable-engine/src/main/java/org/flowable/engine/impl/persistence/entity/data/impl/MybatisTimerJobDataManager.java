@@ -20,6 +20,7 @@ import java.util.Map;
 import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.db.CachedEntityMatcher;
 import org.flowable.engine.impl.TimerJobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
 import org.flowable.engine.impl.persistence.entity.TimerJobEntityImpl;
@@ -63,10 +64,17 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
+        return findTimerJobsToExecute(page, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findTimerJobsToExecute(Page page, JobAcquisitionPartition partition) {
         Date now = getClock().getCurrentTime();
-        return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+        Map<String, Object> params = partition != null ? partition.createQueryParameters(now) : new HashMap<String, Object>();
+        params.put("now", now);
+        return getDbSqlSession().selectList("selectTimerJobsToExecute", params, page);
     }
 
     @Override
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.runtime;
+
+import java.io.Serializable;
+
+import org.flowable.engine.runtime.SignalDelivery;
+
+public class SignalDeliveryImpl implements SignalDelivery, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String id;
+    protected long pendingJobCount;
+    protected long failedJobCount;
+
+    public SignalDeliveryImpl(String id, long pendingJobCount, long failedJobCount) {
+        this.id = id;
+        this.pendingJobCount = pendingJobCount;
+        this.failedJobCount = failedJobCount;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getPendingJobCount() {
+        return pendingJobCount;
+    }
+
+    @Override
+    public long getFailedJobCount() {
+        return failedJobCount;
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return pendingJobCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SignalDelivery[id=" + id + ", pendingJobCount=" + pendingJobCount + ", failedJobCount=" + failedJobCount + "]";
+    }
+
+}
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.scripting;
+
+import javax.script.CompiledScript;
+
+import org.flowable.engine.common.impl.util.StripedCounter;
+import org.flowable.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+
+/**
+ * Bounded cache of {@link CompiledScript}s, keyed by script language and script text.
+ * 
+ * As the script text is part of the key, a changed script in a new deployment is compiled again, 
+ * while the compiled scripts that aren't used anymore are evicted when the limit is reached 
+ * (least recently used first) or when the cache is cleared because a deployment was removed.
+ */
+public class CompiledScriptCache {
+
+    protected ConcurrentDeploymentCache<CompiledScript> cache;
+    protected StripedCounter compileCount = new StripedCounter();
+    protected StripedCounter compileTime = new StripedCounter();
+
+    public CompiledScriptCache(int limit) {
+        this.cache = new ConcurrentDeploymentCache<>(limit);
+    }
+
+    public CompiledScript get(String language, String script) {
+        return cache.get(createKey(language, script));
+    }
+
+    public void add(String language, String script, CompiledScript compiledScript, long compileTimeNanos) {
+        cache.add(createKey(language, script), compiledScript);
+        compileCount.increment();
+        compileTime.add(compileTimeNanos);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    protected String createKey(String language, String script) {
+        return language + ':' + script;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getLimit() {
+        return cache.getLimit();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    public long getCompileCount() {
+        return compileCount.get();
+    }
+
+    /**
+     * @return the total time spent compiling scripts, in milliseconds
+     */
+    public long getTotalCompileTime() {
+        return compileTime.get() / 1000000L;
+    }
+
+    public void resetStatistics() {
+        cache.resetStatistics();
+        compileCount.reset();
+        compileTime.reset();
+    }
+}
@@ -17,6 +17,8 @@ import java.util.List;
 import java.util.Map;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -42,6 +44,12 @@ public class ScriptingEngines {
     protected boolean cacheScriptingEngines = true;
     protected Map<String, ScriptEngine> cachedEngines;
 
+    /**
+     * When set, scripts of engines that implement {@link Compilable} are compiled once and the {@link CompiledScript} is reused.
+     * Only used for engines that are cached, as a compiled script belongs to the engine that compiled it.
+     */
+    protected CompiledScriptCache compiledScriptCache;
+
     public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
         this(new ScriptEngineManager());
         this.scriptBindingsFactory = scriptBindingsFactory;
@@ -84,12 +92,32 @@ public class ScriptingEngines {
     protected Object evaluate(String script, String language, Bindings bindings) {
         ScriptEngine scriptEngine = getEngineByName(language);
         try {
+            CompiledScript compiledScript = getCompiledScript(script, language, scriptEngine);
+            if (compiledScript != null) {
+                return compiledScript.eval(bindings);
+            }
             return scriptEngine.eval(script, bindings);
         } catch (ScriptException e) {
             throw new FlowableException("problem evaluating script: " + e.getMessage(), e);
         }
     }
 
+    protected CompiledScript getCompiledScript(String script, String language, ScriptEngine scriptEngine) throws ScriptException {
+        // JUEL resolves the variables of the script context while parsing, so its scripts can't be compiled upfront
+        if (compiledScriptCache == null || script == null || DEFAULT_SCRIPTING_LANGUAGE.equals(language) 
+                || !(scriptEngine instanceof Compilable) || cachedEngines.get(language) != scriptEngine) {
+            return null;
+        }
+
+        CompiledScript compiledScript = compiledScriptCache.get(language, script);
+        if (compiledScript == null) {
+            long start = System.nanoTime();
+            compiledScript = ((Compilable) scriptEngine).compile(script);
+            compiledScriptCache.add(language, script, compiledScript, System.nanoTime() - start);
+        }
+        return compiledScript;
+    }
+
     protected ScriptEngine getEngineByName(String language) {
         ScriptEngine scriptEngine = null;
 
@@ -139,6 +167,23 @@ public class ScriptingEngines {
         return scriptBindingsFactory.createBindings(variableScope, storeScriptVariables);
     }
 
+    public CompiledScriptCache getCompiledScriptCache() {
+        return compiledScriptCache;
+    }
+
+    public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+        this.compiledScriptCache = compiledScriptCache;
+    }
+
+    /**
+     * Removes all compiled scripts, eg. when a deployment is removed and its scripts won't be executed anymore.
+     */
+    public void clearCompiledScripts() {
+        if (compiledScriptCache != null) {
+            compiledScriptCache.clear();
+        }
+    }
+
     public ScriptBindingsFactory getScriptBindingsFactory() {
         return scriptBindingsFactory;
     }
@@ -26,6 +26,7 @@ import org.flowable.bpmn.model.Process;
 import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.context.Context;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 public class ExecutionGraphUtil {
@@ -69,6 +70,14 @@ public class ExecutionGraphUtil {
      */
     public static boolean isReachable(String processDefinitionId, String sourceElementId, String targetElementId) {
 
+        // Use the reachability index of the process definition when available, which avoids walking the process model
+        if (Context.getCommandContext() != null && CommandContextUtil.getProcessEngineConfiguration() != null) {
+            ProcessReachabilityIndex reachabilityIndex = ProcessDefinitionUtil.getProcessReachabilityIndex(processDefinitionId);
+            if (reachabilityIndex.containsElement(sourceElementId) && reachabilityIndex.containsElement(targetElementId)) {
+                return reachabilityIndex.isReachable(sourceElementId, targetElementId);
+            }
+        }
+
         // Fetch source and target elements
         Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
 
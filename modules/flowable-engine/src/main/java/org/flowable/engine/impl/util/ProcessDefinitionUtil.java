@@ -67,6 +67,15 @@ public class ProcessDefinitionUtil {
         }
     }
 
+    /**
+     * Returns the reachability index of the process of the given process definition, see {@link ProcessReachabilityIndex}.
+     */
+    public static ProcessReachabilityIndex getProcessReachabilityIndex(String processDefinitionId) {
+        DeploymentManager deploymentManager = CommandContextUtil.getProcessEngineConfiguration().getDeploymentManager();
+        ProcessDefinition processDefinitionEntity = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+        return deploymentManager.resolveProcessDefinition(processDefinitionEntity).getReachabilityIndex();
+    }
+
     public static BpmnModel getBpmnModel(String processDefinitionId) {
         if (CommandContextUtil.getProcessEngineConfiguration() == null) {
             return Flowable5Util.getFlowable5CompatibilityHandler().getProcessDefinitionBpmnModel(processDefinitionId);
@@ -0,0 +1,149 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.util;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.bpmn.model.FlowElementsContainer;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.SubProcess;
+
+/**
+ * The transitive closure of the sequence flows of a {@link Process}, which answers {@link ExecutionGraphUtil#isReachable(String, String, String)} without walking the process
+ * model.
+ * <p>
+ * The same rules as the graph walk of {@link ExecutionGraphUtil#isReachable(Process, FlowNode, FlowNode, Set)} are applied, so both always give the same answer:
+ * <ul>
+ * <li>a flow node with outgoing sequence flows continues at the targets of these sequence flows;</li>
+ * <li>a flow node without outgoing sequence flows stands for the sub process it is part of (which completes when the flow node is done), and continues at the targets of the
+ * outgoing sequence flows of that sub process. This is done for one level only: when the sub process has no outgoing sequence flows either, the walk stops there;</li>
+ * <li>a flow node is only reached through the flow node it stands for, so a flow node without outgoing sequence flows (including the source itself) is never reached, but its
+ * sub process is.</li>
+ * </ul>
+ * Boundary events are flow nodes with their own executions, so they don't need special treatment. The id of a sequence flow stands for the flow node it targets.
+ */
+public class ProcessReachabilityIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected Map<String, Integer> elementIndexes = new HashMap<>();
+    protected BitSet[] reachableFlowNodes;
+
+    public ProcessReachabilityIndex(Process process) {
+        List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+        for (int i = 0; i < flowNodes.size(); i++) {
+            elementIndexes.put(flowNodes.get(i).getId(), i);
+        }
+
+        int[] representatives = new int[flowNodes.size()];
+        for (int i = 0; i < flowNodes.size(); i++) {
+            representatives[i] = getRepresentative(process, flowNodes.get(i));
+        }
+
+        List<int[]> successors = new ArrayList<>(flowNodes.size());
+        for (int i = 0; i < flowNodes.size(); i++) {
+            successors.add(representatives[i] >= 0 ? getSuccessors(flowNodes.get(representatives[i])) : new int[0]);
+        }
+
+        // Walk from every flow node; every visited flow node reaches the flow node it stands for
+        reachableFlowNodes = new BitSet[flowNodes.size()];
+        Deque<Integer> nodesToVisit = new ArrayDeque<>();
+        for (int i = 0; i < flowNodes.size(); i++) {
+            BitSet visited = new BitSet(flowNodes.size());
+            BitSet reachable = new BitSet(flowNodes.size());
+            visited.set(i);
+            nodesToVisit.push(i);
+            while (!nodesToVisit.isEmpty()) {
+                int node = nodesToVisit.pop();
+                if (representatives[node] >= 0) {
+                    reachable.set(representatives[node]);
+                }
+                for (int successor : successors.get(node)) {
+                    if (!visited.get(successor)) {
+                        visited.set(successor);
+                        nodesToVisit.push(successor);
+                    }
+                }
+            }
+            reachableFlowNodes[i] = reachable;
+        }
+
+        // Sequence flows are indexed after the flow nodes, as they are resolved to their target
+        for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class, true)) {
+            Integer targetIndex = elementIndexes.get(sequenceFlow.getTargetRef());
+            if (targetIndex != null && sequenceFlow.getId() != null && !elementIndexes.containsKey(sequenceFlow.getId())) {
+                elementIndexes.put(sequenceFlow.getId(), targetIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the flow node the given flow node stands for in the graph walk, or -1 when the walk stops at the flow node.
+     */
+    protected int getRepresentative(Process process, FlowNode flowNode) {
+        if (!flowNode.getOutgoingFlows().isEmpty()) {
+            return elementIndexes.get(flowNode.getId());
+        }
+
+        // No outgoing sequence flow: could be the end of e.g. the process or an embedded sub process
+        FlowElementsContainer parentElement = process.findParent(flowNode);
+        if (parentElement instanceof SubProcess) {
+            return elementIndexes.get(((SubProcess) parentElement).getId());
+        }
+        return -1;
+    }
+
+    protected int[] getSuccessors(FlowNode flowNode) {
+        List<Integer> successors = new ArrayList<>();
+        for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+            Integer targetIndex = elementIndexes.get(sequenceFlow.getTargetRef());
+            if (targetIndex != null) {
+                successors.add(targetIndex);
+            }
+        }
+
+        int[] result = new int[successors.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = successors.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the given id is the id of a flow node or sequence flow of the process.
+     */
+    public boolean containsElement(String elementId) {
+        return elementIndexes.containsKey(elementId);
+    }
+
+    /**
+     * Returns true if the element with the given source id can reach the element with the target id by following sequence flows. Both ids must be contained in the index (see
+     * {@link #containsElement(String)}).
+     */
+    public boolean isReachable(String sourceElementId, String targetElementId) {
+        int sourceIndex = elementIndexes.get(sourceElementId);
+        int targetIndex = elementIndexes.get(targetElementId);
+        return reachableFlowNodes[sourceIndex].get(targetIndex);
+    }
+
+}
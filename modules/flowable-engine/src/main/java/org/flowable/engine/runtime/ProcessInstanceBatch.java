@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.runtime;
+
+import java.util.List;
+
+/**
+ * The state of an operation executed asynchronously on many process instances (see {@link org.flowable.engine.RuntimeService#deleteProcessInstancesAsync(java.util.Collection, String)}).
+ */
+public interface ProcessInstanceBatch {
+
+    /**
+     * The unique identifier of the batch.
+     */
+    String getId();
+
+    /**
+     * The number of jobs of the batch that still need to be executed, including the jobs waiting for a retry.
+     */
+    long getPendingJobCount();
+
+    /**
+     * The number of jobs of the batch that failed and were moved to the dead letter jobs.
+     */
+    long getFailedJobCount();
+
+    /**
+     * The ids of the process instances of the failed jobs. As a job handles its process instances in one transaction, the operation wasn't executed for any of them.
+     */
+    List<String> getFailedProcessInstanceIds();
+
+    /**
+     * Returns true if there are no pending jobs for the batch anymore.
+     */
+    boolean isCompleted();
+
+}
@@ -13,6 +13,7 @@
 package org.flowable.engine.runtime;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -284,6 +285,12 @@ public interface ProcessInstanceQuery extends Query<ProcessInstanceQuery, Proces
      */
     ProcessInstanceQuery includeProcessVariables();
 
+    /**
+     * Include the process variables with the given names in the process query result. The variables are fetched for the selected page of process instances with one additional query,
+     * after the process instances have been fetched.
+     */
+    ProcessInstanceQuery includeProcessVariables(Collection<String> variableNames);
+
     /**
      * Limit process instance variables
      */
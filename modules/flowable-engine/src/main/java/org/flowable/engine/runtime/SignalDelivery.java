@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.runtime;
+
+/**
+ * The state of a signal delivered asynchronously to its subscriptions (see {@link org.flowable.engine.RuntimeService#signalEventReceivedFanOut(String)}).
+ */
+public interface SignalDelivery {
+
+    /**
+     * The unique identifier of the delivery.
+     */
+    String getId();
+
+    /**
+     * The number of jobs of the delivery that still need to be executed, including the jobs waiting for a retry.
+     */
+    long getPendingJobCount();
+
+    /**
+     * The number of jobs of the delivery that failed and were moved to the dead letter jobs. The subscriptions of these jobs have not received the signal.
+     */
+    long getFailedJobCount();
+
+    /**
+     * Returns true if there are no pending jobs for the delivery anymore.
+     */
+    boolean isCompleted();
+
+}
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.task;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -48,4 +49,10 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
      * Only selects tasks which are active (ie. not suspended)
      */
     TaskQuery active();
+
+    /**
+     * Include the process variables with the given names in the task query result. The variables are fetched for the selected page of tasks with one additional query, after the tasks
+     * have been fetched.
+     */
+    TaskQuery includeProcessVariables(Collection<String> variableNames);
 }
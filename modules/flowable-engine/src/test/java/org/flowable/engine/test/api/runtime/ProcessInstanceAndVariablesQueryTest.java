@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.test.api.runtime;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -129,6 +130,46 @@ public class ProcessInstanceAndVariablesQueryTest extends PluggableFlowableTestC
         assertEquals(0, instanceList.size());
     }
 
+    public void testQueryWithPrefetchedVariables() {
+        processEngineConfiguration.getPerformanceSettings().setEnableQueryVariablePrefetching(true);
+        try {
+            ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().includeProcessVariables().variableValueEquals("anothertest", 123).singleResult();
+            Map<String, Object> variableMap = processInstance.getProcessVariables();
+            assertEquals(1, variableMap.size());
+            assertEquals(123, variableMap.get("anothertest"));
+
+            // The paging is done by the database, the variables are fetched for the page only
+            List<ProcessInstance> instanceList = runtimeService.createProcessInstanceQuery().includeProcessVariables()
+                    .processDefinitionKey(PROCESS_DEFINITION_KEY).orderByProcessInstanceId().asc().listPage(1, 2);
+            assertEquals(2, instanceList.size());
+            for (ProcessInstance instance : instanceList) {
+                variableMap = instance.getProcessVariables();
+                assertEquals(2, variableMap.size());
+                assertEquals("test", variableMap.get("test"));
+                assertEquals("test2", variableMap.get("test2"));
+            }
+
+        } finally {
+            processEngineConfiguration.getPerformanceSettings().setEnableQueryVariablePrefetching(false);
+        }
+
+        // Restricting the variables to fetch always prefetches
+        List<ProcessInstance> instanceList = runtimeService.createProcessInstanceQuery().includeProcessVariables(Arrays.asList("test2", "anothertest")).list();
+        assertEquals(6, instanceList.size());
+        for (ProcessInstance instance : instanceList) {
+            Map<String, Object> variableMap = instance.getProcessVariables();
+            if (PROCESS_DEFINITION_KEY.equals(instance.getProcessDefinitionKey())) {
+                assertEquals(1, variableMap.size());
+                assertEquals("test2", variableMap.get("test2"));
+            } else if (PROCESS_DEFINITION_KEY_2.equals(instance.getProcessDefinitionKey())) {
+                assertEquals(1, variableMap.size());
+                assertEquals(123, variableMap.get("anothertest"));
+            } else {
+                assertEquals(0, variableMap.size());
+            }
+        }
+    }
+
     public void testOrQuery() {
         ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().includeProcessVariables()
                 .or().variableValueEquals("undefined", 999).variableValueEquals("anothertest", 123).endOr().singleResult();
@@ -0,0 +1,64 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.test.Deployment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the time to delete many process instances one by one and with the asynchronous batch delete.
+ * Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class ProcessInstanceDeleteBenchmark extends PluggableFlowableTestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceDeleteBenchmark.class);
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testDeleteProcessInstances() {
+        int nrOfProcessInstances = 500;
+
+        long start = System.currentTimeMillis();
+        for (String processInstanceId : startOneTaskProcesses(nrOfProcessInstances)) {
+            runtimeService.deleteProcessInstance(processInstanceId, null);
+        }
+        long singleDeleteTime = System.currentTimeMillis() - start;
+
+        List<String> processInstanceIds = startOneTaskProcesses(nrOfProcessInstances);
+        start = System.currentTimeMillis();
+        runtimeService.deleteProcessInstancesAsync(processInstanceIds, null);
+        for (Job job : managementService.createJobQuery().list()) {
+            managementService.executeJob(job.getId());
+        }
+        long batchDeleteTime = System.currentTimeMillis() - start;
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").count());
+
+        LOGGER.info("Deleting {} process instances: one by one {} ms ({} per second), in batch jobs of {} {} ms ({} per second)", nrOfProcessInstances,
+                singleDeleteTime, nrOfProcessInstances * 1000L / Math.max(1L, singleDeleteTime), processEngineConfiguration.getProcessInstanceBatchSize(),
+                batchDeleteTime, nrOfProcessInstances * 1000L / Math.max(1L, batchDeleteTime));
+    }
+
+    protected List<String> startOneTaskProcesses(int nrOfProcessInstances) {
+        List<String> processInstanceIds = new ArrayList<>(nrOfProcessInstances);
+        for (int i = 0; i < nrOfProcessInstances; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        return processInstanceIds;
+    }
+
+}
@@ -16,6 +16,7 @@ package org.flowable.engine.test.api.runtime;
 import static com.googlecode.catchexception.CatchException.catchException;
 import static com.googlecode.catchexception.CatchException.caughtException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -34,13 +35,20 @@ import org.flowable.engine.history.DeleteReason;
 import org.flowable.engine.history.HistoricDetail;
 import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.history.HistoricTaskInstance;
+import org.flowable.engine.impl.ProcessInstanceQueryImpl;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cmd.GetProcessInstanceIdsPageCmd;
 import org.flowable.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.Job;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.runtime.ProcessInstanceBatch;
 import org.flowable.engine.runtime.ProcessInstanceBuilder;
+import org.flowable.engine.runtime.ProcessInstanceQuery;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.test.Deployment;
 
@@ -289,6 +297,169 @@ public class RuntimeServiceTest extends PluggableFlowableTestCase {
         }
     }
 
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testDeleteProcessInstancesAsync() {
+        processEngineConfiguration.setProcessInstanceBatchSize(2);
+        try {
+            List<String> processInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+            }
+            // Process instances that don't exist are skipped
+            processInstanceIds.add("unexistingProcessInstanceId");
+
+            String deleteReason = "testing batch deletion";
+            ProcessInstanceBatch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, deleteReason);
+            assertEquals(3, batch.getPendingJobCount());
+            assertEquals(3, runtimeService.getProcessInstanceBatch(batch.getId()).getPendingJobCount());
+            assertEquals(5, runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").count());
+
+            for (Job job : managementService.createJobQuery().list()) {
+                managementService.executeJob(job.getId());
+            }
+            assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").count());
+
+            batch = runtimeService.getProcessInstanceBatch(batch.getId());
+            assertTrue(batch.isCompleted());
+            assertEquals(0, batch.getFailedJobCount());
+            assertTrue(batch.getFailedProcessInstanceIds().isEmpty());
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+                for (HistoricProcessInstance historicInstance : historyService.createHistoricProcessInstanceQuery().processDefinitionKey("oneTaskProcess").list()) {
+                    assertEquals(deleteReason, historicInstance.getDeleteReason());
+                    assertNotNull(historicInstance.getEndTime());
+                }
+            }
+
+        } finally {
+            processEngineConfiguration.setProcessInstanceBatchSize(50);
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testSuspendAndActivateProcessInstancesAsync() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        runtimeService.suspendProcessInstanceById(processInstanceIds.get(0));
+
+        // Already suspended process instances are skipped
+        ProcessInstanceQuery processInstanceQuery = runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").orderByProcessInstanceId().desc();
+        ProcessInstanceBatch batch = runtimeService.suspendProcessInstancesAsync(processInstanceQuery);
+        assertEquals(1, batch.getPendingJobCount());
+
+        // The ordering of the query is left unchanged
+        List<String> sortedProcessInstanceIds = new ArrayList<>(processInstanceIds);
+        Collections.sort(sortedProcessInstanceIds, Collections.reverseOrder());
+        List<String> queriedProcessInstanceIds = new ArrayList<>();
+        for (ProcessInstance processInstance : processInstanceQuery.list()) {
+            queriedProcessInstanceIds.add(processInstance.getId());
+        }
+        assertEquals(sortedProcessInstanceIds, queriedProcessInstanceIds);
+
+        managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+        assertEquals(3, runtimeService.createProcessInstanceQuery().suspended().count());
+        assertTrue(runtimeService.getProcessInstanceBatch(batch.getId()).isCompleted());
+
+        batch = runtimeService.activateProcessInstancesAsync(processInstanceIds);
+        managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+        assertEquals(3, runtimeService.createProcessInstanceQuery().active().count());
+        assertTrue(runtimeService.getProcessInstanceBatch(batch.getId()).isCompleted());
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testActivateProcessInstancesAsyncByQuery() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        runtimeService.suspendProcessInstanceById(processInstanceIds.get(0));
+        runtimeService.suspendProcessInstanceById(processInstanceIds.get(2));
+
+        ProcessInstanceBatch batch = runtimeService.activateProcessInstancesAsync(runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").suspended());
+        assertEquals(1, batch.getPendingJobCount());
+        assertEquals(2, runtimeService.createProcessInstanceQuery().suspended().count());
+
+        managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+        assertEquals(0, runtimeService.createProcessInstanceQuery().suspended().count());
+        assertEquals(3, runtimeService.createProcessInstanceQuery().active().count());
+        assertTrue(runtimeService.getProcessInstanceBatch(batch.getId()).isCompleted());
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testProcessInstanceIdsPaging() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        Collections.sort(processInstanceIds);
+
+        ProcessInstanceQueryImpl processInstanceQuery = (ProcessInstanceQueryImpl) runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess");
+        List<String> firstPage = managementService.executeCommand(new GetProcessInstanceIdsPageCmd(processInstanceQuery, null, 2));
+        assertEquals(processInstanceIds.subList(0, 2), firstPage);
+
+        // The pages are determined by id, removing the process instances of the first page doesn't shift the next pages
+        for (String processInstanceId : firstPage) {
+            runtimeService.deleteProcessInstance(processInstanceId, null);
+        }
+        List<String> secondPage = managementService.executeCommand(new GetProcessInstanceIdsPageCmd(processInstanceQuery, firstPage.get(1), 2));
+        assertEquals(processInstanceIds.subList(2, 4), secondPage);
+        List<String> lastPage = managementService.executeCommand(new GetProcessInstanceIdsPageCmd(processInstanceQuery, secondPage.get(1), 2));
+        assertEquals(processInstanceIds.subList(4, 5), lastPage);
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testDeleteProcessInstancesAsyncLongDeleteReason() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+
+        // The ids of a job are limited by the length of the job configuration, including the delete reason
+        StringBuilder deleteReason = new StringBuilder();
+        for (int i = 0; i < 1900; i++) {
+            deleteReason.append('x');
+        }
+        ProcessInstanceBatch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, deleteReason.toString());
+        assertTrue(batch.getPendingJobCount() > 1);
+        for (Job job : managementService.createJobQuery().list()) {
+            assertTrue(((JobEntity) job).getJobHandlerConfiguration().length() <= ProcessEngineConfigurationImpl.MAX_LENGTH_JOB_HANDLER_CONFIGURATION);
+            managementService.executeJob(job.getId());
+        }
+        assertEquals(0, runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").count());
+
+        // A delete reason that doesn't leave room for a process instance id is rejected
+        for (int i = 0; i < 100; i++) {
+            deleteReason.append('x');
+        }
+        try {
+            runtimeService.deleteProcessInstancesAsync(processInstanceIds, deleteReason.toString());
+            fail("FlowableIllegalArgumentException expected");
+        } catch (FlowableIllegalArgumentException e) {
+            assertTextPresent("delete reason is too long", e.getMessage());
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testDeleteProcessInstancesAsyncFailedJob() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+
+        ProcessInstanceBatch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, null);
+        Job deadLetterJob = managementService.moveJobToDeadLetterJob(managementService.createJobQuery().singleResult().getId());
+
+        batch = runtimeService.getProcessInstanceBatch(batch.getId());
+        assertTrue(batch.isCompleted());
+        assertEquals(1, batch.getFailedJobCount());
+        assertEquals(processInstanceIds, batch.getFailedProcessInstanceIds());
+        assertEquals(3, runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess").count());
+
+        managementService.deleteDeadLetterJob(deadLetterJob.getId());
+    }
+
     @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
     public void testFindActiveActivityIds() {
         ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
@@ -14,6 +14,8 @@ package org.flowable.engine.test.api.task;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -165,6 +167,54 @@ public class TaskAndVariablesQueryTest extends PluggableFlowableTestCase {
         assertEquals(0, tasks.size());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/api/task/TaskAndVariablesQueryTest.testQuery.bpmn20.xml")
+    public void testQueryWithPrefetchedVariables() {
+        Map<String, Object> startMap = new HashMap<>();
+        startMap.put("processVar", true);
+        startMap.put("binaryVariable", "This is a binary process variable".getBytes());
+        runtimeService.startProcessInstanceByKey("oneTaskProcess", startMap);
+
+        Task kermitTask = taskService.createTaskQuery().taskAssignee("kermit").singleResult();
+        taskService.setVariableLocal(kermitTask.getId(), "localVar", "test");
+
+        processEngineConfiguration.getPerformanceSettings().setEnableQueryVariablePrefetching(true);
+        try {
+            Task task = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().taskAssignee("kermit").singleResult();
+            assertEquals(2, task.getProcessVariables().size());
+            assertEquals(1, task.getTaskLocalVariables().size());
+            assertEquals("test", task.getTaskLocalVariables().get("localVar"));
+            assertEquals(true, task.getProcessVariables().get("processVar"));
+            assertEquals("This is a binary process variable", new String((byte[]) task.getProcessVariables().get("binaryVariable")));
+
+            task = taskService.createTaskQuery().includeTaskLocalVariables().includeIdentityLinks().taskAssignee("gonzo").singleResult();
+            assertEquals(3, task.getTaskLocalVariables().size());
+            assertEquals(0, task.getProcessVariables().size());
+            assertEquals("This is a binary variable", new String((byte[]) task.getTaskLocalVariables().get("testVarBinary")));
+
+            // The paging is done by the database, the variables are fetched for the page only
+            List<Task> tasks = taskService.createTaskQuery().includeProcessVariables().includeTaskLocalVariables().orderByTaskPriority().asc().listPage(1, 2);
+            assertEquals(2, tasks.size());
+            assertEquals(2, tasks.get(0).getTaskLocalVariables().size());
+            assertEquals("test", tasks.get(0).getTaskLocalVariables().get("test"));
+            assertEquals(3, tasks.get(1).getTaskLocalVariables().size());
+
+            tasks = taskService.createTaskQuery().includeProcessVariables().includeTaskLocalVariables().orderByTaskPriority().asc().listPage(4, 2);
+            assertEquals(0, tasks.size());
+
+        } finally {
+            processEngineConfiguration.getPerformanceSettings().setEnableQueryVariablePrefetching(false);
+        }
+
+        // Restricting the variables to fetch always prefetches
+        Task task = taskService.createTaskQuery().includeProcessVariables(Arrays.asList("processVar", "undefined")).taskAssignee("kermit").singleResult();
+        assertEquals(1, task.getProcessVariables().size());
+        assertEquals(true, task.getProcessVariables().get("processVar"));
+        assertEquals(0, task.getTaskLocalVariables().size());
+
+        task = taskService.createTaskQuery().includeProcessVariables(Collections.<String>emptyList()).taskAssignee("kermit").singleResult();
+        assertEquals(2, task.getProcessVariables().size());
+    }
+
     // Unit test for https://activiti.atlassian.net/browse/ACT-4152
     public void testQueryWithIncludeTaskVariableAndTaskCategory() {
         List<Task> tasks = taskService.createTaskQuery().taskAssignee("gonzo").list();
@@ -20,14 +20,18 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.impl.history.HistoryLevel;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.impl.EventSubscriptionQueryImpl;
+import org.flowable.engine.impl.jobexecutor.SignalEventFanOutJobHandler;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.Execution;
 import org.flowable.engine.runtime.Job;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.runtime.SignalDelivery;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.test.Deployment;
 import org.flowable.validation.validator.Problems;
@@ -354,6 +358,106 @@ public class SignalEventTest extends PluggableFlowableTestCase {
         assertEquals(0, managementService.createJobQuery().count());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/bpmn/event/signal/SignalEventTest.testAsyncTriggeredSignalEvent.bpmn20.xml")
+    public void testFanOutTriggeredSignalEvent() {
+        SignalEventFanOutJobHandler jobHandler = (SignalEventFanOutJobHandler) processEngineConfiguration.getJobHandlers().get(SignalEventFanOutJobHandler.TYPE);
+        int originalPageSize = jobHandler.getPageSize();
+        int originalBatchSize = jobHandler.getBatchSize();
+        jobHandler.setPageSize(10);
+        jobHandler.setBatchSize(4);
+
+        try {
+            Date startTime = new Date();
+            processEngineConfiguration.getClock().setCurrentTime(startTime);
+            for (int i = 0; i < 25; i++) {
+                runtimeService.startProcessInstanceByKey("processWithSignalCatch");
+            }
+            assertEquals(25, createEventSubscriptionQuery().count());
+
+            SignalDelivery signalDelivery = runtimeService.signalEventReceivedFanOut("The Signal");
+            assertNotNull(signalDelivery.getId());
+            assertFalse(signalDelivery.isCompleted());
+
+            // Subscriptions created after the signal was received are not part of the delivery
+            processEngineConfiguration.getClock().setCurrentTime(new Date(startTime.getTime() + 1000));
+            ProcessInstance lateProcessInstance = runtimeService.startProcessInstanceByKey("processWithSignalCatch");
+
+            // The first page job schedules 3 batch jobs (4 + 4 + 2 subscriptions) and the job for the next page
+            assertEquals(1, runtimeService.getSignalDelivery(signalDelivery.getId()).getPendingJobCount());
+            executeSignalFanOutJobs();
+            assertEquals(4, runtimeService.getSignalDelivery(signalDelivery.getId()).getPendingJobCount());
+            assertEquals(26, createEventSubscriptionQuery().count());
+
+            int executedJobs = 0;
+            while (!runtimeService.getSignalDelivery(signalDelivery.getId()).isCompleted()) {
+                executedJobs += executeSignalFanOutJobs();
+            }
+            assertEquals(10, executedJobs);
+
+            signalDelivery = runtimeService.getSignalDelivery(signalDelivery.getId());
+            assertEquals(0, signalDelivery.getPendingJobCount());
+            assertEquals(0, signalDelivery.getFailedJobCount());
+            assertEquals(1, createEventSubscriptionQuery().count());
+            assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+            assertEquals(lateProcessInstance.getId(), runtimeService.createProcessInstanceQuery().singleResult().getId());
+
+        } finally {
+            jobHandler.setPageSize(originalPageSize);
+            jobHandler.setBatchSize(originalBatchSize);
+            processEngineConfiguration.getClock().reset();
+        }
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/event/signal/SignalEventTest.testAsyncTriggeredSignalEvent.bpmn20.xml")
+    public void testFanOutBatchJobConfigurationLength() {
+        SignalEventFanOutJobHandler jobHandler = (SignalEventFanOutJobHandler) processEngineConfiguration.getJobHandlers().get(SignalEventFanOutJobHandler.TYPE);
+        int originalMaxConfigurationLength = jobHandler.getMaxConfigurationLength();
+        jobHandler.setMaxConfigurationLength(120);
+
+        try {
+            for (int i = 0; i < 25; i++) {
+                runtimeService.startProcessInstanceByKey("processWithSignalCatch");
+            }
+
+            SignalDelivery signalDelivery = runtimeService.signalEventReceivedFanOut("The Signal");
+            executeSignalFanOutJobs();
+
+            // The batches are split on the length of their configuration, long before the batch size of 50 is reached
+            List<Job> batchJobs = managementService.createJobQuery().list();
+            assertTrue(batchJobs.size() > 1);
+            for (Job batchJob : batchJobs) {
+                assertTrue(((JobEntity) batchJob).getJobHandlerConfiguration().length() <= 120);
+            }
+
+            while (!runtimeService.getSignalDelivery(signalDelivery.getId()).isCompleted()) {
+                executeSignalFanOutJobs();
+            }
+            assertEquals(0, createEventSubscriptionQuery().count());
+            assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+
+        } finally {
+            jobHandler.setMaxConfigurationLength(originalMaxConfigurationLength);
+        }
+    }
+
+    public void testFanOutBatchSizeValidation() {
+        SignalEventFanOutJobHandler jobHandler = (SignalEventFanOutJobHandler) processEngineConfiguration.getJobHandlers().get(SignalEventFanOutJobHandler.TYPE);
+        try {
+            jobHandler.setBatchSize(0);
+            fail("FlowableIllegalArgumentException expected");
+        } catch (FlowableIllegalArgumentException e) {
+            assertTextPresent("batch size must be at least 1", e.getMessage());
+        }
+    }
+
+    protected int executeSignalFanOutJobs() {
+        List<Job> jobs = managementService.createJobQuery().list();
+        for (Job job : jobs) {
+            managementService.executeJob(job.getId());
+        }
+        return jobs.size();
+    }
+
     @Deployment
     public void testSignalUserTask() {
         runtimeService.startProcessInstanceByKey("catchSignal");
@@ -14,14 +14,20 @@ package org.flowable.engine.test.bpmn.gateway;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.ExecutionGraphUtil;
+import org.flowable.engine.impl.util.ProcessReachabilityIndex;
+import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.Execution;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
@@ -333,6 +339,46 @@ public class InclusiveGatewayTest extends PluggableFlowableTestCase {
         assertProcessEnded(pi.getId());
     }
 
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testJoinAfterSubprocesses.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testLoop.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testWithSignalBoundaryEvent.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testMultipleProcessInstancesMergedBug.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testPartialMergingInclusiveGateway.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testParentActivationOnNonJoiningEnd.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/subprocess/SubProcessTest.testDoubleNestedSimpleSubProcess.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/subprocess/SubProcessTest.testNestedSubProcessesWithoutEndEvents.bpmn20.xml" })
+    public void testReachabilityIndexMatchesGraphWalk() {
+        List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+        assertEquals(8, processDefinitions.size());
+
+        for (ProcessDefinition processDefinition : processDefinitions) {
+            Process process = repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess();
+            ProcessReachabilityIndex reachabilityIndex = new ProcessReachabilityIndex(process);
+
+            // all pairs, including a flow node with itself
+            List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+            for (FlowNode source : flowNodes) {
+                for (FlowNode target : flowNodes) {
+                    assertEquals(source.getId() + " -> " + target.getId(), ExecutionGraphUtil.isReachable(process, source, target, new HashSet<String>()),
+                            reachabilityIndex.isReachable(source.getId(), target.getId()));
+                }
+            }
+        }
+
+        // A flow node without outgoing sequence flows stands for its sub process, one level up only
+        ProcessDefinition nestedProcessDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("testNestedSubProcessesWithoutEndEvents").singleResult();
+        ProcessReachabilityIndex reachabilityIndex = new ProcessReachabilityIndex(repositoryService.getBpmnModel(nestedProcessDefinition.getId()).getMainProcess());
+        assertTrue(reachabilityIndex.isReachable("theStart", "theStart"));
+        assertTrue(reachabilityIndex.isReachable("innerSubProcessStart", "innerSubProcess"));
+        assertFalse(reachabilityIndex.isReachable("innerSubProcessStart", "innerSubProcessTask"));
+        assertTrue(reachabilityIndex.isReachable("innerSubProcessTask", "innerSubProcess"));
+        assertFalse(reachabilityIndex.isReachable("innerSubProcessTask", "innerSubProcessTask"));
+        assertFalse(reachabilityIndex.isReachable("innerSubProcessTask", "innerSubProcess1"));
+        assertTrue(reachabilityIndex.isReachable("innerSubProcess1Start", "innerSubProcess1"));
+        assertFalse(reachabilityIndex.isReachable("innerSubProcess1Start", "outerSubProcess"));
+        assertFalse(reachabilityIndex.isReachable("theStart", "outerSubProcess"));
+    }
+
     @Deployment
     public void testJoinAfterSubprocesses() {
         // Test case to test act-1204
@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.multiinstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.common.impl.util.CollectionUtil;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the time until a parallel multi instance with many instances is started, with all instances created at once and in chunks.
+ * Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class MultiInstanceBenchmark extends PluggableFlowableTestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiInstanceBenchmark.class);
+
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksBasedOnCollection.bpmn20.xml" })
+    public void testParallelUserTasksInstantiation() {
+        int nrOfInstances = 2000;
+        List<String> assigneeList = new ArrayList<>(nrOfInstances);
+        for (int i = 0; i < nrOfInstances; i++) {
+            assigneeList.add("assignee" + i);
+        }
+
+        // warm up
+        runInstantiationBenchmark(assigneeList.subList(0, 100), 0);
+        runInstantiationBenchmark(assigneeList.subList(0, 100), 50);
+
+        long allAtOnce = runInstantiationBenchmark(assigneeList, 0);
+        long chunked = runInstantiationBenchmark(assigneeList, 100);
+
+        LOGGER.info("Parallel multi instance with {} instances: all at once {} ms to first child, chunks of 100 {} ms to first child",
+                nrOfInstances, allAtOnce, chunked);
+    }
+
+    /**
+     * Returns the time until the process instance start returns, which is when the first instances are visible.
+     */
+    protected long runInstantiationBenchmark(List<String> assigneeList, int chunkSize) {
+        processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(chunkSize);
+        try {
+            long start = System.currentTimeMillis();
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksBasedOnCollection",
+                    CollectionUtil.singletonMap("assigneeList", new ArrayList<>(assigneeList))).getId();
+            long timeToFirstChild = System.currentTimeMillis() - start;
+
+            assertEquals(chunkSize > 0 ? Math.min(chunkSize, assigneeList.size()) : assigneeList.size(), taskService.createTaskQuery().processInstanceId(procId).count());
+            runtimeService.deleteProcessInstance(procId, "benchmark");
+            return timeToFirstChild;
+
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(0);
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.flowable.engine.common.api.management.TablePage;
 import org.flowable.engine.common.impl.history.HistoryLevel;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.DelegateExecution;
@@ -41,6 +42,9 @@ import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.task.TaskQuery;
 import org.flowable.engine.test.Deployment;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  * @author Joram Barrez
@@ -236,6 +240,203 @@ public class MultiInstanceTest extends PluggableFlowableTestCase {
         assertProcessEnded(procId);
     }
 
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml" })
+    public void testParallelUserTasksWithAtomicCounters() {
+        processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(true);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+            List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertEquals(3, tasks.size());
+
+            for (int i = 0; i < 2; i++) {
+                taskService.complete(tasks.get(i).getId());
+                String executionId = tasks.get(2).getExecutionId();
+                assertEquals(i + 1, runtimeService.getVariable(executionId, "nrOfCompletedInstances"));
+                assertEquals(2 - i, runtimeService.getVariable(executionId, "nrOfActiveInstances"));
+                assertEquals(3, runtimeService.getVariable(executionId, "nrOfInstances"));
+
+                // The increment keeps the text value in sync and is the only update of the row after the insert
+                Map<String, Object> variableRow = getVariableRow("nrOfCompletedInstances");
+                assertEquals(String.valueOf(i + 1), variableRow.get("TEXT_"));
+                assertEquals(i + 2, ((Number) variableRow.get("REV_")).intValue());
+            }
+
+            taskService.complete(tasks.get(2).getId());
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(false);
+        }
+    }
+
+    @Deployment
+    public void testParallelAsyncScriptTasksWithAtomicCounters() {
+        processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(true);
+        try {
+            List<String> procIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                procIds.add(runtimeService.startProcessInstanceByKey("miParallelAsyncScriptTask", CollectionUtil.singletonMap("nrOfLoops", 10)).getId());
+            }
+            assertEquals(30, managementService.createJobQuery().count());
+
+            // The non-exclusive jobs are executed concurrently, so instances of the same multi instance complete at the same time
+            waitForJobExecutorToProcessAllJobs(20000L, 200L);
+
+            assertEquals(0, managementService.createDeadLetterJobQuery().count());
+            for (String procId : procIds) {
+                Task task = taskService.createTaskQuery().processInstanceId(procId).singleResult();
+                assertNotNull(task);
+                assertEquals("Task after multi instance", task.getName());
+                taskService.complete(task.getId());
+                assertProcessEnded(procId);
+            }
+
+        } finally {
+            processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(false);
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksCompletionCondition.bpmn20.xml" })
+    public void testParallelUserTasksCompletionConditionWithAtomicCounters() {
+        processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(true);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksCompletionCondition").getId();
+            List<Task> tasks = taskService.createTaskQuery().list();
+            assertEquals(5, tasks.size());
+
+            // Same as without atomic counters: completing 3 tasks gives 50% of tasks completed, which triggers completionCondition
+            for (int i = 0; i < 3; i++) {
+                assertEquals(5 - i, taskService.createTaskQuery().count());
+                taskService.complete(tasks.get(i).getId());
+            }
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setEnableParallelMultiInstanceAtomicCounters(false);
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml" })
+    public void testParallelUserTasksInstantiatedInChunks() {
+        processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(2);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+            List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertEquals(2, tasks.size());
+            assertEquals("My Task 0", tasks.get(0).getName());
+            assertEquals("My Task 1", tasks.get(1).getName());
+            assertEquals(3, runtimeService.getVariable(tasks.get(0).getExecutionId(), "nrOfInstances"));
+
+            // Completing the created instances doesn't complete the activity, as not all instances are created yet
+            taskService.complete(tasks.get(0).getId());
+            taskService.complete(tasks.get(1).getId());
+            assertEquals(0, taskService.createTaskQuery().count());
+
+            Job job = managementService.createJobQuery().singleResult();
+            managementService.executeJob(job.getId());
+
+            Task task = taskService.createTaskQuery().singleResult();
+            assertEquals("My Task 2", task.getName());
+            assertEquals("kermit_2", task.getAssignee());
+            assertEquals(0, managementService.createJobQuery().count());
+
+            taskService.complete(task.getId());
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(0);
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksCompletionCondition.bpmn20.xml" })
+    public void testParallelUserTasksCompletionConditionInstantiatedInChunks() {
+        processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(2);
+        try {
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksCompletionCondition").getId();
+            List<Task> tasks = taskService.createTaskQuery().list();
+            assertEquals(2, tasks.size());
+            taskService.complete(tasks.get(0).getId());
+            taskService.complete(tasks.get(1).getId());
+
+            // 2 of 5 instances completed, the completion condition isn't satisfied yet
+            managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+            tasks = taskService.createTaskQuery().list();
+            assertEquals(2, tasks.size());
+
+            // 3 of 5 instances completed, the pending job for the last chunk is deleted together with the activity
+            taskService.complete(tasks.get(0).getId());
+            assertEquals(0, managementService.createJobQuery().count());
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(0);
+        }
+    }
+
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasksBasedOnCollection.bpmn20.xml" })
+    public void testParallelUserTasksBasedOnCollectionInstantiatedInChunks() {
+        processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(2);
+        try {
+            List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy");
+            String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksBasedOnCollection", CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+            List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertEquals(2, tasks.size());
+            assertEquals("kermit", tasks.get(0).getAssignee());
+            assertEquals("gonzo", tasks.get(1).getAssignee());
+
+            // The later chunks use the collection as it was when the activity was reached
+            runtimeService.setVariable(procId, "assigneeList", Arrays.asList("fozzie"));
+            managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+
+            tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertEquals(3, tasks.size());
+            assertEquals("My Task 2", tasks.get(2).getName());
+            assertEquals("mispiggy", tasks.get(2).getAssignee());
+
+            for (Task task : tasks) {
+                taskService.complete(task.getId());
+            }
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(0);
+        }
+    }
+
+    @Deployment
+    public void testParallelUserTasksWithJsonElementsInstantiatedInChunks() {
+        processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(2);
+        try {
+            // JSON nodes can be stored as variables, but aren't serializable: no copy of the collection can be stored for later chunks
+            List<ObjectNode> customers = new ArrayList<>();
+            for (String name : Arrays.asList("kermit", "gonzo", "fozzie")) {
+                customers.add(processEngineConfiguration.getObjectMapper().createObjectNode().put("name", name));
+            }
+            String procId = runtimeService.createProcessInstanceBuilder()
+                    .processDefinitionKey("miParallelUserTasksWithJsonElements")
+                    .transientVariable("customers", customers)
+                    .start()
+                    .getId();
+
+            // All instances are created at once
+            List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+            assertEquals(3, tasks.size());
+            assertEquals("kermit", tasks.get(0).getAssignee());
+            assertEquals("gonzo", tasks.get(1).getAssignee());
+            assertEquals("fozzie", tasks.get(2).getAssignee());
+            assertEquals(0, managementService.createJobQuery().count());
+            assertNull(runtimeService.getVariable(tasks.get(0).getExecutionId(), "__multiInstanceCollection"));
+
+            for (Task task : tasks) {
+                taskService.complete(task.getId());
+            }
+            assertProcessEnded(procId);
+
+        } finally {
+            processEngineConfiguration.setParallelMultiInstanceInstantiationChunkSize(0);
+        }
+    }
+
     @Deployment
     public void testParallelUserTasksBasedOnCollection() {
         List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba");
@@ -1534,6 +1735,16 @@ assertProcessEnded(procId);
         TestTaskCompletionListener.count.set(0);
     }
 
+    protected Map<String, Object> getVariableRow(String variableName) {
+        TablePage tablePage = managementService.createTablePageQuery().tableName(managementService.getTableName(VariableInstanceEntity.class)).listPage(0, 100);
+        for (Map<String, Object> row : tablePage.getRows()) {
+            if (variableName.equals(row.get("NAME_"))) {
+                return row;
+            }
+        }
+        return null;
+    }
+
     public static class TestStartExecutionListener implements ExecutionListener {
 
         public static AtomicInteger countWithLoopCounter = new AtomicInteger(0);
@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Runs with batched updates and deletes enabled on the {@link org.flowable.engine.common.impl.db.DbSqlSession}.
+ */
+public class BatchUpdatesAndDeletesTest extends ResourceFlowableTestCase {
+
+    public BatchUpdatesAndDeletesTest() {
+        super("org/flowable/engine/test/db/batch-updates-deletes.flowable.cfg.xml");
+    }
+
+    @Deployment
+    public void testParallelUserTasks() {
+        assertTrue(processEngineConfiguration.isBatchUpdatesAndDeletesEnabled());
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelUserTasks");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(3, tasks.size());
+
+        for (Task task : tasks) {
+            task.setName(task.getName() + " (updated)");
+            taskService.saveTask(task);
+        }
+        for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+            assertTrue(task.getName().endsWith("(updated)"));
+        }
+
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/db/BatchUpdatesAndDeletesTest.testParallelUserTasks.bpmn20.xml")
+    public void testOptimisticLockingInBatchUpdate() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelUserTasks");
+        final List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+        assertEquals(3, tasks.size());
+
+        try {
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    for (Task task : tasks) {
+                        TaskEntity taskEntity = CommandContextUtil.getTaskEntityManager(commandContext).findById(task.getId());
+                        taskEntity.setName("changed in batch");
+                    }
+
+                    // Concurrently change the second task in a separate transaction
+                    managementService.executeCommand(new CommandConfig().transactionRequiresNew(), new Command<Void>() {
+
+                        @Override
+                        public Void execute(CommandContext commandContext) {
+                            TaskEntity taskEntity = CommandContextUtil.getTaskEntityManager(commandContext).findById(tasks.get(1).getId());
+                            taskEntity.setName("changed concurrently");
+                            return null;
+                        }
+                    });
+                    return null;
+                }
+            });
+            fail("Expected optimistic locking exception");
+
+        } catch (FlowableOptimisticLockingException e) {
+            // expected
+        }
+
+        // Nothing of the failed batch is committed
+        for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+            assertFalse("changed in batch".equals(task.getName()));
+        }
+        assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskName("changed concurrently").count());
+    }
+
+}
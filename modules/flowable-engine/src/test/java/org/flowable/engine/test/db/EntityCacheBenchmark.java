@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
+import org.flowable.engine.common.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the time of the lookups by interface in the {@link EntityCacheImpl} with the former lookup, which checked all cached classes on every lookup.
+ * Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class EntityCacheBenchmark extends TestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityCacheBenchmark.class);
+
+    public void testLookupTime() {
+        int commands = 20000;
+
+        // warm up
+        runLookups(new ScanningEntityCache(), 1000);
+        runLookups(new EntityCacheImpl(), 1000);
+
+        long scanningTime = runLookups(new ScanningEntityCache(), commands);
+        long resolvingTime = runLookups(new EntityCacheImpl(), commands);
+
+        LOGGER.info("Entity cache lookups of {} commands: checking all cached classes {} ms, resolved class caches {} ms", commands, scanningTime, resolvingTime);
+    }
+
+    /**
+     * Simulates commands with a few dozen cached entities, which look up entities by their interface, as the entity managers do.
+     */
+    protected long runLookups(EntityCacheImpl entityCacheTemplate, int commands) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < commands; i++) {
+            EntityCacheImpl entityCache = entityCacheTemplate instanceof ScanningEntityCache ? new ScanningEntityCache() : new EntityCacheImpl();
+            EntityCacheTest.fillCache(entityCache, 8);
+            for (int j = 0; j < 50; j++) {
+                if (entityCache.findInCache(ExecutionEntity.class, "execution-" + (j % 8)) != null) {
+                    found++;
+                }
+                if (entityCache.findInCache(TaskEntity.class, "task-" + (j % 8)) != null) {
+                    found++;
+                }
+                if (entityCache.findInCache(JobEntity.class, "job-" + j) != null) {
+                    found++;
+                }
+                List<VariableInstanceEntity> variables = entityCache.findInCache(VariableInstanceEntity.class);
+                found += variables.size();
+            }
+        }
+        assertEquals(commands * 50 * (1 + 1 + 8), found);
+        return (System.nanoTime() - start) / 1000000L;
+    }
+
+    /**
+     * The lookup as it was done before the class caches were resolved.
+     */
+    protected static class ScanningEntityCache extends EntityCacheImpl {
+
+        @Override
+        protected Map<String, CachedEntity> findClassCacheByCheckingSubclasses(Class<?> entityClass) {
+            for (Class<?> clazz : cachedObjects.keySet()) {
+                if (entityClass.isAssignableFrom(clazz)) {
+                    return cachedObjects.get(clazz);
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.Map;
+
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
+import org.flowable.engine.common.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.engine.common.impl.persistence.entity.Entity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.engine.impl.persistence.entity.TaskEntityImpl;
+import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntityImpl;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityImpl;
+
+import junit.framework.TestCase;
+
+/**
+ * Verifies the lookups by interface in the {@link EntityCacheImpl}.
+ */
+public class EntityCacheTest extends TestCase {
+
+    public void testFindByInterface() {
+        EntityCacheImpl entityCache = new EntityCacheImpl();
+        assertNull(entityCache.findInCache(ExecutionEntity.class, "1"));
+        assertTrue(entityCache.findInCache(ExecutionEntity.class).isEmpty());
+
+        fillCache(entityCache, 10);
+        ExecutionEntity execution = entityCache.findInCache(ExecutionEntity.class, "execution-1");
+        assertNotNull(execution);
+        assertSame(execution, entityCache.findInCache(ExecutionEntityImpl.class, "execution-1"));
+        assertEquals(10, entityCache.findInCache(ExecutionEntity.class).size());
+        assertNull(entityCache.findInCache(ExecutionEntity.class, "task-1"));
+        assertNull(entityCache.findInCache(JobEntity.class, "execution-1"));
+        assertTrue(entityCache.findInCache(JobEntity.class).isEmpty());
+    }
+
+    public void testClassAddedAfterLookup() {
+        EntityCacheImpl entityCache = new EntityCacheImpl();
+        fillCache(entityCache, 1);
+        assertTrue(entityCache.findInCache(TaskEntity.class).isEmpty());
+
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setId("task-1");
+        entityCache.put(task, true);
+
+        assertSame(task, entityCache.findInCache(TaskEntity.class, "task-1"));
+        assertEquals(1, entityCache.findInCache(TaskEntity.class).size());
+    }
+
+    public void testStoredState() {
+        EntityCacheImpl entityCache = new EntityCacheImpl();
+        TaskEntityImpl task = new TaskEntityImpl();
+        task.setId("task-1");
+        task.setName("task");
+
+        CachedEntity cachedEntity = entityCache.put(task, true);
+        assertFalse(cachedEntity.hasChanged());
+        task.setName("changed task");
+        assertTrue(cachedEntity.hasChanged());
+
+        TaskEntityImpl newTask = new TaskEntityImpl();
+        newTask.setId("task-2");
+        assertTrue(entityCache.put(newTask, false).hasChanged());
+        assertTrue(((Map<?, ?>) newTask.getOriginalPersistentState()).isEmpty());
+    }
+
+    protected static void fillCache(EntityCacheImpl entityCache, int entitiesPerType) {
+        for (int i = 0; i < entitiesPerType; i++) {
+            put(entityCache, new HistoricActivityInstanceEntityImpl(), "activity-" + i);
+            put(entityCache, new IdentityLinkEntityImpl(), "identityLink-" + i);
+            put(entityCache, new VariableInstanceEntityImpl(), "variable-" + i);
+            put(entityCache, new TaskEntityImpl(), "task-" + i);
+            put(entityCache, new ExecutionEntityImpl(), "execution-" + i);
+        }
+    }
+
+    protected static void put(EntityCacheImpl entityCache, Entity entity, String id) {
+        entity.setId(id);
+        entityCache.put(entity, false);
+    }
+
+}
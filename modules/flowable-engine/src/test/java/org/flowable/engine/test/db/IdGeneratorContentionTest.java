@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.common.impl.cfg.IdGenerator;
+import org.flowable.engine.impl.db.DbIdGenerator;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+
+/**
+ * Verifies that the {@link DbIdGenerator} and the {@link PrefetchingDbIdGenerator} hand out unique ids without gaps when many threads request ids concurrently.
+ */
+public class IdGeneratorContentionTest extends PluggableFlowableTestCase {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 1000;
+    private static final int ID_BLOCK_SIZE = 100;
+
+    public void testPrefetchingIdGeneratorUniqueIds() throws Exception {
+        PrefetchingDbIdGenerator idGenerator = initIdGenerator(new PrefetchingDbIdGenerator());
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(idGenerator.getNextId()));
+        }
+        // ids were consumed quickly, so blocks grew
+        assertTrue(idGenerator.getCurrentBlockSize() > ID_BLOCK_SIZE);
+    }
+
+    public void testContention() throws Exception {
+        assertNoGaps(generateIds(initIdGenerator(new DbIdGenerator())));
+        assertNoGaps(generateIds(initIdGenerator(new PrefetchingDbIdGenerator())));
+    }
+
+    public void testPrefetchInBackground() {
+        final List<Runnable> prefetchTasks = new ArrayList<>();
+        PrefetchingDbIdGenerator idGenerator = initIdGenerator(new PrefetchingDbIdGenerator());
+        idGenerator.setPrefetchExecutor(new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                prefetchTasks.add(command);
+            }
+        });
+
+        // the prefetch is scheduled when the 75th id of the first block is taken
+        long firstId = Long.parseLong(idGenerator.getNextId());
+        for (int i = 1; i < 74; i++) {
+            idGenerator.getNextId();
+        }
+        assertEquals(0, prefetchTasks.size());
+        idGenerator.getNextId();
+        assertEquals(1, prefetchTasks.size());
+
+        // the threshold is only passed once, so no second prefetch is scheduled
+        for (int i = 75; i < ID_BLOCK_SIZE; i++) {
+            idGenerator.getNextId();
+        }
+        assertEquals(1, prefetchTasks.size());
+
+        // the block fetched in the background is used when the current block is exhausted
+        prefetchTasks.get(0).run();
+        long nextId = Long.parseLong(idGenerator.getNextId());
+        assertTrue(nextId > firstId + ID_BLOCK_SIZE - 1);
+        assertEquals(1, prefetchTasks.size());
+    }
+
+    public void testShutdown() {
+        PrefetchingDbIdGenerator idGenerator = initIdGenerator(new PrefetchingDbIdGenerator());
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < ID_BLOCK_SIZE; i++) {
+            assertTrue(ids.add(idGenerator.getNextId()));
+        }
+        ExecutorService prefetchExecutor = (ExecutorService) idGenerator.getPrefetchExecutor();
+
+        idGenerator.shutdown();
+        assertTrue(prefetchExecutor.isShutdown());
+
+        // ids are still handed out, the blocks are fetched synchronously
+        for (int i = 0; i < 3 * ID_BLOCK_SIZE; i++) {
+            assertTrue(ids.add(idGenerator.getNextId()));
+        }
+    }
+
+    protected <T extends DbIdGenerator> T initIdGenerator(T idGenerator) {
+        idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+        return idGenerator;
+    }
+
+    protected void assertNoGaps(Set<String> ids) {
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (String id : ids) {
+            long value = Long.parseLong(id);
+            minId = Math.min(minId, value);
+            maxId = Math.max(maxId, value);
+        }
+        // the generator is the only one fetching id blocks, so the handed out ids are consecutive
+        assertEquals(ids.size(), maxId - minId + 1);
+    }
+
+    protected Set<String> generateIds(final IdGenerator idGenerator) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(new Callable<List<String>>() {
+
+                    @Override
+                    public List<String> call() throws Exception {
+                        startLatch.await();
+                        List<String> ids = new ArrayList<>(IDS_PER_THREAD);
+                        for (int j = 0; j < IDS_PER_THREAD; j++) {
+                            ids.add(idGenerator.getNextId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            startLatch.countDown();
+            Set<String> allIds = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                for (String id : future.get(60, TimeUnit.SECONDS)) {
+                    assertTrue("duplicate id " + id, allIds.add(id));
+                }
+            }
+
+            assertEquals(THREADS * IDS_PER_THREAD, allIds.size());
+            return allIds;
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
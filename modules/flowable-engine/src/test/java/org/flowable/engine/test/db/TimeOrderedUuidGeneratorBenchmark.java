@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.common.impl.cfg.IdGenerator;
+import org.flowable.engine.common.impl.persistence.StrongUuidGenerator;
+import org.flowable.engine.common.impl.persistence.TimeOrderedUuidGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the insert time of the ids of different id generators. Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class TimeOrderedUuidGeneratorBenchmark extends TestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeOrderedUuidGeneratorBenchmark.class);
+
+    /**
+     * Inserts ids of the different generators in an indexed VARCHAR(64) primary key, like the one of the engine tables, and logs the insert time.
+     */
+    public void testInsertThroughput() throws Exception {
+        final AtomicLong sequence = new AtomicLong(1);
+        IdGenerator sequentialIdGenerator = new IdGenerator() {
+
+            @Override
+            public String getNextId() {
+                return Long.toString(sequence.getAndIncrement());
+            }
+        };
+
+        int rows = 50000;
+        long strongUuidTime = insertIds("strongUuid", new StrongUuidGenerator(), rows);
+        long randomUuidTime = insertIds("randomUuid", new IdGenerator() {
+
+            @Override
+            public String getNextId() {
+                return UUID.randomUUID().toString();
+            }
+        }, rows);
+        long sequentialTime = insertIds("sequential", sequentialIdGenerator, rows);
+        long timeOrderedTime = insertIds("timeOrdered", new TimeOrderedUuidGenerator(), rows);
+
+        LOGGER.info("Inserted {} rows: StrongUuidGenerator {} ms, random UUID {} ms, DbIdGenerator style {} ms, TimeOrderedUuidGenerator {} ms",
+                rows, strongUuidTime, randomUuidTime, sequentialTime, timeOrderedTime);
+    }
+
+    protected long insertIds(String name, IdGenerator idGenerator, int rows) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:id-generator-" + name, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table ID_TEST (ID_ varchar(64) not null, NAME_ varchar(255), primary key (ID_))");
+            }
+
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement statement = connection.prepareStatement("insert into ID_TEST (ID_, NAME_) values (?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    statement.setString(1, idGenerator.getNextId());
+                    statement.setString(2, name);
+                    statement.addBatch();
+                    if (i % 1000 == 999) {
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            }
+            return (System.nanoTime() - start) / 1000000L;
+        }
+    }
+
+}
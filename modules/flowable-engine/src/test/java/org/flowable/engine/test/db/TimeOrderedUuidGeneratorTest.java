@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.flowable.engine.common.impl.persistence.TimeOrderedUuidGenerator;
+
+import junit.framework.TestCase;
+
+public class TimeOrderedUuidGeneratorTest extends TestCase {
+
+    public void testIdsAreOrderedAndValid() {
+        TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+        long before = System.currentTimeMillis();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+
+        List<String> sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        assertEquals(ids, sortedIds);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+
+        for (String id : ids.subList(0, 10)) {
+            assertEquals(36, id.length());
+            UUID uuid = UUID.fromString(id);
+            assertEquals(id, uuid.toString());
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+
+        long timestamp = UUID.fromString(ids.get(0)).getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis());
+    }
+
+    public void testIdsAreUniqueAcrossThreads() throws Exception {
+        final TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+        final List<List<String>> results = Collections.synchronizedList(new ArrayList<List<String>>());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    List<String> ids = new ArrayList<>();
+                    for (int j = 0; j < 10000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                    results.add(ids);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<String> allIds = new HashSet<>();
+        for (List<String> ids : results) {
+            allIds.addAll(ids);
+        }
+        assertEquals(80000, allIds.size());
+    }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityImpl;
+
+/**
+ * Verifies variable instances are only compared with their original state when they were changed.
+ */
+public class VariableDirtyTrackingTest extends PluggableFlowableTestCase {
+
+    public void testCachedVariableNotDirty() {
+        CountingVariableInstanceEntity variableInstance = new CountingVariableInstanceEntity();
+        variableInstance.setName("var");
+        variableInstance.setTextValue("value");
+
+        CachedEntity cachedEntity = new CachedEntity(variableInstance, true);
+        int persistentStateCalls = variableInstance.persistentStateCalls;
+        assertFalse(variableInstance.isDirty());
+        assertFalse(cachedEntity.hasChanged());
+        assertEquals(persistentStateCalls, variableInstance.persistentStateCalls);
+
+        variableInstance.setTextValue("value");
+        assertTrue(variableInstance.isDirty());
+        assertFalse(cachedEntity.hasChanged());
+
+        variableInstance.setTextValue("other value");
+        assertTrue(cachedEntity.hasChanged());
+
+        // Without stored state, the entity is always seen as changed
+        CountingVariableInstanceEntity updatedVariableInstance = new CountingVariableInstanceEntity();
+        assertTrue(new CachedEntity(updatedVariableInstance, false).hasChanged());
+    }
+
+    public void testReadVariablesAreNotUpdated() {
+        deployOneTaskTestProcess();
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            variables.put("var" + i, "value" + i);
+        }
+        final String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+        // Reading the variables doesn't update them
+        assertEquals(20, runtimeService.getVariables(processInstanceId).size());
+        assertEquals(1, getVariableRevision(processInstanceId, "var0"));
+
+        // Setting the same value doesn't update the variable either
+        runtimeService.setVariable(processInstanceId, "var0", "value0");
+        assertEquals(1, getVariableRevision(processInstanceId, "var0"));
+
+        runtimeService.setVariable(processInstanceId, "var0", "changed");
+        assertEquals(2, getVariableRevision(processInstanceId, "var0"));
+        assertEquals("changed", runtimeService.getVariable(processInstanceId, "var0"));
+        assertEquals("value1", runtimeService.getVariable(processInstanceId, "var1"));
+        assertEquals(1, getVariableRevision(processInstanceId, "var1"));
+    }
+
+    protected int getVariableRevision(final String executionId, final String variableName) {
+        return managementService.executeCommand(new Command<Integer>() {
+
+            @Override
+            public Integer execute(CommandContext commandContext) {
+                List<VariableInstanceEntity> variableInstances = CommandContextUtil.getVariableService().findVariableInstancesByExecutionId(executionId);
+                for (VariableInstanceEntity variableInstance : variableInstances) {
+                    if (variableName.equals(variableInstance.getName())) {
+                        return ((VariableInstanceEntityImpl) variableInstance).getRevision();
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    protected static class CountingVariableInstanceEntity extends VariableInstanceEntityImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        protected int persistentStateCalls;
+
+        @Override
+        public Object getPersistentState() {
+            persistentStateCalls++;
+            return super.getPersistentState();
+        }
+
+    }
+
+}
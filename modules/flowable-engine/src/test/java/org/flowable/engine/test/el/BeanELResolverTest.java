@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.engine.test.el;
+
+import org.flowable.engine.common.impl.de.odysseus.el.util.SimpleContext;
+import org.flowable.engine.common.impl.javax.el.BeanELResolver;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.MethodNotFoundException;
+import org.flowable.engine.common.impl.javax.el.PropertyNotFoundException;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the introspection caches of the {@link BeanELResolver}, which are shared between resolver instances.
+ */
+public class BeanELResolverTest extends TestCase {
+
+    public void testPropertiesResolvedByDifferentResolvers() {
+        TestBean bean = new TestBean();
+        bean.setName("first");
+
+        for (int i = 0; i < 3; i++) {
+            BeanELResolver resolver = new BeanELResolver();
+            ELContext context = new SimpleContext(resolver);
+            assertEquals("first", resolver.getValue(context, bean, "name"));
+            assertTrue(context.isPropertyResolved());
+            assertEquals(String.class, resolver.getType(context, bean, "name"));
+        }
+
+        BeanELResolver resolver = new BeanELResolver();
+        resolver.setValue(new SimpleContext(resolver), bean, "name", "second");
+        assertEquals("second", bean.getName());
+
+        try {
+            resolver.getValue(new SimpleContext(resolver), bean, "unknown");
+            fail("Expected exception");
+        } catch (PropertyNotFoundException e) {
+            // expected
+        }
+    }
+
+    public void testReadOnlyResolverWithSharedProperties() {
+        TestBean bean = new TestBean();
+        BeanELResolver writable = new BeanELResolver();
+        assertFalse(writable.isReadOnly(new SimpleContext(writable), bean, "name"));
+
+        BeanELResolver readOnly = new BeanELResolver(true);
+        assertTrue(readOnly.isReadOnly(new SimpleContext(readOnly), bean, "name"));
+    }
+
+    public void testInvokeOverloadedMethods() {
+        TestBean bean = new TestBean();
+
+        for (int i = 0; i < 3; i++) {
+            BeanELResolver resolver = new BeanELResolver();
+            ELContext context = new SimpleContext(resolver);
+            assertEquals("none", resolver.invoke(context, bean, "describe", null, new Object[0]));
+            assertEquals("one:a", resolver.invoke(context, bean, "describe", null, new Object[] { "a" }));
+            assertEquals("two:a,b", resolver.invoke(context, bean, "describe", null, new Object[] { "a", "b" }));
+            assertEquals("sum:6", resolver.invoke(context, bean, "sum", null, new Object[] { 1, 2, 3 }));
+            assertEquals("sum:0", resolver.invoke(context, bean, "sum", null, new Object[0]));
+            assertTrue(context.isPropertyResolved());
+        }
+    }
+
+    public void testInvokeWithExplicitParameterTypes() {
+        TestBean bean = new TestBean();
+        BeanELResolver resolver = new BeanELResolver();
+        ELContext context = new SimpleContext(resolver);
+        assertEquals("one:x", resolver.invoke(context, bean, "describe", new Class<?>[] { String.class }, new Object[] { "x" }));
+    }
+
+    public void testInvokeUnknownMethod() {
+        TestBean bean = new TestBean();
+        BeanELResolver resolver = new BeanELResolver();
+        for (int i = 0; i < 2; i++) {
+            try {
+                resolver.invoke(new SimpleContext(resolver), bean, "describe", null, new Object[] { "a", "b", "c" });
+                fail("Expected exception");
+            } catch (MethodNotFoundException e) {
+                // expected
+            }
+        }
+    }
+
+    public static class TestBean {
+
+        protected String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String describe() {
+            return "none";
+        }
+
+        public String describe(String first) {
+            return "one:" + first;
+        }
+
+        public String describe(String first, String second) {
+            return "two:" + first + "," + second;
+        }
+
+        public String sum(int... values) {
+            int sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return "sum:" + sum;
+        }
+    }
+}
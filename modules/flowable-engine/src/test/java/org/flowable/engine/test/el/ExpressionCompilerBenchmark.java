@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.el;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.common.impl.de.odysseus.el.ExpressionFactoryImpl;
+import org.flowable.engine.common.impl.de.odysseus.el.util.SimpleContext;
+import org.flowable.engine.common.impl.el.JsonNodeELResolver;
+import org.flowable.engine.common.impl.el.ReadOnlyMapELResolver;
+import org.flowable.engine.common.impl.el.compiler.CompiledValueExpression;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
+import org.flowable.engine.common.impl.javax.el.ArrayELResolver;
+import org.flowable.engine.common.impl.javax.el.BeanELResolver;
+import org.flowable.engine.common.impl.javax.el.CompositeELResolver;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.ListELResolver;
+import org.flowable.engine.common.impl.javax.el.MapELResolver;
+import org.flowable.engine.common.impl.javax.el.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import junit.framework.TestCase;
+
+/**
+ * JMH comparison of the interpreted and the compiled evaluation of typical gateway conditions, resolved through the same
+ * resolver chain as the {@link org.flowable.engine.impl.el.DefaultExpressionManager}. Not part of the default build,
+ * run it with the <code>benchmark</code> profile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionCompilerBenchmark extends TestCase {
+
+    public void testInterpretedVersusCompiled() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ExpressionCompilerBenchmark.class.getName() + ".*")
+                .build())
+                .run();
+    }
+
+    @Benchmark
+    public Object interpreted(ExpressionState state) {
+        return state.interpretedExpression.getValue(state.elContext);
+    }
+
+    @Benchmark
+    public Object compiled(ExpressionState state) {
+        return state.compiledExpression.getValue(state.elContext);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ExpressionState {
+
+        @Param({
+                "${amount > 1000 && approved}",
+                "${order.total >= 500 && order.status == 'open'}",
+                "${!approved || customer['status'] == 'new'}",
+                "${amount > 5000 ? 'large' : 'regular'}"
+        })
+        public String expression;
+
+        protected ELContext elContext;
+        protected ValueExpression interpretedExpression;
+        protected ValueExpression compiledExpression;
+
+        @Setup
+        public void setUp() {
+            Map<String, Object> customer = new HashMap<>();
+            customer.put("name", "Kermit");
+            customer.put("status", "new");
+
+            Map<Object, Object> variables = new HashMap<>();
+            variables.put("amount", 1500);
+            variables.put("approved", true);
+            variables.put("order", new ExpressionCompilerTest.Order());
+            variables.put("customer", customer);
+
+            CompositeELResolver elResolver = new CompositeELResolver();
+            elResolver.add(new ReadOnlyMapELResolver(variables));
+            elResolver.add(new ArrayELResolver());
+            elResolver.add(new ListELResolver());
+            elResolver.add(new MapELResolver());
+            elResolver.add(new JsonNodeELResolver());
+            elResolver.add(new BeanELResolver());
+            elContext = new SimpleContext(elResolver);
+
+            interpretedExpression = new ExpressionFactoryImpl().createValueExpression(elContext, expression, Object.class);
+            compiledExpression = new ExpressionCompiler().compile(interpretedExpression);
+            if (!(compiledExpression instanceof CompiledValueExpression)) {
+                throw new IllegalStateException("Expression was not compiled: " + expression);
+            }
+        }
+    }
+
+}
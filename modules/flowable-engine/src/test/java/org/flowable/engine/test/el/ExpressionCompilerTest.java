@@ -0,0 +1,235 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.engine.test.el;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.impl.de.odysseus.el.ExpressionFactoryImpl;
+import org.flowable.engine.common.impl.de.odysseus.el.util.SimpleContext;
+import org.flowable.engine.common.impl.de.odysseus.el.util.SimpleResolver;
+import org.flowable.engine.common.impl.el.compiler.CompiledValueExpression;
+import org.flowable.engine.common.impl.el.compiler.ExpressionCompiler;
+import org.flowable.engine.common.impl.javax.el.ELContext;
+import org.flowable.engine.common.impl.javax.el.ELResolver;
+import org.flowable.engine.common.impl.javax.el.ExpressionFactory;
+import org.flowable.engine.common.impl.javax.el.ValueExpression;
+import org.flowable.engine.impl.el.DefaultExpressionManager;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.task.Task;
+
+/**
+ * Tests the {@link ExpressionCompiler}: compiled expressions must evaluate to the same values, and throw the same
+ * exceptions, as the interpreted expression trees.
+ */
+public class ExpressionCompilerTest extends PluggableFlowableTestCase {
+
+    protected static final String[] EXPRESSIONS = {
+            "${amount > 1000 && approved}",
+            "${amount > 1000 || unknown}",
+            "${amount < 10 && unknown}",
+            "${!approved}",
+            "${not approved and amount ge 10}",
+            "${order.total >= 500}",
+            "${order.status == 'open'}",
+            "${order.status != 'open'}",
+            "${order['status']}",
+            "${order.parent.total}",
+            "${order.items[1]}",
+            "${empty order.items}",
+            "${empty nothing}",
+            "${nothing.property}",
+            "${nothing[unknown]}",
+            "${map.key}",
+            "${map['count'] + 1}",
+            "${map[nothing]}",
+            "${array[2]}",
+            "${-amount}",
+            "${amount - 1.5}",
+            "${amount * 2}",
+            "${amount / 4}",
+            "${amount % 7}",
+            "${amount > 1000 ? 'big' : 'small'}",
+            "${amount < 1000 ? unknown : 'small'}",
+            "${amount > 1000 ? (approved ? 1 : 2) : 3}",
+            "Dear ${order.customer}, you owe ${amount}.",
+            "${null}",
+            "${true}",
+            "${'text'}",
+            "${42}",
+            "#{amount}",
+            "${order.describe(amount) == 'amount 1500' && approved}",
+            "${order.unknown}",
+            "${unknown}",
+    };
+
+    protected ExpressionFactory expressionFactory;
+    protected ELContext elContext;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        expressionFactory = new ExpressionFactoryImpl();
+        elContext = new SimpleContext(new SimpleResolver());
+
+        ELResolver resolver = elContext.getELResolver();
+        resolver.setValue(elContext, null, "amount", 1500);
+        resolver.setValue(elContext, null, "approved", true);
+        resolver.setValue(elContext, null, "order", new Order());
+        resolver.setValue(elContext, null, "nothing", null);
+        resolver.setValue(elContext, null, "array", new int[] { 1, 2, 3 });
+        Map<String, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put("count", 3);
+        resolver.setValue(elContext, null, "map", map);
+    }
+
+    public void testCompiledExpressionsMatchInterpreter() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        for (String expressionText : EXPRESSIONS) {
+            ValueExpression interpreted = expressionFactory.createValueExpression(elContext, expressionText, Object.class);
+            ValueExpression compiled = compiler.compile(interpreted);
+
+            assertTrue(expressionText, compiled instanceof CompiledValueExpression);
+            assertEquals(expressionText, evaluate(interpreted), evaluate(compiled));
+            assertEquals(interpreted, ((CompiledValueExpression) compiled).getTreeValueExpression());
+            assertEquals(expressionText, compiled.getExpressionString());
+        }
+        assertEquals(EXPRESSIONS.length, compiler.getCompiledExpressionCount());
+    }
+
+    public void testExpectedTypeIsApplied() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        ValueExpression compiled = compiler.compile(expressionFactory.createValueExpression(elContext, "${amount + 1}", String.class));
+        assertTrue(compiled instanceof CompiledValueExpression);
+        assertEquals("1501", compiled.getValue(elContext));
+    }
+
+    public void testExpressionsWithoutCompilableNodesAreNotCompiled() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+
+        ValueExpression literal = expressionFactory.createValueExpression(elContext, "plain text", Object.class);
+        assertSame(literal, compiler.compile(literal));
+
+        // a method call is evaluated by the interpreter, so there is nothing to compile
+        ValueExpression methodCall = expressionFactory.createValueExpression(elContext, "${order.describe(amount)}", Object.class);
+        assertSame(methodCall, compiler.compile(methodCall));
+
+        assertEquals(0, compiler.getCompiledExpressionCount());
+    }
+
+    public void testEvaluatorIsReusedForSameExpression() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        ValueExpression first = compiler.compile(expressionFactory.createValueExpression(elContext, "${amount > 1000}", Object.class));
+        ValueExpression second = compiler.compile(expressionFactory.createValueExpression(elContext, "${amount > 1000}", Object.class));
+        assertTrue(first instanceof CompiledValueExpression);
+        assertTrue(second instanceof CompiledValueExpression);
+        assertEquals(true, second.getValue(elContext));
+        assertEquals(1, compiler.getCompiledExpressionCount());
+    }
+
+    public void testMaxCompiledExpressions() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        compiler.setMaxCompiledExpressions(1);
+        assertTrue(compiler.compile(expressionFactory.createValueExpression(elContext, "${amount > 1000}", Object.class)) instanceof CompiledValueExpression);
+
+        ValueExpression beyondLimit = expressionFactory.createValueExpression(elContext, "${amount < 1000}", Object.class);
+        assertSame(beyondLimit, compiler.compile(beyondLimit));
+        assertEquals(1, compiler.getCompiledExpressionCount());
+    }
+
+    public void testSetValueIsDelegatedToTree() {
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        ValueExpression compiled = compiler.compile(expressionFactory.createValueExpression(elContext, "${map.key}", Object.class));
+        compiled.setValue(elContext, "changed");
+        assertEquals("changed", compiled.getValue(elContext));
+        assertFalse(compiled.isReadOnly(elContext));
+    }
+
+    public void testGatewayConditions() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) processEngineConfiguration.getExpressionManager();
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        expressionManager.setExpressionCompiler(compiler);
+        String deploymentId = null;
+        try {
+            deploymentId = repositoryService.createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/el/ExpressionCompilerTest.testGatewayConditions.bpmn20.xml")
+                    .deploy()
+                    .getId();
+            assertTrue(compiler.getCompiledExpressionCount() > 0);
+
+            assertEquals("Ship large order of Kermit", startAndGetTask(6000, true, "regular").getName());
+            assertEquals("Ship regular order of Kermit", startAndGetTask(2000, true, "regular").getName());
+            assertEquals("Contact Kermit", startAndGetTask(2000, false, "new").getName());
+            assertEquals("Review order", startAndGetTask(2000, false, "regular").getName());
+            assertEquals("Review order", startAndGetTask(500, true, "new").getName());
+
+        } finally {
+            expressionManager.setExpressionCompiler(null);
+            if (deploymentId != null) {
+                repositoryService.deleteDeployment(deploymentId, true);
+            }
+        }
+    }
+
+    protected Task startAndGetTask(int amount, boolean approved, String customerStatus) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("name", "Kermit");
+        customer.put("status", customerStatus);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("amount", amount);
+        variables.put("approved", approved);
+        variables.put("customer", customer);
+        String processInstanceId = runtimeService.startProcessInstanceByKey("compiledConditions", variables).getId();
+        return taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    }
+
+    protected Object evaluate(ValueExpression expression) {
+        try {
+            return expression.getValue(elContext);
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    public static class Order {
+
+        public int getTotal() {
+            return 750;
+        }
+
+        public String getStatus() {
+            return "open";
+        }
+
+        public String getCustomer() {
+            return "Kermit";
+        }
+
+        public Order getParent() {
+            return null;
+        }
+
+        public List<String> getItems() {
+            return Arrays.asList("first", "second");
+        }
+
+        public String describe(Object value) {
+            return "amount " + value;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.engine.common.impl.history.HistoryLevel;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.history.HistoricActivityInstanceLookupStatistics;
+import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.ProcessDefinitionUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Tests the lookup statistics of the {@link org.flowable.engine.impl.history.HistoricActivityInstanceIndex}.
+ */
+public class HistoricActivityInstanceIndexTest extends PluggableFlowableTestCase {
+
+    @Deployment(resources = "org/flowable/engine/test/history/oneTaskProcess.bpmn20.xml")
+    public void testLookupStatistics() {
+        HistoryManager historyManager = processEngineConfiguration.getHistoryManager();
+        if (!(historyManager instanceof DefaultHistoryManager) || !HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            return;
+        }
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        final String executionId = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("theTask").singleResult().getId();
+
+        final DefaultHistoryManager defaultHistoryManager = (DefaultHistoryManager) historyManager;
+        HistoricActivityInstanceLookupStatistics statistics = defaultHistoryManager.getHistoricActivityInstanceLookupStatistics();
+        statistics.reset();
+
+        final List<HistoricActivityInstanceEntity> results = new ArrayList<>();
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(executionId);
+                FlowElement taskElement = execution.getCurrentFlowElement();
+                FlowElement startElement = ProcessDefinitionUtil.getProcess(execution.getProcessDefinitionId()).getFlowElement("theStart");
+
+                // the start event instance is finished: the first lookup queries the database, the second one is answered by the index
+                execution.setCurrentFlowElement(startElement);
+                results.add(defaultHistoryManager.findActivityInstance(execution, false, true));
+                results.add(defaultHistoryManager.findActivityInstance(execution, false, true));
+
+                // the user task instance is fetched from the database once, the second lookup finds it in the index
+                execution.setCurrentFlowElement(taskElement);
+                results.add(defaultHistoryManager.findActivityInstance(execution, false, true));
+                results.add(defaultHistoryManager.findActivityInstance(execution, false, true));
+                return null;
+            }
+        });
+
+        assertNull(results.get(0));
+        assertNull(results.get(1));
+        assertNotNull(results.get(2));
+        assertEquals("theTask", results.get(2).getActivityId());
+        assertSame(results.get(2), results.get(3));
+
+        assertEquals(4, statistics.getLookups());
+        assertEquals(1, statistics.getIndexHits());
+        assertEquals(2, statistics.getDatabaseLookups());
+        assertEquals(1, statistics.getDatabaseLookupsSaved());
+    }
+
+}
@@ -17,10 +17,15 @@ import java.util.List;
 
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.impl.history.HistoryLevel;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.history.HistoricActivityInstance;
 import org.flowable.engine.history.HistoricActivityInstanceQuery;
 import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.history.HistoricActivityInstanceLookupStatistics;
+import org.flowable.engine.impl.history.HistoryManager;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.Execution;
@@ -365,6 +370,57 @@ public class HistoricActivityInstanceTest extends PluggableFlowableTestCase {
         assertNotNull(historicActivityInstance.get(1).getEndTime());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/history/HistoricActivityInstanceTest.testParallelJoinEndTime.bpmn20.xml")
+    public void testHistoricActivityInstanceLookupInOneCommand() {
+        final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("forkJoin");
+
+        HistoryManager historyManager = processEngineConfiguration.getHistoryManager();
+        HistoricActivityInstanceLookupStatistics statistics = null;
+        if (historyManager instanceof DefaultHistoryManager) {
+            statistics = ((DefaultHistoryManager) historyManager).getHistoricActivityInstanceLookupStatistics();
+            statistics.reset();
+        }
+
+        // assigning and completing the tasks in one command looks up the same historic activity instances multiple times
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+                    taskService.setAssignee(task.getId(), "kermit");
+                    taskService.complete(task.getId());
+                }
+                return null;
+            }
+        });
+
+        waitForHistoryJobExecutorToProcessAllJobs(5000, 100);
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            List<HistoricActivityInstance> userTaskInstances = historyService.createHistoricActivityInstanceQuery()
+                    .processInstanceId(processInstance.getId())
+                    .activityType("userTask")
+                    .list();
+            assertEquals(3, userTaskInstances.size());
+            int finished = 0;
+            for (HistoricActivityInstance historicActivityInstance : userTaskInstances) {
+                if (historicActivityInstance.getEndTime() != null) {
+                    assertEquals("kermit", historicActivityInstance.getAssignee());
+                    finished++;
+                }
+            }
+            assertEquals(2, finished);
+            assertEquals(2, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("join").finished().count());
+
+            if (statistics != null) {
+                assertTrue(statistics.getLookups() > 0);
+                assertTrue(statistics.getIndexHits() > 0);
+                // the task activities are fetched from the database when assigning, completing them uses the index
+                assertTrue(statistics.getDatabaseLookups() > 0);
+            }
+        }
+    }
+
     @Deployment
     public void testLoop() {
         ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("historic-activity-loops", CollectionUtil.singletonMap("input", 0));
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.flowable.engine.impl.asyncexecutor.AdaptiveJobAcquisitionStrategy;
+import org.junit.Test;
+
+public class AdaptiveJobAcquisitionStrategyTest {
+
+    @Test
+    public void testBackOffWhenIdle() {
+        AdaptiveJobAcquisitionStrategy strategy = new AdaptiveJobAcquisitionStrategy(100, 1000, 1, 16);
+        assertEquals(100L, strategy.jobsAcquired(1, 0, 0));
+        assertEquals(200L, strategy.jobsAcquired(1, 0, 0));
+        assertEquals(400L, strategy.jobsAcquired(1, 0, 0));
+        assertEquals(800L, strategy.jobsAcquired(1, 0, 0));
+        assertEquals(1000L, strategy.jobsAcquired(1, 0, 0));
+        assertEquals(1000L, strategy.jobsAcquired(1, 0, 0));
+
+        // a single hit resets the wait time
+        assertEquals(0L, strategy.jobsAcquired(1, 1, 0));
+        assertEquals(100L, strategy.jobsAcquired(2, 0, 0));
+    }
+
+    @Test
+    public void testPageSizeGrowsWhenBusy() {
+        AdaptiveJobAcquisitionStrategy strategy = new AdaptiveJobAcquisitionStrategy(100, 1000, 2, 16);
+        assertEquals(2, strategy.getPageSize(100));
+
+        int pageSize = strategy.getPageSize(100);
+        assertEquals(0L, strategy.jobsAcquired(pageSize, pageSize, 0));
+        assertEquals(4, strategy.getPageSize(100));
+
+        for (int i = 0; i < 5; i++) {
+            pageSize = strategy.getPageSize(100);
+            assertEquals(0L, strategy.jobsAcquired(pageSize, pageSize, 0));
+        }
+        assertEquals(16, strategy.getPageSize(100));
+
+        // never more than the executor can accept
+        assertEquals(5, strategy.getPageSize(5));
+
+        // a low hit rate shrinks the page again
+        assertEquals(100L, strategy.jobsAcquired(16, 3, 0));
+        assertEquals(8, strategy.getPageSize(100));
+
+        // an empty acquisition falls back to the minimal page size
+        strategy.jobsAcquired(8, 0, 0);
+        assertEquals(2, strategy.getPageSize(100));
+    }
+
+    @Test
+    public void testRejectedJobsAndConflicts() {
+        AdaptiveJobAcquisitionStrategy strategy = new AdaptiveJobAcquisitionStrategy(100, 1000, 1, 16);
+        for (int i = 0; i < 4; i++) {
+            int pageSize = strategy.getPageSize(100);
+            strategy.jobsAcquired(pageSize, pageSize, 0);
+        }
+        assertEquals(16, strategy.getPageSize(100));
+
+        // rejected jobs use the queue-full wait time, not the maximum wait time
+        assertEquals(0L, strategy.jobsAcquired(16, 16, 4));
+        assertEquals(8, strategy.getPageSize(100));
+
+        assertEquals(100L, strategy.acquisitionConflict());
+        assertEquals(4, strategy.getPageSize(100));
+
+        assertEquals(1000L, strategy.acquisitionFailed());
+        assertEquals(1, strategy.getPageSize(100));
+    }
+
+    @Test
+    public void testQueueFullWaitTime() {
+        AdaptiveJobAcquisitionStrategy strategy = new AdaptiveJobAcquisitionStrategy(100, 10000, 1, 16, 50);
+        assertEquals(50L, strategy.jobsAcquired(4, 4, 1));
+        assertEquals(50L, strategy.jobsAcquired(2, 2, 2));
+
+        // the back-off after rejections starts again from the minimum wait time
+        assertEquals(100L, strategy.jobsAcquired(1, 0, 0));
+    }
+
+}
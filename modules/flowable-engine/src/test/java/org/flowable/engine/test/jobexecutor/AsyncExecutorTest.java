@@ -13,7 +13,11 @@
 package org.flowable.engine.test.jobexecutor;
 
 import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.ProcessEngine;
@@ -84,6 +88,116 @@ public class AsyncExecutorTest {
         }
     }
 
+    @Test
+    public void testAdaptiveJobAcquisition() {
+
+        ProcessEngine processEngine = null;
+
+        try {
+            processEngine = createProcessEngine(true, null, true, 0);
+            setClockToCurrentTime(processEngine);
+            deploy(processEngine, "AsyncExecutorTest.testRegularAsyncExecution.bpmn20.xml");
+
+            for (int i = 0; i < 5; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncExecutor");
+            }
+            Assert.assertEquals(5, processEngine.getManagementService().createTimerJobQuery().count());
+
+            // Triggers all timers, which are acquired by the adaptive timer acquisition
+            addSecondsToCurrentTime(processEngine, 361);
+            waitForAllJobsBeingExecuted(processEngine);
+
+            Assert.assertEquals(0, processEngine.getTaskService().createTaskQuery().taskName("The Task").count());
+            Assert.assertEquals(5, processEngine.getTaskService().createTaskQuery().taskName("Task after timer").count());
+            Assert.assertEquals(0, processEngine.getManagementService().createTimerJobQuery().count());
+            Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+
+            Assert.assertEquals(5, getAsyncExecutorJobCount(processEngine));
+        } finally {
+
+            // Clean up
+            if (processEngine != null) {
+                cleanup(processEngine);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundedConcurrencyExecution() {
+
+        ProcessEngine processEngine = null;
+
+        try {
+            processEngine = createProcessEngine(true, null, false, 2);
+            setClockToCurrentTime(processEngine);
+            deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+            CountingAsyncExecutor asyncExecutor = (CountingAsyncExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+            Assert.assertNull(asyncExecutor.getThreadPoolQueue());
+
+            for (int i = 0; i < 10; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+            waitForAllJobsBeingExecuted(processEngine);
+
+            Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+            Assert.assertEquals(10, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+
+            // Jobs rejected because all permits were in use are acquired again later
+            Assert.assertTrue(getAsyncExecutorJobCount(processEngine) >= 10);
+
+            // Never more jobs executing at the same time than there are permits
+            int maxConcurrentExecutions = asyncExecutor.getMaxConcurrentExecutions().get();
+            Assert.assertTrue("Max concurrent executions was " + maxConcurrentExecutions, maxConcurrentExecutions > 0 && maxConcurrentExecutions <= 2);
+
+        } finally {
+
+            // Clean up
+            if (processEngine != null) {
+                cleanup(processEngine);
+            }
+        }
+    }
+
+    @Test
+    public void testAdaptiveJobAcquisitionWithCustomExecutorService() {
+
+        ProcessEngine processEngine = null;
+
+        try {
+            // A user supplied thread pool with a tiny queue, so most jobs are rejected and acquired again later
+            BlockingQueue<Runnable> threadPoolQueue = new ArrayBlockingQueue<>(1);
+            ThreadPoolExecutor executorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, threadPoolQueue);
+
+            ProcessEngineConfigurationImpl processEngineConfiguration = createProcessEngineConfiguration(true, true, 0);
+            CountingAsyncExecutor asyncExecutor = (CountingAsyncExecutor) processEngineConfiguration.getAsyncExecutor();
+            asyncExecutor.setExecutorService(executorService);
+            asyncExecutor.setThreadPoolQueue(threadPoolQueue);
+
+            // Without the capacity signal, every full queue would stall the acquisition for this long
+            asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(60000);
+
+            processEngine = processEngineConfiguration.buildProcessEngine();
+            deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+            for (int i = 0; i < 10; i++) {
+                processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+            waitForAllJobsBeingExecuted(processEngine, 20000L);
+
+            Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+            Assert.assertEquals(10, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+            Assert.assertTrue(getAsyncExecutorJobCount(processEngine) >= 10);
+
+        } finally {
+
+            // Clean up
+            if (processEngine != null) {
+                cleanup(processEngine);
+            }
+        }
+    }
+
     @Test
     public void testAsyncExecutorDisabledOnOneEngine() {
 
@@ -219,6 +333,20 @@ public class AsyncExecutorTest {
     }
 
     private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+        return createProcessEngine(enableAsyncExecutor, time, false, 0);
+    }
+
+    private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, boolean adaptiveJobAcquisition, int maxConcurrentJobs) {
+        ProcessEngine processEngine = createProcessEngineConfiguration(enableAsyncExecutor, adaptiveJobAcquisition, maxConcurrentJobs).buildProcessEngine();
+
+        if (time != null) {
+            processEngine.getProcessEngineConfiguration().getClock().setCurrentTime(time);
+        }
+
+        return processEngine;
+    }
+
+    private ProcessEngineConfigurationImpl createProcessEngineConfiguration(boolean enableAsyncExecutor, boolean adaptiveJobAcquisition, int maxConcurrentJobs) {
         ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
         processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
         processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -229,16 +357,14 @@ public class AsyncExecutorTest {
             CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
             countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
             countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+            countingAsyncExecutor.setAdaptiveJobAcquisition(adaptiveJobAcquisition);
+            countingAsyncExecutor.setAdaptiveJobAcquisitionMinWaitTimeInMillis(10);
+            countingAsyncExecutor.setMaxConcurrentJobs(maxConcurrentJobs);
+            countingAsyncExecutor.setUseVirtualThreads(maxConcurrentJobs > 0);
             processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
         }
 
-        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
-
-        if (time != null) {
-            processEngine.getProcessEngineConfiguration().getClock().setCurrentTime(time);
-        }
-
-        return processEngine;
+        return processEngineConfiguration;
     }
 
     private Date setClockToCurrentTime(ProcessEngine processEngine) {
@@ -284,6 +410,8 @@ public class AsyncExecutorTest {
         private static final Logger LOGGER = LoggerFactory.getLogger(CountingAsyncExecutor.class);
 
         private AtomicInteger counter = new AtomicInteger(0);
+        private AtomicInteger concurrentExecutions = new AtomicInteger(0);
+        private AtomicInteger maxConcurrentExecutions = new AtomicInteger(0);
 
         @Override
         public boolean executeAsyncJob(JobInfo job) {
@@ -294,6 +422,27 @@ public class AsyncExecutorTest {
             return success;
         }
 
+        @Override
+        protected Runnable createRunnableForJob(JobInfo job) {
+            final Runnable runnable = super.createRunnableForJob(job);
+            return new Runnable() {
+
+                @Override
+                public void run() {
+                    int current = concurrentExecutions.incrementAndGet();
+                    int max = maxConcurrentExecutions.get();
+                    while (current > max && !maxConcurrentExecutions.compareAndSet(max, current)) {
+                        max = maxConcurrentExecutions.get();
+                    }
+                    try {
+                        runnable.run();
+                    } finally {
+                        concurrentExecutions.decrementAndGet();
+                    }
+                }
+            };
+        }
+
         public AtomicInteger getCounter() {
             return counter;
         }
@@ -302,6 +451,10 @@ public class AsyncExecutorTest {
             this.counter = counter;
         }
 
+        public AtomicInteger getMaxConcurrentExecutions() {
+            return maxConcurrentExecutions;
+        }
+
     }
 
 }
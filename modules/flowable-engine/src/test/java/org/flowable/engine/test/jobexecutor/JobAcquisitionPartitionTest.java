@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
+import org.junit.Test;
+
+public class JobAcquisitionPartitionTest {
+
+    @Test
+    public void testEveryJobBelongsToExactlyOnePartition() {
+        JobAcquisitionPartition[] partitions = new JobAcquisitionPartition[4];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new JobAcquisitionPartition(partitions.length, i, 10000L);
+        }
+
+        int[] counts = new int[partitions.length];
+        for (int i = 0; i < 4000; i++) {
+            String jobId = i % 2 == 0 ? String.valueOf(i + 1000) : UUID.randomUUID().toString();
+            int owners = 0;
+            for (int j = 0; j < partitions.length; j++) {
+                if (partitions[j].isOwnBucket(jobId)) {
+                    owners++;
+                    counts[j]++;
+                }
+            }
+            assertEquals(1, owners);
+        }
+
+        for (int count : counts) {
+            assertTrue("unbalanced partitions", count > 500);
+        }
+    }
+
+    @Test
+    public void testJobsOfOtherPartitionsAfterGracePeriod() {
+        JobAcquisitionPartition partition = new JobAcquisitionPartition(2, 0, 10000L);
+        String otherJobId = null;
+        for (int i = 0; otherJobId == null; i++) {
+            if (!partition.isOwnBucket(String.valueOf(i))) {
+                otherJobId = String.valueOf(i);
+            }
+        }
+
+        Date now = new Date();
+        assertFalse(partition.isAcquirable(otherJobId, new Date(now.getTime() - 5000L), now));
+        assertTrue(partition.isAcquirable(otherJobId, new Date(now.getTime() - 10000L), now));
+        assertTrue(partition.isAcquirable(otherJobId, null, now));
+
+
+        Map<String, Object> parameters = partition.createQueryParameters(now);
+        assertEquals(2, parameters.get("partitionCount"));
+        assertEquals(0, parameters.get("partitionIndex"));
+        assertEquals(new Date(now.getTime() - 10000L), parameters.get("gracePeriodThreshold"));
+    }
+
+    @Test
+    public void testBucket() {
+        JobAcquisitionPartition partition = new JobAcquisitionPartition(4, 0, 10000L);
+        assertEquals(('7' + 31 * '0' + 961 * '5') % 4, partition.getBucket("2507"));
+        // shorter ids are padded with zeros
+        assertEquals(('7' + 31 * '0' + 961 * '0') % 4, partition.getBucket("7"));
+
+        // the end of the first group is used for UUIDs, the last group is the same for all time based UUIDs of one node
+        assertEquals(('c' + 31 * '3' + 961 * 'c') % 4, partition.getBucket("0a1b2c3c-1f2e-11e7-9598-0800200c9a66"));
+        assertEquals(partition.getBucket("0a1b2c3c-1f2e-11e7-9598-0800200c9a66"), partition.getBucket("0a1b2c3c-5d4e-11e7-8a6b-ffffffffffff"));
+    }
+
+    @Test
+    public void testInvalidPartitionIndex() {
+        try {
+            new JobAcquisitionPartition(2, 2, 0L);
+            fail("Expected exception");
+        } catch (FlowableIllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -12,13 +12,19 @@
  */
 package org.flowable.engine.test.jobexecutor;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.interceptor.Command;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.JobAcquisitionPartition;
 import org.flowable.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.flowable.engine.impl.cmd.ExecuteAsyncJobCmd;
 import org.flowable.engine.impl.persistence.entity.JobEntity;
@@ -94,4 +100,70 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
         assertEquals("i'm coding a test", tweetHandler.getMessages().get(0));
         assertEquals(1, tweetHandler.getMessages().size());
     }
+
+    public void testPartitionedJobsToExecute() {
+        processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME));
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        final List<String> jobIds = new ArrayList<>();
+        final List<String> timerJobIds = new ArrayList<>();
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                for (int i = 0; i < 12; i++) {
+                    JobEntity message = createTweetMessage("message " + i);
+                    CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(message);
+                    jobIds.add(message.getId());
+
+                    TimerJobEntity timer = createTweetTimer("timer " + i, new Date(SOME_TIME));
+                    CommandContextUtil.getJobManager(commandContext).scheduleTimerJob(timer);
+                    timerJobIds.add(timer.getId());
+                }
+                return null;
+            }
+        });
+
+        try {
+            // the partition predicate of the queries selects the same jobs as the bucket calculated for the job id
+            Set<String> foundJobIds = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                JobAcquisitionPartition partition = new JobAcquisitionPartition(3, i, 60 * SECOND);
+                for (String jobId : findJobIdsToExecute(partition)) {
+                    assertTrue(jobId, partition.isOwnBucket(jobId));
+                    assertTrue(jobId, foundJobIds.add(jobId));
+                }
+            }
+            assertEquals(24, foundJobIds.size());
+            assertTrue(foundJobIds.containsAll(jobIds));
+            assertTrue(foundJobIds.containsAll(timerJobIds));
+
+            // once the grace period has passed, the jobs of other partitions are selected as well
+            processEngineConfiguration.getClock().setCurrentTime(new Date(SOME_TIME + (61 * SECOND)));
+            assertEquals(24, findJobIdsToExecute(new JobAcquisitionPartition(3, 0, 60 * SECOND)).size());
+
+        } finally {
+            for (String jobId : jobIds) {
+                managementService.deleteJob(jobId);
+            }
+            for (String timerJobId : timerJobIds) {
+                managementService.deleteTimerJob(timerJobId);
+            }
+        }
+    }
+
+    protected List<String> findJobIdsToExecute(final JobAcquisitionPartition partition) {
+        return processEngineConfiguration.getCommandExecutor().execute(new Command<List<String>>() {
+
+            public List<String> execute(CommandContext commandContext) {
+                List<String> jobIds = new ArrayList<>();
+                for (JobEntity job : CommandContextUtil.getJobEntityManager(commandContext).findJobsToExecute(new Page(0, 100), partition)) {
+                    jobIds.add(job.getId());
+                }
+                for (TimerJobEntity timerJob : CommandContextUtil.getTimerJobEntityManager(commandContext).findTimerJobsToExecute(new Page(0, 100), partition)) {
+                    jobIds.add(timerJob.getId());
+                }
+                return jobIds;
+            }
+        });
+    }
 }
\ No newline at end of file
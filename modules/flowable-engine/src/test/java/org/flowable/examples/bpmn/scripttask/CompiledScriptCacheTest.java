@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.examples.bpmn.scripttask;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.engine.impl.scripting.CompiledScriptCache;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+
+/**
+ * Runs script tasks with the compiled script cache enabled.
+ */
+public class CompiledScriptCacheTest extends ResourceFlowableTestCase {
+
+    public CompiledScriptCacheTest() {
+        super("org/flowable/examples/bpmn/scripttask/compiled-script-cache.flowable.cfg.xml");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        getCompiledScriptCache().clear();
+        getCompiledScriptCache().resetStatistics();
+    }
+
+    @Deployment
+    public void testCompiledScriptReused() {
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("a", i);
+            variables.put("b", 10);
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("compiledScript", variables);
+            assertEquals(i + 10, runtimeService.getVariable(processInstance.getId(), "sum"));
+        }
+
+        CompiledScriptCache compiledScriptCache = getCompiledScriptCache();
+        assertEquals(1, compiledScriptCache.size());
+        assertEquals(1, compiledScriptCache.getCompileCount());
+        assertEquals(1, compiledScriptCache.getMissCount());
+        assertEquals(2, compiledScriptCache.getHitCount());
+    }
+
+    public void testCompiledScriptsClearedOnDeploymentRemoval() {
+        String deploymentId = repositoryService.createDeployment()
+                .addClasspathResource("org/flowable/examples/bpmn/scripttask/CompiledScriptCacheTest.testCompiledScriptReused.bpmn20.xml")
+                .deploy()
+                .getId();
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        variables.put("b", 2);
+        runtimeService.startProcessInstanceByKey("compiledScript", variables);
+        assertEquals(1, getCompiledScriptCache().size());
+
+        repositoryService.deleteDeployment(deploymentId, true);
+        assertEquals(0, getCompiledScriptCache().size());
+    }
+
+    protected CompiledScriptCache getCompiledScriptCache() {
+        return processEngineConfiguration.getScriptingEngines().getCompiledScriptCache();
+    }
+
+}
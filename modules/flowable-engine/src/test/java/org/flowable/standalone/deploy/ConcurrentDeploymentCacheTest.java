@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.flowable.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentDeploymentCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>();
+        cache.add("one", "1");
+
+        Assert.assertEquals("1", cache.get("one"));
+        Assert.assertEquals("1", cache.get("one"));
+        Assert.assertNull(cache.get("two"));
+        Assert.assertTrue(cache.contains("one"));
+        Assert.assertFalse(cache.contains("two"));
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        cache.remove("one");
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(3);
+        cache.add("one", "1");
+        Thread.sleep(5L);
+        cache.add("two", "2");
+        Thread.sleep(5L);
+        cache.add("three", "3");
+        Thread.sleep(5L);
+
+        // Accessing 'one' makes 'two' the least recently used entry
+        cache.get("one");
+        Thread.sleep(5L);
+
+        cache.add("four", "4");
+        Assert.assertEquals(3, cache.size());
+        Assert.assertTrue(cache.contains("one"));
+        Assert.assertFalse(cache.contains("two"));
+        Assert.assertTrue(cache.contains("three"));
+        Assert.assertTrue(cache.contains("four"));
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testConcurrentAccessRespectsLimit() throws Exception {
+        final ConcurrentDeploymentCache<Integer> cache = new ConcurrentDeploymentCache<>(50);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Throwable> exceptions = new ArrayList<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int threadIndex = i;
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        for (int j = 0; j < 1000; j++) {
+                            String key = "key" + ((threadIndex * 1000 + j) % 200);
+                            if (cache.get(key) == null) {
+                                cache.add(key, j);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        synchronized (exceptions) {
+                            exceptions.add(t);
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue(exceptions.isEmpty());
+        Assert.assertEquals(8000, cache.getHitCount() + cache.getMissCount());
+
+        // One more add makes sure no eviction was skipped because another thread was evicting at the same time
+        cache.add("last", 0);
+        Assert.assertTrue(cache.size() <= 50);
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+    }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.flowable.engine.common.impl.util.IoUtil;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.DeflateAsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.GzipAsyncHistoryJobPayloadCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the payload size and encoding/decoding time per job of the async history job payload codecs with the plain json and the GZIP compressed json.
+ * Not part of the default build, run it with the <code>benchmark</code> profile.
+ */
+public class AsyncHistoryJobPayloadCodecBenchmark extends TestCase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryJobPayloadCodecBenchmark.class);
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    public void testPayloadSizeAndTime() throws Exception {
+        int jobs = 20000;
+        List<ObjectNode> historyNodes = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            historyNodes.add(AsyncHistoryJobPayloadCodecTest.createActivityFullNode(objectMapper, i));
+        }
+
+        // warm up
+        runJsonBenchmark(historyNodes);
+        runGzipBenchmark(historyNodes);
+        runCodecBenchmark(new DeflateAsyncHistoryJobPayloadCodec(), historyNodes);
+
+        long[] json = runJsonBenchmark(historyNodes);
+        long[] gzip = runGzipBenchmark(historyNodes);
+        long[] deflate = runCodecBenchmark(new DeflateAsyncHistoryJobPayloadCodec(), historyNodes);
+
+        LOGGER.info("Async history payload per job ({} jobs): json {} bytes / {} ns, gzip {} bytes / {} ns, deflate with dictionary {} bytes / {} ns",
+                jobs, json[0] / jobs, json[1] / jobs, gzip[0] / jobs, gzip[1] / jobs, deflate[0] / jobs, deflate[1] / jobs);
+    }
+
+    /**
+     * The json path: the bytes are written and read as a whole tree.
+     */
+    protected long[] runJsonBenchmark(List<ObjectNode> historyNodes) throws IOException {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (ObjectNode historyNode : historyNodes) {
+            byte[] payload = objectMapper.writeValueAsBytes(historyNode);
+            bytes += payload.length;
+            assertNotNull(objectMapper.readTree(payload));
+        }
+        return new long[] { bytes, System.nanoTime() - start };
+    }
+
+    /**
+     * The GZIP path as it was done before the codecs: the payload is decompressed into a copy, which is then parsed.
+     */
+    protected long[] runGzipBenchmark(List<ObjectNode> historyNodes) throws IOException {
+        GzipAsyncHistoryJobPayloadCodec codec = new GzipAsyncHistoryJobPayloadCodec();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (ObjectNode historyNode : historyNodes) {
+            byte[] payload = codec.encode(historyNode, objectMapper);
+            bytes += payload.length;
+            try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+                assertNotNull(objectMapper.readTree(IoUtil.readInputStream(gis, "async-history-configuration")));
+            }
+        }
+        return new long[] { bytes, System.nanoTime() - start };
+    }
+
+    protected long[] runCodecBenchmark(AsyncHistoryJobPayloadCodec codec, List<ObjectNode> historyNodes) throws IOException {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (ObjectNode historyNode : historyNodes) {
+            byte[] payload = codec.encode(historyNode, objectMapper);
+            bytes += payload.length;
+            try (JsonParser parser = codec.createParser(payload, objectMapper)) {
+                assertNotNull(objectMapper.readTree(parser));
+            }
+        }
+        return new long[] { bytes, System.nanoTime() - start };
+    }
+
+}
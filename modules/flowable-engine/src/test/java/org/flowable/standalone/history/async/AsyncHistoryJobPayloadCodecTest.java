@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.DeflateAsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.GzipAsyncHistoryJobPayloadCodec;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import junit.framework.TestCase;
+
+/**
+ * Verifies the async history job payload codecs.
+ */
+public class AsyncHistoryJobPayloadCodecTest extends TestCase {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    public void testRoundTrip() throws Exception {
+        ObjectNode historyNode = createActivityFullNode(1);
+        ArrayNode groupedNode = objectMapper.createArrayNode();
+        for (int i = 0; i < 10; i++) {
+            groupedNode.add(createActivityFullNode(i));
+        }
+
+        for (AsyncHistoryJobPayloadCodec codec : new AsyncHistoryJobPayloadCodec[] { new GzipAsyncHistoryJobPayloadCodec(), new DeflateAsyncHistoryJobPayloadCodec() }) {
+            assertEquals(historyNode, decode(codec, codec.encode(historyNode, objectMapper)));
+            assertEquals(groupedNode, decode(codec, codec.encode(groupedNode, objectMapper)));
+        }
+    }
+
+    public void testStreamingDecoding() throws Exception {
+        ArrayNode groupedNode = objectMapper.createArrayNode();
+        for (int i = 0; i < 100; i++) {
+            groupedNode.add(createActivityFullNode(i));
+        }
+
+        DeflateAsyncHistoryJobPayloadCodec codec = new DeflateAsyncHistoryJobPayloadCodec();
+        List<JsonNode> historyNodes = new ArrayList<>();
+        try (JsonParser parser = codec.createParser(codec.encode(groupedNode, objectMapper), objectMapper)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                historyNodes.add(objectMapper.readTree(parser));
+            }
+        }
+
+        assertEquals(100, historyNodes.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(groupedNode.get(i), historyNodes.get(i));
+        }
+    }
+
+    public void testDeflateDictionaryVersion() throws Exception {
+        ObjectNode historyNode = createActivityFullNode(1);
+        DeflateAsyncHistoryJobPayloadCodec codec = new DeflateAsyncHistoryJobPayloadCodec();
+        byte[] payload = codec.encode(historyNode, objectMapper);
+        assertEquals(DeflateAsyncHistoryJobPayloadCodec.CURRENT_DICTIONARY_VERSION, payload[0]);
+
+        // A payload with an unknown dictionary version can't be decoded
+        payload[0] = (byte) (DeflateAsyncHistoryJobPayloadCodec.CURRENT_DICTIONARY_VERSION + 1);
+        try {
+            codec.createParser(payload, objectMapper);
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+
+        try {
+            codec.setDictionaryVersion(0);
+            fail();
+        } catch (FlowableIllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testDeflatePayloadIsSmallest() throws Exception {
+        ObjectNode historyNode = createActivityFullNode(1);
+        int jsonSize = objectMapper.writeValueAsBytes(historyNode).length;
+        int gzipSize = new GzipAsyncHistoryJobPayloadCodec().encode(historyNode, objectMapper).length;
+        int deflateSize = new DeflateAsyncHistoryJobPayloadCodec().encode(historyNode, objectMapper).length;
+
+        assertTrue(deflateSize < gzipSize);
+        assertTrue(deflateSize < jsonSize);
+    }
+
+    protected JsonNode decode(AsyncHistoryJobPayloadCodec codec, byte[] payload) throws IOException {
+        try (JsonParser parser = codec.createParser(payload, objectMapper)) {
+            return objectMapper.readTree(parser);
+        }
+    }
+
+    protected ObjectNode createActivityFullNode(int index) {
+        return createActivityFullNode(objectMapper, index);
+    }
+
+    protected static ObjectNode createActivityFullNode(ObjectMapper objectMapper, int index) {
+        ObjectNode historyNode = objectMapper.createObjectNode();
+        historyNode.put(HistoryJsonConstants.TYPE, HistoryJsonConstants.TYPE_ACTIVITY_FULL);
+        ObjectNode dataNode = historyNode.putObject(HistoryJsonConstants.DATA);
+        dataNode.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, "orderProcess:3:2504");
+        dataNode.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, UUID.randomUUID().toString());
+        dataNode.put(HistoryJsonConstants.EXECUTION_ID, UUID.randomUUID().toString());
+        dataNode.put(HistoryJsonConstants.ACTIVITY_ID, "serviceTask" + (index % 20));
+        dataNode.put(HistoryJsonConstants.ACTIVITY_NAME, "Check order " + (index % 20));
+        dataNode.put(HistoryJsonConstants.ACTIVITY_TYPE, "serviceTask");
+        dataNode.put(HistoryJsonConstants.START_TIME, "2017-09-12T10:15:30.123+02:00");
+        dataNode.put(HistoryJsonConstants.END_TIME, "2017-09-12T10:15:30.456+02:00");
+        dataNode.put(HistoryJsonConstants.TENANT_ID, "");
+        dataNode.put(HistoryJsonConstants.TIMESTAMP, "2017-09-12T10:15:30.456+02:00");
+        return historyNode;
+    }
+
+}
@@ -12,9 +12,14 @@
  */
 package org.flowable.standalone.history.async;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.history.HistoricActivityInstance;
@@ -22,6 +27,7 @@ import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.history.HistoricTaskInstance;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobZippedHandler;
+import org.flowable.engine.impl.history.async.DefaultAsyncHistoryJobExecutor;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.HistoryJob;
@@ -98,6 +104,70 @@ public class AsyncHistoryTest extends PluggableFlowableTestCase {
         }
     }
 
+    public void testBatchedHistoryJobExecution() {
+        if (!processEngineConfiguration.isAsyncHistoryEnabled()
+                || !(processEngineConfiguration.getAsyncHistoryExecutor() instanceof DefaultAsyncHistoryJobExecutor)) {
+            return;
+        }
+
+        DefaultAsyncHistoryJobExecutor asyncHistoryExecutor = (DefaultAsyncHistoryJobExecutor) processEngineConfiguration.getAsyncHistoryExecutor();
+        int originalBatchSize = asyncHistoryExecutor.getHistoryJobBatchSize();
+        int originalMaxJobsPerAcquisition = asyncHistoryExecutor.getMaxAsyncJobsDuePerAcquisition();
+        asyncHistoryExecutor.setHistoryJobBatchSize(20);
+        asyncHistoryExecutor.setMaxAsyncJobsDuePerAcquisition(50);
+
+        try {
+            deployOneTaskTestProcess();
+            List<String> processInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+                taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+                processInstanceIds.add(processInstanceId);
+            }
+            long historyJobCount = managementService.createHistoryJobQuery().count();
+            assertTrue(historyJobCount > 20);
+
+            // every batch (or single job) is handed to the executor service as one runnable
+            final AtomicInteger executedRunnables = new AtomicInteger();
+            asyncHistoryExecutor.setExecutorService(new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>()) {
+
+                @Override
+                public void execute(Runnable command) {
+                    executedRunnables.incrementAndGet();
+                    super.execute(command);
+                }
+            });
+
+            waitForHistoryJobExecutorToProcessAllJobs(20000L, 100L);
+            assertEquals(0, managementService.createHistoryJobQuery().count());
+
+            // at most 50 jobs are acquired at once, split up in batches of 20, 20 and 10 jobs
+            int minimumBatches = (int) ((historyJobCount + 19) / 20);
+            assertTrue("Expected batched execution, but got " + executedRunnables.get() + " runnables for " + historyJobCount + " jobs",
+                    executedRunnables.get() >= minimumBatches && executedRunnables.get() < historyJobCount);
+
+            for (String processInstanceId : processInstanceIds) {
+                HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
+                assertNotNull(historicProcessInstance.getEndTime());
+
+                HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).singleResult();
+                assertNotNull(historicTaskInstance.getEndTime());
+
+                // the start and end of each activity result in one historic activity instance
+                List<HistoricActivityInstance> historicActivityInstances = historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).list();
+                assertEquals(3, historicActivityInstances.size());
+                for (HistoricActivityInstance historicActivityInstance : historicActivityInstances) {
+                    assertNotNull(historicActivityInstance.getStartTime());
+                    assertNotNull(historicActivityInstance.getEndTime());
+                }
+            }
+
+        } finally {
+            asyncHistoryExecutor.setHistoryJobBatchSize(originalBatchSize);
+            asyncHistoryExecutor.setMaxAsyncJobsDuePerAcquisition(originalMaxJobsPerAcquisition);
+        }
+    }
+
     @Deployment
     public void testSimpleStraightThroughProcess() {
         if (!processEngineConfiguration.isAsyncHistoryEnabled()) {
@@ -0,0 +1,350 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.flowable.engine.impl.history.async.AsyncHistoryListener;
+import org.flowable.engine.impl.history.async.AsyncHistorySink;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.impl.history.async.RollingFileAsyncHistorySink;
+import org.flowable.engine.impl.history.async.StreamingAsyncHistoryListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import junit.framework.TestCase;
+
+public class StreamingAsyncHistoryListenerTest extends TestCase {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+    protected File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        directory = Files.createTempDirectory("flowable-history").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testRollingFileSink() throws Exception {
+        RollingFileAsyncHistorySink sink = new RollingFileAsyncHistorySink(directory);
+        sink.setMaxSegmentSize(10 * 1024);
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setBatchSize(50);
+
+        List<ObjectNode> historyNodes = createHistoryNodes(1000);
+        for (int i = 0; i < historyNodes.size(); i += 10) {
+            listener.historyDataGenerated(historyNodes.subList(i, i + 10));
+        }
+        listener.shutdown();
+
+        assertEquals(1000L, listener.getWrittenHistoryObjectCount());
+        assertFalse(listener.isActive());
+
+        List<File> segments = getSegments();
+        assertTrue(segments.size() > 1);
+        for (File segment : segments) {
+            assertTrue(segment.getName().endsWith(RollingFileAsyncHistorySink.SEGMENT_SUFFIX));
+        }
+        assertEquals(historyNodes, readSegments(segments));
+    }
+
+    public void testSinkAndDatabase() throws Exception {
+        final List<ObjectNode> databaseHistoryNodes = new ArrayList<>();
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(0L);
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink, new AsyncHistoryListener() {
+
+            @Override
+            public void historyDataGenerated(List<ObjectNode> historyObjectNodes) {
+                databaseHistoryNodes.addAll(historyObjectNodes);
+            }
+        });
+
+        List<ObjectNode> historyNodes = createHistoryNodes(20);
+        listener.historyDataGenerated(historyNodes);
+        listener.shutdown();
+
+        assertEquals(historyNodes, databaseHistoryNodes);
+        assertEquals(historyNodes, sink.historyNodes);
+        assertTrue(sink.closed);
+    }
+
+    public void testBackPressure() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(5L);
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setQueueSize(10);
+        listener.setBatchSize(5);
+
+        List<ObjectNode> historyNodes = createHistoryNodes(200);
+        for (ObjectNode historyNode : historyNodes) {
+            listener.historyDataGenerated(Collections.singletonList(historyNode));
+            assertTrue(listener.getQueuedHistoryObjectCount() <= 10);
+        }
+        listener.shutdown();
+
+        assertTrue(listener.getBlockedHandOverCount() > 0);
+        assertEquals(historyNodes, sink.historyNodes);
+    }
+
+    public void testFailingSinkIsRetried() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(0L);
+        sink.failures = 2;
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setWriteRetryWaitTimeInMillis(10L);
+
+        List<ObjectNode> historyNodes = createHistoryNodes(20);
+        listener.historyDataGenerated(historyNodes);
+
+        // The sink isn't retried anymore when shutting down
+        long endTime = System.currentTimeMillis() + 5000L;
+        while (listener.getWrittenHistoryObjectCount() < 20 && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10L);
+        }
+        listener.shutdown();
+
+        assertEquals(historyNodes, sink.historyNodes);
+    }
+
+    public void testFailingSinkGivesUp() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(0L);
+        sink.failures = 3;
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setWriteRetryWaitTimeInMillis(10L);
+        listener.setMaxWriteRetries(2);
+
+        listener.historyDataGenerated(createHistoryNodes(20));
+        long endTime = System.currentTimeMillis() + 5000L;
+        while (listener.getDroppedHistoryObjectCount() < 20 && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10L);
+        }
+        assertEquals(20L, listener.getDroppedHistoryObjectCount());
+
+        // The next batch is written again
+        List<ObjectNode> historyNodes = createHistoryNodes(10);
+        listener.historyDataGenerated(historyNodes);
+        listener.shutdown();
+
+        assertEquals(historyNodes, sink.historyNodes);
+        assertEquals(10L, listener.getWrittenHistoryObjectCount());
+    }
+
+    public void testHandOverTimeout() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(200L);
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setQueueSize(2);
+        listener.setBatchSize(1);
+        listener.setHandOverTimeoutInMillis(10L);
+
+        long startTime = System.currentTimeMillis();
+        listener.historyDataGenerated(createHistoryNodes(20));
+        assertTrue(System.currentTimeMillis() - startTime < 2000L);
+        listener.shutdown();
+
+        assertTrue(listener.getDroppedHistoryObjectCount() > 0);
+        assertEquals(20L, listener.getWrittenHistoryObjectCount() + listener.getDroppedHistoryObjectCount());
+        assertEquals(listener.getWrittenHistoryObjectCount(), sink.historyNodes.size());
+    }
+
+    public void testNoRestartAfterShutdown() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(0L);
+        StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+
+        List<ObjectNode> historyNodes = createHistoryNodes(10);
+        listener.historyDataGenerated(historyNodes);
+        listener.shutdown();
+        assertTrue(sink.closed);
+
+        listener.historyDataGenerated(createHistoryNodes(5));
+        assertFalse(listener.isActive());
+        assertEquals(5L, listener.getDroppedHistoryObjectCount());
+        assertEquals(historyNodes, sink.historyNodes);
+    }
+
+    public void testHandOversDuringShutdown() throws Exception {
+        CollectingAsyncHistorySink sink = new CollectingAsyncHistorySink(1L);
+        final StreamingAsyncHistoryListener listener = new StreamingAsyncHistoryListener(sink);
+        listener.setBatchSize(5);
+        listener.start();
+
+        final int handOversPerThread = 200;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (int j = 0; j < handOversPerThread; j++) {
+                        listener.historyDataGenerated(createHistoryNodes(1));
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Thread.sleep(20L);
+        listener.shutdown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Every hand-over racing the shutdown is either written or counted as dropped, nothing stays behind in the queue
+        assertEquals(0, listener.getQueuedHistoryObjectCount());
+        assertEquals(4L * handOversPerThread, listener.getWrittenHistoryObjectCount() + listener.getDroppedHistoryObjectCount());
+        assertEquals(listener.getWrittenHistoryObjectCount(), sink.historyNodes.size());
+    }
+
+    public void testRollingFileSinkFailingWrite() throws Exception {
+        RollingFileAsyncHistorySink sink = new RollingFileAsyncHistorySink(directory) {
+
+            protected boolean failed;
+
+            @Override
+            protected void openSegment() throws IOException {
+                super.openSegment();
+                if (!failed) {
+                    failed = true;
+                    // The first segment runs out of space halfway the batch
+                    currentOutputStream = new CountingOutputStream(new FilterOutputStream(currentOutputStream) {
+
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            out.write(b, off, len / 2);
+                            throw new IOException("No space left on device");
+                        }
+                    });
+                }
+            }
+        };
+
+        List<ObjectNode> historyNodes = createHistoryNodes(10);
+        try {
+            sink.write(historyNodes);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+        sink.write(historyNodes);
+        sink.close();
+
+        List<File> failedSegments = new ArrayList<>();
+        List<File> segments = new ArrayList<>();
+        for (File file : getSegments()) {
+            if (file.getName().endsWith(RollingFileAsyncHistorySink.FAILED_SUFFIX)) {
+                failedSegments.add(file);
+            } else {
+                segments.add(file);
+            }
+        }
+        assertEquals(1, failedSegments.size());
+        assertEquals(1, segments.size());
+        assertTrue(segments.get(0).getName().endsWith(RollingFileAsyncHistorySink.SEGMENT_SUFFIX));
+
+        // The batch is in the new segment exactly once
+        assertEquals(historyNodes, readSegments(segments));
+    }
+
+    protected List<File> getSegments() {
+        File[] files = directory.listFiles();
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    protected List<ObjectNode> readSegments(List<File> segments) throws IOException {
+        List<ObjectNode> historyNodes = new ArrayList<>();
+        for (File segment : segments) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(segment)), StandardCharsets.UTF_8))) {
+                String line = null;
+                while ((line = reader.readLine()) != null) {
+                    historyNodes.add((ObjectNode) objectMapper.readTree(line));
+                }
+            }
+        }
+        return historyNodes;
+    }
+
+    protected List<ObjectNode> createHistoryNodes(int count) {
+        List<ObjectNode> historyNodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ObjectNode historyNode = objectMapper.createObjectNode();
+            historyNode.put(HistoryJsonConstants.TYPE, HistoryJsonConstants.TYPE_ACTIVITY_FULL);
+            ObjectNode dataNode = historyNode.putObject(HistoryJsonConstants.DATA);
+            dataNode.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, String.valueOf(i / 10));
+            dataNode.put(HistoryJsonConstants.ACTIVITY_ID, "serviceTask" + i);
+            dataNode.put(HistoryJsonConstants.TIMESTAMP, "2017-09-12T10:15:30.456+02:00");
+            historyNodes.add(historyNode);
+        }
+        return historyNodes;
+    }
+
+    protected static class CollectingAsyncHistorySink implements AsyncHistorySink {
+
+        protected long writeTimeInMillis;
+        protected int failures;
+        protected List<ObjectNode> historyNodes = Collections.synchronizedList(new ArrayList<ObjectNode>());
+        protected boolean closed;
+
+        public CollectingAsyncHistorySink(long writeTimeInMillis) {
+            this.writeTimeInMillis = writeTimeInMillis;
+        }
+
+        @Override
+        public void write(List<ObjectNode> historyObjectNodes) throws IOException {
+            if (failures > 0) {
+                failures--;
+                throw new IOException("Sink not available");
+            }
+            if (writeTimeInMillis > 0) {
+                try {
+                    Thread.sleep(writeTimeInMillis);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            historyNodes.addAll(historyObjectNodes);
+        }
+
+        @Override
+        public void flush() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+
+    }
+
+}
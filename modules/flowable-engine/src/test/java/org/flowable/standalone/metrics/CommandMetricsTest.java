@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngines;
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.metrics.CommandMetrics;
+import org.flowable.engine.common.impl.metrics.CommandStatistics;
+import org.flowable.engine.common.impl.metrics.DefaultCommandMetricsRegistry;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.cmd.CompleteTaskCmd;
+import org.flowable.engine.impl.cmd.StartProcessInstanceCmd;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.task.Task;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandMetricsTest {
+
+    protected ProcessEngine processEngine;
+
+    protected DefaultCommandMetricsRegistry commandMetricsRegistry;
+
+    @Before
+    public void setup() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setEngineName(this.getClass().getName());
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-command-metrics;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setEnableCommandMetrics(true);
+        this.processEngine = processEngineConfiguration.buildProcessEngine();
+        this.commandMetricsRegistry = (DefaultCommandMetricsRegistry) processEngineConfiguration.getCommandMetricsRegistry();
+    }
+
+    @After
+    public void tearDown() {
+        for (Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+            processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+        }
+
+        ProcessEngines.unregister(processEngine);
+        processEngine = null;
+        commandMetricsRegistry = null;
+    }
+
+    @Test
+    public void testCommandMetrics() {
+        processEngine.getRepositoryService().createDeployment().addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+        commandMetricsRegistry.reset();
+
+        for (int i = 0; i < 3; i++) {
+            processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+        }
+        for (Task task : processEngine.getTaskService().createTaskQuery().list()) {
+            processEngine.getTaskService().complete(task.getId());
+        }
+
+        CommandStatistics startStatistics = commandMetricsRegistry.getCommandStatistics(StartProcessInstanceCmd.class.getName());
+        Assert.assertEquals(3, startStatistics.getCount());
+        Assert.assertEquals(0, startStatistics.getFailedCount());
+        Assert.assertTrue(startStatistics.getInsertCount() >= 6);
+        Assert.assertTrue(startStatistics.getSelectCount() > 0);
+        long histogramCount = 0;
+        for (Long bucketCount : startStatistics.getLatencyHistogram().values()) {
+            histogramCount += bucketCount;
+        }
+        Assert.assertEquals(3, histogramCount);
+
+        CommandStatistics completeStatistics = commandMetricsRegistry.getCommandStatistics(CompleteTaskCmd.class.getName());
+        Assert.assertEquals(3, completeStatistics.getCount());
+        Assert.assertTrue(completeStatistics.getDeleteCount() >= 3);
+        Assert.assertTrue(completeStatistics.getEntityCacheHitCount() + completeStatistics.getEntityCacheMissCount() > 0);
+    }
+
+    @Test
+    public void testLatencyHistogramBuckets() {
+        CommandStatistics statistics = new CommandStatistics("someCommand");
+        statistics.record(createCommandMetrics(TimeUnit.MICROSECONDS.toNanos(400)));
+        statistics.record(createCommandMetrics(TimeUnit.MILLISECONDS.toNanos(1)));
+        // 1.9 ms is slower than 1 ms, it must not be truncated into the first bucket
+        statistics.record(createCommandMetrics(TimeUnit.MICROSECONDS.toNanos(1900)));
+        statistics.record(createCommandMetrics(TimeUnit.MILLISECONDS.toNanos(10) + 1));
+        statistics.record(createCommandMetrics(TimeUnit.SECONDS.toNanos(11)));
+
+        Map<String, Long> histogram = statistics.getLatencyHistogram();
+        Assert.assertEquals(Long.valueOf(2), histogram.get("<=1ms"));
+        Assert.assertEquals(Long.valueOf(1), histogram.get("<=2ms"));
+        Assert.assertEquals(Long.valueOf(0), histogram.get("<=10ms"));
+        Assert.assertEquals(Long.valueOf(1), histogram.get("<=25ms"));
+        Assert.assertEquals(Long.valueOf(1), histogram.get(">10000ms"));
+    }
+
+    protected CommandMetrics createCommandMetrics(long durationInNanos) {
+        CommandMetrics commandMetrics = new CommandMetrics("someCommand");
+        commandMetrics.setDurationInNanos(durationInNanos);
+        return commandMetrics;
+    }
+
+    @Test
+    public void testOptimisticLockingFailure() {
+        try {
+            processEngine.getManagementService().executeCommand(new OptimisticLockingFailureCmd());
+            Assert.fail();
+        } catch (FlowableOptimisticLockingException e) {
+            // expected exception
+        }
+
+        CommandStatistics statistics = commandMetricsRegistry.getCommandStatistics(OptimisticLockingFailureCmd.class.getName());
+        Assert.assertEquals(1, statistics.getCount());
+        Assert.assertEquals(1, statistics.getFailedCount());
+        Assert.assertEquals(1, statistics.getOptimisticLockingFailureCount());
+    }
+
+    protected static class OptimisticLockingFailureCmd implements Command<Void> {
+
+        @Override
+        public Void execute(CommandContext commandContext) {
+            throw new FlowableOptimisticLockingException("concurrent modification");
+        }
+
+    }
+
+}
@@ -56,6 +56,7 @@ import org.flowable.form.engine.impl.deployer.FormDefinitionDeploymentHelper;
 import org.flowable.form.engine.impl.deployer.ParsedDeploymentBuilderFactory;
 import org.flowable.form.engine.impl.el.ExpressionManager;
 import org.flowable.form.engine.impl.parser.FormDefinitionParseFactory;
+import org.flowable.form.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.form.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.form.engine.impl.persistence.deploy.Deployer;
 import org.flowable.form.engine.impl.persistence.deploy.DeploymentCache;
@@ -141,6 +142,12 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration impleme
     protected List<Deployer> deployers;
     protected DeploymentManager deploymentManager;
 
+    /**
+     * If true, the default cache is a {@link ConcurrentDeploymentCache} (lock-free reads, approximate LRU eviction and hit/miss/eviction counters)
+     * instead of a {@link DefaultDeploymentCache}.
+     */
+    protected boolean enableConcurrentDeploymentCache;
+
     protected int formDefinitionCacheLimit = -1; // By default, no limit
     protected DeploymentCache<FormDefinitionCacheEntry> formDefinitionCache;
 
@@ -445,7 +452,9 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration impleme
 
         // Decision cache
         if (formDefinitionCache == null) {
-            if (formDefinitionCacheLimit <= 0) {
+            if (enableConcurrentDeploymentCache) {
+                formDefinitionCache = formDefinitionCacheLimit <= 0 ? new ConcurrentDeploymentCache<FormDefinitionCacheEntry>() : new ConcurrentDeploymentCache<FormDefinitionCacheEntry>(formDefinitionCacheLimit);
+            } else if (formDefinitionCacheLimit <= 0) {
                 formDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 formDefinitionCache = new DefaultDeploymentCache<>(formDefinitionCacheLimit);
@@ -580,6 +589,15 @@ public class FormEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEnableConcurrentDeploymentCache() {
+        return enableConcurrentDeploymentCache;
+    }
+
+    public FormEngineConfiguration setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+        this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+        return this;
+    }
+
     public int getFormCacheLimit() {
         return formDefinitionCacheLimit;
     }
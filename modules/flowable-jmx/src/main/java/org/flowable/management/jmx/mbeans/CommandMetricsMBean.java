@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.management.jmx.mbeans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.engine.common.impl.metrics.CommandStatistics;
+import org.flowable.engine.common.impl.metrics.DefaultCommandMetricsRegistry;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.management.jmx.annotations.ManagedAttribute;
+import org.flowable.management.jmx.annotations.ManagedOperation;
+import org.flowable.management.jmx.annotations.ManagedResource;
+
+/**
+ * Exposes the statistics of the {@link DefaultCommandMetricsRegistry}, when command metrics are enabled on the process engine configuration.
+ */
+@ManagedResource(description = "Command metrics MBean")
+public class CommandMetricsMBean {
+
+    ProcessEngineConfiguration processEngineConfig;
+
+    public CommandMetricsMBean(ProcessEngineConfiguration processEngineConfig) {
+        this.processEngineConfig = processEngineConfig;
+    }
+
+    @ManagedAttribute(description = "check if the command metrics are collected")
+    public boolean isCommandMetricsEnabled() {
+        return getCommandMetricsRegistry() != null;
+    }
+
+    @ManagedAttribute(description = "List of command statistics, the commands doing the most database operations first")
+    public List<List<String>> getCommandStatistics() {
+        DefaultCommandMetricsRegistry commandMetricsRegistry = getCommandMetricsRegistry();
+        if (commandMetricsRegistry == null) {
+            return Collections.emptyList();
+        }
+
+        List<CommandStatistics> commandStatistics = commandMetricsRegistry.getCommandStatistics();
+        List<List<String>> result = new ArrayList<>(commandStatistics.size());
+        for (CommandStatistics statistics : commandStatistics) {
+            List<String> item = new ArrayList<>(12);
+            item.add(statistics.getCommandClassName());
+            item.add(Long.toString(statistics.getCount()));
+            item.add(Long.toString(statistics.getFailedCount()));
+            item.add(Long.toString(statistics.getOptimisticLockingFailureCount()));
+            item.add(Double.toString(statistics.getAverageDurationInMillis()));
+            item.add(Long.toString(statistics.getMaxDurationInMillis()));
+            item.add(Long.toString(statistics.getSelectCount()));
+            item.add(Long.toString(statistics.getInsertCount()));
+            item.add(Long.toString(statistics.getUpdateCount()));
+            item.add(Long.toString(statistics.getDeleteCount()));
+            item.add(Long.toString(statistics.getEntityCacheHitCount()));
+            item.add(Long.toString(statistics.getEntityCacheMissCount()));
+            result.add(item);
+        }
+        return result;
+    }
+
+    @ManagedOperation(description = "get the latency histogram of a command class")
+    public List<String> getLatencyHistogram(String commandClassName) {
+        DefaultCommandMetricsRegistry commandMetricsRegistry = getCommandMetricsRegistry();
+        CommandStatistics statistics = commandMetricsRegistry != null ? commandMetricsRegistry.getCommandStatistics(commandClassName) : null;
+        if (statistics == null) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Long> histogram = statistics.getLatencyHistogram();
+        List<String> result = new ArrayList<>(histogram.size());
+        for (Map.Entry<String, Long> bucket : histogram.entrySet()) {
+            result.add(bucket.getKey() + "=" + bucket.getValue());
+        }
+        return result;
+    }
+
+    @ManagedOperation(description = "reset the command statistics")
+    public void resetCommandStatistics() {
+        DefaultCommandMetricsRegistry commandMetricsRegistry = getCommandMetricsRegistry();
+        if (commandMetricsRegistry != null) {
+            commandMetricsRegistry.reset();
+        }
+    }
+
+    protected DefaultCommandMetricsRegistry getCommandMetricsRegistry() {
+        // The registry is looked up on every call, as it is only created when the engine is built
+        if (processEngineConfig instanceof ProcessEngineConfigurationImpl
+                && ((ProcessEngineConfigurationImpl) processEngineConfig).getCommandMetricsRegistry() instanceof DefaultCommandMetricsRegistry) {
+            return (DefaultCommandMetricsRegistry) ((ProcessEngineConfigurationImpl) processEngineConfig).getCommandMetricsRegistry();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.management.jmx.mbeans;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.flowable.engine.common.impl.metrics.CommandMetrics;
+import org.flowable.engine.common.impl.metrics.DefaultCommandMetricsRegistry;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class CommandMetricsMBeanTest {
+
+    protected CommandMetricsMBean commandMetricsMBean;
+
+    protected DefaultCommandMetricsRegistry commandMetricsRegistry = new DefaultCommandMetricsRegistry();
+
+    @Mock
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        commandMetricsMBean = new CommandMetricsMBean(processEngineConfiguration);
+    }
+
+    @Test
+    public void testCommandMetricsDisabled() {
+        assertFalse(commandMetricsMBean.isCommandMetricsEnabled());
+        assertTrue(commandMetricsMBean.getCommandStatistics().isEmpty());
+        assertTrue(commandMetricsMBean.getLatencyHistogram("someCommand").isEmpty());
+    }
+
+    @Test
+    public void testCommandStatistics() {
+        when(processEngineConfiguration.getCommandMetricsRegistry()).thenReturn(commandMetricsRegistry);
+        commandMetricsRegistry.record(createCommandMetrics("cheapCommand", 1, 0));
+        commandMetricsRegistry.record(createCommandMetrics("expensiveCommand", 10, 5));
+        commandMetricsRegistry.record(createCommandMetrics("expensiveCommand", 20, 15));
+
+        assertTrue(commandMetricsMBean.isCommandMetricsEnabled());
+        List<List<String>> commandStatistics = commandMetricsMBean.getCommandStatistics();
+        assertEquals(2, commandStatistics.size());
+        assertEquals("expensiveCommand", commandStatistics.get(0).get(0));
+        assertEquals("2", commandStatistics.get(0).get(1));
+        assertEquals("30", commandStatistics.get(0).get(6));
+        assertEquals("20", commandStatistics.get(0).get(7));
+        assertEquals("cheapCommand", commandStatistics.get(1).get(0));
+
+        List<String> histogram = commandMetricsMBean.getLatencyHistogram("expensiveCommand");
+        assertEquals("<=5ms=2", histogram.get(2));
+
+        commandMetricsMBean.resetCommandStatistics();
+        assertTrue(commandMetricsMBean.getCommandStatistics().isEmpty());
+    }
+
+    protected CommandMetrics createCommandMetrics(String commandClassName, int selectCount, int insertCount) {
+        CommandMetrics commandMetrics = new CommandMetrics(commandClassName);
+        commandMetrics.setDurationInNanos(3000000L);
+        commandMetrics.setSelectCount(selectCount);
+        commandMetrics.setInsertCount(insertCount);
+        return commandMetrics;
+    }
+
+}
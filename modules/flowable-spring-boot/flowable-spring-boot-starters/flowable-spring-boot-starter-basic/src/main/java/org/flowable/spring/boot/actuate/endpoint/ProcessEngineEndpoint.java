@@ -19,7 +19,10 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.common.impl.metrics.CommandMetricsRegistry;
+import org.flowable.engine.common.impl.metrics.DefaultCommandMetricsRegistry;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
@@ -87,6 +90,18 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
         DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getProcessDefinitionCache();
         if (deploymentCache instanceof DefaultDeploymentCache) {
             metrics.put("cachedProcessDefinitionCount", ((DefaultDeploymentCache) deploymentCache).size());
+        } else if (deploymentCache instanceof ConcurrentDeploymentCache) {
+            ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> concurrentDeploymentCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) deploymentCache;
+            metrics.put("cachedProcessDefinitionCount", concurrentDeploymentCache.size());
+            metrics.put("processDefinitionCacheHitCount", concurrentDeploymentCache.getHitCount());
+            metrics.put("processDefinitionCacheMissCount", concurrentDeploymentCache.getMissCount());
+            metrics.put("processDefinitionCacheEvictionCount", concurrentDeploymentCache.getEvictionCount());
+        }
+
+        // Command metrics
+        CommandMetricsRegistry commandMetricsRegistry = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getCommandMetricsRegistry();
+        if (commandMetricsRegistry instanceof DefaultCommandMetricsRegistry) {
+            metrics.put("commandMetrics", ((DefaultCommandMetricsRegistry) commandMetricsRegistry).getCommandStatisticsAsMap());
         }
         return metrics;
     }
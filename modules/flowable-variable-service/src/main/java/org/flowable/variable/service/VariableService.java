@@ -37,6 +37,8 @@ public interface VariableService {
     
     List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
     
+    List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names);
+    
     VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String taskName);
     
     List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> taskNames);
@@ -53,4 +55,9 @@ public interface VariableService {
     
     void deleteVariableInstanceMap(Map<String, VariableInstanceEntity> variableInstances);
     
+    /**
+     * Atomically adds the increment to the value of an integer or long variable in the database and returns the new value.
+     */
+    long incrementVariableInstanceLongValue(VariableInstanceEntity variable, long increment);
+    
 }
@@ -56,6 +56,10 @@ public class VariableServiceImpl extends ServiceImpl implements VariableService
         return getVariableInstanceEntityManager().findVariableInstancesByExecutionIds(executionIds);
     }
     
+    public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names) {
+        return getVariableInstanceEntityManager().findVariableInstancesByExecutionIdsAndNames(executionIds, names);
+    }
+    
     public VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String taskName) {
         return getVariableInstanceEntityManager().findVariableInstanceByTaskAndName(taskId, taskName);
     }
@@ -88,4 +92,8 @@ public class VariableServiceImpl extends ServiceImpl implements VariableService
         getVariableInstanceEntityManager().deleteVariableInstanceMap(variableInstances);
     }
     
+    public long incrementVariableInstanceLongValue(VariableInstanceEntity variable, long increment) {
+        return getVariableInstanceEntityManager().incrementLongValue(variable, increment);
+    }
+    
 }
@@ -18,6 +18,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.engine.common.impl.persistence.entity.AbstractEntity;
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.variable.service.impl.types.ValueFields;
 import org.flowable.variable.service.impl.types.VariableType;
 
@@ -26,7 +27,7 @@ import org.flowable.variable.service.impl.types.VariableType;
  * @author Marcus Klimstra (CGI)
  * @author Joram Barrez
  */
-public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, Serializable {
+public class VariableInstanceEntityImpl extends AbstractEntity implements VariableInstanceEntity, ValueFields, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -80,14 +81,17 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void forceUpdate() {
         forcedUpdate = true;
+        markDirty();
     }
 
     public void setProcessInstanceId(String processInstanceId) {
         this.processInstanceId = processInstanceId;
+        markDirty();
     }
 
     public void setExecutionId(String executionId) {
         this.executionId = executionId;
+        markDirty();
     }
 
     // byte array value ///////////////////////////////////////////////////////////
@@ -102,6 +106,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     public void setBytes(byte[] bytes) {
         ensureByteArrayRefInitialized();
         byteArrayRef.setValue("var-" + name, bytes);
+        markDirty();
     }
 
     public VariableByteArrayRef getByteArrayRef() {
@@ -127,12 +132,14 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
         type.setValue(value, this);
         typeName = type.getTypeName();
         cachedValue = value;
+        markDirty();
     }
 
     // getters and setters ////////////////////////////////////////////////////////
 
     public void setName(String name) {
         this.name = name;
+        markDirty();
     }
 
     public String getName() {
@@ -151,6 +158,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setTypeName(String typeName) {
         this.typeName = typeName;
+        markDirty();
     }
 
     public VariableType getType() {
@@ -159,6 +167,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setType(VariableType type) {
         this.type = type;
+        markDirty();
     }
 
     public String getProcessInstanceId() {
@@ -171,6 +180,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setTaskId(String taskId) {
         this.taskId = taskId;
+        markDirty();
     }
 
     public String getExecutionId() {
@@ -183,6 +193,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setLongValue(Long longValue) {
         this.longValue = longValue;
+        markDirty();
     }
 
     public Double getDoubleValue() {
@@ -191,6 +202,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setDoubleValue(Double doubleValue) {
         this.doubleValue = doubleValue;
+        markDirty();
     }
 
     public String getTextValue() {
@@ -199,6 +211,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setTextValue(String textValue) {
         this.textValue = textValue;
+        markDirty();
     }
 
     public String getTextValue2() {
@@ -207,6 +220,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
 
     public void setTextValue2(String textValue2) {
         this.textValue2 = textValue2;
+        markDirty();
     }
 
     public Object getCachedValue() {
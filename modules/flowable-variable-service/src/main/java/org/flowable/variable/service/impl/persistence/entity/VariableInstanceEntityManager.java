@@ -35,6 +35,11 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
     List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+    /**
+     * Returns the variables of the given executions (not the task local variables), restricted to the given names when they are not null or empty.
+     */
+    List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names);
+
     VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
     List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -45,4 +50,13 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
     void deleteVariableInstanceMap(Map<String, VariableInstanceEntity> variableInstances);
 
+    /**
+     * Atomically adds the increment to the value of the given integer or long variable in the database, without a read-modify-write cycle on the revision. The variable is
+     * synchronized with the stored row afterwards, so it can still be updated or deleted later in the same transaction. Concurrent increments of the same variable are
+     * serialized by the database row lock instead of failing with an optimistic locking exception.
+     * 
+     * @return the incremented value
+     */
+    long incrementLongValue(VariableInstanceEntity variable, long increment);
+
 }
\ No newline at end of file
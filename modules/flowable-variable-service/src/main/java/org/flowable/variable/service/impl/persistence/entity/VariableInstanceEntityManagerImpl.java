@@ -18,9 +18,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.impl.persistence.entity.data.VariableInstanceDataManager;
+import org.flowable.variable.service.impl.types.IntegerType;
+import org.flowable.variable.service.impl.types.LongType;
 import org.flowable.variable.service.impl.types.VariableType;
 
 /**
@@ -72,6 +76,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
         return variableInstanceDataManager.findVariableInstancesByExecutionIds(executionIds);
     }
 
+    @Override
+    public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names) {
+        return variableInstanceDataManager.findVariableInstancesByExecutionIdsAndNames(executionIds, names);
+    }
+
     @Override
     public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
         return variableInstanceDataManager.findVariableInstanceByExecutionAndName(executionId, variableName);
@@ -111,6 +120,23 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
         }
     }
 
+    @Override
+    public long incrementLongValue(VariableInstanceEntity variable, long increment) {
+        VariableType type = variable.getType();
+        if (!(type instanceof IntegerType || type instanceof LongType)) {
+            throw new FlowableIllegalArgumentException("Variable " + variable.getName() + " is not an integer or long variable and can't be incremented");
+        }
+
+        if (variableInstanceDataManager.incrementLongValue(variable.getId(), increment) == 0) {
+            throw new FlowableOptimisticLockingException(variable + " was deleted by another transaction concurrently");
+        }
+
+        // The row is locked by the increment, so the stored revision and value can't change anymore until the transaction ends
+        VariableInstanceEntity storedVariable = variableInstanceDataManager.findVariableInstanceByIdNoCacheCheck(variable.getId());
+        variableInstanceDataManager.refreshCachedVariableInstance(variable, storedVariable);
+        return storedVariable.getLongValue();
+    }
+
     public VariableInstanceDataManager getVariableInstanceDataManager() {
         return variableInstanceDataManager;
     }
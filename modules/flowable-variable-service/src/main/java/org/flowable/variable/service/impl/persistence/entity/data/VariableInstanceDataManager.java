@@ -32,6 +32,11 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
     List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+    /**
+     * Returns the variables of the given executions (not the task local variables), restricted to the given names when they are not null or empty.
+     */
+    List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names);
+
     VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
     List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -40,4 +45,20 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
     List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+    /**
+     * Adds the increment to the long value of the variable directly in the database, without checking the revision. Returns the number of updated rows.
+     */
+    int incrementLongValue(String id, long increment);
+
+    /**
+     * Returns the variable as it is currently stored in the database, bypassing the entity cache.
+     */
+    VariableInstanceEntity findVariableInstanceByIdNoCacheCheck(String id);
+
+    /**
+     * Copies the revision and value of the stored variable to the cached variable. When the cached variable had no other changes, the state it was loaded with is refreshed
+     * as well, so it isn't written back when the session is flushed.
+     */
+    void refreshCachedVariableInstance(VariableInstanceEntity variable, VariableInstanceEntity storedVariable);
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.variable.service.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +20,8 @@ import java.util.Map;
 import java.util.Set;
 
 import org.flowable.engine.common.impl.db.CachedEntityMatcher;
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
+import org.flowable.engine.common.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityImpl;
@@ -31,6 +34,11 @@ import org.flowable.variable.service.impl.persistence.entity.data.impl.cachematc
  */
 public class MybatisVariableInstanceDataManager extends AbstractDataManager<VariableInstanceEntity> implements VariableInstanceDataManager {
 
+    /**
+     * The maximum number of ids in one 'in' clause, as some databases (e.g. Oracle) limit the number of expressions in a list.
+     */
+    protected static final int MAX_IDS_PER_STATEMENT = 1000;
+
     protected CachedEntityMatcher<VariableInstanceEntity> variableInstanceEntity = new VariableByExecutionIdMatcher();
 
     public MybatisVariableInstanceDataManager(VariableServiceConfiguration variableServiceConfiguration) {
@@ -58,7 +66,17 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     @Override
     @SuppressWarnings("unchecked")
     public List<VariableInstanceEntity> findVariableInstancesByTaskIds(Set<String> taskIds) {
-        return getDbSqlSession().selectList("selectVariablesByTaskIds", taskIds);
+        if (taskIds.size() <= MAX_IDS_PER_STATEMENT) {
+            return getDbSqlSession().selectList("selectVariablesByTaskIds", taskIds);
+        }
+
+        List<String> taskIdList = new ArrayList<>(taskIds);
+        List<VariableInstanceEntity> variableInstances = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < taskIdList.size(); fromIndex += MAX_IDS_PER_STATEMENT) {
+            variableInstances.addAll(getDbSqlSession().selectList("selectVariablesByTaskIds",
+                    taskIdList.subList(fromIndex, Math.min(fromIndex + MAX_IDS_PER_STATEMENT, taskIdList.size()))));
+        }
+        return variableInstances;
     }
 
     @Override
@@ -72,6 +90,20 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
         return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Set<String> executionIds, Collection<String> names) {
+        List<String> executionIdList = new ArrayList<>(executionIds);
+        List<VariableInstanceEntity> variableInstances = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < executionIdList.size(); fromIndex += MAX_IDS_PER_STATEMENT) {
+            Map<String, Object> params = new HashMap<>(2);
+            params.put("executionIds", executionIdList.subList(fromIndex, Math.min(fromIndex + MAX_IDS_PER_STATEMENT, executionIdList.size())));
+            params.put("names", names);
+            variableInstances.addAll(getDbSqlSession().selectList("selectVariableInstancesByExecutionIdsAndNames", params));
+        }
+        return variableInstances;
+    }
+
     @Override
     public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
         Map<String, String> params = new HashMap<>(2);
@@ -106,4 +138,39 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
         return getDbSqlSession().selectList("selectVariableInstancesByTaskAndNames", params);
     }
 
+    @Override
+    public int incrementLongValue(String id, long increment) {
+        Map<String, Object> params = new HashMap<>(2);
+        params.put("id", id);
+        params.put("increment", increment);
+        return getDbSqlSession().update("incrementVariableInstanceLongValue", params);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VariableInstanceEntity findVariableInstanceByIdNoCacheCheck(String id) {
+        List<VariableInstanceEntity> variableInstances = getDbSqlSession().selectListWithRawParameterNoCacheCheck("selectVariableInstance", id);
+        return !variableInstances.isEmpty() ? variableInstances.get(0) : null;
+    }
+
+    @Override
+    public void refreshCachedVariableInstance(VariableInstanceEntity variable, VariableInstanceEntity storedVariable) {
+        Map<String, CachedEntity> cachedVariables = getEntityCache().getAllCachedEntities().get(variable.getClass());
+        CachedEntity cachedEntity = cachedVariables != null ? cachedVariables.get(variable.getId()) : null;
+        boolean hasOtherChanges = cachedEntity == null || cachedEntity.hasChanged();
+
+        variable.setRevision(storedVariable.getRevision());
+        variable.setValue(variable.getType().getValue(storedVariable));
+
+        if (!hasOtherChanges) {
+            // The stored row already has this state, flushing it again would only cause a second update
+            Object persistentState = variable.getPersistentState();
+            cachedEntity.setOriginalPersistentState(persistentState);
+            variable.setOriginalPersistentState(persistentState);
+            if (variable instanceof DirtyTrackingEntity) {
+                ((DirtyTrackingEntity) variable).setDirty(false);
+            }
+        }
+    }
+
 }